@@ -0,0 +1,156 @@
+package com.GoAero.bench;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The GoAero tables, as the DAOs read and write them, for creating a benchmark database.
+ * Only primary and unique keys are declared; the other indexes are left to SchemaMigration,
+ * as in production, and are built after the data is loaded.
+ */
+public final class BenchmarkSchema {
+
+    private static final String CREATE_AIRPORTS =
+        "CREATE TABLE IF NOT EXISTS airports (" +
+        "airport_id INT AUTO_INCREMENT PRIMARY KEY, " +
+        "airport_code VARCHAR(3) NOT NULL UNIQUE, " +
+        "airport_name VARCHAR(100) NOT NULL, " +
+        "city VARCHAR(50) NOT NULL, " +
+        "country VARCHAR(50) NOT NULL)";
+
+    private static final String CREATE_FLIGHT_OWNERS =
+        "CREATE TABLE IF NOT EXISTS flight_owners (" +
+        "owner_id INT AUTO_INCREMENT PRIMARY KEY, " +
+        "company_name VARCHAR(100) NOT NULL, " +
+        "company_code VARCHAR(10) NOT NULL UNIQUE, " +
+        "contact_info VARCHAR(255), " +
+        "flight_count INT NOT NULL DEFAULT 0, " +
+        "password VARCHAR(255) NOT NULL, " +
+        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+        "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
+
+    private static final String CREATE_USERS =
+        "CREATE TABLE IF NOT EXISTS users (" +
+        "user_id INT AUTO_INCREMENT PRIMARY KEY, " +
+        "first_name VARCHAR(50) NOT NULL, " +
+        "last_name VARCHAR(50) NOT NULL, " +
+        "email VARCHAR(100) NOT NULL UNIQUE, " +
+        "phone VARCHAR(20), " +
+        "DOB DATE, " +
+        "password VARCHAR(255) NOT NULL, " +
+        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+        "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
+
+    private static final String CREATE_FLIGHT_DATA =
+        "CREATE TABLE IF NOT EXISTS flight_data (" +
+        "flight_id INT AUTO_INCREMENT PRIMARY KEY, " +
+        "company_id INT NOT NULL, " +
+        "flight_code VARCHAR(20) NOT NULL, " +
+        "flight_name VARCHAR(100) NOT NULL, " +
+        "capacity INT NOT NULL, " +
+        "departure_airport_id INT NOT NULL, " +
+        "destination_airport_id INT NOT NULL, " +
+        "departure_time DATETIME NOT NULL, " +
+        "destination_time DATETIME NOT NULL, " +
+        "price DECIMAL(10, 2) NOT NULL, " +
+        "FOREIGN KEY (company_id) REFERENCES flight_owners (owner_id), " +
+        "FOREIGN KEY (departure_airport_id) REFERENCES airports (airport_id), " +
+        "FOREIGN KEY (destination_airport_id) REFERENCES airports (airport_id))";
+
+    private static final String CREATE_BOOKINGS =
+        "CREATE TABLE IF NOT EXISTS bookings (" +
+        "booking_id INT AUTO_INCREMENT PRIMARY KEY, " +
+        "user_id INT NOT NULL, " +
+        "flight_id INT NOT NULL, " +
+        "departure_airport_id INT NOT NULL, " +
+        "destination_airport_id INT NOT NULL, " +
+        "departure_time DATETIME NOT NULL, " +
+        "destination_time DATETIME NOT NULL, " +
+        "PNR VARCHAR(12) NOT NULL UNIQUE, " +
+        "date_of_departure DATE NOT NULL, " +
+        "date_of_destination DATE NOT NULL, " +
+        "date_of_booking TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+        "amount DECIMAL(10, 2) NOT NULL, " +
+        "payment_status ENUM('Pending', 'Completed', 'Failed') NOT NULL DEFAULT 'Pending', " +
+        "booking_status ENUM('Pending', 'Confirmed', 'Cancelled') NOT NULL DEFAULT 'Pending', " +
+        "FOREIGN KEY (user_id) REFERENCES users (user_id), " +
+        "FOREIGN KEY (flight_id) REFERENCES flight_data (flight_id), " +
+        "FOREIGN KEY (departure_airport_id) REFERENCES airports (airport_id), " +
+        "FOREIGN KEY (destination_airport_id) REFERENCES airports (airport_id))";
+
+    // Same table as SchemaMigration creates; filled by the generator instead of recounted
+    private static final String CREATE_FLIGHT_INVENTORY =
+        "CREATE TABLE IF NOT EXISTS flight_inventory (" +
+        "flight_id INT PRIMARY KEY, " +
+        "pending_count INT NOT NULL DEFAULT 0, " +
+        "confirmed_count INT NOT NULL DEFAULT 0, " +
+        "cancelled_count INT NOT NULL DEFAULT 0, " +
+        "revenue DECIMAL(14, 2) NOT NULL DEFAULT 0)";
+
+    // In dependency order; dropped in reverse
+    private static final String[] TABLES = {
+        "airports", "flight_owners", "users", "flight_data", "bookings", "flight_inventory"
+    };
+
+    private static final String[] CREATE_TABLES = {
+        CREATE_AIRPORTS, CREATE_FLIGHT_OWNERS, CREATE_USERS, CREATE_FLIGHT_DATA, CREATE_BOOKINGS, CREATE_FLIGHT_INVENTORY
+    };
+
+    private static final String COUNT_BOOKINGS =
+        "SELECT COUNT(*) FROM bookings";
+
+    private static final String SELECT_DATABASE =
+        "SELECT DATABASE()";
+
+    private BenchmarkSchema() {
+    }
+
+    /**
+     * Creates the tables that do not exist yet
+     */
+    public static void create(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String ddl : CREATE_TABLES) {
+                stmt.executeUpdate(ddl);
+            }
+        }
+    }
+
+    /**
+     * Drops all GoAero tables, including the ones the DAOs create on demand. Refuses to run
+     * unless the database name contains "bench", so a production database cannot be wiped
+     * by pointing the harness at the wrong URL.
+     */
+    public static void drop(Connection conn) throws SQLException {
+        String database = getDatabaseName(conn);
+        if (database == null || !database.toLowerCase().contains("bench")) {
+            throw new SQLException("Refusing to drop the tables of database '" + database +
+                "'; benchmark databases must have 'bench' in their name");
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DROP TABLE IF EXISTS pnr_sequence");
+            for (int i = TABLES.length - 1; i >= 0; i--) {
+                stmt.executeUpdate("DROP TABLE IF EXISTS " + TABLES[i]);
+            }
+        }
+    }
+
+    /**
+     * @return true if the bookings table already holds rows
+     */
+    public static boolean hasData(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(COUNT_BOOKINGS)) {
+            return rs.next() && rs.getLong(1) > 0;
+        }
+    }
+
+    private static String getDatabaseName(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_DATABASE)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
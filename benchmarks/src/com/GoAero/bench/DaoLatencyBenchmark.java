@@ -0,0 +1,265 @@
+package com.GoAero.bench;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.dao.FlightOwnerDAO;
+import com.GoAero.dao.UserDAO;
+import com.GoAero.db.DBConnection;
+import com.GoAero.db.SchemaMigration;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import com.GoAero.util.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the latency of the DAO queries behind flight search, booking history, PNR lookup
+ * and the reports, against a database filled by {@link DataGenerator}. Query parameters are
+ * drawn from the stored rows with a fixed seed, so every run issues the same queries.
+ *
+ * Point the harness at a dedicated MySQL database whose name contains "bench", e.g. a
+ * throwaway local server, build the classes with {@code gradle :benchmarks:classes} and put
+ * them and the connector on the class path:
+ * <pre>
+ *   docker run -d --name goaero-bench -e MYSQL_ROOT_PASSWORD=bench -e MYSQL_DATABASE=goaero_bench -p 3307:3306 mysql:8
+ *   java -Dgoaero.db.url="jdbc:mysql://localhost:3307/goaero_bench?rewriteBatchedStatements=true&useServerPrepStmts=true" \
+ *        -Dgoaero.db.password=bench -cp "build/classes/java/main:benchmarks/build/classes/java/main:src/lib/*" \
+ *        com.GoAero.bench.DaoLatencyBenchmark -scale small [options] [regex]
+ * </pre>
+ * Options: -scale small, medium or full (small), -airports, -owners, -users, -flights and
+ * -bookings override single row counts, -seed (42), -reset drops and reloads the tables,
+ * -wi warmup calls (20), -n measured calls (200), -t time limit per query in s (30),
+ * -rf CSV file to write the results to. Data is only loaded into empty tables; a database
+ * loaded earlier is reused as it is.
+ */
+public final class DaoLatencyBenchmark {
+    private static final long DEFAULT_SEED = 42;
+    // Distinct parameter sets per query; cycled through, so later calls may repeat earlier ones
+    private static final int PARAMETER_SETS = 500;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<IntConsumer> queries = new ArrayList<>();
+
+    /**
+     * Latencies of one query, in microseconds
+     */
+    static final class Result {
+        final String name;
+        final LatencyHistogram histogram;
+
+        Result(String name, LatencyHistogram histogram) {
+            this.name = name;
+            this.histogram = histogram;
+        }
+    }
+
+    /**
+     * Adds a query
+     * @param name Unique name, conventionally DAO.method
+     * @param query Runs the query with the parameter set of the given call number
+     */
+    void add(String name, IntConsumer query) {
+        names.add(name);
+        queries.add(query);
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGenerator.Scale scale = DataGenerator.Scale.named("small");
+        long seed = DEFAULT_SEED;
+        boolean reset = false;
+        int warmupCalls = 20;
+        int calls = 200;
+        long timeLimitMs = 30_000;
+        String resultFile = null;
+        Pattern filter = Pattern.compile(".*");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-scale": scale = DataGenerator.Scale.named(args[++i]); break;
+                case "-airports": scale = scale.withAirports(Integer.parseInt(args[++i])); break;
+                case "-owners": scale = scale.withOwners(Integer.parseInt(args[++i])); break;
+                case "-users": scale = scale.withUsers(Integer.parseInt(args[++i])); break;
+                case "-flights": scale = scale.withFlights(Integer.parseInt(args[++i])); break;
+                case "-bookings": scale = scale.withBookings(Integer.parseInt(args[++i])); break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-reset": reset = true; break;
+                case "-wi": warmupCalls = Integer.parseInt(args[++i]); break;
+                case "-n": calls = Integer.parseInt(args[++i]); break;
+                case "-t": timeLimitMs = Long.parseLong(args[++i]) * 1000; break;
+                case "-rf": resultFile = args[++i]; break;
+                default: filter = Pattern.compile(args[i]);
+            }
+        }
+
+        try {
+            prepareDatabase(scale, seed, reset);
+            DaoLatencyBenchmark benchmark = new DaoLatencyBenchmark();
+            benchmark.registerQueries(new Random(seed));
+
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < benchmark.names.size(); i++) {
+                String name = benchmark.names.get(i);
+                if (filter.matcher(name).find()) {
+                    System.out.println("# " + name);
+                    results.add(measure(name, benchmark.queries.get(i), warmupCalls, calls, timeLimitMs));
+                }
+            }
+            printResults(results);
+            if (resultFile != null) {
+                writeResults(results, resultFile);
+                System.out.println("Results written to " + resultFile);
+            }
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    /**
+     * Creates the schema, loads the data if the tables are empty and runs the schema migration,
+     * so the indexes the DAOs expect exist
+     */
+    private static void prepareDatabase(DataGenerator.Scale scale, long seed, boolean reset) throws SQLException {
+        boolean load;
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("No database connection; set -Dgoaero.db.url, .user and .password");
+            }
+            if (reset) {
+                BenchmarkSchema.drop(conn);
+            }
+            BenchmarkSchema.create(conn);
+            load = !BenchmarkSchema.hasData(conn);
+        }
+        if (load) {
+            System.out.println("Generating " + scale);
+            new DataGenerator(scale, seed).load();
+        } else {
+            System.out.println("Reusing the data already in the database; run with -reset to regenerate it");
+        }
+        // Built after the bulk load, which is faster than maintaining them during it
+        if (!SchemaMigration.run()) {
+            throw new SQLException("The schema migration failed");
+        }
+    }
+
+    /**
+     * Draws the parameters of every query from the stored rows and registers the queries
+     */
+    private void registerQueries(Random random) throws SQLException {
+        FlightDAO flightDAO = new FlightDAO();
+        BookingDAO bookingDAO = new BookingDAO();
+        int flightCount = (int) flightDAO.count();
+        int bookingCount = (int) bookingDAO.count();
+        int userCount = (int) new UserDAO().count();
+        int ownerCount = (int) new FlightOwnerDAO().count();
+        if (flightCount == 0 || bookingCount == 0 || userCount == 0 || ownerCount == 0) {
+            throw new SQLException("The benchmark database is empty");
+        }
+
+        // Searches for the route and day of existing flights, so every search finds at least one
+        int[] departures = new int[PARAMETER_SETS];
+        int[] destinations = new int[PARAMETER_SETS];
+        LocalDate[] dates = new LocalDate[PARAMETER_SETS];
+        String[] pnrs = new String[PARAMETER_SETS];
+        int[] users = new int[PARAMETER_SETS];
+        int[] owners = new int[PARAMETER_SETS];
+        for (int i = 0; i < PARAMETER_SETS; i++) {
+            Flight flight = flightDAO.findById(1 + random.nextInt(flightCount));
+            Booking booking = bookingDAO.findById(1 + random.nextInt(bookingCount));
+            if (flight == null || booking == null) {
+                throw new SQLException("IDs are not contiguous; regenerate the database with -reset");
+            }
+            departures[i] = flight.getDepartureAirportId();
+            destinations[i] = flight.getDestinationAirportId();
+            dates[i] = flight.getDepartureTime().toLocalDate();
+            pnrs[i] = booking.getPnr();
+            users[i] = 1 + random.nextInt(userCount);
+            owners[i] = 1 + random.nextInt(ownerCount);
+        }
+        LocalDate reportStart = DataGenerator.getScheduleStart().minusMonths(1);
+
+        add("FlightDAO.searchFlights", call -> {
+            int i = call % PARAMETER_SETS;
+            flightDAO.searchFlights(departures[i], destinations[i], dates[i]);
+        });
+        add("FlightDAO.searchFlightsWithAvailability", call -> {
+            int i = call % PARAMETER_SETS;
+            flightDAO.searchFlightsWithAvailability(departures[i], destinations[i], dates[i]);
+        });
+        add("BookingDAO.findByUserId", call -> bookingDAO.findByUserId(users[call % PARAMETER_SETS]));
+        add("BookingDAO.findByPNR", call -> bookingDAO.findByPNR(pnrs[call % PARAMETER_SETS]));
+        add("BookingDAO.getBookingStatistics", call -> bookingDAO.getBookingStatistics());
+        add("BookingDAO.getBookingStatistics(month, owner)", call -> {
+            LocalDate from = reportStart.plusMonths(call % 6);
+            bookingDAO.getBookingStatistics(from, from.plusMonths(1).minusDays(1), owners[call % PARAMETER_SETS]);
+        });
+        add("FlightDAO.findBookingStatsByCompanyId", call ->
+            flightDAO.findBookingStatsByCompanyId(owners[call % PARAMETER_SETS]));
+    }
+
+    /**
+     * Runs a query for the warmup calls, then times up to the given number of calls
+     */
+    private static Result measure(String name, IntConsumer query, int warmupCalls, int calls, long timeLimitMs) {
+        for (int i = 0; i < warmupCalls; i++) {
+            query.accept(i);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        long deadline = System.nanoTime() + timeLimitMs * 1_000_000L;
+        for (int i = 0; i < calls && System.nanoTime() < deadline; i++) {
+            long callStart = System.nanoTime();
+            query.accept(warmupCalls + i);
+            histogram.record((System.nanoTime() - callStart) / 1000);
+        }
+        if (histogram.getCount() < calls) {
+            System.out.printf(Locale.ROOT, "Time limit reached after %d calls%n", histogram.getCount());
+        }
+        return new Result(name, histogram);
+    }
+
+    private static void printResults(List<Result> results) {
+        int width = "Query".length();
+        for (Result result : results) {
+            width = Math.max(width, result.name.length());
+        }
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-" + width + "s  %6s  %10s  %10s  %10s  %10s  %10s%n",
+            "Query", "Calls", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (Result result : results) {
+            LatencyHistogram h = result.histogram;
+            System.out.printf(Locale.ROOT, "%-" + width + "s  %6d  %10.3f  %10.3f  %10.3f  %10.3f  %10.3f%n",
+                result.name, h.getCount(), h.getMean() / 1000, h.getPercentile(50) / 1000.0,
+                h.getPercentile(95) / 1000.0, h.getPercentile(99) / 1000.0, h.getMax() / 1000.0);
+        }
+    }
+
+    private static void writeResults(List<Result> results, String file) throws IOException {
+        File parent = new File(file).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+            out.println("query,calls,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            for (Result result : results) {
+                LatencyHistogram h = result.histogram;
+                out.printf(Locale.ROOT, "\"%s\",%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", result.name, h.getCount(),
+                    h.getMean() / 1000, h.getPercentile(50) / 1000.0, h.getPercentile(95) / 1000.0,
+                    h.getPercentile(99) / 1000.0, h.getMax() / 1000.0);
+            }
+        }
+    }
+}
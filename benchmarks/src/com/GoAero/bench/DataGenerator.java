@@ -0,0 +1,474 @@
+package com.GoAero.bench;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.util.PasswordUtil;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Fills a benchmark database with synthetic GoAero data. The same scale and seed always
+ * produce the same rows with the same IDs, so results from different runs and machines are
+ * comparable. The data is shaped like production traffic rather than spread evenly: a few hub
+ * airports and large airlines carry most flights, frequent flyers hold many bookings, and most
+ * bookings are confirmed and paid. Flights are never overbooked, and the flight_inventory
+ * counters are written to match the bookings.
+ */
+public class DataGenerator {
+
+    private static final String INSERT_AIRPORT =
+        "INSERT INTO airports (airport_id, airport_code, airport_name, city, country) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FLIGHT_OWNER =
+        "INSERT INTO flight_owners (owner_id, company_name, company_code, contact_info, flight_count, password) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER =
+        "INSERT INTO users (user_id, first_name, last_name, email, phone, DOB, password) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FLIGHT =
+        "INSERT INTO flight_data (flight_id, company_id, flight_code, flight_name, capacity, departure_airport_id, " +
+        "destination_airport_id, departure_time, destination_time, price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_BOOKING =
+        "INSERT INTO bookings (booking_id, user_id, flight_id, departure_airport_id, destination_airport_id, " +
+        "departure_time, destination_time, PNR, date_of_departure, date_of_destination, date_of_booking, " +
+        "amount, payment_status, booking_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INVENTORY =
+        "INSERT INTO flight_inventory (flight_id, pending_count, confirmed_count, cancelled_count, revenue) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Password of every generated user and flight owner
+     */
+    static final String PASSWORD = "Bench@2026";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String STORED_PASSWORD = PasswordUtil.storePassword(PASSWORD);
+
+    private static final String[] CITIES = {
+        "Mumbai", "New Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata", "Ahmedabad", "Pune", "Goa",
+        "Jaipur", "Lucknow", "Kochi", "Dubai", "Singapore", "London", "Frankfurt", "Doha", "Bangkok",
+        "Kuala Lumpur", "Colombo", "Kathmandu", "Dhaka", "Paris", "New York", "Tokyo", "Sydney", "Hong Kong",
+        "Amsterdam", "Istanbul", "Abu Dhabi", "Muscat", "Male", "Riyadh", "Toronto", "Zurich", "Seoul"
+    };
+    private static final String[] COUNTRIES = {
+        "India", "India", "India", "India", "India", "India", "India", "India", "India",
+        "India", "India", "India", "UAE", "Singapore", "United Kingdom", "Germany", "Qatar", "Thailand",
+        "Malaysia", "Sri Lanka", "Nepal", "Bangladesh", "France", "USA", "Japan", "Australia", "China",
+        "Netherlands", "Turkey", "UAE", "Oman", "Maldives", "Saudi Arabia", "Canada", "Switzerland", "South Korea"
+    };
+    private static final String[] AIRLINE_WORDS = {
+        "Sky", "Blue", "Indigo", "Vista", "Star", "Sun", "Coral", "Falcon", "Monsoon", "Lotus", "Royal", "Zenith"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya", "Rahul", "Meera", "Aditya",
+        "Divya", "Karan", "Isha", "Nikhil", "Pooja", "Sanjay", "Neha", "Amit", "Riya", "John", "Sarah", "Wei", "Fatima"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Singh", "Das", "Menon", "Joshi", "Rao", "Kapoor",
+        "Bose", "Khan", "Verma", "Pillai", "Smith", "Chen", "Ali", "Fernandes"
+    };
+    private static final int[] CAPACITIES = {120, 150, 180, 189, 220, 280, 350};
+
+    private final Scale scale;
+    private final long seed;
+
+    // The flight schedule, kept in memory so bookings can copy their flight's route and times
+    private int[] flightOwner;
+    private int[] flightCapacity;
+    private int[] flightDeparture;
+    private int[] flightDestination;
+    private LocalDateTime[] flightDepartureTime;
+    private LocalDateTime[] flightArrivalTime;
+    private long[] flightPriceCents;
+    private int[] ownerFlightCount;
+
+    // Booking counters per flight, written to flight_inventory at the end
+    private int[] pendingCount;
+    private int[] confirmedCount;
+    private int[] cancelledCount;
+    private long[] revenueCents;
+
+    /**
+     * Row counts of a generated database
+     */
+    public static final class Scale {
+        final int airports;
+        final int owners;
+        final int users;
+        final int flights;
+        final int bookings;
+        // Flights depart on this many consecutive days from the schedule start
+        final int scheduleDays;
+
+        public Scale(int airports, int owners, int users, int flights, int bookings, int scheduleDays) {
+            if (airports < 2 || owners < 1 || users < 1 || flights < 1 || bookings < 0 || scheduleDays < 1) {
+                throw new IllegalArgumentException("Scale needs at least 2 airports and one owner, user, flight and day");
+            }
+            this.airports = airports;
+            this.owners = owners;
+            this.users = users;
+            this.flights = flights;
+            this.bookings = bookings;
+            this.scheduleDays = scheduleDays;
+        }
+
+        /**
+         * Gets a predefined scale: small (100k bookings, loads in seconds), medium (1M) or
+         * full (1k airports, 100k flights, 10M bookings)
+         * @param name The scale name
+         * @return The scale
+         */
+        public static Scale named(String name) {
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "small": return new Scale(100, 20, 10_000, 5_000, 100_000, 90);
+                case "medium": return new Scale(400, 50, 100_000, 30_000, 1_000_000, 180);
+                case "full": return new Scale(1_000, 120, 1_000_000, 100_000, 10_000_000, 365);
+                default: throw new IllegalArgumentException("Unknown scale: " + name + " (small, medium or full)");
+            }
+        }
+
+        public Scale withAirports(int value) {
+            return new Scale(value, owners, users, flights, bookings, scheduleDays);
+        }
+
+        public Scale withOwners(int value) {
+            return new Scale(airports, value, users, flights, bookings, scheduleDays);
+        }
+
+        public Scale withUsers(int value) {
+            return new Scale(airports, owners, value, flights, bookings, scheduleDays);
+        }
+
+        public Scale withFlights(int value) {
+            return new Scale(airports, owners, users, value, bookings, scheduleDays);
+        }
+
+        public Scale withBookings(int value) {
+            return new Scale(airports, owners, users, flights, value, scheduleDays);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%,d airports, %,d flight owners, %,d users, %,d flights over %d days, %,d bookings",
+                airports, owners, users, flights, scheduleDays, bookings);
+        }
+    }
+
+    /**
+     * Creates a generator
+     * @param scale Number of rows of each table
+     * @param seed Seed of the random data; equal seeds give equal databases
+     */
+    public DataGenerator(Scale scale, long seed) {
+        this.scale = scale;
+        this.seed = seed;
+    }
+
+    /**
+     * First day of the generated schedule; fixed so that generated databases do not depend on the date
+     */
+    public static LocalDate getScheduleStart() {
+        return LocalDate.of(2026, 1, 1);
+    }
+
+    /**
+     * Generates all rows and inserts them into empty tables, in batches committed one at a time
+     * @throws SQLException if an insert fails
+     */
+    public void load() throws SQLException {
+        planFlights(new Random(seed));
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("No database connection");
+            }
+            conn.setAutoCommit(false);
+            long start = System.nanoTime();
+            insertAirports(conn);
+            insertOwners(conn);
+            insertUsers(conn, new Random(seed + 1));
+            insertFlights(conn);
+            insertBookings(conn, new Random(seed + 2));
+            insertInventory(conn);
+            System.out.printf(Locale.ROOT, "Loaded %s in %.1f s%n", scale, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * Lays out the schedule: which airline flies which route when, at what capacity and fare
+     */
+    private void planFlights(Random random) {
+        int flights = scale.flights;
+        flightOwner = new int[flights];
+        flightCapacity = new int[flights];
+        flightDeparture = new int[flights];
+        flightDestination = new int[flights];
+        flightDepartureTime = new LocalDateTime[flights];
+        flightArrivalTime = new LocalDateTime[flights];
+        flightPriceCents = new long[flights];
+        ownerFlightCount = new int[scale.owners];
+
+        long seats = 0;
+        LocalDateTime scheduleStart = getScheduleStart().atStartOfDay();
+        for (int i = 0; i < flights; i++) {
+            int owner = skewed(random, scale.owners);
+            int departure = skewed(random, scale.airports);
+            int destination = skewed(random, scale.airports - 1);
+            if (destination >= departure) {
+                destination++;
+            }
+            // Departures between 05:00 and 23:55, on five-minute marks
+            int minuteOfDay = 300 + random.nextInt(228) * 5;
+            int durationMinutes = 45 + random.nextInt(64) * 5;
+
+            flightOwner[i] = owner;
+            flightCapacity[i] = CAPACITIES[random.nextInt(CAPACITIES.length)];
+            flightDeparture[i] = departure;
+            flightDestination[i] = destination;
+            flightDepartureTime[i] = scheduleStart.plusDays(random.nextInt(scale.scheduleDays)).plusMinutes(minuteOfDay);
+            flightArrivalTime[i] = flightDepartureTime[i].plusMinutes(durationMinutes);
+            flightPriceCents[i] = (1500 + durationMinutes * 25L + random.nextInt(3000)) * 100;
+            ownerFlightCount[owner]++;
+            seats += flightCapacity[i];
+        }
+        // Leave room for the probing in pickFlight; a nearly full schedule would take very long to book
+        if (scale.bookings > seats * 0.9) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                "%,d bookings do not fit in %,d seats; use more flights or fewer bookings", scale.bookings, seats));
+        }
+    }
+
+    private void insertAirports(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_AIRPORT)) {
+            for (int i = 0; i < scale.airports; i++) {
+                String city = numbered(CITIES, i);
+                stmt.setInt(1, i + 1);
+                stmt.setString(2, airportCode(i));
+                stmt.setString(3, city + " International Airport");
+                stmt.setString(4, city);
+                stmt.setString(5, COUNTRIES[i % COUNTRIES.length]);
+                addBatch(conn, stmt, i + 1);
+            }
+            flush(conn, stmt, "airports", scale.airports);
+        }
+    }
+
+    private void insertOwners(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_FLIGHT_OWNER)) {
+            for (int i = 0; i < scale.owners; i++) {
+                String code = companyCode(i);
+                stmt.setInt(1, i + 1);
+                stmt.setString(2, numbered(AIRLINE_WORDS, i) + " Airways");
+                stmt.setString(3, code);
+                stmt.setString(4, "ops@" + code.toLowerCase(Locale.ROOT) + ".example.com");
+                stmt.setInt(5, ownerFlightCount[i]);
+                stmt.setString(6, STORED_PASSWORD);
+                addBatch(conn, stmt, i + 1);
+            }
+            flush(conn, stmt, "flight owners", scale.owners);
+        }
+    }
+
+    private void insertUsers(Connection conn, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_USER)) {
+            for (int i = 0; i < scale.users; i++) {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                stmt.setInt(1, i + 1);
+                stmt.setString(2, firstName);
+                stmt.setString(3, lastName);
+                stmt.setString(4, (firstName + "." + lastName + "." + (i + 1) + "@example.com").toLowerCase(Locale.ROOT));
+                stmt.setString(5, String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)));
+                stmt.setDate(6, Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000))));
+                stmt.setString(7, STORED_PASSWORD);
+                addBatch(conn, stmt, i + 1);
+            }
+            flush(conn, stmt, "users", scale.users);
+        }
+    }
+
+    private void insertFlights(Connection conn) throws SQLException {
+        int[] ownerSequence = new int[scale.owners];
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_FLIGHT)) {
+            for (int i = 0; i < scale.flights; i++) {
+                int owner = flightOwner[i];
+                stmt.setInt(1, i + 1);
+                stmt.setInt(2, owner + 1);
+                stmt.setString(3, companyCode(owner) + "-" + (100 + ownerSequence[owner]++));
+                stmt.setString(4, numbered(AIRLINE_WORDS, owner) + " " + CITIES[flightDestination[i] % CITIES.length]);
+                stmt.setInt(5, flightCapacity[i]);
+                stmt.setInt(6, flightDeparture[i] + 1);
+                stmt.setInt(7, flightDestination[i] + 1);
+                stmt.setTimestamp(8, Timestamp.valueOf(flightDepartureTime[i]));
+                stmt.setTimestamp(9, Timestamp.valueOf(flightArrivalTime[i]));
+                stmt.setBigDecimal(10, BigDecimal.valueOf(flightPriceCents[i], 2));
+                addBatch(conn, stmt, i + 1);
+            }
+            flush(conn, stmt, "flights", scale.flights);
+        }
+    }
+
+    private void insertBookings(Connection conn, Random random) throws SQLException {
+        pendingCount = new int[scale.flights];
+        confirmedCount = new int[scale.flights];
+        cancelledCount = new int[scale.flights];
+        revenueCents = new long[scale.flights];
+
+        long start = System.nanoTime();
+        int progressStep = Math.max(BATCH_SIZE, scale.bookings / 10);
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING)) {
+            for (int i = 0; i < scale.bookings; i++) {
+                int flight = pickFlight(random);
+                // Frequent flyers: the lowest user IDs hold most of the bookings
+                int user = skewed(random, scale.users);
+                LocalDateTime departure = flightDepartureTime[flight];
+                LocalDateTime arrival = flightArrivalTime[flight];
+                LocalDateTime bookedAt = departure.minusDays(1 + random.nextInt(120)).minusSeconds(random.nextInt(86_400));
+
+                String bookingStatus;
+                String paymentStatus;
+                double status = random.nextDouble();
+                if (status < 0.08) {
+                    bookingStatus = "Cancelled";
+                    paymentStatus = random.nextBoolean() ? "Completed" : "Failed";
+                    cancelledCount[flight]++;
+                } else if (status < 0.2) {
+                    bookingStatus = "Pending";
+                    paymentStatus = "Pending";
+                    pendingCount[flight]++;
+                } else {
+                    bookingStatus = "Confirmed";
+                    paymentStatus = random.nextInt(100) < 97 ? "Completed" : "Pending";
+                    confirmedCount[flight]++;
+                    if (paymentStatus.equals("Completed")) {
+                        revenueCents[flight] += flightPriceCents[flight];
+                    }
+                }
+
+                stmt.setInt(1, i + 1);
+                stmt.setInt(2, user + 1);
+                stmt.setInt(3, flight + 1);
+                stmt.setInt(4, flightDeparture[flight] + 1);
+                stmt.setInt(5, flightDestination[flight] + 1);
+                stmt.setTimestamp(6, Timestamp.valueOf(departure));
+                stmt.setTimestamp(7, Timestamp.valueOf(arrival));
+                stmt.setString(8, pnr(i + 1));
+                stmt.setDate(9, Date.valueOf(departure.toLocalDate()));
+                stmt.setDate(10, Date.valueOf(arrival.toLocalDate()));
+                stmt.setTimestamp(11, Timestamp.valueOf(bookedAt));
+                stmt.setBigDecimal(12, BigDecimal.valueOf(flightPriceCents[flight], 2));
+                stmt.setString(13, paymentStatus);
+                stmt.setString(14, bookingStatus);
+                addBatch(conn, stmt, i + 1);
+
+                if ((i + 1) % progressStep == 0) {
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf(Locale.ROOT, "  %,d bookings (%,.0f rows/s)%n", i + 1, (i + 1) / seconds);
+                }
+            }
+            flush(conn, stmt, "bookings", scale.bookings);
+        }
+    }
+
+    /**
+     * Picks a random flight with a free seat, moving on to the next flight while one is full
+     */
+    private int pickFlight(Random random) {
+        int flight = random.nextInt(scale.flights);
+        while (pendingCount[flight] + confirmedCount[flight] >= flightCapacity[flight]) {
+            flight = (flight + 1) % scale.flights;
+        }
+        return flight;
+    }
+
+    private void insertInventory(Connection conn) throws SQLException {
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_INVENTORY)) {
+            for (int i = 0; i < scale.flights; i++) {
+                // A flight without bookings has no counter row, as in production
+                if (pendingCount[i] + confirmedCount[i] + cancelledCount[i] == 0) {
+                    continue;
+                }
+                stmt.setInt(1, i + 1);
+                stmt.setInt(2, pendingCount[i]);
+                stmt.setInt(3, confirmedCount[i]);
+                stmt.setInt(4, cancelledCount[i]);
+                stmt.setBigDecimal(5, BigDecimal.valueOf(revenueCents[i], 2));
+                addBatch(conn, stmt, ++rows);
+            }
+            flush(conn, stmt, "flight inventory rows", rows);
+        }
+    }
+
+    private static void addBatch(Connection conn, PreparedStatement stmt, int rows) throws SQLException {
+        stmt.addBatch();
+        if (rows % BATCH_SIZE == 0) {
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+
+    private static void flush(Connection conn, PreparedStatement stmt, String table, int rows) throws SQLException {
+        stmt.executeBatch();
+        conn.commit();
+        System.out.printf(Locale.ROOT, "Inserted %,d %s%n", rows, table);
+    }
+
+    /**
+     * Random index below bound, with low indices far more likely: the square of a uniform
+     * value puts about 30% of the picks in the first tenth
+     */
+    private static int skewed(Random random, int bound) {
+        double r = random.nextDouble();
+        return (int) (r * r * bound);
+    }
+
+    /**
+     * Gets the value for index i, numbering repeats once the values run out
+     */
+    private static String numbered(String[] values, int i) {
+        String value = values[i % values.length];
+        return i < values.length ? value : value + " " + (i / values.length + 1);
+    }
+
+    /**
+     * Three-letter airport code; multiplying by 7919 permutes the 26^3 codes, so neighbours differ
+     */
+    static String airportCode(int i) {
+        int n = (int) ((i * 7919L) % (26 * 26 * 26));
+        return new String(new char[] {(char) ('A' + n / 676), (char) ('A' + n / 26 % 26), (char) ('A' + n % 26)});
+    }
+
+    /**
+     * Two-letter airline code, with a number appended once the 676 letter pairs run out
+     */
+    static String companyCode(int i) {
+        int n = i % 676;
+        String code = new String(new char[] {(char) ('A' + n / 26), (char) ('A' + n % 26)});
+        return i < 676 ? code : code + (i / 676);
+    }
+
+    /**
+     * Unique 8-character PNR of a booking ID; multiplying by a number coprime with 36 permutes
+     * the 36^8 codes, so consecutive bookings get unrelated PNRs
+     */
+    static String pnr(long bookingId) {
+        long n = Math.floorMod(bookingId * 1_000_003L, 2_821_109_907_456L);
+        char[] chars = new char[8];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = Character.toUpperCase(Character.forDigit((int) (n % 36), 36));
+            n /= 36;
+        }
+        return new String(chars);
+    }
+}
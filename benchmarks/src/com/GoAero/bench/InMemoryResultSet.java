@@ -0,0 +1,64 @@
+package com.GoAero.bench;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A ResultSet stand-in positioned on one in-memory row, for benchmarking row mappers without a
+ * database. Getters look the column up by label, case-insensitively like the MySQL driver.
+ * Every call goes through a proxy, which adds the same small cost per getter to every run.
+ */
+public final class InMemoryResultSet {
+
+    private InMemoryResultSet() {
+    }
+
+    /**
+     * Creates a result set whose current row holds the given values
+     * @param row Column label to value
+     */
+    public static ResultSet of(Map<String, Object> row) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            values.put(entry.getKey().toLowerCase(), entry.getValue());
+        }
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (!name.startsWith("get") || args == null || !(args[0] instanceof String)) {
+                    throw new SQLException("Not supported by the in-memory result set: " + name);
+                }
+                String label = ((String) args[0]).toLowerCase();
+                if (!values.containsKey(label)) {
+                    throw new SQLException("Column '" + args[0] + "' not found");
+                }
+                Object value = values.get(label);
+                switch (name) {
+                    case "getInt":
+                        return value == null ? 0 : ((Number) value).intValue();
+                    case "getLong":
+                        return value == null ? 0L : ((Number) value).longValue();
+                    case "getString":
+                        return value == null ? null : value.toString();
+                    case "getBigDecimal":
+                        return (BigDecimal) value;
+                    case "getTimestamp":
+                        return (Timestamp) value;
+                    case "getDate":
+                        return (Date) value;
+                    case "getObject":
+                        return value;
+                    default:
+                        throw new SQLException("Not supported by the in-memory result set: " + name);
+                }
+            });
+    }
+}
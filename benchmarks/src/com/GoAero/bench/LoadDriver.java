@@ -0,0 +1,425 @@
+package com.GoAero.bench;
+
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.dao.SortDirection;
+import com.GoAero.dao.UserDAO;
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import com.GoAero.model.User;
+import com.GoAero.service.BookingService;
+import com.GoAero.util.LatencyHistogram;
+import com.GoAero.util.PasswordUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless load driver for the booking flow. Every simulated user logs in the way the login
+ * screen does, searches a route and day the way SearchFlights does, and books one of the
+ * flights found through BookingService, with the same availability check and the same single
+ * or group booking calls as FlightBookingDialog. The bookings go to a small set of "hot"
+ * flights, so they sell out while many users still compete for the last seats.
+ *
+ * Afterwards the bookings made during the run are checked in the database: no flight may hold
+ * more active bookings than seats, and no PNR may be given out twice. The driver exits with
+ * status 1 if either happened, so it can guard against concurrency regressions.
+ *
+ * Run it against a database loaded by {@link DaoLatencyBenchmark}, alone or alongside
+ * com.GoAero.main.Main, with the same -Dgoaero.db.* settings:
+ * <pre>
+ *   java -Dgoaero.db.url=... -Dgoaero.pool.maxSize=50 -cp "build/classes/java/main:benchmarks/build/classes/java/main:src/lib/*" \
+ *        com.GoAero.bench.LoadDriver -users 5000 -flights 20
+ * </pre>
+ * Options: -users simulated users (2000), -flights hot flights (20), -threads concurrent users
+ * (0: one virtual thread per user on Java 21 and later, 200 threads before), -group share of
+ * group bookings (0.1), -think maximum think time between steps in ms (0), -password of the
+ * users (the generator's), -seed (42).
+ */
+public final class LoadDriver {
+    private static final int PLATFORM_THREADS = 200;
+    private static final int MAX_GROUP_SIZE = 4;
+
+    private static final String SELECT_MAX_BOOKING_ID =
+        "SELECT COALESCE(MAX(booking_id), 0) FROM bookings";
+
+    // Active bookings of a flight, counted from the bookings themselves rather than the inventory counters
+    private static final String COUNT_ACTIVE_BOOKINGS =
+        "SELECT fd.capacity, COUNT(b.booking_id) as active_count FROM flight_data fd " +
+        "LEFT JOIN bookings b ON b.flight_id = fd.flight_id AND b.booking_status IN ('Pending', 'Confirmed') " +
+        "WHERE fd.flight_id = ? GROUP BY fd.capacity";
+
+    // PNRs of bookings made during the run that are stored more than once, including collisions with older bookings
+    private static final String COUNT_DUPLICATE_PNRS =
+        "SELECT COUNT(*) FROM (SELECT PNR FROM bookings " +
+        "WHERE PNR IN (SELECT PNR FROM bookings WHERE booking_id > ?) " +
+        "GROUP BY PNR HAVING COUNT(*) > 1) duplicates";
+
+    private static final String SELECT_FUTURE_FLIGHT_IDS =
+        "SELECT flight_id FROM flight_data WHERE departure_time > ? ORDER BY flight_id";
+
+    private final UserDAO userDAO = new UserDAO();
+    private final FlightDAO flightDAO = new FlightDAO();
+    private final BookingService bookingService = BookingService.getInstance();
+
+    private final List<User> users;
+    private final List<Flight> hotFlights;
+    private final String password;
+    private final double groupShare;
+    private final int thinkMs;
+
+    private final LatencyHistogram loginLatency = new LatencyHistogram();
+    private final LatencyHistogram searchLatency = new LatencyHistogram();
+    private final LatencyHistogram bookLatency = new LatencyHistogram();
+    private final LatencyHistogram sessionLatency = new LatencyHistogram();
+    private final LongAdder seatsBooked = new LongAdder();
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder failedLogins = new LongAdder();
+    private final LongAdder failedBookings = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Set<String> pnrs = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger duplicatePnrs = new AtomicInteger();
+
+    private LoadDriver(List<User> users, List<Flight> hotFlights, String password, double groupShare, int thinkMs) {
+        this.users = users;
+        this.hotFlights = hotFlights;
+        this.password = password;
+        this.groupShare = groupShare;
+        this.thinkMs = thinkMs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int userCount = 2000;
+        int flightCount = 20;
+        int threads = 0;
+        double groupShare = 0.1;
+        int thinkMs = 0;
+        String password = DataGenerator.PASSWORD;
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-users": userCount = Integer.parseInt(args[++i]); break;
+                case "-flights": flightCount = Integer.parseInt(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                case "-group": groupShare = Double.parseDouble(args[++i]); break;
+                case "-think": thinkMs = Integer.parseInt(args[++i]); break;
+                case "-password": password = args[++i]; break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        boolean passed;
+        try {
+            LoadDriver driver = new LoadDriver(loadUsers(userCount), pickHotFlights(flightCount, new Random(seed)),
+                password, groupShare, thinkMs);
+            passed = driver.run(userCount, threads);
+        } finally {
+            DBConnection.shutdown();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Reads the accounts the simulated users log in with, cycled through if there are fewer than users
+     */
+    private static List<User> loadUsers(int count) {
+        List<User> users = new ArrayList<>(new UserDAO().findPage(null, count, SortDirection.ASCENDING).getItems());
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No users in the database; load one with DaoLatencyBenchmark first");
+        }
+        return users;
+    }
+
+    /**
+     * Picks random flights that have not departed yet as the flights every user tries to book.
+     * Drawn from the stored IDs, so gaps left by deleted flights do not matter.
+     */
+    private static List<Flight> pickHotFlights(int count, Random random) throws SQLException {
+        List<Integer> flightIds = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepare(conn, SELECT_FUTURE_FLIGHT_IDS)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flightIds.add(rs.getInt("flight_id"));
+                }
+            }
+        }
+        // Ordered by ID first, so the same seed picks the same flights
+        Collections.shuffle(flightIds, random);
+
+        FlightDAO flightDAO = new FlightDAO();
+        List<Flight> hotFlights = new ArrayList<>();
+        for (int i = 0; i < flightIds.size() && hotFlights.size() < count; i++) {
+            Flight flight = flightDAO.findById(flightIds.get(i));
+            if (flight != null) {
+                hotFlights.add(flight);
+            }
+        }
+        if (hotFlights.isEmpty()) {
+            throw new IllegalStateException("No upcoming flights in the database; load one with DaoLatencyBenchmark first");
+        }
+        return hotFlights;
+    }
+
+    /**
+     * Runs all simulated users, prints the results and checks the bookings made
+     * @return true if no flight was oversold and no PNR given out twice
+     */
+    private boolean run(int userCount, int threads) throws InterruptedException, SQLException {
+        long lastBookingId = queryLong(SELECT_MAX_BOOKING_ID);
+        int seats = 0;
+        for (Flight flight : hotFlights) {
+            seats += Math.max(0, bookingService.getAvailableSeats(flight.getFlightId()));
+        }
+        System.out.printf(Locale.ROOT, "%,d users booking %d flights with %,d free seats%n",
+            userCount, hotFlights.size(), seats);
+
+        ExecutorService executor = newExecutor(threads);
+        CountDownLatch done = new CountDownLatch(userCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < userCount; i++) {
+            User user = users.get(i % users.size());
+            executor.execute(() -> {
+                try {
+                    simulate(user);
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        printResults(userCount, seconds);
+        return check(lastBookingId);
+    }
+
+    /**
+     * One user's session: log in, search, book
+     */
+    private void simulate(User account) {
+        long sessionStart = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long stepStart = System.nanoTime();
+        User user = userDAO.findByEmail(account.getEmail());
+        boolean loggedIn = user != null && PasswordUtil.verifyPassword(password, user.getPasswordHash());
+        loginLatency.record(micros(stepStart));
+        if (!loggedIn) {
+            failedLogins.increment();
+            return;
+        }
+        think(random);
+
+        Flight wanted = hotFlights.get(random.nextInt(hotFlights.size()));
+        stepStart = System.nanoTime();
+        List<Flight> found = flightDAO.searchFlightsWithAvailability(wanted.getDepartureAirportId(),
+            wanted.getDestinationAirportId(), wanted.getDepartureTime().toLocalDate());
+        searchLatency.record(micros(stepStart));
+        Flight flight = found.stream().filter(f -> f.getFlightId() == wanted.getFlightId()).findFirst().orElse(null);
+        if (flight == null || flight.getAvailableSeats() <= 0) {
+            soldOut.increment();
+            return;
+        }
+        think(random);
+
+        int seatCount = random.nextDouble() < groupShare ? 2 + random.nextInt(MAX_GROUP_SIZE - 1) : 1;
+        stepStart = System.nanoTime();
+        book(user, flight, seatCount);
+        bookLatency.record(micros(stepStart));
+        sessionLatency.record(micros(sessionStart));
+    }
+
+    /**
+     * Books like FlightBookingDialog.confirmBooking: the in-memory seat check, then one booking
+     * transaction for a single seat or one batched insert for a group
+     */
+    private void book(User user, Flight flight, int seatCount) {
+        if (bookingService.getAvailableSeats(flight.getFlightId()) < seatCount) {
+            soldOut.increment();
+            return;
+        }
+        if (seatCount == 1) {
+            Booking saved = bookingService.book(createBooking(user, flight), flight.getCompanyCode());
+            if (saved != null) {
+                recordBooked(saved);
+            } else if (bookingService.getAvailableSeats(flight.getFlightId()) <= 0) {
+                soldOut.increment();
+            } else {
+                failedBookings.increment();
+            }
+            return;
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < seatCount; i++) {
+            bookings.add(createBooking(user, flight));
+        }
+        if (bookingService.bookAll(bookings, flight.getCompanyCode())) {
+            bookings.forEach(this::recordBooked);
+        } else if (bookingService.getAvailableSeats(flight.getFlightId()) < seatCount) {
+            soldOut.increment();
+        } else {
+            failedBookings.increment();
+        }
+    }
+
+    private static Booking createBooking(User user, Flight flight) {
+        Booking booking = new Booking();
+        booking.setUserId(user.getUserId());
+        booking.setFlightId(flight.getFlightId());
+        booking.setDepartureAirportId(flight.getDepartureAirportId());
+        booking.setDestinationAirportId(flight.getDestinationAirportId());
+        booking.setDepartureTime(flight.getDepartureTime());
+        booking.setDestinationTime(flight.getDestinationTime());
+        booking.setDateOfDeparture(flight.getDepartureTime().toLocalDate());
+        booking.setDateOfDestination(flight.getDestinationTime().toLocalDate());
+        booking.setAmount(flight.getPrice());
+        booking.setPaymentStatus(Booking.PaymentStatus.PENDING);
+        booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+
+    private void recordBooked(Booking booking) {
+        seatsBooked.increment();
+        if (!pnrs.add(booking.getPnr())) {
+            duplicatePnrs.incrementAndGet();
+        }
+    }
+
+    private void think(ThreadLocalRandom random) {
+        if (thinkMs > 0) {
+            try {
+                Thread.sleep(random.nextInt(thinkMs + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Checks the bookings made during the run against the database
+     * @param lastBookingId ID of the last booking made before the run
+     * @return true if no flight is oversold and every PNR is unique
+     */
+    private boolean check(long lastBookingId) throws SQLException {
+        int oversold = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepare(conn, COUNT_ACTIVE_BOOKINGS)) {
+            for (Flight flight : hotFlights) {
+                stmt.setInt(1, flight.getFlightId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getInt("active_count") > rs.getInt("capacity")) {
+                        int excess = rs.getInt("active_count") - rs.getInt("capacity");
+                        System.out.printf(Locale.ROOT, "Flight %s oversold by %d seats%n", flight.getFlightCode(), excess);
+                        oversold += excess;
+                    }
+                }
+            }
+        }
+        long storedDuplicates = queryLong(COUNT_DUPLICATE_PNRS, lastBookingId);
+
+        System.out.printf(Locale.ROOT, "Oversold seats:         %d%n", oversold);
+        System.out.printf(Locale.ROOT, "PNR collisions:         %d returned twice, %d stored twice%n",
+            duplicatePnrs.get(), storedDuplicates);
+        boolean passed = oversold == 0 && duplicatePnrs.get() == 0 && storedDuplicates == 0;
+        System.out.println(passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+
+    private void printResults(int userCount, double seconds) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Users:                  %,d in %.1f s (%,.1f sessions/s)%n",
+            userCount, seconds, userCount / seconds);
+        System.out.printf(Locale.ROOT, "Seats booked:           %,d (%,.1f seats/s)%n",
+            seatsBooked.sum(), seatsBooked.sum() / seconds);
+        System.out.printf(Locale.ROOT, "Turned away, sold out:  %,d%n", soldOut.sum());
+        System.out.printf(Locale.ROOT, "Failed logins:          %,d%n", failedLogins.sum());
+        System.out.printf(Locale.ROOT, "Failed bookings:        %,d%n", failedBookings.sum());
+        System.out.printf(Locale.ROOT, "Errors:                 %,d%n", errors.sum());
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-16s  %7s  %9s  %9s  %9s  %9s  %9s%n",
+            "Step", "Count", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        printLatency("Login", loginLatency);
+        printLatency("Search", searchLatency);
+        printLatency("Book", bookLatency);
+        printLatency("Booking session", sessionLatency);
+        System.out.println();
+    }
+
+    private static void printLatency(String step, LatencyHistogram h) {
+        System.out.printf(Locale.ROOT, "%-16s  %7d  %9.2f  %9.2f  %9.2f  %9.2f  %9.2f%n", step, h.getCount(),
+            h.getMean() / 1000, h.getPercentile(50) / 1000.0, h.getPercentile(95) / 1000.0,
+            h.getPercentile(99) / 1000.0, h.getMax() / 1000.0);
+    }
+
+    /**
+     * One virtual thread per user where the JVM has them (Java 21), else a fixed pool.
+     * Either way the connection pool size bounds how many users reach the database at once.
+     */
+    private static ExecutorService newExecutor(int threads) {
+        if (threads <= 0) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads need Java 21; simulating " + PLATFORM_THREADS + " users at a time");
+                threads = PLATFORM_THREADS;
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "GoAero-load-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000;
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        if (conn == null) {
+            throw new SQLException("No database connection");
+        }
+        return conn.prepareStatement(sql);
+    }
+
+    private static long queryLong(String sql, Object... params) throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepare(conn, sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.GoAero.bench;
+
+import com.GoAero.model.Booking;
+import com.GoAero.util.PNRGenerator;
+import com.GoAero.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the utility methods on hot paths: PNR generation and checking, the email and
+ * phone validation run on every form submit, and the status parsing done for every booking row.
+ * Inputs rotate through a small set so the JIT cannot fold them into constants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmarks {
+    private static final String[] EMAILS = {
+        "alice.smith@example.com", "bob@goaero.in", "not-an-email", "  carol+trips@mail.example.org ", "dave@"
+    };
+    private static final String[] PHONES = {
+        "9876543210", "+91 98765 43210", "(022) 2345-6789", "12345", "98765abcde"
+    };
+    private static final String[] STATUSES = {
+        "Confirmed", "pending", "CANCELLED", "Unknown"
+    };
+    private static final String[] PNRS = {
+        "AB12CD", "XYZ789", "ab12cd", "A1B2C3D4", "AB-12"
+    };
+    private static final String[] AIRLINES = {
+        "AI", "6E", "UK", "SG"
+    };
+
+    private int next;
+
+    private String pick(String[] values) {
+        next = (next + 1) & Integer.MAX_VALUE;
+        return values[next % values.length];
+    }
+
+    @Benchmark
+    public String generatePNR() {
+        return PNRGenerator.generatePNR();
+    }
+
+    @Benchmark
+    public String generateTimestampedPNR() {
+        return PNRGenerator.generateTimestampedPNR();
+    }
+
+    @Benchmark
+    public String generatePNRWithAirline() {
+        return PNRGenerator.generatePNRWithAirline(pick(AIRLINES));
+    }
+
+    @Benchmark
+    public String generateBookingReference() {
+        return PNRGenerator.generateBookingReference();
+    }
+
+    @Benchmark
+    public String generateConfirmationCode() {
+        return PNRGenerator.generateConfirmationCode();
+    }
+
+    @Benchmark
+    public String generateClearPNR() {
+        return PNRGenerator.generateClearPNR();
+    }
+
+    @Benchmark
+    public boolean isValidPNR() {
+        return PNRGenerator.isValidPNR(pick(PNRS));
+    }
+
+    @Benchmark
+    public String formatPNR() {
+        return PNRGenerator.formatPNR(pick(PNRS));
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return ValidationUtil.isValidEmail(pick(EMAILS));
+    }
+
+    @Benchmark
+    public boolean isValidPhone() {
+        return ValidationUtil.isValidPhone(pick(PHONES));
+    }
+
+    @Benchmark
+    public Booking.BookingStatus bookingStatusFromString() {
+        return Booking.BookingStatus.fromString(pick(STATUSES));
+    }
+}
@@ -0,0 +1,122 @@
+package com.GoAero.dao;
+
+import com.GoAero.bench.InMemoryResultSet;
+import com.GoAero.model.Booking;
+import com.GoAero.model.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the DAO row mappers, run against an in-memory row with the columns of the DAO
+ * queries. Lives in the dao package because the mappers are package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmarks {
+    private BookingDAO bookingDAO;
+    private FlightDAO flightDAO;
+    private ResultSet bookingRow;
+    private ResultSet flightRow;
+
+    @Setup
+    public void setUp() {
+        bookingDAO = new BookingDAO();
+        flightDAO = new FlightDAO();
+        bookingRow = InMemoryResultSet.of(bookingRow());
+        flightRow = InMemoryResultSet.of(flightRow());
+    }
+
+    @Benchmark
+    public Booking mapResultSetToBooking() throws SQLException {
+        return bookingDAO.mapResultSetToBooking(bookingRow);
+    }
+
+    @Benchmark
+    public Flight mapResultSetToFlight() throws SQLException {
+        return flightDAO.mapResultSetToFlight(flightRow);
+    }
+
+    /**
+     * A row as returned by the booking queries
+     */
+    static Map<String, Object> bookingRow() {
+        LocalDateTime departure = LocalDateTime.of(2026, 12, 20, 6, 45);
+        LocalDateTime arrival = departure.plusHours(2).plusMinutes(10);
+        Map<String, Object> row = new HashMap<>();
+        row.put("booking_id", 48213);
+        row.put("user_id", 1207);
+        row.put("flight_id", 311);
+        row.put("departure_airport_id", 4);
+        row.put("destination_airport_id", 9);
+        row.put("departure_time", Timestamp.valueOf(departure));
+        row.put("destination_time", Timestamp.valueOf(arrival));
+        row.put("PNR", "AI7QK2M9");
+        row.put("date_of_departure", Date.valueOf(departure.toLocalDate()));
+        row.put("date_of_destination", Date.valueOf(arrival.toLocalDate()));
+        row.put("date_of_booking", Timestamp.valueOf(LocalDate.of(2026, 10, 2).atTime(14, 3, 27)));
+        row.put("amount", new BigDecimal("6499.00"));
+        row.put("payment_status", "Completed");
+        row.put("booking_status", "Confirmed");
+        row.put("first_name", "Priya");
+        row.put("last_name", "Raman");
+        row.put("email", "priya.raman@example.com");
+        row.put("flight_code", "AI-502");
+        row.put("flight_name", "Air India Express");
+        row.put("company_name", "Air India");
+        row.put("dep_code", "BLR");
+        row.put("dep_city", "Bengaluru");
+        row.put("dest_code", "DEL");
+        row.put("dest_city", "New Delhi");
+        return row;
+    }
+
+    /**
+     * A row as returned by the flight queries
+     */
+    static Map<String, Object> flightRow() {
+        LocalDateTime departure = LocalDateTime.of(2026, 12, 20, 6, 45);
+        Map<String, Object> row = new HashMap<>();
+        row.put("flight_id", 311);
+        row.put("company_id", 3);
+        row.put("flight_code", "AI-502");
+        row.put("flight_name", "Air India Express");
+        row.put("capacity", 180);
+        row.put("departure_airport_id", 4);
+        row.put("destination_airport_id", 9);
+        row.put("departure_time", Timestamp.valueOf(departure));
+        row.put("destination_time", Timestamp.valueOf(departure.plusHours(2).plusMinutes(10)));
+        row.put("price", new BigDecimal("5899.00"));
+        row.put("company_name", "Air India");
+        row.put("company_code", "AI");
+        row.put("dep_code", "BLR");
+        row.put("dep_name", "Kempegowda International Airport");
+        row.put("dep_city", "Bengaluru");
+        row.put("dest_code", "DEL");
+        row.put("dest_name", "Indira Gandhi International Airport");
+        row.put("dest_city", "New Delhi");
+        return row;
+    }
+}
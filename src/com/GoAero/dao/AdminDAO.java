@@ -6,6 +6,8 @@ import com.GoAero.model.Admin;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Admin entity
@@ -35,6 +37,15 @@ public class AdminDAO implements BaseDAO<Admin, Integer> {
     
     private static final String CHECK_USERNAME_EXISTS = 
         "SELECT COUNT(*) FROM admin_users WHERE username = ? AND admin_id != ?";
+    
+    private static final String SELECT_ADMINS_PAGE_ASC = 
+        "SELECT admin_id, username, password_hash, created_at, updated_at FROM admin_users WHERE admin_id > ? ORDER BY admin_id ASC LIMIT ?";
+    
+    private static final String SELECT_ADMINS_PAGE_DESC = 
+        "SELECT admin_id, username, password_hash, created_at, updated_at FROM admin_users WHERE admin_id < ? ORDER BY admin_id DESC LIMIT ?";
+    
+    private static final String STREAM_ADMINS = 
+        "SELECT admin_id, username, password_hash, created_at, updated_at FROM admin_users ORDER BY admin_id";
 
     @Override
     public Admin create(Admin admin) {
@@ -96,6 +107,23 @@ public class AdminDAO implements BaseDAO<Admin, Integer> {
         return admins;
     }
 
+    @Override
+    public Page<Admin, Integer> findPage(Integer cursor, int limit, SortDirection direction) {
+        String query = direction == SortDirection.DESCENDING ? SELECT_ADMINS_PAGE_DESC : SELECT_ADMINS_PAGE_ASC;
+        return QuerySupport.queryPage(query, QuerySupport.startCursor(cursor, direction), limit,
+            this::mapResultSetToAdmin, Admin::getAdminId);
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Admin> action) {
+        return QuerySupport.forEach(STREAM_ADMINS, this::mapResultSetToAdmin, action);
+    }
+
+    @Override
+    public Stream<Admin> stream() {
+        return QuerySupport.stream(STREAM_ADMINS, this::mapResultSetToAdmin);
+    }
+
     @Override
     public boolean update(Admin admin) {
         try (Connection conn = DBConnection.getConnection();
@@ -0,0 +1,150 @@
+package com.GoAero.dao;
+
+import com.GoAero.model.Airport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the airports table shared by all AirportDAO instances, indexed by
+ * ID, code and city and by an {@link AirportSearchIndex} for type-ahead search. It is
+ * loaded on first use, dropped whenever airports are written through AirportDAO and
+ * reloaded after a time-to-live so changes made by other processes are picked up as well.
+ *
+ * Lookups return copies, so callers may edit the airports they get without touching the cache.
+ */
+final class AirportCache {
+    private static final long TTL_MS = Long.getLong("goaero.airportCache.ttlMs", 300_000L);
+
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot;
+    // Incremented on every write so a load that raced with a write is not kept
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Immutable indexes over one load of the airports table
+     */
+    static final class Snapshot {
+        private final List<Airport> all;
+        private final Map<Integer, Airport> byId = new HashMap<>();
+        private final Map<String, Airport> byCode = new HashMap<>();
+        private final Map<String, List<Airport>> byCity = new HashMap<>();
+        private final AirportSearchIndex searchIndex;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Snapshot(List<Airport> airports) {
+            this.all = Collections.unmodifiableList(new ArrayList<>(airports));
+            for (Airport airport : all) {
+                byId.put(airport.getAirportId(), airport);
+                byCode.put(codeKey(airport.getAirportCode()), airport);
+                byCity.computeIfAbsent(cityKey(airport.getCity()), city -> new ArrayList<>()).add(airport);
+            }
+            searchIndex = new AirportSearchIndex(all);
+        }
+
+        /**
+         * Gets all airports, ordered by code
+         */
+        List<Airport> all() {
+            return copyOf(all);
+        }
+
+        Airport byId(int airportId) {
+            return copyOf(byId.get(airportId));
+        }
+
+        Airport byCode(String code) {
+            return code != null ? copyOf(byCode.get(codeKey(code))) : null;
+        }
+
+        /**
+         * Gets the airports of a city, ordered by code
+         */
+        List<Airport> byCity(String city) {
+            return city != null ? copyOf(byCity.getOrDefault(cityKey(city), Collections.emptyList())) : new ArrayList<>();
+        }
+
+        /**
+         * Gets the airports matching a type-ahead term, best matches first
+         */
+        List<Airport> search(String term, int limit) {
+            return copyOf(searchIndex.search(term, limit));
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > TTL_MS;
+        }
+    }
+
+    /**
+     * Gets the current snapshot, loading it if there is none or it has expired
+     * @param loader Reads all airports from the database, ordered by code; returns null on failure
+     * @return The snapshot, or null if the airports could not be loaded
+     */
+    Snapshot get(Supplier<List<Airport>> loader) {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+
+        synchronized (loadLock) {
+            current = snapshot;
+            if (current != null && !current.isExpired()) {
+                return current;
+            }
+
+            long loadVersion = version.get();
+            List<Airport> airports = loader.get();
+            if (airports == null) {
+                // Not cached, so the next lookup tries the database again
+                return null;
+            }
+            Snapshot loaded = new Snapshot(airports);
+            snapshot = loaded;
+            // Checked after publishing: either this sees the write or the write's invalidate runs later
+            if (version.get() != loadVersion) {
+                snapshot = null;
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Drops the cached airports after a write
+     */
+    void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private static String codeKey(String code) {
+        // MySQL compares codes case-insensitively, so the index does too
+        return code != null ? code.trim().toUpperCase(Locale.ROOT) : "";
+    }
+
+    private static String cityKey(String city) {
+        return city != null ? city.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static List<Airport> copyOf(List<Airport> airports) {
+        List<Airport> copies = new ArrayList<>(airports.size());
+        for (Airport airport : airports) {
+            copies.add(copyOf(airport));
+        }
+        return copies;
+    }
+
+    private static Airport copyOf(Airport airport) {
+        if (airport == null) {
+            return null;
+        }
+        return new Airport(airport.getAirportId(), airport.getAirportCode(), airport.getAirportName(),
+            airport.getCity(), airport.getCountry());
+    }
+}
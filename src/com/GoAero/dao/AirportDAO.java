@@ -6,12 +6,18 @@ import com.GoAero.model.Airport;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * Data Access Object for Airport entity
+ * Data Access Object for Airport entity.
+ * Lookups by ID, code and city and findAll are served from a shared in-memory cache
+ * that is invalidated by create, update and delete.
  */
 public class AirportDAO implements BaseDAO<Airport, Integer> {
 
+    private static final AirportCache CACHE = new AirportCache();
+
     private static final String INSERT_AIRPORT = 
         "INSERT INTO airports (airport_code, airport_name, city, country) VALUES (?, ?, ?, ?)";
     
@@ -40,6 +46,15 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
         "SELECT airport_id, airport_code, airport_name, city, country FROM airports " +
         "WHERE airport_code LIKE ? OR airport_name LIKE ? OR city LIKE ? OR country LIKE ? " +
         "ORDER BY airport_code";
+    
+    private static final String SELECT_AIRPORTS_PAGE_ASC = 
+        "SELECT airport_id, airport_code, airport_name, city, country FROM airports WHERE airport_id > ? ORDER BY airport_id ASC LIMIT ?";
+    
+    private static final String SELECT_AIRPORTS_PAGE_DESC = 
+        "SELECT airport_id, airport_code, airport_name, city, country FROM airports WHERE airport_id < ? ORDER BY airport_id DESC LIMIT ?";
+    
+    private static final String STREAM_AIRPORTS = 
+        "SELECT airport_id, airport_code, airport_name, city, country FROM airports ORDER BY airport_id";
 
     @Override
     public Airport create(Airport airport) {
@@ -57,6 +72,7 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         airport.setAirportId(generatedKeys.getInt(1));
+                        CACHE.invalidate();
                         return airport;
                     }
                 }
@@ -69,6 +85,13 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
 
     @Override
     public Airport findById(Integer id) {
+        AirportCache.Snapshot airports = CACHE.get(this::queryAllAirports);
+        Airport airport = airports != null ? airports.byId(id) : null;
+        // A miss may be an airport added by another process since the cache was loaded
+        return airport != null ? airport : queryById(id);
+    }
+
+    private Airport queryById(int id) {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_AIRPORT_BY_ID)) {
             
@@ -87,6 +110,15 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
 
     @Override
     public List<Airport> findAll() {
+        AirportCache.Snapshot airports = CACHE.get(this::queryAllAirports);
+        return airports != null ? airports.all() : new ArrayList<>();
+    }
+
+    /**
+     * Reads all airports from the database, ordered by code
+     * @return The airports, or null if the query failed
+     */
+    private List<Airport> queryAllAirports() {
         List<Airport> airports = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -98,11 +130,29 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
         
         return airports;
     }
 
+    @Override
+    public Page<Airport, Integer> findPage(Integer cursor, int limit, SortDirection direction) {
+        String query = direction == SortDirection.DESCENDING ? SELECT_AIRPORTS_PAGE_DESC : SELECT_AIRPORTS_PAGE_ASC;
+        return QuerySupport.queryPage(query, QuerySupport.startCursor(cursor, direction), limit,
+            this::mapResultSetToAirport, Airport::getAirportId);
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Airport> action) {
+        return QuerySupport.forEach(STREAM_AIRPORTS, this::mapResultSetToAirport, action);
+    }
+
+    @Override
+    public Stream<Airport> stream() {
+        return QuerySupport.stream(STREAM_AIRPORTS, this::mapResultSetToAirport);
+    }
+
     @Override
     public boolean update(Airport airport) {
         try (Connection conn = DBConnection.getConnection();
@@ -114,7 +164,11 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
             stmt.setString(4, airport.getCountry());
             stmt.setInt(5, airport.getAirportId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                CACHE.invalidate();
+            }
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -127,7 +181,11 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
              PreparedStatement stmt = conn.prepareStatement(DELETE_AIRPORT)) {
             
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                CACHE.invalidate();
+            }
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -160,6 +218,12 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
      * @return The airport if found, null otherwise
      */
     public Airport findByCode(String code) {
+        AirportCache.Snapshot airports = CACHE.get(this::queryAllAirports);
+        Airport airport = airports != null ? airports.byCode(code) : null;
+        return airport != null ? airport : queryByCode(code);
+    }
+
+    private Airport queryByCode(String code) {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_AIRPORT_BY_CODE)) {
             
@@ -212,9 +276,30 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
     /**
      * Searches airports by code, name, city, or country
      * @param searchTerm The term to search for
-     * @return List of matching airports
+     * @return List of matching airports, best matches first
      */
     public List<Airport> searchAirports(String searchTerm) {
+        return searchAirports(searchTerm, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Searches airports for type-ahead using the in-memory index.
+     * Exact code matches come first, then code, city and name prefixes, then substrings.
+     * @param searchTerm The term to search for; empty returns the first airports by code
+     * @param limit Maximum number of results
+     * @return List of matching airports, best matches first
+     */
+    public List<Airport> searchAirports(String searchTerm, int limit) {
+        AirportCache.Snapshot cached = CACHE.get(this::queryAllAirports);
+        if (cached != null) {
+            return cached.search(searchTerm, limit);
+        }
+
+        List<Airport> airports = queryMatchingAirports(searchTerm);
+        return airports.size() > limit ? new ArrayList<>(airports.subList(0, limit)) : airports;
+    }
+
+    private List<Airport> queryMatchingAirports(String searchTerm) {
         List<Airport> airports = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
@@ -244,6 +329,11 @@ public class AirportDAO implements BaseDAO<Airport, Integer> {
      * @return List of airports in the city
      */
     public List<Airport> findByCity(String city) {
+        AirportCache.Snapshot cached = CACHE.get(this::queryAllAirports);
+        if (cached != null) {
+            return cached.byCity(city);
+        }
+
         List<Airport> airports = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
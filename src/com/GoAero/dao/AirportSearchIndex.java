@@ -0,0 +1,233 @@
+package com.GoAero.dao;
+
+import com.GoAero.model.Airport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory search index over a fixed list of airports for type-ahead lookups.
+ * Codes, cities and names are kept in sorted key arrays, a flattened prefix trie where all
+ * keys starting with a prefix form one contiguous range found by binary search. All fields
+ * are also indexed by trigram so substring matches do not scan every airport.
+ *
+ * Matches are ranked exact code, code prefix, city prefix, name prefix, then country prefix
+ * or substring anywhere; ties keep the order of the list the index was built from.
+ */
+final class AirportSearchIndex {
+    private static final int SCORE_EXACT_CODE = 5;
+    private static final int SCORE_CODE_PREFIX = 4;
+    private static final int SCORE_CITY_PREFIX = 3;
+    private static final int SCORE_NAME_PREFIX = 2;
+    private static final int SCORE_CONTAINS = 1;
+    private static final int GRAM = 3;
+
+    private final List<Airport> airports;
+    private final PrefixIndex codes;
+    private final PrefixIndex cities;
+    private final PrefixIndex names;
+    private final PrefixIndex countries;
+    // Lowercased "code \n name \n city \n country" per airport, used to confirm substring matches
+    private final String[] haystacks;
+    private final Map<String, int[]> trigrams = new HashMap<>();
+
+    /**
+     * Best score per airport for one query, plus the airports that matched at all
+     */
+    private static final class Scores {
+        final int[] score;
+        int[] matched = new int[16];
+        int matchCount;
+
+        Scores(int size) {
+            score = new int[size];
+        }
+
+        void raise(int position, int value) {
+            if (score[position] == 0) {
+                if (matchCount == matched.length) {
+                    matched = Arrays.copyOf(matched, matchCount * 2);
+                }
+                matched[matchCount++] = position;
+            }
+            score[position] = Math.max(score[position], value);
+        }
+    }
+
+    /**
+     * Sorted (key, airport position) pairs, searched by prefix
+     */
+    private static final class PrefixIndex {
+        private final String[] keys;
+        private final int[] positions;
+
+        PrefixIndex(String[] values) {
+            Integer[] order = new Integer[values.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> values[a].compareTo(values[b]));
+
+            keys = new String[values.length];
+            positions = new int[values.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = values[order[i]];
+                positions[i] = order[i];
+            }
+        }
+
+        /**
+         * Raises the score of every airport whose key starts with the prefix
+         * @param exactScore Score used instead when the key equals the prefix
+         */
+        void collect(String prefix, Scores scores, int score, int exactScore) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < keys.length && keys[i].startsWith(prefix); i++) {
+                scores.raise(positions[i], keys[i].length() == prefix.length() ? exactScore : score);
+            }
+        }
+    }
+
+    AirportSearchIndex(List<Airport> airports) {
+        this.airports = airports;
+        int size = airports.size();
+        String[] codeKeys = new String[size];
+        String[] cityKeys = new String[size];
+        String[] nameKeys = new String[size];
+        String[] countryKeys = new String[size];
+        haystacks = new String[size];
+
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Airport airport = airports.get(i);
+            codeKeys[i] = normalize(airport.getAirportCode());
+            cityKeys[i] = normalize(airport.getCity());
+            nameKeys[i] = normalize(airport.getAirportName());
+            countryKeys[i] = normalize(airport.getCountry());
+            haystacks[i] = codeKeys[i] + '\n' + nameKeys[i] + '\n' + cityKeys[i] + '\n' + countryKeys[i];
+
+            for (String gram : gramsOf(haystacks[i])) {
+                postings.computeIfAbsent(gram, g -> new ArrayList<>()).add(i);
+            }
+        }
+
+        codes = new PrefixIndex(codeKeys);
+        cities = new PrefixIndex(cityKeys);
+        names = new PrefixIndex(nameKeys);
+        countries = new PrefixIndex(countryKeys);
+        for (Map.Entry<String, List<Integer>> entry : postings.entrySet()) {
+            trigrams.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Finds the airports matching a term, best matches first
+     * @param term The search term; empty returns the first airports in list order
+     * @param limit Maximum number of results
+     * @return The matching airports from the indexed list
+     */
+    List<Airport> search(String term, int limit) {
+        String query = normalize(term);
+        if (query.isEmpty()) {
+            return new ArrayList<>(airports.subList(0, Math.min(limit, airports.size())));
+        }
+
+        Scores scores = new Scores(airports.size());
+        codes.collect(query, scores, SCORE_CODE_PREFIX, SCORE_EXACT_CODE);
+        cities.collect(query, scores, SCORE_CITY_PREFIX, SCORE_CITY_PREFIX);
+        names.collect(query, scores, SCORE_NAME_PREFIX, SCORE_NAME_PREFIX);
+        countries.collect(query, scores, SCORE_CONTAINS, SCORE_CONTAINS);
+        collectContaining(query, scores);
+
+        // Sort only the matches, by score descending then list position, packed into one long each
+        long[] ranked = new long[scores.matchCount];
+        for (int i = 0; i < ranked.length; i++) {
+            int position = scores.matched[i];
+            ranked[i] = ((long) (SCORE_EXACT_CODE - scores.score[position]) << 32) | position;
+        }
+        Arrays.sort(ranked);
+
+        List<Airport> results = new ArrayList<>(Math.min(limit, ranked.length));
+        for (int i = 0; i < ranked.length && results.size() < limit; i++) {
+            results.add(airports.get((int) ranked[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Marks airports containing the term anywhere, checking only the airports that share all
+     * of its trigrams. Terms shorter than a trigram only match by prefix.
+     */
+    private void collectContaining(String query, Scores scores) {
+        if (query.length() < GRAM) {
+            return;
+        }
+
+        List<int[]> postings = new ArrayList<>();
+        for (String gram : gramsOf(query)) {
+            int[] posting = trigrams.get(gram);
+            if (posting == null) {
+                return;
+            }
+            postings.add(posting);
+        }
+        // Rarest trigram first keeps the intersections small
+        postings.sort((x, y) -> Integer.compare(x.length, y.length));
+        int[] candidates = postings.get(0);
+        for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, postings.get(i));
+        }
+
+        for (int candidate : candidates) {
+            if (scores.score[candidate] == 0 && haystacks[candidate].contains(query)) {
+                scores.raise(candidate, SCORE_CONTAINS);
+            }
+        }
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
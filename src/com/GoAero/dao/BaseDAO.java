@@ -1,6 +1,8 @@
 package com.GoAero.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Base interface for Data Access Objects
@@ -29,6 +31,30 @@ public interface BaseDAO<T, ID> {
      */
     List<T> findAll();
     
+    /**
+     * Finds one page of entities using keyset pagination on the ID
+     * @param cursor The ID after which the page starts, or null for the first page
+     * @param limit Maximum number of entities in the page
+     * @param direction Sort direction of the ID
+     * @return The page, whose next cursor continues after its last entity
+     */
+    Page<T, ID> findPage(ID cursor, int limit, SortDirection direction);
+    
+    /**
+     * Applies an action to every entity, mapping rows as they are streamed from the database
+     * @param action The action to apply
+     * @return true if every entity was visited, false if the query failed part way
+     */
+    boolean forEach(Consumer<? super T> action);
+    
+    /**
+     * Streams all entities, mapping rows lazily as they are read.
+     * The stream holds a database connection until closed, so use it in try-with-resources.
+     * @return A stream of all entities
+     * @throws DataAccessException if the query fails, including while the stream is consumed
+     */
+    Stream<T> stream();
+    
     /**
      * Updates an existing entity
      * @param entity The entity to update
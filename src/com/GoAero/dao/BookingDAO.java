@@ -2,12 +2,22 @@ package com.GoAero.dao;
 
 import com.GoAero.db.DBConnection;
 import com.GoAero.model.Booking;
+import com.GoAero.model.BookingStatistics;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Booking entity
@@ -51,6 +61,63 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         "JOIN airports dest ON b.destination_airport_id = dest.airport_id " +
         "ORDER BY b.date_of_booking DESC";
     
+    private static final String SELECT_BOOKING_COLUMNS = 
+        "SELECT b.booking_id, b.user_id, b.flight_id, b.departure_airport_id, b.destination_airport_id, " +
+        "b.departure_time, b.destination_time, b.PNR, b.date_of_departure, b.date_of_destination, " +
+        "b.date_of_booking, b.amount, b.payment_status, b.booking_status, " +
+        "u.first_name, u.last_name, u.email, " +
+        "fd.flight_code, fd.flight_name, fo.company_name, " +
+        "da.airport_code as dep_code, da.city as dep_city, " +
+        "dest.airport_code as dest_code, dest.city as dest_city ";
+    
+    private static final String JOIN_BOOKING_DETAILS = 
+        "JOIN users u ON b.user_id = u.user_id " +
+        "JOIN flight_data fd ON b.flight_id = fd.flight_id " +
+        "JOIN flight_owners fo ON fd.company_id = fo.owner_id " +
+        "JOIN airports da ON b.departure_airport_id = da.airport_id " +
+        "JOIN airports dest ON b.destination_airport_id = dest.airport_id ";
+    
+    // Shared column list and joins, without WHERE or ORDER BY
+    private static final String SELECT_BOOKINGS_FROM = 
+        SELECT_BOOKING_COLUMNS + "FROM bookings b " + JOIN_BOOKING_DETAILS;
+    
+    private static final String SELECT_BOOKINGS_PAGE_ASC = 
+        SELECT_BOOKINGS_FROM + "WHERE b.booking_id > ? ORDER BY b.booking_id ASC LIMIT ?";
+    
+    private static final String SELECT_BOOKINGS_PAGE_DESC = 
+        SELECT_BOOKINGS_FROM + "WHERE b.booking_id < ? ORDER BY b.booking_id DESC LIMIT ?";
+    
+    private static final String STREAM_BOOKINGS = 
+        SELECT_BOOKINGS_FROM + "ORDER BY b.booking_id";
+    
+    private static final String SELECT_BOOKINGS_BY_USER = 
+        SELECT_BOOKINGS_FROM + "WHERE b.user_id = ? ORDER BY b.date_of_booking DESC";
+    
+    // IDs of the bookings whose PNR, flight code or passenger name starts with the search term.
+    // One UNION branch per column, so each is a range scan of that column's index; an OR across
+    // the joined tables could not use any of them. The full name branch narrows by the first
+    // word of the term on first_name before comparing the whole name.
+    private static final String BOOKING_SEARCH_MATCHES = 
+        "(SELECT booking_id FROM bookings WHERE PNR LIKE ? " +
+        "UNION SELECT bs.booking_id FROM flight_data fs JOIN bookings bs ON bs.flight_id = fs.flight_id " +
+        "WHERE fs.flight_code LIKE ? " +
+        "UNION SELECT bs.booking_id FROM users us JOIN bookings bs ON bs.user_id = us.user_id " +
+        "WHERE us.first_name LIKE ? " +
+        "UNION SELECT bs.booking_id FROM users us JOIN bookings bs ON bs.user_id = us.user_id " +
+        "WHERE us.last_name LIKE ? " +
+        "UNION SELECT bs.booking_id FROM users us JOIN bookings bs ON bs.user_id = us.user_id " +
+        "WHERE us.first_name LIKE ? AND CONCAT(us.first_name, ' ', us.last_name) LIKE ?) m ";
+    
+    private static final String SEARCH_BOOKINGS_FROM = 
+        SELECT_BOOKING_COLUMNS + "FROM " + BOOKING_SEARCH_MATCHES +
+        "JOIN bookings b ON b.booking_id = m.booking_id " + JOIN_BOOKING_DETAILS;
+    
+    // Every variant of the sorted booking query, built once so each has one cached statement per connection
+    private static final String[] SORTED_BOOKINGS_QUERIES = buildSortedBookingsQueries();
+    
+    private static final String COUNT_BOOKINGS_MATCHING = 
+        "SELECT COUNT(*) FROM " + BOOKING_SEARCH_MATCHES;
+    
     private static final String UPDATE_BOOKING = 
         "UPDATE bookings SET user_id = ?, flight_id = ?, departure_airport_id = ?, destination_airport_id = ?, " +
         "departure_time = ?, destination_time = ?, PNR = ?, date_of_departure = ?, date_of_destination = ?, " +
@@ -59,6 +126,17 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     private static final String DELETE_BOOKING = 
         "DELETE FROM bookings WHERE booking_id = ?";
     
+    // Locks a booking for the rest of the transaction and reads what its flight counters depend on
+    private static final String SELECT_BOOKING_FOR_UPDATE = 
+        "SELECT flight_id, departure_airport_id, destination_airport_id, booking_status, payment_status, amount " +
+        "FROM bookings WHERE booking_id = ? FOR UPDATE";
+    
+    private static final String UPDATE_BOOKING_STATUS = 
+        "UPDATE bookings SET booking_status = ? WHERE booking_id = ?";
+    
+    private static final String UPDATE_PAYMENT_STATUS = 
+        "UPDATE bookings SET payment_status = ? WHERE booking_id = ?";
+    
     private static final String COUNT_BOOKINGS = 
         "SELECT COUNT(*) FROM bookings";
     
@@ -77,41 +155,223 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         "JOIN airports da ON b.departure_airport_id = da.airport_id " +
         "JOIN airports dest ON b.destination_airport_id = dest.airport_id " +
         "WHERE b.PNR = ?";
+    
+    private static final String CHECK_PNR_EXISTS = 
+        "SELECT 1 FROM bookings WHERE PNR = ? LIMIT 1";
+    
+    private static final String CREATE_PNR_SEQUENCE = 
+        "CREATE TABLE IF NOT EXISTS pnr_sequence (" +
+        "name VARCHAR(32) PRIMARY KEY, next_value BIGINT NOT NULL)";
+    
+    // Inserts the counter on first use, otherwise advances it and exposes the new value via LAST_INSERT_ID()
+    private static final String RESERVE_PNR_BLOCK = 
+        "INSERT INTO pnr_sequence (name, next_value) VALUES ('PNR', ?) " +
+        "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)";
+    
+    private static final String SELECT_LAST_INSERT_ID = 
+        "SELECT LAST_INSERT_ID()";
+    
+    private static final String SELECT_BOOKING_STATISTICS = 
+        "SELECT b.booking_status, b.payment_status, COUNT(*) as booking_count, " +
+        "COALESCE(SUM(b.amount), 0) as total_amount FROM bookings b ";
+    
+    private static final String JOIN_FLIGHT_FOR_OWNER = 
+        "JOIN flight_data fd ON b.flight_id = fd.flight_id ";
+    
+    private static final String GROUP_BY_STATUS = 
+        "GROUP BY b.booking_status, b.payment_status";
+    
+    // Attempts of a booking transaction that lost a deadlock
+    private static final int BOOKING_ATTEMPTS = 3;
+    
+    // MySQL error code for "table doesn't exist"
+    private static final int ER_NO_SUCH_TABLE = 1146;
+
+    /**
+     * Row of a booking as stored, read and locked before it is changed
+     */
+    private static final class StoredBooking {
+        int flightId;
+        int departureAirportId;
+        int destinationAirportId;
+        Booking.BookingStatus bookingStatus;
+        Booking.PaymentStatus paymentStatus;
+        BigDecimal amount;
+    }
 
+    /**
+     * Inserts a booking and counts it in its flight's inventory, in one transaction
+     */
     @Override
     public Booking create(Booking booking) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, booking.getUserId());
-            stmt.setInt(2, booking.getFlightId());
-            stmt.setInt(3, booking.getDepartureAirportId());
-            stmt.setInt(4, booking.getDestinationAirportId());
-            stmt.setTimestamp(5, Timestamp.valueOf(booking.getDepartureTime()));
-            stmt.setTimestamp(6, Timestamp.valueOf(booking.getDestinationTime()));
-            stmt.setString(7, booking.getPnr());
-            stmt.setDate(8, Date.valueOf(booking.getDateOfDeparture()));
-            stmt.setDate(9, Date.valueOf(booking.getDateOfDestination()));
-            stmt.setBigDecimal(10, booking.getAmount());
-            stmt.setString(11, booking.getPaymentStatus().getDisplayName());
-            stmt.setString(12, booking.getBookingStatus().getDisplayName());
-            
-            int affectedRows = stmt.executeUpdate();
+        FlightInventory.checkTable();
+        try {
+            Booking created = QuerySupport.inTransaction(conn -> {
+                if (!insertBooking(conn, booking)) {
+                    return null;
+                }
+                FlightInventory.add(conn, booking.getFlightId(), booking.getBookingStatus(),
+                    booking.getPaymentStatus(), booking.getAmount());
+                return booking;
+            });
             
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        booking.setBookingId(generatedKeys.getInt(1));
-                        return booking;
+            if (created != null) {
+                FlightDAO.invalidateFareCalendar(booking.getDepartureAirportId(), booking.getDestinationAirportId());
+            }
+            return created;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Books a seat as one unit of work: locks the flight's counters, checks a seat is free,
+     * allocates the PNR and inserts the booking on a single connection in one transaction.
+     * Concurrent bookings of the same flight wait for each other on the counter row, so a
+     * flight can never be overbooked. The transaction is retried if it hits a deadlock.
+     * @param booking The booking to create; its PNR is set by this method
+     * @param pnrAllocator Allocates the PNR; it is given an existence check that runs in the
+     *                     booking's transaction
+     * @return The saved booking, or null if the flight is full, does not exist or the insert failed
+     */
+    public Booking createIfSeatAvailable(Booking booking, Function<Predicate<String>, String> pnrAllocator) {
+        FlightInventory.checkTable();
+        try {
+            Booking created = QuerySupport.inTransaction(conn -> {
+                if (FlightInventory.lockFreeSeats(conn, booking.getFlightId()) < 1) {
+                    return null;
+                }
+                try {
+                    booking.setPnr(pnrAllocator.apply(pnr -> pnrExists(conn, pnr)));
+                } catch (IllegalStateException e) {
+                    if (e.getCause() instanceof SQLException) {
+                        throw (SQLException) e.getCause();
                     }
+                    throw e;
                 }
+                if (!insertBooking(conn, booking)) {
+                    return null;
+                }
+                FlightInventory.add(conn, booking.getFlightId(), booking.getBookingStatus(),
+                    booking.getPaymentStatus(), booking.getAmount());
+                return booking;
+            }, BOOKING_ATTEMPTS);
+            
+            if (created != null) {
+                FlightDAO.invalidateFareCalendar(booking.getDepartureAirportId(), booking.getDestinationAirportId());
             }
+            return created;
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return null;
     }
 
+    /**
+     * Creates a group of bookings, e.g. for several passengers, as one unit of work: the seats
+     * of every flight in the group are locked and checked, and all bookings are inserted with
+     * one batched statement. Either every booking is created or none is.
+     * @param bookings The bookings to create; their PNRs and IDs are set by this method
+     * @param pnrAllocator Allocates each PNR; it is given an existence check that runs in the
+     *                     group's transaction and also rejects PNRs given to earlier bookings of the group
+     * @return true if all bookings were created, false if a flight has too few free seats or the insert failed
+     */
+    public boolean createAll(List<Booking> bookings, Function<Predicate<String>, String> pnrAllocator) {
+        if (bookings.isEmpty()) {
+            return true;
+        }
+        FlightInventory.checkTable();
+        
+        // Seats needed per flight, in flight order so concurrent groups lock rows in the same order
+        Map<Integer, Integer> seatsByFlight = new TreeMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getBookingStatus() != Booking.BookingStatus.CANCELLED) {
+                seatsByFlight.merge(booking.getFlightId(), 1, Integer::sum);
+            }
+        }
+        
+        try {
+            boolean created = QuerySupport.inTransaction(conn -> {
+                for (Map.Entry<Integer, Integer> seats : seatsByFlight.entrySet()) {
+                    if (FlightInventory.lockFreeSeats(conn, seats.getKey()) < seats.getValue()) {
+                        return false;
+                    }
+                }
+                Set<String> allocated = new HashSet<>();
+                try {
+                    for (Booking booking : bookings) {
+                        booking.setPnr(pnrAllocator.apply(pnr -> allocated.contains(pnr) || pnrExists(conn, pnr)));
+                        allocated.add(booking.getPnr());
+                    }
+                } catch (IllegalStateException e) {
+                    if (e.getCause() instanceof SQLException) {
+                        throw (SQLException) e.getCause();
+                    }
+                    throw e;
+                }
+                insertBookings(conn, bookings);
+                FlightInventory.addAll(conn, bookings);
+                return true;
+            }, BOOKING_ATTEMPTS);
+            
+            if (created) {
+                for (Booking booking : bookings) {
+                    FlightDAO.invalidateFareCalendar(booking.getDepartureAirportId(), booking.getDestinationAirportId());
+                }
+            }
+            return created;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Inserts booking rows with one batch and sets the generated booking IDs
+     * @throws SQLException if a row was not inserted, so the transaction is rolled back
+     */
+    private void insertBookings(Connection conn, List<Booking> bookings) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+            for (Booking booking : bookings) {
+                bindBooking(stmt, booking);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            
+            // Keys come back in the order the rows were added
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Booking booking : bookings) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Missing generated key for booking " + booking.getPnr());
+                    }
+                    booking.setBookingId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts a booking row and sets the generated booking ID
+     * @return true if the row was inserted
+     */
+    private boolean insertBooking(Connection conn, Booking booking) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+            bindBooking(stmt, booking);
+            
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    return false;
+                }
+                booking.setBookingId(generatedKeys.getInt(1));
+                return true;
+            }
+        }
+    }
+
     @Override
     public Booking findById(Integer id) {
         try (Connection conn = DBConnection.getConnection();
@@ -148,39 +408,96 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         return bookings;
     }
 
+    @Override
+    public Page<Booking, Integer> findPage(Integer cursor, int limit, SortDirection direction) {
+        String query = direction == SortDirection.DESCENDING ? SELECT_BOOKINGS_PAGE_DESC : SELECT_BOOKINGS_PAGE_ASC;
+        return QuerySupport.queryPage(query, QuerySupport.startCursor(cursor, direction), limit,
+            this::mapResultSetToBooking, Booking::getBookingId);
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Booking> action) {
+        return QuerySupport.forEach(STREAM_BOOKINGS, this::mapResultSetToBooking, action);
+    }
+
+    @Override
+    public Stream<Booking> stream() {
+        return QuerySupport.stream(STREAM_BOOKINGS, this::mapResultSetToBooking);
+    }
+
+    /**
+     * Updates a booking and moves it between flight counters as needed, in one transaction
+     */
     @Override
     public boolean update(Booking booking) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_BOOKING)) {
-            
-            stmt.setInt(1, booking.getUserId());
-            stmt.setInt(2, booking.getFlightId());
-            stmt.setInt(3, booking.getDepartureAirportId());
-            stmt.setInt(4, booking.getDestinationAirportId());
-            stmt.setTimestamp(5, Timestamp.valueOf(booking.getDepartureTime()));
-            stmt.setTimestamp(6, Timestamp.valueOf(booking.getDestinationTime()));
-            stmt.setString(7, booking.getPnr());
-            stmt.setDate(8, Date.valueOf(booking.getDateOfDeparture()));
-            stmt.setDate(9, Date.valueOf(booking.getDateOfDestination()));
-            stmt.setBigDecimal(10, booking.getAmount());
-            stmt.setString(11, booking.getPaymentStatus().getDisplayName());
-            stmt.setString(12, booking.getBookingStatus().getDisplayName());
-            stmt.setInt(13, booking.getBookingId());
+        FlightInventory.checkTable();
+        try {
+            StoredBooking previous = QuerySupport.inTransaction(conn -> {
+                StoredBooking stored = lockBooking(conn, booking.getBookingId());
+                if (stored == null) {
+                    return null;
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_BOOKING)) {
+                    stmt.setInt(1, booking.getUserId());
+                    stmt.setInt(2, booking.getFlightId());
+                    stmt.setInt(3, booking.getDepartureAirportId());
+                    stmt.setInt(4, booking.getDestinationAirportId());
+                    stmt.setTimestamp(5, Timestamp.valueOf(booking.getDepartureTime()));
+                    stmt.setTimestamp(6, Timestamp.valueOf(booking.getDestinationTime()));
+                    stmt.setString(7, booking.getPnr());
+                    stmt.setDate(8, Date.valueOf(booking.getDateOfDeparture()));
+                    stmt.setDate(9, Date.valueOf(booking.getDateOfDestination()));
+                    stmt.setBigDecimal(10, booking.getAmount());
+                    stmt.setString(11, booking.getPaymentStatus().getDisplayName());
+                    stmt.setString(12, booking.getBookingStatus().getDisplayName());
+                    stmt.setInt(13, booking.getBookingId());
+                    stmt.executeUpdate();
+                }
+                
+                FlightInventory.remove(conn, stored.flightId, stored.bookingStatus, stored.paymentStatus, stored.amount);
+                FlightInventory.add(conn, booking.getFlightId(), booking.getBookingStatus(),
+                    booking.getPaymentStatus(), booking.getAmount());
+                return stored;
+            });
             
-            return stmt.executeUpdate() > 0;
+            if (previous != null) {
+                FlightDAO.invalidateFareCalendar(previous.departureAirportId, previous.destinationAirportId);
+                FlightDAO.invalidateFareCalendar(booking.getDepartureAirportId(), booking.getDestinationAirportId());
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
 
+    /**
+     * Deletes a booking and removes it from its flight's counters, in one transaction
+     */
     @Override
     public boolean delete(Integer id) {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(DELETE_BOOKING)) {
+        FlightInventory.checkTable();
+        try {
+            StoredBooking deleted = QuerySupport.inTransaction(conn -> {
+                StoredBooking stored = lockBooking(conn, id);
+                if (stored == null) {
+                    return null;
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(DELETE_BOOKING)) {
+                    stmt.setInt(1, id);
+                    stmt.executeUpdate();
+                }
+                
+                FlightInventory.remove(conn, stored.flightId, stored.bookingStatus, stored.paymentStatus, stored.amount);
+                return stored;
+            });
             
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            if (deleted != null) {
+                FlightDAO.invalidateFareCalendar(deleted.departureAirportId, deleted.destinationAirportId);
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -207,6 +524,170 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
         return 0;
     }
 
+    /**
+     * Counts the bookings whose PNR, flight code or passenger name starts with a search term
+     * @param searchTerm The search term, or null/empty to count all bookings
+     * @return Number of matching bookings
+     */
+    public long countBookings(String searchTerm) {
+        if (isBlank(searchTerm)) {
+            return count();
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_BOOKINGS_MATCHING)) {
+            
+            bindSearchPattern(stmt, 1, searchTerm);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the page of sorted bookings that follows a given booking, using the sort value
+     * and ID of that booking as a keyset cursor
+     * @param searchTerm The search term, or null/empty for all bookings
+     * @param sortField The field to sort on
+     * @param direction The sort direction
+     * @param after The last booking of the previous page; its sort value must not be null
+     * @param limit Maximum number of bookings to return
+     * @return The bookings in sort order
+     */
+    public List<Booking> findBookingsAfter(String searchTerm, BookingSortField sortField,
+                                           SortDirection direction, Booking after, int limit) {
+        return findSortedBookings(searchTerm, sortField, direction, after, 0, limit);
+    }
+
+    /**
+     * Finds a page of sorted bookings by position. Used when no cursor is known for the
+     * page, e.g. when jumping far ahead; the database has to skip the preceding rows.
+     * @param searchTerm The search term, or null/empty for all bookings
+     * @param sortField The field to sort on
+     * @param direction The sort direction
+     * @param offset Number of bookings to skip
+     * @param limit Maximum number of bookings to return
+     * @return The bookings in sort order
+     */
+    public List<Booking> findBookings(String searchTerm, BookingSortField sortField,
+                                      SortDirection direction, int offset, int limit) {
+        return findSortedBookings(searchTerm, sortField, direction, null, offset, limit);
+    }
+
+    private List<Booking> findSortedBookings(String searchTerm, BookingSortField sortField,
+                                             SortDirection direction, Booking after, int offset, int limit) {
+        List<Booking> bookings = new ArrayList<>();
+        boolean search = !isBlank(searchTerm);
+        String query = SORTED_BOOKINGS_QUERIES[sortedBookingsQueryIndex(search, sortField, direction, after != null)];
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            
+            int index = 1;
+            if (search) {
+                index = bindSearchPattern(stmt, index, searchTerm);
+            }
+            if (after != null) {
+                stmt.setObject(index++, sortField.keyOf(after));
+                stmt.setInt(index++, after.getBookingId());
+            }
+            stmt.setInt(index++, limit);
+            if (after == null) {
+                stmt.setInt(index, offset);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapResultSetToBooking(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return bookings;
+    }
+
+    private static String[] buildSortedBookingsQueries() {
+        String[] queries = new String[BookingSortField.values().length * SortDirection.values().length * 4];
+        for (BookingSortField sortField : BookingSortField.values()) {
+            for (SortDirection direction : SortDirection.values()) {
+                for (int flags = 0; flags < 4; flags++) {
+                    boolean search = (flags & 1) != 0;
+                    boolean keyset = (flags & 2) != 0;
+                    queries[sortedBookingsQueryIndex(search, sortField, direction, keyset)] =
+                        buildSortedBookingsQuery(search, sortField, direction, keyset);
+                }
+            }
+        }
+        return queries;
+    }
+
+    private static int sortedBookingsQueryIndex(boolean search, BookingSortField sortField,
+                                                SortDirection direction, boolean keyset) {
+        int index = sortField.ordinal() * SortDirection.values().length + direction.ordinal();
+        return index * 4 + (search ? 1 : 0) + (keyset ? 2 : 0);
+    }
+
+    /**
+     * Builds the sorted booking query. The booking ID breaks ties so the order is total
+     * and a cursor of (sort value, booking ID) identifies a unique position. The cursor is
+     * compared as a row, which MySQL turns into a range scan of a matching (column, booking_id)
+     * index, such as idx_booking_date for the default sort.
+     */
+    private static String buildSortedBookingsQuery(boolean search, BookingSortField sortField,
+                                                   SortDirection direction, boolean keyset) {
+        String column = sortField.getSql();
+        StringBuilder query = new StringBuilder(search ? SEARCH_BOOKINGS_FROM : SELECT_BOOKINGS_FROM);
+        
+        if (keyset) {
+            String op = direction == SortDirection.DESCENDING ? "<" : ">";
+            query.append("WHERE (").append(column).append(", b.booking_id) ").append(op).append(" (?, ?) ");
+        }
+        query.append("ORDER BY ").append(column).append(' ').append(direction.getSql())
+            .append(", b.booking_id ").append(direction.getSql());
+        query.append(keyset ? " LIMIT ?" : " LIMIT ? OFFSET ?");
+        
+        return query.toString();
+    }
+
+    /**
+     * Binds the prefix patterns of a search term to the parameters of the search matches
+     * @return The index of the next parameter
+     */
+    private static int bindSearchPattern(PreparedStatement stmt, int index, String searchTerm) throws SQLException {
+        String term = searchTerm.trim();
+        int space = term.indexOf(' ');
+        String pattern = prefixPattern(term);
+        stmt.setString(index++, pattern);
+        stmt.setString(index++, pattern);
+        stmt.setString(index++, pattern);
+        stmt.setString(index++, pattern);
+        stmt.setString(index++, space < 0 ? pattern : prefixPattern(term.substring(0, space)));
+        stmt.setString(index++, pattern);
+        return index;
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a term and turns it into a prefix pattern
+     */
+    private static String prefixPattern(String term) {
+        return term
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
     /**
      * Finds a booking by PNR
      * @param pnr The PNR to search for
@@ -237,11 +718,8 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
     public List<Booking> findByUserId(int userId) {
         List<Booking> bookings = new ArrayList<>();
         
-        String query = SELECT_ALL_BOOKINGS.replace("ORDER BY b.date_of_booking DESC", 
-            "WHERE b.user_id = ? ORDER BY b.date_of_booking DESC");
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BOOKINGS_BY_USER)) {
             
             stmt.setInt(1, userId);
             
@@ -264,15 +742,30 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
      * @return true if update was successful
      */
     public boolean updateBookingStatus(int bookingId, Booking.BookingStatus status) {
-        String query = "UPDATE bookings SET booking_status = ? WHERE booking_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, status.getDisplayName());
-            stmt.setInt(2, bookingId);
+        FlightInventory.checkTable();
+        try {
+            StoredBooking previous = QuerySupport.inTransaction(conn -> {
+                StoredBooking stored = lockBooking(conn, bookingId);
+                if (stored == null) {
+                    return null;
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_BOOKING_STATUS)) {
+                    stmt.setString(1, status.getDisplayName());
+                    stmt.setInt(2, bookingId);
+                    stmt.executeUpdate();
+                }
+                
+                FlightInventory.remove(conn, stored.flightId, stored.bookingStatus, stored.paymentStatus, stored.amount);
+                FlightInventory.add(conn, stored.flightId, status, stored.paymentStatus, stored.amount);
+                return stored;
+            });
             
-            return stmt.executeUpdate() > 0;
+            if (previous != null) {
+                // The seat was taken or freed, so the route's fare calendar is out of date
+                FlightDAO.invalidateFareCalendar(previous.departureAirportId, previous.destinationAirportId);
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -286,28 +779,218 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
      * @return true if update was successful
      */
     public boolean updatePaymentStatus(int bookingId, Booking.PaymentStatus status) {
-        String query = "UPDATE bookings SET payment_status = ? WHERE booking_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, status.getDisplayName());
-            stmt.setInt(2, bookingId);
-            
-            return stmt.executeUpdate() > 0;
+        FlightInventory.checkTable();
+        try {
+            // Revenue only counts paid bookings, so the flight counters change too
+            StoredBooking previous = QuerySupport.inTransaction(conn -> {
+                StoredBooking stored = lockBooking(conn, bookingId);
+                if (stored == null) {
+                    return null;
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_PAYMENT_STATUS)) {
+                    stmt.setString(1, status.getDisplayName());
+                    stmt.setInt(2, bookingId);
+                    stmt.executeUpdate();
+                }
+                
+                FlightInventory.remove(conn, stored.flightId, stored.bookingStatus, stored.paymentStatus, stored.amount);
+                FlightInventory.add(conn, stored.flightId, stored.bookingStatus, status, stored.amount);
+                return stored;
+            });
+            return previous != null;
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
 
+    /**
+     * Recomputes the per-flight booking counters from the bookings and repairs any that drifted,
+     * e.g. because bookings were changed by another tool
+     * @return Number of flights whose counters were repaired, or -1 if reconciliation failed
+     */
+    public int reconcileFlightInventory() {
+        return FlightInventory.reconcile();
+    }
+
+    /**
+     * Reads a booking and locks it until the transaction ends
+     * @return The stored booking, or null if there is no such booking
+     */
+    private StoredBooking lockBooking(Connection conn, int bookingId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BOOKING_FOR_UPDATE)) {
+            stmt.setInt(1, bookingId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                StoredBooking stored = new StoredBooking();
+                stored.flightId = rs.getInt("flight_id");
+                stored.departureAirportId = rs.getInt("departure_airport_id");
+                stored.destinationAirportId = rs.getInt("destination_airport_id");
+                stored.bookingStatus = Booking.BookingStatus.fromString(rs.getString("booking_status"));
+                stored.paymentStatus = Booking.PaymentStatus.fromString(rs.getString("payment_status"));
+                stored.amount = rs.getBigDecimal("amount");
+                return stored;
+            }
+        }
+    }
+
+    private void bindBooking(PreparedStatement stmt, Booking booking) throws SQLException {
+        stmt.setInt(1, booking.getUserId());
+        stmt.setInt(2, booking.getFlightId());
+        stmt.setInt(3, booking.getDepartureAirportId());
+        stmt.setInt(4, booking.getDestinationAirportId());
+        stmt.setTimestamp(5, Timestamp.valueOf(booking.getDepartureTime()));
+        stmt.setTimestamp(6, Timestamp.valueOf(booking.getDestinationTime()));
+        stmt.setString(7, booking.getPnr());
+        stmt.setDate(8, Date.valueOf(booking.getDateOfDeparture()));
+        stmt.setDate(9, Date.valueOf(booking.getDateOfDestination()));
+        stmt.setBigDecimal(10, booking.getAmount());
+        stmt.setString(11, booking.getPaymentStatus().getDisplayName());
+        stmt.setString(12, booking.getBookingStatus().getDisplayName());
+    }
+
     /**
      * Checks if PNR already exists
      * @param pnr The PNR to check
      * @return true if PNR exists
      */
     public boolean pnrExists(String pnr) {
-        return findByPNR(pnr) != null;
+        try (Connection conn = DBConnection.getConnection()) {
+            return pnrExists(conn, pnr);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Checks if PNR already exists, as seen by the given connection's transaction.
+     * Unchecked so it can be used as a predicate; the transaction rolls back if it fails.
+     */
+    private boolean pnrExists(Connection conn, String pnr) {
+        try (PreparedStatement stmt = conn.prepareStatement(CHECK_PNR_EXISTS)) {
+            stmt.setString(1, pnr);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("PNR check failed", e);
+        }
+    }
+
+    /**
+     * Reserves a block of PNR sequence numbers from the pnr_sequence counter.
+     * The counter table is created on first use if it does not exist yet.
+     * @param size Number of sequence numbers to reserve
+     * @return The first number of the reserved block, or -1 if the reservation failed
+     */
+    public long reservePnrBlock(int size) {
+        try (Connection conn = DBConnection.getConnection()) {
+            try {
+                return reservePnrBlock(conn, size);
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_NO_SUCH_TABLE) {
+                    throw e;
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(CREATE_PNR_SEQUENCE);
+                }
+                return reservePnrBlock(conn, size);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private long reservePnrBlock(Connection conn, int size) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RESERVE_PNR_BLOCK)) {
+            stmt.setInt(1, size);
+            stmt.setInt(2, size);
+            
+            // 1 row affected means the counter was just created with this block
+            if (stmt.executeUpdate() == 1) {
+                return 0;
+            }
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_LAST_INSERT_ID);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getLong(1) - size;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets booking counts and revenue for all bookings
+     * @return Aggregated booking statistics
+     */
+    public BookingStatistics getBookingStatistics() {
+        return getBookingStatistics(null, null, null);
+    }
+
+    /**
+     * Gets booking counts by status and revenue totals with a single grouped query
+     * @param fromDate First booking date to include, or null for no lower bound
+     * @param toDate Last booking date to include, or null for no upper bound
+     * @param ownerId Only count bookings on this flight owner's flights, or null for all owners
+     * @return Aggregated booking statistics
+     */
+    public BookingStatistics getBookingStatistics(LocalDate fromDate, LocalDate toDate, Integer ownerId) {
+        BookingStatistics statistics = new BookingStatistics();
+        
+        StringBuilder query = new StringBuilder(SELECT_BOOKING_STATISTICS);
+        List<Object> params = new ArrayList<>();
+        if (ownerId != null) {
+            query.append(JOIN_FLIGHT_FOR_OWNER);
+        }
+        
+        String conjunction = "WHERE ";
+        if (ownerId != null) {
+            query.append(conjunction).append("fd.company_id = ? ");
+            params.add(ownerId);
+            conjunction = "AND ";
+        }
+        if (fromDate != null) {
+            query.append(conjunction).append("b.date_of_booking >= ? ");
+            params.add(Timestamp.valueOf(fromDate.atStartOfDay()));
+            conjunction = "AND ";
+        }
+        if (toDate != null) {
+            // Half-open range so the whole of toDate is included
+            query.append(conjunction).append("b.date_of_booking < ? ");
+            params.add(Timestamp.valueOf(toDate.plusDays(1).atStartOfDay()));
+        }
+        query.append(GROUP_BY_STATUS);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    statistics.addGroup(
+                        Booking.BookingStatus.fromString(rs.getString("booking_status")),
+                        Booking.PaymentStatus.fromString(rs.getString("payment_status")),
+                        rs.getLong("booking_count"),
+                        rs.getBigDecimal("total_amount"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return statistics;
     }
 
     /**
@@ -316,7 +999,7 @@ public class BookingDAO implements BaseDAO<Booking, Integer> {
      * @return A Booking object
      * @throws SQLException if database access error occurs
      */
-    private Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
+    Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
         Booking booking = new Booking();
         booking.setBookingId(rs.getInt("booking_id"));
         booking.setUserId(rs.getInt("user_id"));
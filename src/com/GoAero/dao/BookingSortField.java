@@ -0,0 +1,51 @@
+package com.GoAero.dao;
+
+import com.GoAero.model.Booking;
+
+import java.sql.Date;
+import java.util.function.Function;
+
+/**
+ * Columns the booking list can be sorted by. Each field holds the SQL expression used
+ * both to order and to page on the column, and extracts the matching value from a loaded
+ * booking so it can serve as a keyset cursor.
+ */
+public enum BookingSortField {
+    // The default sort; paged with a range scan of idx_booking_date (date_of_booking, booking_id)
+    BOOKING_DATE("b.date_of_booking", Booking::getDateOfBooking),
+    PNR("b.PNR", Booking::getPnr),
+    PASSENGER("CONCAT(u.first_name, ' ', u.last_name)", Booking::getUserFullName),
+    FLIGHT("fd.flight_code", Booking::getFlightCode),
+    ROUTE("da.airport_code", Booking::getDepartureAirportCode),
+    DEPARTURE_DATE("b.date_of_departure",
+        booking -> booking.getDateOfDeparture() != null ? Date.valueOf(booking.getDateOfDeparture()) : null),
+    AMOUNT("b.amount", Booking::getAmount),
+    // Status columns are compared as text so ORDER BY and the cursor predicate agree even if they are ENUMs
+    PAYMENT_STATUS("CAST(b.payment_status AS CHAR)", booking -> booking.getPaymentStatus().getDisplayName()),
+    BOOKING_STATUS("CAST(b.booking_status AS CHAR)", booking -> booking.getBookingStatus().getDisplayName());
+
+    private final String sql;
+    private final Function<Booking, Object> key;
+
+    BookingSortField(String sql, Function<Booking, Object> key) {
+        this.sql = sql;
+        this.key = key;
+    }
+
+    /**
+     * Gets the SQL expression this field sorts on
+     * @return The SQL expression
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Gets the value of this field for a booking, as bound into the cursor predicate
+     * @param booking The booking
+     * @return The value, or null if the booking has none
+     */
+    public Object keyOf(Booking booking) {
+        return key.apply(booking);
+    }
+}
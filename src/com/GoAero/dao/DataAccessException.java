@@ -0,0 +1,14 @@
+package com.GoAero.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked wrapper for a SQLException raised where a checked exception cannot be thrown,
+ * e.g. while the rows of a stream are consumed
+ */
+public class DataAccessException extends RuntimeException {
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+}
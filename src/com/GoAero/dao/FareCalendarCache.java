@@ -0,0 +1,96 @@
+package com.GoAero.dao;
+
+import com.GoAero.model.FareCalendarDay;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fare calendars of the most recently used routes, one entry per route and month.
+ * Booking writes drop the calendars of the booked route, flight writes are detected through
+ * {@link FlightDAO#getScheduleVersion()}, and entries expire after a time-to-live so
+ * bookings made by other processes show up as well.
+ */
+final class FareCalendarCache {
+    private static final long TTL_MS = Long.getLong("goaero.fareCalendar.ttlMs", 60_000L);
+    private static final int MAX_ROUTES = Integer.getInteger("goaero.fareCalendar.maxRoutes", 128);
+
+    // Route key to the calendars of that route by month, least recently used route first
+    private final Map<Long, Map<YearMonth, Entry>> routes = new LinkedHashMap<Long, Map<YearMonth, Entry>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<YearMonth, Entry>> eldest) {
+            return size() > MAX_ROUTES;
+        }
+    };
+    // Incremented on every invalidation so a load that raced with a write is not kept
+    private final AtomicLong version = new AtomicLong();
+
+    private static final class Entry {
+        final List<FareCalendarDay> days;
+        final long scheduleVersion;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(List<FareCalendarDay> days, long scheduleVersion) {
+            this.days = days;
+            this.scheduleVersion = scheduleVersion;
+        }
+
+        boolean isFresh() {
+            return scheduleVersion == FlightDAO.getScheduleVersion()
+                && System.currentTimeMillis() - loadedAt <= TTL_MS;
+        }
+    }
+
+    /**
+     * Gets the calendar of a route and month, loading it if it is not cached or stale
+     * @param loader Runs the fare calendar query; returns null on failure
+     * @return The calendar, or null if it could not be loaded
+     */
+    List<FareCalendarDay> get(int departureAirportId, int destinationAirportId, YearMonth month,
+                              Supplier<List<FareCalendarDay>> loader) {
+        long route = routeKey(departureAirportId, destinationAirportId);
+        synchronized (routes) {
+            Map<YearMonth, Entry> months = routes.get(route);
+            Entry entry = months != null ? months.get(month) : null;
+            if (entry != null && entry.isFresh()) {
+                return entry.days;
+            }
+        }
+
+        // Loaded without holding the lock; two concurrent misses simply both query
+        long loadVersion = version.get();
+        long scheduleVersion = FlightDAO.getScheduleVersion();
+        List<FareCalendarDay> loaded = loader.get();
+        if (loaded == null) {
+            return null;
+        }
+        List<FareCalendarDay> days = Collections.unmodifiableList(loaded);
+
+        synchronized (routes) {
+            if (version.get() == loadVersion) {
+                routes.computeIfAbsent(route, r -> new HashMap<>()).put(month, new Entry(days, scheduleVersion));
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Drops the calendars of a route after its availability changed
+     */
+    void invalidate(int departureAirportId, int destinationAirportId) {
+        version.incrementAndGet();
+        synchronized (routes) {
+            routes.remove(routeKey(departureAirportId, destinationAirportId));
+        }
+    }
+
+    private static long routeKey(int departureAirportId, int destinationAirportId) {
+        return ((long) departureAirportId << 32) | (destinationAirportId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,125 @@
+package com.GoAero.dao;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory set of flight codes shared by all FlightDAO instances, so checking a code for
+ * duplicates is a hash lookup instead of reading every flight. Codes are normalized to upper
+ * case, matching the case-insensitive unique index on flight_data.flight_code, which remains
+ * the authority when two processes save the same code at once.
+ *
+ * The registry is loaded on first use and kept up to date by FlightDAO's writes. It is reloaded
+ * after a time-to-live so flights written by other processes are picked up as well.
+ */
+final class FlightCodeRegistry {
+    private static final long TTL_MS = Long.getLong("goaero.flightCodes.ttlMs", 300_000L);
+
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot;
+    // Incremented on every write so a load that raced with a write is not kept
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * One load of the flight codes, updated in place by writes
+     */
+    static final class Snapshot {
+        private final ConcurrentHashMap<String, Integer> flightByCode = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Integer, String> codeByFlight = new ConcurrentHashMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Snapshot(Map<Integer, String> codes) {
+            for (Map.Entry<Integer, String> entry : codes.entrySet()) {
+                put(entry.getValue(), entry.getKey());
+            }
+        }
+
+        /**
+         * Gets the flight using a code
+         * @return The flight ID, or null if no flight has the code
+         */
+        Integer flightWithCode(String code) {
+            return code != null ? flightByCode.get(normalize(code)) : null;
+        }
+
+        private synchronized void put(String code, int flightId) {
+            remove(flightId);
+            String key = normalize(code);
+            flightByCode.put(key, flightId);
+            codeByFlight.put(flightId, key);
+        }
+
+        private synchronized void remove(int flightId) {
+            String code = codeByFlight.remove(flightId);
+            if (code != null) {
+                flightByCode.remove(code, flightId);
+            }
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > TTL_MS;
+        }
+    }
+
+    /**
+     * Gets the current snapshot, loading it if there is none or it has expired
+     * @param loader Reads the code of every flight by flight ID; returns null on failure
+     * @return The snapshot, or null if the codes could not be loaded
+     */
+    Snapshot get(Supplier<Map<Integer, String>> loader) {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+
+        synchronized (loadLock) {
+            current = snapshot;
+            if (current != null && !current.isExpired()) {
+                return current;
+            }
+
+            long loadVersion = version.get();
+            Map<Integer, String> codes = loader.get();
+            if (codes == null) {
+                // Not cached, so the next lookup tries the database again
+                return null;
+            }
+            Snapshot loaded = new Snapshot(codes);
+            snapshot = loaded;
+            // Checked after publishing: either this sees the write or the write's update runs later
+            if (version.get() != loadVersion) {
+                snapshot = null;
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Records the code of a flight after it was created or updated
+     */
+    void register(String code, int flightId) {
+        version.incrementAndGet();
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.put(code, flightId);
+        }
+    }
+
+    /**
+     * Forgets the code of a flight after it was deleted
+     */
+    void unregister(int flightId) {
+        version.incrementAndGet();
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.remove(flightId);
+        }
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
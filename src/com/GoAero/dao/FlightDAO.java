@@ -1,18 +1,39 @@
 package com.GoAero.dao;
 
 import com.GoAero.db.DBConnection;
+import com.GoAero.model.FareCalendarDay;
 import com.GoAero.model.Flight;
+import com.GoAero.model.FlightBookingStats;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Flight entity
  */
 public class FlightDAO implements BaseDAO<Flight, Integer> {
 
+    // Incremented whenever a flight is created, changed or deleted, so schedule caches know to reload
+    private static final AtomicLong SCHEDULE_VERSION = new AtomicLong();
+    // The search indexes are checked once per process, by the first search
+    private static final AtomicBoolean SEARCH_INDEXES_CHECKED = new AtomicBoolean();
+    // Shared by all instances; BookingDAO drops a route's calendars when its bookings change
+    private static final FareCalendarCache FARE_CALENDARS = new FareCalendarCache();
+    // Shared by all instances and kept up to date by this DAO's writes
+    private static final FlightCodeRegistry FLIGHT_CODES = new FlightCodeRegistry();
+
     private static final String INSERT_FLIGHT = 
         "INSERT INTO flight_data (company_id, flight_code, flight_name, capacity, departure_airport_id, " +
         "destination_airport_id, departure_time, destination_time, price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -29,7 +50,8 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         "JOIN airports dest ON fd.destination_airport_id = dest.airport_id " +
         "WHERE fd.flight_id = ?";
     
-    private static final String SELECT_ALL_FLIGHTS = 
+    // Shared column list and joins, without WHERE or ORDER BY
+    private static final String SELECT_FLIGHTS_FROM = 
         "SELECT fd.flight_id, fd.company_id, fd.flight_code, fd.flight_name, fd.capacity, " +
         "fd.departure_airport_id, fd.destination_airport_id, fd.departure_time, fd.destination_time, fd.price, " +
         "fo.company_name, fo.company_code, " +
@@ -38,8 +60,16 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         "FROM flight_data fd " +
         "JOIN flight_owners fo ON fd.company_id = fo.owner_id " +
         "JOIN airports da ON fd.departure_airport_id = da.airport_id " +
-        "JOIN airports dest ON fd.destination_airport_id = dest.airport_id " +
-        "ORDER BY fd.departure_time";
+        "JOIN airports dest ON fd.destination_airport_id = dest.airport_id ";
+    
+    private static final String SELECT_FLIGHTS_PAGE_ASC = 
+        SELECT_FLIGHTS_FROM + "WHERE fd.flight_id > ? ORDER BY fd.flight_id ASC LIMIT ?";
+    
+    private static final String SELECT_FLIGHTS_PAGE_DESC = 
+        SELECT_FLIGHTS_FROM + "WHERE fd.flight_id < ? ORDER BY fd.flight_id DESC LIMIT ?";
+    
+    private static final String STREAM_FLIGHTS = 
+        SELECT_FLIGHTS_FROM + "ORDER BY fd.flight_id";
     
     private static final String UPDATE_FLIGHT = 
         "UPDATE flight_data SET company_id = ?, flight_code = ?, flight_name = ?, capacity = ?, " +
@@ -54,6 +84,93 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
     
     private static final String CHECK_FLIGHT_CODE_EXISTS = 
         "SELECT COUNT(*) FROM flight_data WHERE flight_code = ? AND flight_id != ?";
+    
+    // Free seats from the per-flight booking counters; a flight without counters has no bookings
+    private static final String AVAILABLE_SEATS = 
+        "fd.capacity - COALESCE(fi.pending_count + fi.confirmed_count, 0)";
+    
+    private static final String JOIN_INVENTORY = 
+        "LEFT JOIN flight_inventory fi ON fi.flight_id = fd.flight_id ";
+    
+    // Flight columns plus the live number of free seats, without WHERE or ORDER BY
+    private static final String SELECT_FLIGHTS_WITH_AVAILABILITY_FROM = 
+        "SELECT fd.flight_id, fd.company_id, fd.flight_code, fd.flight_name, fd.capacity, " +
+        "fd.departure_airport_id, fd.destination_airport_id, fd.departure_time, fd.destination_time, fd.price, " +
+        "fo.company_name, fo.company_code, " +
+        "da.airport_code as dep_code, da.airport_name as dep_name, da.city as dep_city, " +
+        "dest.airport_code as dest_code, dest.airport_name as dest_name, dest.city as dest_city, " +
+        AVAILABLE_SEATS + " as available_seats " +
+        "FROM flight_data fd " +
+        "JOIN flight_owners fo ON fd.company_id = fo.owner_id " +
+        "JOIN airports da ON fd.departure_airport_id = da.airport_id " +
+        "JOIN airports dest ON fd.destination_airport_id = dest.airport_id " +
+        JOIN_INVENTORY;
+    
+    private static final String SELECT_ALL_FLIGHTS_WITH_AVAILABILITY = 
+        SELECT_FLIGHTS_WITH_AVAILABILITY_FROM + "ORDER BY fd.departure_time";
+    
+    private static final String SELECT_FLIGHTS_BY_COMPANY_WITH_AVAILABILITY = 
+        SELECT_FLIGHTS_WITH_AVAILABILITY_FROM + "WHERE fd.company_id = ? ORDER BY fd.departure_time";
+    
+    private static final String SELECT_AVAILABLE_SEATS = 
+        "SELECT " + AVAILABLE_SEATS + " as available_seats FROM flight_data fd " + JOIN_INVENTORY +
+        "WHERE fd.flight_id = ?";
+    
+    // Half-open departure range on the bare column, so the route/departure index can be used
+    private static final String SEARCH_FLIGHTS_WHERE = 
+        "WHERE fd.departure_airport_id = ? AND fd.destination_airport_id = ? " +
+        "AND fd.departure_time >= ? AND fd.departure_time < ? ORDER BY fd.departure_time";
+    
+    private static final String SEARCH_FLIGHTS = 
+        SELECT_FLIGHTS_FROM + SEARCH_FLIGHTS_WHERE;
+    
+    private static final String SEARCH_FLIGHTS_WITH_AVAILABILITY = 
+        SELECT_FLIGHTS_WITH_AVAILABILITY_FROM + SEARCH_FLIGHTS_WHERE;
+    
+    // Lowest fare with free seats, flights and free seats per departure day of a route, in one grouped query
+    private static final String SELECT_FARE_CALENDAR = 
+        "SELECT DATE(f.departure_time) as departure_date, COUNT(*) as flight_count, " +
+        "MIN(CASE WHEN f.available_seats > 0 THEN f.price END) as lowest_fare, " +
+        "SUM(GREATEST(f.available_seats, 0)) as available_seats " +
+        "FROM (SELECT fd.departure_time, fd.price, " + AVAILABLE_SEATS + " as available_seats " +
+        "FROM flight_data fd " + JOIN_INVENTORY +
+        "WHERE fd.departure_airport_id = ? AND fd.destination_airport_id = ? " +
+        "AND fd.departure_time >= ? AND fd.departure_time < ?) f " +
+        "GROUP BY DATE(f.departure_time) ORDER BY departure_date";
+    
+    private static final String CHECK_INDEX_EXISTS = 
+        "SELECT COUNT(*) FROM information_schema.statistics " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+    
+    // Indexes flight search and the flight code check depend on, as {table, index name};
+    // created by SchemaMigration
+    private static final String[][] SEARCH_INDEXES = {
+        {"flight_data", "idx_flight_route_departure"},
+        {"bookings", "idx_booking_flight_status"},
+        {"flight_data", "uk_flight_code"}
+    };
+    
+    // Only the columns needed to build a route graph, read once for the whole schedule
+    private static final String SELECT_SCHEDULE_FROM_TIME = 
+        "SELECT flight_id, departure_airport_id, destination_airport_id, departure_time, destination_time, price " +
+        "FROM flight_data WHERE departure_time >= ?";
+
+    private static final String SELECT_FLIGHT_CODES = 
+        "SELECT flight_id, flight_code FROM flight_data";
+
+    private static final String SELECT_BOOKING_STATS_BY_COMPANY = 
+        "SELECT fd.flight_id, fd.flight_code, fd.capacity, fd.departure_time, " +
+        "da.airport_code as dep_code, dest.airport_code as dest_code, " +
+        "COALESCE(fi.confirmed_count, 0) as confirmed_count, " +
+        "COALESCE(fi.pending_count, 0) as pending_count, " +
+        "COALESCE(fi.cancelled_count, 0) as cancelled_count, " +
+        "COALESCE(fi.revenue, 0) as revenue " +
+        "FROM flight_data fd " +
+        "JOIN airports da ON fd.departure_airport_id = da.airport_id " +
+        "JOIN airports dest ON fd.destination_airport_id = dest.airport_id " +
+        JOIN_INVENTORY +
+        "WHERE fd.company_id = ? " +
+        "ORDER BY fd.departure_time";
 
     @Override
     public Flight create(Flight flight) {
@@ -76,6 +193,8 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         flight.setFlightId(generatedKeys.getInt(1));
+                        SCHEDULE_VERSION.incrementAndGet();
+                        FLIGHT_CODES.register(flight.getFlightCode(), flight.getFlightId());
                         return flight;
                     }
                 }
@@ -86,6 +205,68 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         return null;
     }
 
+    /**
+     * Inserts a group of flights with one batched statement in one transaction, e.g. a chunk
+     * of an imported schedule. Either all flights are inserted or none is.
+     * @param flights The flights to insert; their IDs are set by this method
+     * @return true if all flights were inserted
+     */
+    public boolean createAll(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return true;
+        }
+        try {
+            QuerySupport.inTransaction(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_FLIGHT, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Flight flight : flights) {
+                        stmt.setInt(1, flight.getCompanyId());
+                        stmt.setString(2, flight.getFlightCode());
+                        stmt.setString(3, flight.getFlightName());
+                        stmt.setInt(4, flight.getCapacity());
+                        stmt.setInt(5, flight.getDepartureAirportId());
+                        stmt.setInt(6, flight.getDestinationAirportId());
+                        stmt.setTimestamp(7, Timestamp.valueOf(flight.getDepartureTime()));
+                        stmt.setTimestamp(8, Timestamp.valueOf(flight.getDestinationTime()));
+                        stmt.setBigDecimal(9, flight.getPrice());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    
+                    // Keys come back in the order the rows were added
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        for (Flight flight : flights) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Missing generated key for flight " + flight.getFlightCode());
+                            }
+                            flight.setFlightId(generatedKeys.getInt(1));
+                        }
+                    }
+                }
+                return null;
+            });
+            SCHEDULE_VERSION.incrementAndGet();
+            for (Flight flight : flights) {
+                FLIGHT_CODES.register(flight.getFlightCode(), flight.getFlightId());
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Reads the code of every flight for the flight code registry
+     * @return Flight codes by flight ID, or null if the query failed
+     */
+    private Map<Integer, String> queryFlightCodes() {
+        Map<Integer, String> codes = new HashMap<>();
+        boolean complete = QuerySupport.forEach(SELECT_FLIGHT_CODES, stmt -> {},
+            rs -> Map.entry(rs.getInt("flight_id"), rs.getString("flight_code")),
+            entry -> codes.put(entry.getKey(), entry.getValue()));
+        return complete ? codes : null;
+    }
+
     @Override
     public Flight findById(Integer id) {
         try (Connection conn = DBConnection.getConnection();
@@ -107,13 +288,16 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
     @Override
     public List<Flight> findAll() {
         List<Flight> flights = new ArrayList<>();
+        FlightInventory.checkTable();
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_FLIGHTS);
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_FLIGHTS_WITH_AVAILABILITY);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                flights.add(mapResultSetToFlight(rs));
+                Flight flight = mapResultSetToFlight(rs);
+                flight.setAvailableSeats(rs.getInt("available_seats"));
+                flights.add(flight);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -122,6 +306,23 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         return flights;
     }
 
+    @Override
+    public Page<Flight, Integer> findPage(Integer cursor, int limit, SortDirection direction) {
+        String query = direction == SortDirection.DESCENDING ? SELECT_FLIGHTS_PAGE_DESC : SELECT_FLIGHTS_PAGE_ASC;
+        return QuerySupport.queryPage(query, QuerySupport.startCursor(cursor, direction), limit,
+            this::mapResultSetToFlight, Flight::getFlightId);
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Flight> action) {
+        return QuerySupport.forEach(STREAM_FLIGHTS, this::mapResultSetToFlight, action);
+    }
+
+    @Override
+    public Stream<Flight> stream() {
+        return QuerySupport.stream(STREAM_FLIGHTS, this::mapResultSetToFlight);
+    }
+
     @Override
     public boolean update(Flight flight) {
         try (Connection conn = DBConnection.getConnection();
@@ -138,7 +339,11 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
             stmt.setBigDecimal(9, flight.getPrice());
             stmt.setInt(10, flight.getFlightId());
             
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                SCHEDULE_VERSION.incrementAndGet();
+                FLIGHT_CODES.register(flight.getFlightCode(), flight.getFlightId());
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -151,7 +356,11 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
              PreparedStatement stmt = conn.prepareStatement(DELETE_FLIGHT)) {
             
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                SCHEDULE_VERSION.incrementAndGet();
+                FLIGHT_CODES.unregister(id);
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -186,22 +395,225 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
      * @return List of matching flights
      */
     public List<Flight> searchFlights(int departureAirportId, int destinationAirportId, LocalDate departureDate) {
+        return searchFlights(departureAirportId, destinationAirportId,
+            departureDate.atStartOfDay(), departureDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Searches flights between two airports departing within a time range
+     * @param departureAirportId Departure airport ID
+     * @param destinationAirportId Destination airport ID
+     * @param departingFrom Earliest departure time, inclusive
+     * @param departingBefore Latest departure time, exclusive
+     * @return List of matching flights, ordered by departure time
+     */
+    public List<Flight> searchFlights(int departureAirportId, int destinationAirportId,
+                                      LocalDateTime departingFrom, LocalDateTime departingBefore) {
+        List<Flight> flights = new ArrayList<>();
+        checkSearchIndexesOnce();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_FLIGHTS)) {
+            
+            bindSearch(stmt, departureAirportId, destinationAirportId, departingFrom, departingBefore);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flights.add(mapResultSetToFlight(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return flights;
+    }
+
+    /**
+     * Searches flights and fills in the live seat availability of each result.
+     * Availability is computed in the same query, so a search costs a single round trip
+     * instead of one {@link #getAvailableSeats(int)} call per result.
+     * @param departureAirportId Departure airport ID
+     * @param destinationAirportId Destination airport ID
+     * @param departureDate Departure date
+     * @return List of matching flights with available seats set
+     */
+    public List<Flight> searchFlightsWithAvailability(int departureAirportId, int destinationAirportId,
+                                                      LocalDate departureDate) {
+        return searchFlightsWithAvailability(departureAirportId, destinationAirportId,
+            departureDate.atStartOfDay(), departureDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Searches flights departing within a time range, e.g. a flexible window of several days,
+     * and fills in the live seat availability of each result
+     * @param departureAirportId Departure airport ID
+     * @param destinationAirportId Destination airport ID
+     * @param departingFrom Earliest departure time, inclusive
+     * @param departingBefore Latest departure time, exclusive
+     * @return List of matching flights with available seats set, ordered by departure time
+     */
+    public List<Flight> searchFlightsWithAvailability(int departureAirportId, int destinationAirportId,
+                                                      LocalDateTime departingFrom, LocalDateTime departingBefore) {
+        List<Flight> flights = new ArrayList<>();
+        checkSearchIndexesOnce();
+        FlightInventory.checkTable();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_FLIGHTS_WITH_AVAILABILITY)) {
+            
+            bindSearch(stmt, departureAirportId, destinationAirportId, departingFrom, departingBefore);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Flight flight = mapResultSetToFlight(rs);
+                    flight.setAvailableSeats(rs.getInt("available_seats"));
+                    flights.add(flight);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return flights;
+    }
+
+    /**
+     * Gets the fare calendar of a route for one month: for each day with flights, the
+     * lowest fare still bookable and the free seats. One grouped query replaces a search
+     * per day, and calendars are cached per route until a booking on the route changes.
+     * @param departureAirportId Departure airport ID
+     * @param destinationAirportId Destination airport ID
+     * @param month The month
+     * @return The days of the month with flights, in date order; empty if the query failed
+     */
+    public List<FareCalendarDay> getFareCalendar(int departureAirportId, int destinationAirportId, YearMonth month) {
+        List<FareCalendarDay> days = FARE_CALENDARS.get(departureAirportId, destinationAirportId, month,
+            () -> queryFareCalendar(departureAirportId, destinationAirportId, month));
+        return days != null ? days : new ArrayList<>();
+    }
+
+    private List<FareCalendarDay> queryFareCalendar(int departureAirportId, int destinationAirportId, YearMonth month) {
+        List<FareCalendarDay> days = new ArrayList<>();
+        checkSearchIndexesOnce();
+        FlightInventory.checkTable();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_FARE_CALENDAR)) {
+            
+            bindSearch(stmt, departureAirportId, destinationAirportId,
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    days.add(new FareCalendarDay(
+                        rs.getDate("departure_date").toLocalDate(),
+                        rs.getInt("flight_count"),
+                        rs.getBigDecimal("lowest_fare"),
+                        rs.getInt("available_seats")));
+                }
+            }
+            return days;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        // Not cached, so the next request tries the database again
+        return null;
+    }
+
+    /**
+     * Drops the cached fare calendars of a route, e.g. after one of its bookings changed
+     */
+    static void invalidateFareCalendar(int departureAirportId, int destinationAirportId) {
+        FARE_CALENDARS.invalidate(departureAirportId, destinationAirportId);
+    }
+
+    private void bindSearch(PreparedStatement stmt, int departureAirportId, int destinationAirportId,
+                            LocalDateTime departingFrom, LocalDateTime departingBefore) throws SQLException {
+        stmt.setInt(1, departureAirportId);
+        stmt.setInt(2, destinationAirportId);
+        stmt.setTimestamp(3, Timestamp.valueOf(departingFrom));
+        stmt.setTimestamp(4, Timestamp.valueOf(departingBefore));
+    }
+
+    /**
+     * Checks that the indexes flight search depends on exist: a composite (departure airport,
+     * destination airport, departure time) index on flight_data, so a search reads only the
+     * matching flights however large the schedule grows, a (flight, status) index on bookings
+     * for recounting bookings per flight, and the unique flight code index.
+     * They are created by running {@link com.GoAero.db.SchemaMigration}, never by the DAO.
+     * @return true if all indexes exist
+     */
+    public boolean hasSearchIndexes() {
+        try (Connection conn = DBConnection.getConnection()) {
+            for (String[] index : SEARCH_INDEXES) {
+                if (!indexExists(conn, index[0], index[1])) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    private boolean indexExists(Connection conn, String table, String indexName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(CHECK_INDEX_EXISTS)) {
+            stmt.setString(1, table);
+            stmt.setString(2, indexName);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    private void checkSearchIndexesOnce() {
+        // Checked once per process, so searches do not pay for an information_schema query each
+        if (SEARCH_INDEXES_CHECKED.compareAndSet(false, true) && !hasSearchIndexes()) {
+            System.err.println("Flight search indexes are missing; searches may scan flight_data. " +
+                "Run com.GoAero.db.SchemaMigration to create them");
+        }
+    }
+
+    /**
+     * Finds flights by ID and fills in the live seat availability of each, in a single query
+     * @param flightIds The flight IDs
+     * @return The flights found with available seats set, in no particular order
+     */
+    public List<Flight> findByIdsWithAvailability(Collection<Integer> flightIds) {
         List<Flight> flights = new ArrayList<>();
+        if (flightIds.isEmpty()) {
+            return flights;
+        }
+        FlightInventory.checkTable();
         
-        String query = SELECT_ALL_FLIGHTS.replace("ORDER BY fd.departure_time", 
-            "WHERE fd.departure_airport_id = ? AND fd.destination_airport_id = ? " +
-            "AND DATE(fd.departure_time) = ? ORDER BY fd.departure_time");
+        // The list is padded to a power of two by repeating the last ID, so only a few
+        // distinct statements are prepared and each is reused from the statement cache
+        int parameters = Integer.highestOneBit(flightIds.size() - 1) << 1;
+        parameters = Math.max(parameters, 1);
+        String query = SELECT_FLIGHTS_WITH_AVAILABILITY_FROM + "WHERE fd.flight_id IN (" +
+            String.join(", ", Collections.nCopies(parameters, "?")) + ")";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
             
-            stmt.setInt(1, departureAirportId);
-            stmt.setInt(2, destinationAirportId);
-            stmt.setDate(3, Date.valueOf(departureDate));
+            int index = 1;
+            int lastFlightId = 0;
+            for (Integer flightId : flightIds) {
+                stmt.setInt(index++, flightId);
+                lastFlightId = flightId;
+            }
+            while (index <= parameters) {
+                stmt.setInt(index++, lastFlightId);
+            }
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    flights.add(mapResultSetToFlight(rs));
+                    Flight flight = mapResultSetToFlight(rs);
+                    flight.setAvailableSeats(rs.getInt("available_seats"));
+                    flights.add(flight);
                 }
             }
         } catch (SQLException e) {
@@ -211,25 +623,56 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
         return flights;
     }
 
+    /**
+     * Reads the timetable of all flights departing from a given time on, streamed row by row.
+     * Only the ID, airports, times and price of each flight are set.
+     * @param from Earliest departure time
+     * @param action Action applied to every flight
+     * @return true if the whole schedule was read, false if the query failed
+     */
+    public boolean forEachScheduledFlight(LocalDateTime from, Consumer<? super Flight> action) {
+        return QuerySupport.forEach(SELECT_SCHEDULE_FROM_TIME,
+            stmt -> stmt.setTimestamp(1, Timestamp.valueOf(from)),
+            rs -> {
+                Flight flight = new Flight();
+                flight.setFlightId(rs.getInt("flight_id"));
+                flight.setDepartureAirportId(rs.getInt("departure_airport_id"));
+                flight.setDestinationAirportId(rs.getInt("destination_airport_id"));
+                flight.setDepartureTime(rs.getTimestamp("departure_time").toLocalDateTime());
+                flight.setDestinationTime(rs.getTimestamp("destination_time").toLocalDateTime());
+                flight.setPrice(rs.getBigDecimal("price"));
+                return flight;
+            }, action);
+    }
+
+    /**
+     * Gets the current version of the flight schedule. It changes whenever a flight is
+     * created, updated or deleted through this DAO, in this process.
+     * @return The schedule version
+     */
+    public static long getScheduleVersion() {
+        return SCHEDULE_VERSION.get();
+    }
+
     /**
      * Finds flights by company/owner ID
      * @param companyId The company ID
-     * @return List of flights owned by the company
+     * @return List of flights owned by the company, with available seats set
      */
     public List<Flight> findByCompanyId(int companyId) {
         List<Flight> flights = new ArrayList<>();
-        
-        String query = SELECT_ALL_FLIGHTS.replace("ORDER BY fd.departure_time", 
-            "WHERE fd.company_id = ? ORDER BY fd.departure_time");
+        FlightInventory.checkTable();
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_FLIGHTS_BY_COMPANY_WITH_AVAILABILITY)) {
             
             stmt.setInt(1, companyId);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    flights.add(mapResultSetToFlight(rs));
+                    Flight flight = mapResultSetToFlight(rs);
+                    flight.setAvailableSeats(rs.getInt("available_seats"));
+                    flights.add(flight);
                 }
             }
         } catch (SQLException e) {
@@ -240,12 +683,59 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
     }
 
     /**
-     * Checks if a flight code already exists
+     * Gets per-flight booking statistics for one company's flights.
+     * The counts and revenue come from the per-flight booking counters, so no bookings are read.
+     * @param companyId The company ID
+     * @return Booking statistics for each of the company's flights
+     */
+    public List<FlightBookingStats> findBookingStatsByCompanyId(int companyId) {
+        List<FlightBookingStats> statsList = new ArrayList<>();
+        FlightInventory.checkTable();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BOOKING_STATS_BY_COMPANY)) {
+            
+            stmt.setInt(1, companyId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    FlightBookingStats stats = new FlightBookingStats();
+                    stats.setFlightId(rs.getInt("flight_id"));
+                    stats.setFlightCode(rs.getString("flight_code"));
+                    stats.setCapacity(rs.getInt("capacity"));
+                    stats.setDepartureTime(rs.getTimestamp("departure_time").toLocalDateTime());
+                    stats.setDepartureAirportCode(rs.getString("dep_code"));
+                    stats.setDestinationAirportCode(rs.getString("dest_code"));
+                    stats.setConfirmedBookings(rs.getInt("confirmed_count"));
+                    stats.setPendingBookings(rs.getInt("pending_count"));
+                    stats.setCancelledBookings(rs.getInt("cancelled_count"));
+                    stats.setRevenue(rs.getBigDecimal("revenue"));
+                    statsList.add(stats);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return statsList;
+    }
+
+    /**
+     * Checks if a flight code is already used by a different flight, ignoring case.
+     * Answered from the in-memory flight code registry, without a query per check; the unique
+     * index on flight_code still rejects a code another process saved since the registry loaded.
      * @param flightCode The flight code to check
-     * @param excludeFlightId The flight ID to exclude from check
+     * @param excludeFlightId The flight ID to exclude from the check, e.g. the flight being edited
      * @return true if code exists for another flight
      */
     public boolean flightCodeExists(String flightCode, int excludeFlightId) {
+        FlightCodeRegistry.Snapshot codes = FLIGHT_CODES.get(this::queryFlightCodes);
+        if (codes != null) {
+            Integer flightId = codes.flightWithCode(flightCode);
+            return flightId != null && flightId != excludeFlightId;
+        }
+        
+        // The registry could not be loaded; fall back to the indexed lookup
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(CHECK_FLIGHT_CODE_EXISTS)) {
             
@@ -264,7 +754,7 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
     }
 
     /**
-     * Checks if a flight code already exists
+     * Checks if a flight code already exists, ignoring case
      * @param flightCode The flight code to check
      * @return true if code exists
      */
@@ -273,20 +763,15 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
     }
 
     /**
-     * Gets available seats for a flight
+     * Gets available seats for a flight, read from its booking counters by primary key
      * @param flightId The flight ID
      * @return Number of available seats
      */
     public int getAvailableSeats(int flightId) {
-        String query = "SELECT fd.capacity - COALESCE(COUNT(b.booking_id), 0) as available_seats " +
-                      "FROM flight_data fd " +
-                      "LEFT JOIN bookings b ON fd.flight_id = b.flight_id " +
-                      "AND b.booking_status IN ('Pending', 'Confirmed') " +
-                      "WHERE fd.flight_id = ? " +
-                      "GROUP BY fd.flight_id, fd.capacity";
+        FlightInventory.checkTable();
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_AVAILABLE_SEATS)) {
             
             stmt.setInt(1, flightId);
             
@@ -299,9 +784,8 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
             e.printStackTrace();
         }
         
-        // If no bookings found, return full capacity
-        Flight flight = findById(flightId);
-        return flight != null ? flight.getCapacity() : 0;
+        // The LEFT JOIN always yields a row for an existing flight, so no row means no flight
+        return 0;
     }
 
     /**
@@ -310,7 +794,7 @@ public class FlightDAO implements BaseDAO<Flight, Integer> {
      * @return A Flight object
      * @throws SQLException if database access error occurs
      */
-    private Flight mapResultSetToFlight(ResultSet rs) throws SQLException {
+    Flight mapResultSetToFlight(ResultSet rs) throws SQLException {
         Flight flight = new Flight();
         flight.setFlightId(rs.getInt("flight_id"));
         flight.setCompanyId(rs.getInt("company_id"));
@@ -0,0 +1,312 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+import com.GoAero.model.Booking;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-flight booking counters kept in the flight_inventory table: pending, confirmed and
+ * cancelled bookings and confirmed, paid revenue. BookingDAO changes them in the same
+ * transaction as every booking write, so seat availability and occupancy are read with a
+ * primary key lookup instead of counting bookings.
+ *
+ * A flight without a row has no bookings. {@link #reconcile()} recomputes the counters from
+ * the bookings table and repairs any drift, e.g. from bookings written by other tools.
+ * The table is created and first filled by {@link com.GoAero.db.SchemaMigration}.
+ */
+final class FlightInventory {
+
+    private static final String CHECK_TABLE_EXISTS =
+        "SELECT COUNT(*) FROM information_schema.tables " +
+        "WHERE table_schema = DATABASE() AND table_name = 'flight_inventory'";
+
+    private static final String APPLY_CHANGE =
+        "INSERT INTO flight_inventory (flight_id, pending_count, confirmed_count, cancelled_count, revenue) " +
+        "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+        "pending_count = pending_count + ?, confirmed_count = confirmed_count + ?, " +
+        "cancelled_count = cancelled_count + ?, revenue = revenue + ?";
+
+    // Makes sure a flight has a counter row, so there is a row to lock before its first booking
+    private static final String ENSURE_ROW =
+        "INSERT IGNORE INTO flight_inventory (flight_id) VALUES (?)";
+
+    // Locks only the counter row; the flight row is read but not locked
+    private static final String LOCK_FREE_SEATS =
+        "SELECT fd.capacity - fi.pending_count - fi.confirmed_count " +
+        "FROM flight_inventory fi JOIN flight_data fd ON fd.flight_id = fi.flight_id " +
+        "WHERE fi.flight_id = ? FOR UPDATE OF fi";
+
+    // The counters every flight should have, computed from its bookings
+    private static final String ACTUAL_COUNTS =
+        "SELECT fd.flight_id, " +
+        "COALESCE(SUM(b.booking_status = 'Pending'), 0) as pending_count, " +
+        "COALESCE(SUM(b.booking_status = 'Confirmed'), 0) as confirmed_count, " +
+        "COALESCE(SUM(b.booking_status = 'Cancelled'), 0) as cancelled_count, " +
+        "COALESCE(SUM(CASE WHEN b.booking_status = 'Confirmed' AND b.payment_status = 'Completed' " +
+        "THEN b.amount END), 0) as revenue " +
+        "FROM flight_data fd LEFT JOIN bookings b ON b.flight_id = fd.flight_id " +
+        "GROUP BY fd.flight_id";
+
+    // Flights whose counters are missing or differ from their bookings; a plain read, so it locks nothing
+    private static final String SELECT_DRIFTED =
+        "SELECT actual.flight_id FROM (" + ACTUAL_COUNTS + ") actual " +
+        "LEFT JOIN flight_inventory fi ON fi.flight_id = actual.flight_id " +
+        "WHERE fi.flight_id IS NULL OR fi.pending_count <> actual.pending_count " +
+        "OR fi.confirmed_count <> actual.confirmed_count OR fi.cancelled_count <> actual.cancelled_count " +
+        "OR fi.revenue <> actual.revenue";
+
+    // Counters of flights that no longer exist; flight IDs are never reused
+    private static final String SELECT_ORPHANS =
+        "SELECT fi.flight_id FROM flight_inventory fi LEFT JOIN flight_data fd ON fd.flight_id = fi.flight_id " +
+        "WHERE fd.flight_id IS NULL";
+
+    private static final String LOCK_COUNTERS =
+        "SELECT flight_id FROM flight_inventory WHERE flight_id = ? FOR UPDATE";
+
+    // One flight's counters, computed from its bookings
+    private static final String RECOUNT_FLIGHT =
+        "SELECT COALESCE(SUM(booking_status = 'Pending'), 0), " +
+        "COALESCE(SUM(booking_status = 'Confirmed'), 0), " +
+        "COALESCE(SUM(booking_status = 'Cancelled'), 0), " +
+        "COALESCE(SUM(CASE WHEN booking_status = 'Confirmed' AND payment_status = 'Completed' " +
+        "THEN amount END), 0) " +
+        "FROM bookings WHERE flight_id = ?";
+
+    private static final String SET_COUNTERS =
+        "UPDATE flight_inventory SET pending_count = ?, confirmed_count = ?, cancelled_count = ?, revenue = ? " +
+        "WHERE flight_id = ?";
+
+    private static final String DELETE_COUNTERS =
+        "DELETE FROM flight_inventory WHERE flight_id = ?";
+
+    // Attempts of a repair transaction that lost a deadlock with a booking
+    private static final int REPAIR_ATTEMPTS = 3;
+
+    // Set once the table is known to exist in this process
+    private static volatile boolean ready;
+    // Set once the table has been looked up, so a missing table is reported only once
+    private static boolean checked;
+
+    private FlightInventory() {}
+
+    /**
+     * Checks once per process that the flight_inventory table exists, and warns if it does not.
+     * The table is created by the schema migration, never by the DAOs.
+     * @return true if the table exists
+     */
+    static boolean checkTable() {
+        if (ready) {
+            return true;
+        }
+        synchronized (FlightInventory.class) {
+            if (ready || checked) {
+                return ready;
+            }
+            checked = true;
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(CHECK_TABLE_EXISTS);
+                 ResultSet rs = stmt.executeQuery()) {
+                ready = rs.next() && rs.getInt(1) > 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            if (!ready) {
+                System.err.println("The flight_inventory table is missing; seat availability cannot be read. " +
+                    "Run com.GoAero.db.SchemaMigration to create it");
+            }
+            return ready;
+        }
+    }
+
+    /**
+     * Counts a booking in its flight's counters
+     * @param conn Connection of the transaction that writes the booking
+     */
+    static void add(Connection conn, int flightId, Booking.BookingStatus bookingStatus,
+                    Booking.PaymentStatus paymentStatus, BigDecimal amount) throws SQLException {
+        apply(conn, flightId, bookingStatus, paymentStatus, amount, 1);
+    }
+
+    /**
+     * Removes a booking from its flight's counters, e.g. before it is changed or deleted
+     * @param conn Connection of the transaction that writes the booking
+     */
+    static void remove(Connection conn, int flightId, Booking.BookingStatus bookingStatus,
+                       Booking.PaymentStatus paymentStatus, BigDecimal amount) throws SQLException {
+        apply(conn, flightId, bookingStatus, paymentStatus, amount, -1);
+    }
+
+    /**
+     * Locks a flight's counters until the transaction ends, so concurrent bookings of the
+     * same flight are serialized, and reads how many seats are free
+     * @param conn Connection of the transaction that writes the booking
+     * @return Free seats, or -1 if there is no such flight
+     */
+    static int lockFreeSeats(Connection conn, int flightId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ENSURE_ROW)) {
+            stmt.setInt(1, flightId);
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_FREE_SEATS)) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    /**
+     * Counts a group of bookings, written in the same transaction, with one batched
+     * statement that changes each flight's counters once
+     * @param conn Connection of the transaction that writes the bookings
+     */
+    static void addAll(Connection conn, List<Booking> bookings) throws SQLException {
+        Map<Integer, Change> changes = new TreeMap<>();
+        for (Booking booking : bookings) {
+            changes.computeIfAbsent(booking.getFlightId(), id -> new Change())
+                .add(booking.getBookingStatus(), booking.getPaymentStatus(), booking.getAmount(), 1);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(APPLY_CHANGE)) {
+            for (Map.Entry<Integer, Change> entry : changes.entrySet()) {
+                entry.getValue().bind(stmt, entry.getKey());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void apply(Connection conn, int flightId, Booking.BookingStatus bookingStatus,
+                              Booking.PaymentStatus paymentStatus, BigDecimal amount, int sign) throws SQLException {
+        Change change = new Change();
+        change.add(bookingStatus, paymentStatus, amount, sign);
+
+        try (PreparedStatement stmt = conn.prepareStatement(APPLY_CHANGE)) {
+            change.bind(stmt, flightId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Amounts added to one flight's counters
+     */
+    private static final class Change {
+        int pending;
+        int confirmed;
+        int cancelled;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(Booking.BookingStatus bookingStatus, Booking.PaymentStatus paymentStatus,
+                 BigDecimal amount, int sign) {
+            if (bookingStatus == Booking.BookingStatus.PENDING) {
+                pending += sign;
+            } else if (bookingStatus == Booking.BookingStatus.CONFIRMED) {
+                confirmed += sign;
+                if (paymentStatus == Booking.PaymentStatus.COMPLETED && amount != null) {
+                    revenue = revenue.add(amount.multiply(BigDecimal.valueOf(sign)));
+                }
+            } else if (bookingStatus == Booking.BookingStatus.CANCELLED) {
+                cancelled += sign;
+            }
+        }
+
+        void bind(PreparedStatement stmt, int flightId) throws SQLException {
+            stmt.setInt(1, flightId);
+            stmt.setInt(2, pending);
+            stmt.setInt(3, confirmed);
+            stmt.setInt(4, cancelled);
+            stmt.setBigDecimal(5, revenue);
+            stmt.setInt(6, pending);
+            stmt.setInt(7, confirmed);
+            stmt.setInt(8, cancelled);
+            stmt.setBigDecimal(9, revenue);
+        }
+    }
+
+    /**
+     * Recomputes the counters of every flight whose counters differ from its bookings, and drops
+     * the counters of flights that no longer exist. The drifted flights are found with a plain
+     * read; each is then repaired in its own transaction that locks its counter row before
+     * recounting, so bookings of that flight wait for the repair instead of being overwritten,
+     * and bookings of other flights are not blocked at all.
+     * @return Number of flights whose counters were wrong or missing, or -1 if reconciliation failed
+     */
+    static int reconcile() {
+        if (!checkTable()) {
+            return -1;
+        }
+        try {
+            List<Integer> drifted = readFlightIds(SELECT_DRIFTED);
+            for (int flightId : drifted) {
+                QuerySupport.inTransaction(conn -> {
+                    repair(conn, flightId);
+                    return null;
+                }, REPAIR_ATTEMPTS);
+            }
+            for (int flightId : readFlightIds(SELECT_ORPHANS)) {
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(DELETE_COUNTERS)) {
+                    stmt.setInt(1, flightId);
+                    stmt.executeUpdate();
+                }
+            }
+            return drifted.size();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private static List<Integer> readFlightIds(String sql) throws SQLException {
+        List<Integer> flightIds = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                flightIds.add(rs.getInt(1));
+            }
+        }
+        return flightIds;
+    }
+
+    /**
+     * Recounts one flight's bookings into its counters
+     * @param conn Connection of the repair transaction
+     */
+    private static void repair(Connection conn, int flightId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ENSURE_ROW)) {
+            stmt.setInt(1, flightId);
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_COUNTERS)) {
+            stmt.setInt(1, flightId);
+            stmt.executeQuery().close();
+        }
+        // Read once the lock is held: every booking write of this flight that committed before
+        // is counted, and every later one waits for the repair and then applies its change on top
+        try (PreparedStatement recount = conn.prepareStatement(RECOUNT_FLIGHT);
+             PreparedStatement update = conn.prepareStatement(SET_COUNTERS)) {
+            recount.setInt(1, flightId);
+            try (ResultSet rs = recount.executeQuery()) {
+                if (!rs.next()) {
+                    return;
+                }
+                update.setInt(1, rs.getInt(1));
+                update.setInt(2, rs.getInt(2));
+                update.setInt(3, rs.getInt(3));
+                update.setBigDecimal(4, rs.getBigDecimal(4));
+            }
+            update.setInt(5, flightId);
+            update.executeUpdate();
+        }
+    }
+}
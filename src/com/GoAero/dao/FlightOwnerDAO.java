@@ -8,6 +8,8 @@ import com.GoAero.model.FlightOwner;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for FlightOwner entity
@@ -40,6 +42,25 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
     
     private static final String UPDATE_FLIGHT_COUNT = 
         "UPDATE flight_owners SET flight_count = (SELECT COUNT(*) FROM flight_data WHERE company_id = ?) WHERE owner_id = ?";
+    
+    private static final String SELECT_FLIGHT_OWNERS_PAGE_ASC = 
+        "SELECT owner_id, company_name, company_code, contact_info, flight_count, password, created_at, updated_at FROM flight_owners WHERE owner_id > ? ORDER BY owner_id ASC LIMIT ?";
+    
+    private static final String SELECT_FLIGHT_OWNERS_PAGE_DESC = 
+        "SELECT owner_id, company_name, company_code, contact_info, flight_count, password, created_at, updated_at FROM flight_owners WHERE owner_id < ? ORDER BY owner_id DESC LIMIT ?";
+    
+    private static final String STREAM_FLIGHT_OWNERS = 
+        "SELECT owner_id, company_name, company_code, contact_info, flight_count, password, created_at, updated_at FROM flight_owners ORDER BY owner_id";
+    
+    private static final String SELECT_ALL_WITH_FLIGHT_COUNTS = 
+        "SELECT fo.owner_id, fo.company_name, fo.company_code, fo.contact_info, " +
+        "fo.password, fo.created_at, fo.updated_at, " +
+        "COALESCE(COUNT(fd.flight_id), 0) as flight_count " +
+        "FROM flight_owners fo " +
+        "LEFT JOIN flight_data fd ON fo.owner_id = fd.company_id " +
+        "GROUP BY fo.owner_id, fo.company_name, fo.company_code, fo.contact_info, " +
+        "fo.password, fo.created_at, fo.updated_at " +
+        "ORDER BY fo.company_name";
 
     @Override
     public FlightOwner create(FlightOwner flightOwner) {
@@ -104,6 +125,23 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
         return flightOwners;
     }
 
+    @Override
+    public Page<FlightOwner, Integer> findPage(Integer cursor, int limit, SortDirection direction) {
+        String query = direction == SortDirection.DESCENDING ? SELECT_FLIGHT_OWNERS_PAGE_DESC : SELECT_FLIGHT_OWNERS_PAGE_ASC;
+        return QuerySupport.queryPage(query, QuerySupport.startCursor(cursor, direction), limit,
+            this::mapResultSetToFlightOwner, FlightOwner::getOwnerId);
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super FlightOwner> action) {
+        return QuerySupport.forEach(STREAM_FLIGHT_OWNERS, this::mapResultSetToFlightOwner, action);
+    }
+
+    @Override
+    public Stream<FlightOwner> stream() {
+        return QuerySupport.stream(STREAM_FLIGHT_OWNERS, this::mapResultSetToFlightOwner);
+    }
+
     @Override
     public boolean update(FlightOwner flightOwner) {
         try (Connection conn = DBConnection.getConnection();
@@ -237,17 +275,8 @@ public class FlightOwnerDAO implements BaseDAO<FlightOwner, Integer> {
     public List<FlightOwner> findAllWithFlightCounts() {
         List<FlightOwner> flightOwners = new ArrayList<>();
         
-        String query = "SELECT fo.owner_id, fo.company_name, fo.company_code, fo.contact_info, " +
-                      "fo.password, fo.created_at, fo.updated_at, " +
-                      "COALESCE(COUNT(fd.flight_id), 0) as flight_count " +
-                      "FROM flight_owners fo " +
-                      "LEFT JOIN flight_data fd ON fo.owner_id = fd.company_id " +
-                      "GROUP BY fo.owner_id, fo.company_name, fo.company_code, fo.contact_info, " +
-                      "fo.password, fo.created_at, fo.updated_at " +
-                      "ORDER BY fo.company_name";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_WITH_FLIGHT_COUNTS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -0,0 +1,51 @@
+package com.GoAero.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query.
+ * Pass {@link #getNextCursor()} to the next findPage call to continue after the last item.
+ * @param <T> The entity type
+ * @param <ID> The cursor (ID) type
+ */
+public class Page<T, ID> {
+    private final List<T> items;
+    private final ID nextCursor;
+    private final boolean hasMore;
+
+    public Page(List<T> items, ID nextCursor, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public ID getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "size=" + items.size() +
+                ", nextCursor=" + nextCursor +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
@@ -0,0 +1,273 @@
+package com.GoAero.dao;
+
+import com.GoAero.db.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared JDBC plumbing for the paging and streaming methods of the DAOs
+ */
+final class QuerySupport {
+
+    // Tells MySQL Connector/J to stream rows one at a time instead of buffering the whole result
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    // SQLState of a serialization failure, e.g. a transaction chosen as deadlock victim
+    private static final String SERIALIZATION_FAILURE = "40001";
+    // MySQL error codes for a deadlock and a lock wait timeout
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final long RETRY_BACKOFF_MS = 20;
+
+    /**
+     * Maps the current row of a ResultSet to an entity
+     * @param <T> The entity type
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Sets the parameters of a prepared statement
+     */
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Work done inside a database transaction
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    interface TransactionWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private QuerySupport() {}
+
+    /**
+     * Resolves the cursor of the first page, which starts before every key
+     * @param cursor The cursor passed by the caller, or null for the first page
+     * @param direction The sort direction
+     * @return The key to page after
+     */
+    static int startCursor(Integer cursor, SortDirection direction) {
+        if (cursor != null) {
+            return cursor;
+        }
+        return direction == SortDirection.DESCENDING ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+    }
+
+    /**
+     * Runs a keyset page query of the form "... WHERE key (&gt;|&lt;) ? ORDER BY key LIMIT ?".
+     * One row more than requested is read to find out whether another page follows.
+     * @param sql The page query; its last two parameters are the cursor and the limit
+     * @param cursor The key after which the page starts
+     * @param limit Maximum number of items in the page
+     * @param mapper Row mapper
+     * @param keyOf Extracts the key of an item, used as the next cursor
+     * @return The page
+     */
+    static <T> Page<T, Integer> queryPage(String sql, int cursor, int limit,
+                                          RowMapper<T> mapper, Function<T, Integer> keyOf) {
+        List<T> items = new ArrayList<>();
+        boolean hasMore = false;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, cursor);
+            stmt.setInt(2, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    items.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        Integer nextCursor = items.isEmpty() ? null : keyOf.apply(items.get(items.size() - 1));
+        return new Page<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Runs a query and passes each row to the action as it is read from the server
+     * @param sql The query
+     * @param mapper Row mapper
+     * @param action Action applied to every mapped row
+     * @return true if all rows were read, false if the query failed
+     */
+    static <T> boolean forEach(String sql, RowMapper<T> mapper, Consumer<? super T> action) {
+        return forEach(sql, stmt -> {}, mapper, action);
+    }
+
+    /**
+     * Runs a parameterized query and passes each row to the action as it is read from the server
+     * @param sql The query
+     * @param binder Sets the query parameters
+     * @param mapper Row mapper
+     * @param action Action applied to every mapped row
+     * @return true if all rows were read, false if the query failed
+     */
+    static <T> boolean forEach(String sql, ParameterBinder binder, RowMapper<T> mapper, Consumer<? super T> action) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepareStreaming(conn, sql)) {
+
+            binder.bind(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapper.map(rs));
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Runs work in a single transaction on a pooled connection. It is committed if the work
+     * returns and rolled back if it throws.
+     * @param work The statements to run; must not commit or roll back itself
+     * @return The result of the work
+     * @throws SQLException if no connection is available or the work or commit failed
+     */
+    static <T> T inTransaction(TransactionWork<T> work) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("No database connection available");
+            }
+            conn.setAutoCommit(false);
+            try {
+                T result = work.run(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs work in a single transaction like {@link #inTransaction(TransactionWork)}, running it
+     * again in a new transaction if it was rolled back because of a deadlock or lock wait timeout.
+     * Attempts are spaced by a short randomized backoff so the competing transactions can finish.
+     * @param work The statements to run; must be safe to run more than once
+     * @param maxAttempts Total number of attempts, at least 1
+     * @return The result of the successful attempt
+     * @throws SQLException if the last attempt failed or the failure was not transient
+     */
+    static <T> T inTransaction(TransactionWork<T> work, int maxAttempts) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return inTransaction(work);
+            } catch (SQLException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(RETRY_BACKOFF_MS * attempt) + 1);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a transaction failed only because it lost a race for locks and may succeed if run again
+     */
+    static boolean isTransient(SQLException e) {
+        return e instanceof SQLTransactionRollbackException
+            || SERIALIZATION_FAILURE.equals(e.getSQLState())
+            || e.getErrorCode() == ER_LOCK_DEADLOCK
+            || e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT;
+    }
+
+    /**
+     * Runs a query and returns its rows as a lazily mapped stream.
+     * The stream holds a pooled connection until it is closed, so always use it
+     * in a try-with-resources block.
+     * @param sql The query
+     * @param mapper Row mapper
+     * @return A stream of mapped rows
+     * @throws DataAccessException if the query fails, when it is run or while rows are read,
+     *                             so a failure is never mistaken for the end of the rows
+     */
+    static <T> Stream<T> stream(String sql, RowMapper<T> mapper) {
+        Connection conn = DBConnection.getConnection();
+        if (conn == null) {
+            throw new DataAccessException("No database connection available", null);
+        }
+
+        PreparedStatement stmt = null;
+        try {
+            stmt = prepareStreaming(conn, sql);
+            ResultSet rs = stmt.executeQuery();
+            PreparedStatement openStmt = stmt;
+
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new DataAccessException("Failed to read the next row", e);
+                    }
+                }
+            };
+
+            return StreamSupport.stream(rows, false).onClose(() -> closeAll(rs, openStmt, conn));
+        } catch (SQLException e) {
+            closeAll(stmt, conn);
+            throw new DataAccessException("Failed to run the query", e);
+        }
+    }
+
+    private static PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(STREAMING_FETCH_SIZE);
+        return stmt;
+    }
+
+    private static void closeAll(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.GoAero.dao;
+
+/**
+ * Sort direction for keyset-paginated queries
+ */
+public enum SortDirection {
+    ASCENDING("ASC"),
+    DESCENDING("DESC");
+
+    private final String sql;
+
+    SortDirection(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Gets the SQL keyword for this direction
+     * @return "ASC" or "DESC"
+     */
+    public String getSql() {
+        return sql;
+    }
+}
@@ -7,6 +7,8 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 /**
@@ -37,6 +39,15 @@ public class UserDAO implements BaseDAO<User, Integer> {
     
     private static final String CHECK_EMAIL_EXISTS = 
         "SELECT COUNT(*) FROM users WHERE email = ? AND user_id != ?";
+    
+    private static final String SELECT_USERS_PAGE_ASC = 
+        "SELECT user_id, first_name, last_name, email, phone, DOB, password, created_at, updated_at FROM users WHERE user_id > ? ORDER BY user_id ASC LIMIT ?";
+    
+    private static final String SELECT_USERS_PAGE_DESC = 
+        "SELECT user_id, first_name, last_name, email, phone, DOB, password, created_at, updated_at FROM users WHERE user_id < ? ORDER BY user_id DESC LIMIT ?";
+    
+    private static final String STREAM_USERS = 
+        "SELECT user_id, first_name, last_name, email, phone, DOB, password, created_at, updated_at FROM users ORDER BY user_id";
 
     @Override
     public User create(User user) {
@@ -102,6 +113,23 @@ public class UserDAO implements BaseDAO<User, Integer> {
         return users;
     }
 
+    @Override
+    public Page<User, Integer> findPage(Integer cursor, int limit, SortDirection direction) {
+        String query = direction == SortDirection.DESCENDING ? SELECT_USERS_PAGE_DESC : SELECT_USERS_PAGE_ASC;
+        return QuerySupport.queryPage(query, QuerySupport.startCursor(cursor, direction), limit,
+            this::mapResultSetToUser, User::getUserId);
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super User> action) {
+        return QuerySupport.forEach(STREAM_USERS, this::mapResultSetToUser, action);
+    }
+
+    @Override
+    public Stream<User> stream() {
+        return QuerySupport.stream(STREAM_USERS, this::mapResultSetToUser);
+    }
+
     @Override
     public boolean update(User user) {
         try (Connection conn = DBConnection.getConnection();
@@ -0,0 +1,369 @@
+package com.GoAero.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of physical database connections.
+ * Connections are borrowed with {@link #getConnection()} and returned by closing them,
+ * so existing try-with-resources code keeps working unchanged.
+ * A background housekeeper evicts idle connections, keeps the minimum number of
+ * idle connections open and reports connections that are held for too long.
+ */
+public class ConnectionPool {
+
+    // Connections used within this window are handed out without a validation ping
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 3;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long borrowTimeoutMs;
+    private final long leakDetectionThresholdMs;
+    private final int statementCacheSize;
+    private final DatabaseMetrics metrics = DatabaseMetrics.getInstance();
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    // One permit per connection that may be borrowed at the same time
+    private final Semaphore borrowPermits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool and opens the minimum number of idle connections
+     * @param url JDBC URL
+     * @param user Database user
+     * @param password Database password
+     * @param minIdle Number of idle connections kept open
+     * @param maxSize Maximum number of open connections
+     * @param idleTimeoutMs Idle time after which connections above minIdle are closed
+     * @param maxLifetimeMs Maximum age of a connection before it is retired (0 = unlimited)
+     * @param borrowTimeoutMs Maximum time to wait for a free connection
+     * @param leakDetectionThresholdMs Time a connection may be held before a leak is reported (0 = disabled)
+     * @param statementCacheSize Prepared statements cached per connection (0 = disabled)
+     */
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+                          long idleTimeoutMs, long maxLifetimeMs, long borrowTimeoutMs,
+                          long leakDetectionThresholdMs, int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.borrowPermits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "GoAero-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fillToMinimum();
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+            HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout
+     * @return A connection; closing it returns it to the pool
+     * @throws SQLException if no connection could be obtained in time
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        // The call is timed from here, so time spent waiting for a connection counts towards it
+        DatabaseMetrics.Operation operation = metrics.begin();
+        long borrowStart = System.nanoTime();
+        long deadline = System.currentTimeMillis() + borrowTimeoutMs;
+        try {
+            if (!borrowPermits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                failBorrow(operation);
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMs +
+                    "ms waiting for a database connection (active=" + getActiveConnections() +
+                    ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failBorrow(operation);
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate(deadline);
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.leakReported = false;
+            pooled.borrowTrace = leakDetectionThresholdMs > 0
+                ? new Exception("Connection borrowed here") : null;
+            borrowed.add(pooled);
+            metrics.recordBorrow(System.nanoTime() - borrowStart);
+            return pooled.lease(operation);
+        } catch (SQLException | RuntimeException e) {
+            borrowPermits.release();
+            failBorrow(operation);
+            throw e;
+        }
+    }
+
+    /**
+     * Records a call that could not get a connection as a failed call
+     */
+    private static void failBorrow(DatabaseMetrics.Operation operation) {
+        if (operation != null) {
+            operation.failed();
+            operation.finish();
+        }
+    }
+
+    /**
+     * Takes a valid idle connection, or opens a new one if there is room
+     */
+    private PooledConnection takeIdleOrCreate(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idle.pollFirst();
+            if (pooled == null && reserveSlot()) {
+                return createConnection();
+            }
+
+            if (pooled == null) {
+                // The pool is full but a connection is on its way back (e.g. from the housekeeper)
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new SQLTimeoutException("Timed out waiting for an idle database connection");
+                }
+                try {
+                    // Wait in short slices so a slot freed by eviction is noticed promptly
+                    pooled = idle.pollFirst(Math.min(remaining, 50), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (pooled == null) {
+                    continue;
+                }
+            }
+
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * Returns a connection to the pool; called when the caller closes its proxy
+     * @param pooled The connection being returned
+     */
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            if (closed || pooled.isBroken() || isExpired(pooled, System.currentTimeMillis())) {
+                destroy(pooled);
+                return;
+            }
+            try {
+                pooled.reset();
+            } catch (SQLException e) {
+                System.err.println("Discarding connection that could not be reset: " + e.getMessage());
+                destroy(pooled);
+                return;
+            }
+            pooled.lastAccessed = System.currentTimeMillis();
+            pooled.borrowTrace = null;
+            // LIFO keeps the hottest connections in use and lets the rest go idle
+            idle.offerFirst(pooled);
+        } finally {
+            borrowPermits.release();
+        }
+    }
+
+    /**
+     * Checks a connection taken from the idle list before handing it out
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (pooled.isBroken() || isExpired(pooled, now)) {
+            return false;
+        }
+        if (now - pooled.lastAccessed < VALIDATION_BYPASS_MS) {
+            return true;
+        }
+        try {
+            return pooled.getPhysical().isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return maxLifetimeMs > 0 && now - pooled.getCreatedAt() > maxLifetimeMs;
+    }
+
+    /**
+     * Reserves room for one more physical connection
+     * @return true if the pool is below its maximum size
+     */
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Opens a physical connection into a slot reserved with {@link #reserveSlot()}
+     */
+    private PooledConnection createConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            return new PooledConnection(this, physical, statementCacheSize);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        pooled.closeQuietly();
+    }
+
+    /**
+     * Periodic maintenance: idle eviction, lifetime retirement, leak detection and refill
+     */
+    private void housekeep() {
+        if (closed) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                boolean idleTooLong = idleTimeoutMs > 0 && now - pooled.lastAccessed > idleTimeoutMs
+                    && idle.size() > minIdle;
+                if ((idleTooLong || isExpired(pooled, now)) && idle.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+
+            if (leakDetectionThresholdMs > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMs) {
+                        pooled.leakReported = true;
+                        System.err.println("Possible connection leak: connection held for " +
+                            (now - pooled.borrowedAt) + "ms");
+                        if (pooled.borrowTrace != null) {
+                            pooled.borrowTrace.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Opens connections until the minimum number of idle connections is reached
+     */
+    private void fillToMinimum() {
+        while (!closed && idle.size() < minIdle && reserveSlot()) {
+            try {
+                idle.offerLast(createConnection());
+            } catch (SQLException e) {
+                System.err.println("Could not open pooled connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeper.
+     * Borrowed connections are closed as they are returned.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    // Pool statistics
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getActiveConnections() {
+        return borrowed.size();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return borrowPermits.getQueueLength();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{" +
+                "total=" + getTotalConnections() +
+                ", active=" + getActiveConnections() +
+                ", idle=" + getIdleConnections() +
+                ", waiting=" + getThreadsAwaitingConnection() +
+                ", max=" + maxSize +
+                '}';
+    }
+}
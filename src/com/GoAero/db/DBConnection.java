@@ -1,51 +1,106 @@
 package com.GoAero.db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * A utility class to handle the database connection.
  * This ensures we have a single, centralized point for managing the connection.
+ * Connections are served from a shared {@link ConnectionPool}; closing a connection
+ * returns it to the pool instead of closing the underlying socket.
  */
 public class DBConnection {
 
-    // --- Database Credentials ---
+    // --- Database Credentials (override with -Dgoaero.db.url, .user and .password) ---
     // URL format: jdbc:mysql://hostname:port/databasename
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/goAero";
+    // rewriteBatchedStatements sends a batch of inserts as one multi-row INSERT
+    // useServerPrepStmts prepares statements on the server, so a cached statement is parsed once per connection;
+    // see STATEMENT_CACHE_SIZE for the server-side limit this counts against
+    private static final String DB_URL = System.getProperty("goaero.db.url",
+        "jdbc:mysql://localhost:3306/goAero?rewriteBatchedStatements=true&useServerPrepStmts=true");
 
     // Replace with your MySQL username (often 'root')
-    private static final String USER = "root";
+    private static final String USER = System.getProperty("goaero.db.user", "root");
 
     // Replace with your MySQL password
-    private static final String PASS = "QWERTY";
+    private static final String PASS = System.getProperty("goaero.db.password", "QWERTY");
     // ----------------------------
 
-    private static Connection connection = null;
+    // --- Pool Settings (override with -Dgoaero.pool.<name>=value) ---
+    private static final int MIN_IDLE = Integer.getInteger("goaero.pool.minIdle", 2);
+    private static final int MAX_SIZE = Integer.getInteger("goaero.pool.maxSize", 10);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("goaero.pool.idleTimeoutMs", 600_000L);
+    private static final long MAX_LIFETIME_MS = Long.getLong("goaero.pool.maxLifetimeMs", 1_800_000L);
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("goaero.pool.borrowTimeoutMs", 30_000L);
+    private static final long LEAK_DETECTION_MS = Long.getLong("goaero.pool.leakDetectionMs", 60_000L);
+    // Every cached statement stays prepared on the server (useServerPrepStmts), so one client holds up to
+    // statementCacheSize * maxSize of them: 250 by default. MySQL limits the total across all clients to
+    // max_prepared_stmt_count (16382 by default) and refuses new prepares beyond it, so keep
+    // clients * statementCacheSize * maxSize well below that setting, or raise it on the server.
+    // 25 holds the statements of the busiest screens; others are prepared again once they fall out.
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("goaero.pool.statementCacheSize", 25);
+    // ----------------------------
+
+    private static volatile ConnectionPool pool;
 
     /**
-     * Creates and returns a connection to the database.
+     * Borrows a connection from the pool.
      * This method is static so we can call it from anywhere without creating an object.
+     * Close the connection (e.g. with try-with-resources) to return it to the pool.
      * @return A Connection object or null if connection fails.
      */
     public static Connection getConnection() {
         try {
-            // Register the MySQL JDBC driver.
-            // This line is technically not required for modern JDBC drivers (4.0+),
-            // but it's good practice for compatibility.
-            Class.forName("com.mysql.cj.jdbc.Driver");
-
-            // Establish the connection
-            connection = DriverManager.getConnection(DB_URL, USER, PASS);
-             System.out.println("Database connected successfully!");
-
-        } catch (ClassNotFoundException e) {
-            System.err.println("JDBC Driver not found!");
-            e.printStackTrace();
+            ConnectionPool connectionPool = getPool();
+            if (connectionPool != null) {
+                return connectionPool.getConnection();
+            }
         } catch (SQLException e) {
             System.err.println("Database connection failed!");
             e.printStackTrace();
         }
-        return connection;
+        return null;
+    }
+
+    /**
+     * Returns the shared connection pool, creating it on first use
+     * @return The connection pool or null if the JDBC driver is missing
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
+        }
+        synchronized (DBConnection.class) {
+            if (pool == null) {
+                try {
+                    // Register the MySQL JDBC driver once for the whole application.
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                } catch (ClassNotFoundException e) {
+                    System.err.println("JDBC Driver not found!");
+                    e.printStackTrace();
+                    return null;
+                }
+
+                pool = new ConnectionPool(DB_URL, USER, PASS, MIN_IDLE, MAX_SIZE,
+                    IDLE_TIMEOUT_MS, MAX_LIFETIME_MS, BORROW_TIMEOUT_MS, LEAK_DETECTION_MS, STATEMENT_CACHE_SIZE);
+                DatabaseMetrics.getInstance().setPool(pool);
+                DatabaseMetrics.getInstance().registerMBean();
+                QueryLog.getInstance().registerMBean();
+                Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdown, "GoAero-pool-shutdown"));
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Closes the connection pool and all idle connections
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            DatabaseMetrics.getInstance().setPool(null);
+        }
     }
 }
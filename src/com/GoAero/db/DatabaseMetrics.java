@@ -0,0 +1,283 @@
+package com.GoAero.db;
+
+import com.GoAero.util.LatencyHistogram;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, error and row counts of every DAO operation, plus gauges of the connection pool.
+ *
+ * Every DAO method borrows its connection through the pool, so the pool records each borrow as
+ * one call of the outermost DAO method on the stack (e.g. "FlightDAO.findById"), from the borrow
+ * until the connection is closed. A call counts as an error if the driver threw an SQLException
+ * during it, even when the DAO swallowed the exception. Rows are those read from result sets plus
+ * those reported changed by updates.
+ *
+ * Disable with -Dgoaero.metrics.enabled=false.
+ */
+public class DatabaseMetrics implements DatabaseMetricsMXBean {
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("goaero.metrics.enabled", "true"));
+    private static final String OBJECT_NAME = "com.GoAero:type=DatabaseMetrics";
+    private static final String DB_PACKAGE = "com.GoAero.db";
+    private static final String DAO_PACKAGE = "com.GoAero.dao";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static DatabaseMetrics instance;
+
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final LatencyHistogram borrowTime = new LatencyHistogram();
+    private volatile ConnectionPool pool;
+    private boolean mbeanRegistered;
+
+    /**
+     * Statistics of one DAO operation
+     */
+    public static final class OperationStats {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+
+        OperationStats(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public double getMeanMicros() {
+            return latency.getMean();
+        }
+
+        public long getP50Micros() {
+            return latency.getPercentile(50);
+        }
+
+        public long getP95Micros() {
+            return latency.getPercentile(95);
+        }
+
+        public long getP99Micros() {
+            return latency.getPercentile(99);
+        }
+
+        public long getMaxMicros() {
+            return latency.getMax();
+        }
+
+        public double getTotalMillis() {
+            return latency.getMean() * latency.getCount() / 1000.0;
+        }
+    }
+
+    /**
+     * One call being timed; confined to the thread holding the connection
+     */
+    static final class Operation {
+        private final OperationStats stats;
+        private final long startNanos = System.nanoTime();
+        private boolean failed;
+        private long rows;
+
+        private Operation(OperationStats stats) {
+            this.stats = stats;
+        }
+
+        String getName() {
+            return stats.name;
+        }
+
+        void failed() {
+            failed = true;
+        }
+
+        void addRows(long count) {
+            rows += count;
+        }
+
+        /**
+         * Records the call; called once when its connection is closed
+         */
+        void finish() {
+            stats.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+            if (failed) {
+                stats.errors.increment();
+            }
+            if (rows > 0) {
+                stats.rows.add(rows);
+            }
+        }
+    }
+
+    // Private constructor for singleton pattern
+    private DatabaseMetrics() {
+    }
+
+    // Get singleton instance
+    public static synchronized DatabaseMetrics getInstance() {
+        if (instance == null) {
+            instance = new DatabaseMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts timing a call of the DAO method that is borrowing a connection
+     * @return The call, or null if metrics are disabled
+     */
+    Operation begin() {
+        if (!ENABLED) {
+            return null;
+        }
+        String name = callerOperation();
+        OperationStats stats = operations.get(name);
+        if (stats == null) {
+            stats = operations.computeIfAbsent(name, OperationStats::new);
+        }
+        return new Operation(stats);
+    }
+
+    void recordBorrow(long nanos) {
+        if (ENABLED) {
+            borrowTime.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    /**
+     * Sets the pool whose gauges are reported
+     * @param pool The pool, or null once it is shut down
+     */
+    void setPool(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Registers this registry with the platform MBean server, once
+     */
+    synchronized void registerMBean() {
+        if (mbeanRegistered || !ENABLED) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            mbeanRegistered = true;
+        } catch (InstanceAlreadyExistsException e) {
+            mbeanRegistered = true;
+        } catch (JMException e) {
+            System.err.println("Failed to register database metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Names the call borrowing a connection after the outermost DAO method on the stack,
+     * or after the first caller outside the connection classes if no DAO is involved
+     */
+    private static String callerOperation() {
+        return STACK_WALKER.walk(frames -> {
+            String operation = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                String packageName = type.getPackageName();
+                if (packageName.equals(DB_PACKAGE)) {
+                    continue;
+                }
+                boolean dao = packageName.equals(DAO_PACKAGE);
+                if (operation != null && !dao) {
+                    break;
+                }
+                operation = type.getName().substring(packageName.length() + 1) + "." + frame.getMethodName();
+                if (!dao) {
+                    break;
+                }
+            }
+            return operation != null ? operation : "unknown";
+        });
+    }
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> list = new ArrayList<>(operations.values());
+        list.sort(Comparator.comparingDouble(OperationStats::getTotalMillis).reversed());
+        return list;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        ConnectionPool current = pool;
+        return current != null ? current.getActiveConnections() : 0;
+    }
+
+    @Override
+    public int getIdleConnections() {
+        ConnectionPool current = pool;
+        return current != null ? current.getIdleConnections() : 0;
+    }
+
+    @Override
+    public int getTotalConnections() {
+        ConnectionPool current = pool;
+        return current != null ? current.getTotalConnections() : 0;
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        ConnectionPool current = pool;
+        return current != null ? current.getThreadsAwaitingConnection() : 0;
+    }
+
+    /**
+     * Gets the maximum pool size, or 0 if no pool is open
+     */
+    public int getMaxConnections() {
+        ConnectionPool current = pool;
+        return current != null ? current.getMaxSize() : 0;
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowTime.getCount();
+    }
+
+    @Override
+    public double getBorrowTimeMeanMicros() {
+        return borrowTime.getMean();
+    }
+
+    @Override
+    public long getBorrowTimeP99Micros() {
+        return borrowTime.getPercentile(99);
+    }
+
+    @Override
+    public long getBorrowTimeMaxMicros() {
+        return borrowTime.getMax();
+    }
+
+    @Override
+    public void reset() {
+        operations.clear();
+        borrowTime.reset();
+    }
+}
@@ -0,0 +1,36 @@
+package com.GoAero.db;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link DatabaseMetrics}, registered as com.GoAero:type=DatabaseMetrics.
+ * Times are in microseconds unless the name says otherwise.
+ */
+public interface DatabaseMetricsMXBean {
+
+    /**
+     * Gets the statistics of every DAO operation seen so far, slowest in total first
+     */
+    List<DatabaseMetrics.OperationStats> getOperations();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getThreadsAwaitingConnection();
+
+    long getBorrowCount();
+
+    double getBorrowTimeMeanMicros();
+
+    long getBorrowTimeP99Micros();
+
+    long getBorrowTimeMaxMicros();
+
+    /**
+     * Clears all operation statistics and borrow times
+     */
+    void reset();
+}
@@ -0,0 +1,531 @@
+package com.GoAero.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A physical database connection owned by a {@link ConnectionPool}.
+ * Callers never see this object directly; each borrow hands out a fresh
+ * {@link Connection} proxy whose close() returns the connection to the pool.
+ *
+ * Prepared statements are cached per connection: closing a statement handed out by a lease
+ * resets it and keeps it open, so the next prepare of the same SQL on this connection reuses
+ * it instead of preparing it on the server again.
+ */
+class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final long createdAt;
+    private final int defaultIsolation;
+    private final int statementCacheSize;
+    // Idle prepared statements by SQL, least recently used first; guarded by itself
+    private final LinkedHashMap<String, PreparedStatement> statementCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bookkeeping maintained by the pool
+    volatile long lastAccessed;
+    volatile long borrowedAt;
+    volatile Throwable borrowTrace;
+    volatile boolean leakReported;
+
+    // Set when the connection must not be reused
+    private volatile boolean broken;
+    // Set when the caller changed session state that needs resetting on return
+    private boolean dirty;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) throws SQLException {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCacheSize = statementCacheSize;
+        this.createdAt = System.currentTimeMillis();
+        this.lastAccessed = createdAt;
+        this.defaultIsolation = physical.getTransactionIsolation();
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    void markBroken() {
+        this.broken = true;
+    }
+
+    /**
+     * Creates the proxy handed to a caller for a single borrow
+     * @param operation The call timed for this borrow, or null if metrics are disabled
+     * @return A Connection whose close() releases back to the pool
+     */
+    Connection lease(DatabaseMetrics.Operation operation) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new LeaseHandler(operation));
+    }
+
+    /**
+     * Restores default session state before the connection goes back to the idle list
+     * @throws SQLException if the reset fails (the connection is then discarded)
+     */
+    void reset() throws SQLException {
+        if (dirty) {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            if (physical.getTransactionIsolation() != defaultIsolation) {
+                physical.setTransactionIsolation(defaultIsolation);
+            }
+            dirty = false;
+        }
+        physical.clearWarnings();
+    }
+
+    /**
+     * Closes the physical connection, ignoring any errors
+     */
+    void closeQuietly() {
+        synchronized (statementCache) {
+            for (PreparedStatement statement : statementCache.values()) {
+                closeQuietly(statement);
+            }
+            statementCache.clear();
+        }
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    /**
+     * Number of prepared statements currently cached on this connection
+     */
+    int getCachedStatementCount() {
+        synchronized (statementCache) {
+            return statementCache.size();
+        }
+    }
+
+    /**
+     * Prepares a statement, reusing a cached one for the same SQL if there is one
+     * @param lease The borrow the statement is handed to
+     * @param method The prepareStatement method the caller invoked
+     * @param args Its arguments; the SQL first
+     * @return A statement proxy whose close() returns the statement to the cache
+     */
+    private PreparedStatement prepareCached(LeaseHandler lease, Method method, Object[] args) throws Throwable {
+        String key = cacheKey(args);
+        PreparedStatement statement;
+        synchronized (statementCache) {
+            // Removed while in use, so a statement is never handed out twice
+            statement = statementCache.remove(key);
+        }
+        if (statement == null) {
+            statement = (PreparedStatement) invokePhysical(lease, physical, method, args);
+        }
+
+        CachedStatementHandler handler = new CachedStatementHandler(key, (String) args[0], statement, lease);
+        lease.statements.add(handler);
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            handler);
+    }
+
+    /**
+     * Resets a statement the caller closed and puts it back in the cache
+     */
+    private void checkIn(CachedStatementHandler handler) {
+        PreparedStatement statement = handler.physicalStatement;
+        try {
+            for (ResultSet resultSet : handler.resultSets) {
+                resultSet.close();
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            if (handler.settingsChanged) {
+                statement.setFetchSize(0);
+                statement.setMaxRows(0);
+                statement.setQueryTimeout(0);
+                statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+            }
+            statement.clearWarnings();
+        } catch (SQLException e) {
+            if (isConnectionError(e)) {
+                broken = true;
+            }
+            closeQuietly(statement);
+            return;
+        }
+
+        synchronized (statementCache) {
+            if (broken || statementCacheSize <= 0 || statementCache.containsKey(handler.key)) {
+                // Same SQL prepared twice on one borrow; one copy is enough
+                closeQuietly(statement);
+                return;
+            }
+            statementCache.put(handler.key, statement);
+            Iterator<PreparedStatement> eldest = statementCache.values().iterator();
+            while (statementCache.size() > statementCacheSize) {
+                closeQuietly(eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Builds the cache key of a prepareStatement call; the options are part of the key
+     * because they are fixed when the statement is prepared
+     */
+    private static String cacheKey(Object[] args) {
+        String sql = (String) args[0];
+        if (args.length == 1) {
+            return sql;
+        }
+        if (args.length == 2) {
+            return "keys=" + args[1] + ";" + sql;
+        }
+        return "type=" + args[1] + "," + args[2] + ";" + sql;
+    }
+
+    /**
+     * Whether a prepareStatement call can be served from the cache; calls with column
+     * indexes, column names or holdability are passed through
+     */
+    private static boolean isCacheable(Object[] args) {
+        if (args == null || args.length == 0 || args.length > 3 || !(args[0] instanceof String)) {
+            return false;
+        }
+        for (int i = 1; i < args.length; i++) {
+            if (!(args[i] instanceof Integer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls a method on the driver's object for a borrow, marking the call failed on SQL errors
+     * and the connection broken on connection errors
+     */
+    private Object invokePhysical(LeaseHandler lease, Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                if (lease.operation != null) {
+                    lease.operation.failed();
+                }
+                if (isConnectionError((SQLException) cause)) {
+                    broken = true;
+                }
+            }
+            throw cause;
+        }
+    }
+
+    private static boolean isClosedQuietly(ResultSet resultSet) {
+        try {
+            return resultSet.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Statement is being discarded anyway
+        }
+    }
+
+    /**
+     * Invocation handler for one borrow of the connection
+     */
+    private class LeaseHandler implements InvocationHandler {
+        private final DatabaseMetrics.Operation operation;
+        private boolean closed;
+        // Statements handed out by this borrow that the caller has not closed yet
+        private final List<CachedStatementHandler> statements = new ArrayList<>();
+
+        LeaseHandler(DatabaseMetrics.Operation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        // Closing a connection closes its statements
+                        for (CachedStatementHandler statement : new ArrayList<>(statements)) {
+                            statement.close();
+                        }
+                        if (operation != null) {
+                            operation.finish();
+                        }
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + (closed ? ", closed]" : "]");
+                case "prepareStatement":
+                    if (!closed && isCacheable(args)) {
+                        return prepareCached(this, method, args);
+                    }
+                    break;
+                case "createStatement":
+                    if (!closed && QueryLog.ENABLED) {
+                        Statement statement = (Statement) invokePhysical(this, physical, method, args);
+                        return Proxy.newProxyInstance(
+                            Statement.class.getClassLoader(),
+                            new Class<?>[] { Statement.class },
+                            new TimedStatementHandler(statement, this));
+                    }
+                    break;
+                case "abort":
+                    broken = true;
+                    break;
+                case "setAutoCommit":
+                case "setReadOnly":
+                case "setTransactionIsolation":
+                    dirty = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is closed", "08003");
+            }
+
+            return invokePhysical(this, physical, method, args);
+        }
+    }
+
+    /**
+     * Invocation handler for one use of a cached prepared statement
+     */
+    private class CachedStatementHandler implements InvocationHandler {
+        private final String key;
+        private final String sql;
+        private final PreparedStatement physicalStatement;
+        private final LeaseHandler lease;
+        // Result sets opened through this use, closed when the statement goes back to the cache
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        // Bind values by parameter index minus one, kept for the slow-query log
+        private Object[] binds;
+        private int bindCount;
+        private boolean settingsChanged;
+        private boolean closed;
+
+        CachedStatementHandler(String key, String sql, PreparedStatement physicalStatement, LeaseHandler lease) {
+            this.key = key;
+            this.sql = sql;
+            this.physicalStatement = physicalStatement;
+            this.lease = lease;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (binds == null || index > binds.length) {
+                binds = Arrays.copyOf(binds == null ? new Object[0] : binds, Math.max(index, 8));
+            }
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                lease.statements.remove(this);
+                checkIn(this);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || physicalStatement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + physicalStatement + (closed ? ", closed]" : "]");
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setQueryTimeout":
+                case "setFetchDirection":
+                    settingsChanged = true;
+                    break;
+                case "clearParameters":
+                    bindCount = 0;
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    }
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed", "S1009");
+            }
+
+            Object result = QueryLog.ENABLED && name.startsWith("execute")
+                ? invokeTimed(lease, physicalStatement, method, args, sql, binds, bindCount)
+                : invokePhysical(lease, physicalStatement, method, args);
+            if (result instanceof ResultSet) {
+                // Executing again closes the previous result set, so only open ones are kept
+                resultSets.removeIf(PooledConnection::isClosedQuietly);
+                resultSets.add((ResultSet) result);
+                if (lease.operation != null) {
+                    return countRows((ResultSet) result, lease);
+                }
+            } else if (lease.operation != null && name.startsWith("execute")) {
+                addUpdateCount(result, lease.operation);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Invocation handler for a plain statement, timing the SQL passed to its execute methods
+     */
+    private class TimedStatementHandler implements InvocationHandler {
+        private final Statement physicalStatement;
+        private final LeaseHandler lease;
+        private String batchSql;
+
+        TimedStatementHandler(Statement physicalStatement, LeaseHandler lease) {
+            this.physicalStatement = physicalStatement;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            }
+            boolean timed = name.startsWith("execute") &&
+                (args != null && args.length > 0 && args[0] instanceof String || batchSql != null);
+            if (!timed) {
+                return invokePhysical(lease, physicalStatement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : batchSql;
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                batchSql = null;
+            }
+            Object result = invokeTimed(lease, physicalStatement, method, args, sql, null, 0);
+            if (result instanceof ResultSet) {
+                return lease.operation != null ? countRows((ResultSet) result, lease) : result;
+            }
+            if (lease.operation != null) {
+                addUpdateCount(result, lease.operation);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Calls an execute method and records it in the query log
+     */
+    private Object invokeTimed(LeaseHandler lease, Statement target, Method method, Object[] args,
+                               String sql, Object[] binds, int bindCount) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invokePhysical(lease, target, method, args);
+            failed = false;
+            return result;
+        } finally {
+            QueryLog.getInstance().record(sql, System.nanoTime() - start, failed, lease.operation, binds, bindCount);
+        }
+    }
+
+    /**
+     * Adds the rows changed by an update or batch to the borrow's call
+     */
+    private static void addUpdateCount(Object result, DatabaseMetrics.Operation operation) {
+        if (result instanceof Integer || result instanceof Long) {
+            operation.addRows(Math.max(0, ((Number) result).longValue()));
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                operation.addRows(Math.max(0, count));
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                operation.addRows(Math.max(0, count));
+            }
+        }
+    }
+
+    /**
+     * Wraps a result set so the rows read from it are added to the borrow's call
+     */
+    private ResultSet countRows(ResultSet resultSet, LeaseHandler lease) {
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                Object result = invokePhysical(lease, resultSet, method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    lease.operation.addRows(1);
+                }
+                return result;
+            });
+    }
+
+    /**
+     * Checks whether an exception means the physical connection is no longer usable
+     * @param e The exception thrown by the driver
+     * @return true for SQLSTATE class 08 (connection exception)
+     */
+    static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
@@ -0,0 +1,376 @@
+package com.GoAero.db;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Times every statement executed on a pooled connection, grouped by SQL fingerprint, so the
+ * statements that take the most time in total or run most often stand out, e.g. a query
+ * issued once per row of a result instead of once per page.
+ *
+ * Executions slower than the threshold are kept in a bounded ring buffer of recent slow queries
+ * and appended to a rolling log file by a background thread. A sample of them is logged with
+ * its bind parameters. Times cover the execute call, i.e. until the driver has the result.
+ *
+ * Logged binds show numbers and booleans; every other value is replaced by its type, because
+ * strings hold passwords, names and contact details. Statements on the users, admins and
+ * flight_owners tables are never logged with binds. Values can be logged on a development
+ * database with goaero.slowQuery.bindValues.
+ *
+ * Settings (-Dname=value):
+ * goaero.queryLog.enabled (true), goaero.queryLog.topN (20),
+ * goaero.slowQuery.thresholdMs (200, negative disables), goaero.slowQuery.bindSampleRate (0.2),
+ * goaero.slowQuery.bindValues (false),
+ * goaero.slowQuery.dir (logs), goaero.slowQuery.maxFileBytes (10 MB), goaero.slowQuery.maxFiles (5)
+ */
+public class QueryLog implements QueryLogMXBean {
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("goaero.queryLog.enabled", "true"));
+    private static final int TOP_N = Integer.getInteger("goaero.queryLog.topN", 20);
+    private static final long THRESHOLD_MS = Long.getLong("goaero.slowQuery.thresholdMs", 200L);
+    private static final double BIND_SAMPLE_RATE = Double.parseDouble(System.getProperty("goaero.slowQuery.bindSampleRate", "0.2"));
+    private static final boolean BIND_VALUES = Boolean.getBoolean("goaero.slowQuery.bindValues");
+    private static final String LOG_DIR = System.getProperty("goaero.slowQuery.dir", "logs");
+    private static final long MAX_FILE_BYTES = Long.getLong("goaero.slowQuery.maxFileBytes", 10L * 1024 * 1024);
+    private static final int MAX_FILES = Integer.getInteger("goaero.slowQuery.maxFiles", 5);
+
+    private static final String OBJECT_NAME = "com.GoAero:type=QueryLog";
+    private static final String LOG_FILE = "slow-queries.log";
+    private static final int MAX_STATEMENTS = 1000;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+    private static final int RECENT_SLOW_QUERIES = 256;
+    private static final int PENDING_SLOW_QUERIES = 1024;
+    private static final int MAX_BIND_LENGTH = 64;
+    // Tables holding credentials and personal data; statements naming them are logged without binds
+    private static final Pattern SENSITIVE_TABLES = Pattern.compile("\\b(users|admins|flight_owners)\\b",
+        Pattern.CASE_INSENSITIVE);
+
+    private static QueryLog instance;
+
+    private final long thresholdNanos = THRESHOLD_MS < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MS);
+    private final ConcurrentHashMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<SlowQuery> recent = new AtomicReferenceArray<>(RECENT_SLOW_QUERIES);
+    private final AtomicLong recentCount = new AtomicLong();
+    private final BlockingQueue<SlowQuery> pending = new ArrayBlockingQueue<>(PENDING_SLOW_QUERIES);
+    private final LongAdder dropped = new LongAdder();
+    private Thread writer;
+    private boolean mbeanRegistered;
+
+    /**
+     * Execution statistics of one SQL fingerprint
+     */
+    public static final class StatementStats {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        StatementStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1e6;
+        }
+    }
+
+    /**
+     * One execution over the slow-query threshold
+     */
+    public static final class SlowQuery {
+        private final String time;
+        private final double millis;
+        private final String operation;
+        private final String sql;
+        private final String bindValues;
+        private final boolean failed;
+
+        SlowQuery(String time, double millis, String operation, String sql, String bindValues, boolean failed) {
+            this.time = time;
+            this.millis = millis;
+            this.operation = operation;
+            this.sql = sql;
+            this.bindValues = bindValues;
+            this.failed = failed;
+        }
+
+        public String getTime() {
+            return time;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        /**
+         * Gets the DAO operation that issued the statement
+         */
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Gets the bind values, or null if this execution was not sampled
+         */
+        public String getBindValues() {
+            return bindValues;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        String toLogLine() {
+            return time + " " + String.format("%.1f", millis) + "ms " + operation +
+                (failed ? " FAILED" : "") + " | " + sql +
+                (bindValues != null ? " | binds " + bindValues : "");
+        }
+    }
+
+    // Private constructor for singleton pattern
+    private QueryLog() {
+    }
+
+    // Get singleton instance
+    public static synchronized QueryLog getInstance() {
+        if (instance == null) {
+            instance = new QueryLog();
+        }
+        return instance;
+    }
+
+    /**
+     * Records one execution
+     * @param sql The SQL executed
+     * @param nanos Time the execute call took
+     * @param failed Whether it threw an SQLException
+     * @param operation The DAO call it belongs to, or null
+     * @param binds Bind values by parameter index minus one, or null; only read if the execution is logged
+     * @param bindCount Number of entries of binds in use
+     */
+    void record(String sql, long nanos, boolean failed, DatabaseMetrics.Operation operation,
+                Object[] binds, int bindCount) {
+        String fingerprint = SqlFingerprint.of(sql);
+        StatementStats stats = statements.get(fingerprint);
+        if (stats == null) {
+            // Bounded, so statements built with literals cannot grow the map without limit
+            stats = statements.size() < MAX_STATEMENTS
+                ? statements.computeIfAbsent(fingerprint, StatementStats::new)
+                : statements.computeIfAbsent(OTHER_STATEMENTS, StatementStats::new);
+        }
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+        if (failed) {
+            stats.errors.increment();
+        }
+
+        if (nanos >= thresholdNanos) {
+            boolean sampled = binds != null && ThreadLocalRandom.current().nextDouble() < BIND_SAMPLE_RATE
+                && !SENSITIVE_TABLES.matcher(fingerprint).find();
+            SlowQuery slowQuery = new SlowQuery(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).toString(), nanos / 1e6,
+                operation != null ? operation.getName() : "unknown", fingerprint,
+                sampled ? formatBinds(binds, bindCount) : null, failed);
+            recent.set((int) (recentCount.getAndIncrement() % RECENT_SLOW_QUERIES), slowQuery);
+            if (pending.offer(slowQuery)) {
+                startWriter();
+            } else {
+                dropped.increment();
+            }
+        }
+    }
+
+    private static String formatBinds(Object[] binds, int bindCount) {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < bindCount; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            Object value = binds[i];
+            text.append(i + 1).append('=');
+            if (value == null) {
+                text.append("NULL");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                text.append(value);
+            } else if (!BIND_VALUES) {
+                text.append('<').append(value.getClass().getSimpleName()).append('>');
+            } else {
+                String string = String.valueOf(value);
+                if (string.length() > MAX_BIND_LENGTH) {
+                    string = string.substring(0, MAX_BIND_LENGTH) + "...";
+                }
+                text.append('\'').append(string.replace("'", "''")).append('\'');
+            }
+        }
+        return text.append(']').toString();
+    }
+
+    /**
+     * Starts the thread writing slow queries to the log file, once
+     */
+    private synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(this::writeSlowQueries, "GoAero-slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void writeSlowQueries() {
+        Path directory = Paths.get(LOG_DIR);
+        Path file = directory.resolve(LOG_FILE);
+        List<SlowQuery> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pending.drainTo(batch);
+            try {
+                Files.createDirectories(directory);
+                if (Files.exists(file) && Files.size(file) > MAX_FILE_BYTES) {
+                    rotate(directory);
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (SlowQuery slowQuery : batch) {
+                        out.write(slowQuery.toLogLine());
+                        out.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to write slow query log: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Renames slow-queries.log to slow-queries.log.1, shifting older files up and dropping the oldest
+     */
+    private static void rotate(Path directory) throws IOException {
+        Files.deleteIfExists(directory.resolve(LOG_FILE + "." + (MAX_FILES - 1)));
+        for (int i = MAX_FILES - 2; i >= 0; i--) {
+            Path source = directory.resolve(i == 0 ? LOG_FILE : LOG_FILE + "." + i);
+            if (Files.exists(source)) {
+                Files.move(source, directory.resolve(LOG_FILE + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Registers this log with the platform MBean server, once
+     */
+    synchronized void registerMBean() {
+        if (mbeanRegistered || !ENABLED) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            mbeanRegistered = true;
+        } catch (InstanceAlreadyExistsException e) {
+            mbeanRegistered = true;
+        } catch (JMException e) {
+            System.err.println("Failed to register query log MBean: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<StatementStats> getTopByTotalTime() {
+        return top(Comparator.comparingDouble(StatementStats::getTotalMillis));
+    }
+
+    @Override
+    public List<StatementStats> getTopByCount() {
+        return top(Comparator.comparingLong(StatementStats::getCount));
+    }
+
+    private List<StatementStats> top(Comparator<StatementStats> order) {
+        List<StatementStats> list = new ArrayList<>(statements.values());
+        list.sort(order.reversed());
+        return list.size() > TOP_N ? new ArrayList<>(list.subList(0, TOP_N)) : list;
+    }
+
+    @Override
+    public List<SlowQuery> getRecentSlowQueries() {
+        List<SlowQuery> list = new ArrayList<>();
+        long end = recentCount.get();
+        for (long i = end - 1; i >= Math.max(0, end - RECENT_SLOW_QUERIES); i--) {
+            SlowQuery slowQuery = recent.get((int) (i % RECENT_SLOW_QUERIES));
+            if (slowQuery != null) {
+                list.add(slowQuery);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public long getSlowQueryThresholdMs() {
+        return THRESHOLD_MS;
+    }
+
+    @Override
+    public long getDroppedSlowQueries() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void reset() {
+        statements.clear();
+        for (int i = 0; i < RECENT_SLOW_QUERIES; i++) {
+            recent.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.GoAero.db;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link QueryLog}, registered as com.GoAero:type=QueryLog
+ */
+public interface QueryLogMXBean {
+
+    /**
+     * Gets the statements that took the most time in total, most first
+     */
+    List<QueryLog.StatementStats> getTopByTotalTime();
+
+    /**
+     * Gets the statements executed most often, most first
+     */
+    List<QueryLog.StatementStats> getTopByCount();
+
+    /**
+     * Gets the most recent executions over the slow-query threshold, newest first
+     */
+    List<QueryLog.SlowQuery> getRecentSlowQueries();
+
+    long getSlowQueryThresholdMs();
+
+    /**
+     * Gets the number of slow queries not written to the log file because the writer fell behind
+     */
+    long getDroppedSlowQueries();
+
+    /**
+     * Clears the statement statistics and recent slow queries; the log file is kept
+     */
+    void reset();
+}
@@ -0,0 +1,240 @@
+package com.GoAero.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One-off migration that adds the tables and indexes the DAOs depend on to an existing GoAero database.
+ * The application never changes the schema itself; the DAOs only warn when something is missing.
+ * Every step checks information_schema first, so running the migration again is harmless.
+ *
+ * The unique flight code index cannot be created while two flights share a code. The migration
+ * lists such flights and stops; run it with -renameDuplicateFlightCodes to keep the code on the
+ * oldest flight and rename every later one to "CODE-flightId".
+ *
+ * Run it once per database, as a user with the CREATE and INDEX privileges, before starting clients of a
+ * new version:
+ * <pre>
+ *   java -Dgoaero.db.url=... -Dgoaero.db.user=... -Dgoaero.db.password=... \
+ *        -cp "out/production/GoAero:src/lib/*" com.GoAero.db.SchemaMigration [-renameDuplicateFlightCodes]
+ * </pre>
+ */
+public final class SchemaMigration {
+
+    private static final String CHECK_INDEX_EXISTS =
+        "SELECT COUNT(*) FROM information_schema.statistics " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+
+    private static final String CHECK_TABLE_EXISTS =
+        "SELECT COUNT(*) FROM information_schema.tables " +
+        "WHERE table_schema = DATABASE() AND table_name = ?";
+
+    // Per-flight booking counters maintained by BookingDAO, read for seat availability
+    private static final String CREATE_FLIGHT_INVENTORY =
+        "CREATE TABLE flight_inventory (" +
+        "flight_id INT PRIMARY KEY, " +
+        "pending_count INT NOT NULL DEFAULT 0, " +
+        "confirmed_count INT NOT NULL DEFAULT 0, " +
+        "cancelled_count INT NOT NULL DEFAULT 0, " +
+        "revenue DECIMAL(14, 2) NOT NULL DEFAULT 0)";
+
+    // Counts the bookings that exist when the table is created; later drift is repaired by InventoryReconciler
+    private static final String FILL_FLIGHT_INVENTORY =
+        "INSERT INTO flight_inventory (flight_id, pending_count, confirmed_count, cancelled_count, revenue) " +
+        "SELECT fd.flight_id, " +
+        "COALESCE(SUM(b.booking_status = 'Pending'), 0), " +
+        "COALESCE(SUM(b.booking_status = 'Confirmed'), 0), " +
+        "COALESCE(SUM(b.booking_status = 'Cancelled'), 0), " +
+        "COALESCE(SUM(CASE WHEN b.booking_status = 'Confirmed' AND b.payment_status = 'Completed' " +
+        "THEN b.amount END), 0) " +
+        "FROM flight_data fd LEFT JOIN bookings b ON b.flight_id = fd.flight_id " +
+        "GROUP BY fd.flight_id";
+
+    // Indexes as {table, index name, DDL}, created in this order
+    private static final String[][] INDEXES = {
+        // Flight search: route lookup followed by a departure time range
+        {"flight_data", "idx_flight_route_departure",
+            "CREATE INDEX idx_flight_route_departure ON flight_data " +
+            "(departure_airport_id, destination_airport_id, departure_time)"},
+        // Per-flight booking counts, recomputed when the flight inventory is reconciled
+        {"bookings", "idx_booking_flight_status",
+            "CREATE INDEX idx_booking_flight_status ON bookings (flight_id, booking_status)"},
+        // Booking list in its default order, newest first; the booking ID makes the keyset cursor unique
+        {"bookings", "idx_booking_date",
+            "CREATE INDEX idx_booking_date ON bookings (date_of_booking, booking_id)"},
+        // Booking search by passenger name prefix
+        {"users", "idx_user_first_name",
+            "CREATE INDEX idx_user_first_name ON users (first_name)"},
+        {"users", "idx_user_last_name",
+            "CREATE INDEX idx_user_last_name ON users (last_name)"}
+    };
+
+    // Flight codes are unique, ignoring case; created once existing duplicates are resolved
+    private static final String CREATE_FLIGHT_CODE_INDEX =
+        "CREATE UNIQUE INDEX uk_flight_code ON flight_data (flight_code)";
+
+    // Every flight whose code is also used by a flight with a lower ID, compared with the column's collation
+    private static final String SELECT_DUPLICATE_FLIGHT_CODES =
+        "SELECT fd.flight_id, fd.flight_code FROM flight_data fd " +
+        "JOIN (SELECT flight_code, MIN(flight_id) AS first_id FROM flight_data " +
+        "GROUP BY flight_code HAVING COUNT(*) > 1) dup " +
+        "ON fd.flight_code = dup.flight_code AND fd.flight_id <> dup.first_id " +
+        "ORDER BY fd.flight_id";
+
+    private static final String RENAME_FLIGHT_CODE =
+        "UPDATE flight_data SET flight_code = ? WHERE flight_id = ?";
+
+    // Length of flight_data.flight_code
+    private static final int FLIGHT_CODE_LENGTH = 20;
+
+    private SchemaMigration() {}
+
+    public static void main(String[] args) {
+        boolean renameDuplicateFlightCodes = false;
+        for (String arg : args) {
+            if ("-renameDuplicateFlightCodes".equals(arg)) {
+                renameDuplicateFlightCodes = true;
+            } else {
+                System.out.println("Unknown option: " + arg);
+                System.exit(2);
+            }
+        }
+
+        boolean migrated;
+        try {
+            migrated = run(renameDuplicateFlightCodes);
+        } finally {
+            DBConnection.shutdown();
+        }
+        if (!migrated) {
+            System.out.println("Failed to migrate the database schema");
+            System.exit(1);
+        }
+        System.out.println("Database schema is up to date");
+    }
+
+    /**
+     * Applies every step that has not been applied yet, leaving duplicate flight codes as they are
+     * @return true if the schema is up to date afterwards
+     */
+    public static boolean run() {
+        return run(false);
+    }
+
+    /**
+     * Applies every step that has not been applied yet
+     * @param renameDuplicateFlightCodes Whether to rename flights whose code is already used by
+     *                                   an older flight, so the unique flight code index can be created
+     * @return true if the schema is up to date afterwards
+     */
+    public static boolean run(boolean renameDuplicateFlightCodes) {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                return false;
+            }
+            for (String[] index : INDEXES) {
+                createIndex(conn, index[0], index[1], index[2]);
+            }
+            // After the indexes, so the first fill can count bookings per flight from an index
+            createTable(conn, "flight_inventory", CREATE_FLIGHT_INVENTORY, FILL_FLIGHT_INVENTORY);
+            return createFlightCodeIndex(conn, renameDuplicateFlightCodes);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Creates a table and fills it. DDL commits implicitly in MySQL, so clients that start between
+     * the two statements would see an empty table; run the migration before starting them.
+     */
+    private static void createTable(Connection conn, String table, String ddl, String fill) throws SQLException {
+        if (tableExists(conn, table)) {
+            return;
+        }
+        System.out.println("Creating table " + table);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(ddl);
+            int rows = stmt.executeUpdate(fill);
+            System.out.println("Filled " + table + " with " + rows + " row(s)");
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(CHECK_TABLE_EXISTS)) {
+            stmt.setString(1, table);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Creates the unique flight code index, first resolving or reporting duplicate codes
+     * @return false if duplicates remain, so the index was not created
+     */
+    private static boolean createFlightCodeIndex(Connection conn, boolean renameDuplicates) throws SQLException {
+        if (indexExists(conn, "flight_data", "uk_flight_code")) {
+            return true;
+        }
+
+        Map<Integer, String> duplicates = new LinkedHashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_DUPLICATE_FLIGHT_CODES);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                duplicates.put(rs.getInt("flight_id"), rs.getString("flight_code"));
+            }
+        }
+        if (!duplicates.isEmpty() && !renameDuplicates) {
+            System.out.println("Cannot create uk_flight_code; these flights reuse the code of an older flight:");
+            for (Map.Entry<Integer, String> entry : duplicates.entrySet()) {
+                System.out.println("  flight " + entry.getKey() + ": " + entry.getValue());
+            }
+            System.out.println("Change their codes, or run again with -renameDuplicateFlightCodes");
+            return false;
+        }
+        if (!duplicates.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(RENAME_FLIGHT_CODE)) {
+                for (Map.Entry<Integer, String> entry : duplicates.entrySet()) {
+                    String suffix = "-" + entry.getKey();
+                    String code = entry.getValue();
+                    String renamed = code.substring(0, Math.min(code.length(), FLIGHT_CODE_LENGTH - suffix.length())) + suffix;
+                    System.out.println("Renaming the code of flight " + entry.getKey() + " from " + code + " to " + renamed);
+                    stmt.setString(1, renamed);
+                    stmt.setInt(2, entry.getKey());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+        createIndex(conn, "flight_data", "uk_flight_code", CREATE_FLIGHT_CODE_INDEX);
+        return true;
+    }
+
+    private static void createIndex(Connection conn, String table, String indexName, String ddl) throws SQLException {
+        if (indexExists(conn, table, indexName)) {
+            return;
+        }
+        System.out.println("Creating index " + indexName + " on " + table);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(ddl);
+        }
+    }
+
+    private static boolean indexExists(Connection conn, String table, String indexName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(CHECK_INDEX_EXISTS)) {
+            stmt.setString(1, table);
+            stmt.setString(2, indexName);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+}
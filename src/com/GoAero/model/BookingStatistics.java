@@ -0,0 +1,72 @@
+package com.GoAero.model;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aggregated booking counts and amounts, as returned by the booking statistics queries
+ */
+public class BookingStatistics {
+    private final Map<Booking.BookingStatus, Long> bookingStatusCounts = new EnumMap<>(Booking.BookingStatus.class);
+    private final Map<Booking.PaymentStatus, Long> paymentStatusCounts = new EnumMap<>(Booking.PaymentStatus.class);
+    private final Map<Booking.BookingStatus, BigDecimal> bookingStatusAmounts = new EnumMap<>(Booking.BookingStatus.class);
+    private long totalBookings;
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    // Default constructor
+    public BookingStatistics() {}
+
+    /**
+     * Adds one aggregated (booking status, payment status) group
+     * @param bookingStatus The booking status of the group
+     * @param paymentStatus The payment status of the group
+     * @param count Number of bookings in the group
+     * @param amount Sum of the booking amounts in the group
+     */
+    public void addGroup(Booking.BookingStatus bookingStatus, Booking.PaymentStatus paymentStatus,
+                         long count, BigDecimal amount) {
+        BigDecimal groupAmount = amount != null ? amount : BigDecimal.ZERO;
+
+        bookingStatusCounts.merge(bookingStatus, count, Long::sum);
+        paymentStatusCounts.merge(paymentStatus, count, Long::sum);
+        bookingStatusAmounts.merge(bookingStatus, groupAmount, BigDecimal::add);
+        totalBookings += count;
+
+        // Revenue counts confirmed bookings that have been paid
+        if (bookingStatus == Booking.BookingStatus.CONFIRMED && paymentStatus == Booking.PaymentStatus.COMPLETED) {
+            revenue = revenue.add(groupAmount);
+        }
+    }
+
+    // Getters
+    public long getCount(Booking.BookingStatus status) {
+        return bookingStatusCounts.getOrDefault(status, 0L);
+    }
+
+    public long getCount(Booking.PaymentStatus status) {
+        return paymentStatusCounts.getOrDefault(status, 0L);
+    }
+
+    public BigDecimal getAmount(Booking.BookingStatus status) {
+        return bookingStatusAmounts.getOrDefault(status, BigDecimal.ZERO);
+    }
+
+    public long getTotalBookings() {
+        return totalBookings;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingStatistics{" +
+                "totalBookings=" + totalBookings +
+                ", bookingStatusCounts=" + bookingStatusCounts +
+                ", paymentStatusCounts=" + paymentStatusCounts +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
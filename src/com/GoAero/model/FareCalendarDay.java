@@ -0,0 +1,61 @@
+package com.GoAero.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lowest fare and seat availability of one route on one day, aggregated by the database
+ */
+public class FareCalendarDay {
+    private final LocalDate date;
+    private final int flightCount;
+    private final BigDecimal lowestFare;
+    private final int availableSeats;
+
+    // Constructor with all fields
+    public FareCalendarDay(LocalDate date, int flightCount, BigDecimal lowestFare, int availableSeats) {
+        this.date = date;
+        this.flightCount = flightCount;
+        this.lowestFare = lowestFare;
+        this.availableSeats = availableSeats;
+    }
+
+    // Getters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getFlightCount() {
+        return flightCount;
+    }
+
+    /**
+     * Gets the lowest fare among the day's flights that still have free seats
+     * @return The lowest fare, or null if every flight is sold out
+     */
+    public BigDecimal getLowestFare() {
+        return lowestFare;
+    }
+
+    /**
+     * Gets the free seats summed over all of the day's flights
+     */
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    // Utility methods
+    public boolean isSoldOut() {
+        return availableSeats <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "FareCalendarDay{" +
+                "date=" + date +
+                ", flightCount=" + flightCount +
+                ", lowestFare=" + lowestFare +
+                ", availableSeats=" + availableSeats +
+                '}';
+    }
+}
@@ -0,0 +1,137 @@
+package com.GoAero.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Booking statistics for a single flight, aggregated by the database
+ */
+public class FlightBookingStats {
+    private int flightId;
+    private String flightCode;
+    private String departureAirportCode;
+    private String destinationAirportCode;
+    private LocalDateTime departureTime;
+    private int capacity;
+    private int confirmedBookings;
+    private int pendingBookings;
+    private int cancelledBookings;
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    // Default constructor
+    public FlightBookingStats() {}
+
+    // Getters and Setters
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(int flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getFlightCode() {
+        return flightCode;
+    }
+
+    public void setFlightCode(String flightCode) {
+        this.flightCode = flightCode;
+    }
+
+    public String getDepartureAirportCode() {
+        return departureAirportCode;
+    }
+
+    public void setDepartureAirportCode(String departureAirportCode) {
+        this.departureAirportCode = departureAirportCode;
+    }
+
+    public String getDestinationAirportCode() {
+        return destinationAirportCode;
+    }
+
+    public void setDestinationAirportCode(String destinationAirportCode) {
+        this.destinationAirportCode = destinationAirportCode;
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(LocalDateTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getConfirmedBookings() {
+        return confirmedBookings;
+    }
+
+    public void setConfirmedBookings(int confirmedBookings) {
+        this.confirmedBookings = confirmedBookings;
+    }
+
+    public int getPendingBookings() {
+        return pendingBookings;
+    }
+
+    public void setPendingBookings(int pendingBookings) {
+        this.pendingBookings = pendingBookings;
+    }
+
+    public int getCancelledBookings() {
+        return cancelledBookings;
+    }
+
+    public void setCancelledBookings(int cancelledBookings) {
+        this.cancelledBookings = cancelledBookings;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+    }
+
+    // Utility methods
+    public int getTotalBookings() {
+        return confirmedBookings + pendingBookings + cancelledBookings;
+    }
+
+    public int getAvailableSeats() {
+        return capacity - confirmedBookings;
+    }
+
+    public double getOccupancyRate() {
+        if (capacity == 0) return 0.0;
+        return (confirmedBookings * 100.0) / capacity;
+    }
+
+    public String getRoute() {
+        return (departureAirportCode != null ? departureAirportCode : "DEP") +
+               " → " +
+               (destinationAirportCode != null ? destinationAirportCode : "DEST");
+    }
+
+    @Override
+    public String toString() {
+        return "FlightBookingStats{" +
+                "flightId=" + flightId +
+                ", flightCode='" + flightCode + '\'' +
+                ", capacity=" + capacity +
+                ", confirmedBookings=" + confirmedBookings +
+                ", pendingBookings=" + pendingBookings +
+                ", cancelledBookings=" + cancelledBookings +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+package com.GoAero.model;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A journey from one airport to another made of one or more flights, where each flight
+ * departs from the airport the previous one arrived at
+ */
+public class Itinerary {
+    private final List<Flight> legs;
+
+    // Constructor with the flights in travel order
+    public Itinerary(List<Flight> legs) {
+        if (legs.isEmpty()) {
+            throw new IllegalArgumentException("An itinerary needs at least one flight");
+        }
+        this.legs = Collections.unmodifiableList(new ArrayList<>(legs));
+    }
+
+    // Getters
+    public List<Flight> getLegs() {
+        return legs;
+    }
+
+    public Flight getFirstLeg() {
+        return legs.get(0);
+    }
+
+    public Flight getLastLeg() {
+        return legs.get(legs.size() - 1);
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return getFirstLeg().getDepartureTime();
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return getLastLeg().getDestinationTime();
+    }
+
+    // Utility methods
+    public int getStops() {
+        return legs.size() - 1;
+    }
+
+    public boolean isDirect() {
+        return legs.size() == 1;
+    }
+
+    public Duration getDuration() {
+        return Duration.between(getDepartureTime(), getArrivalTime());
+    }
+
+    public BigDecimal getTotalPrice() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Flight leg : legs) {
+            if (leg.getPrice() != null) {
+                total = total.add(leg.getPrice());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Seats that can be booked on every flight of the itinerary
+     */
+    public int getAvailableSeats() {
+        int seats = Integer.MAX_VALUE;
+        for (Flight leg : legs) {
+            seats = Math.min(seats, leg.getAvailableSeats());
+        }
+        return seats;
+    }
+
+    public String getFlightCodes() {
+        List<String> codes = new ArrayList<>();
+        for (Flight leg : legs) {
+            codes.add(leg.getFlightCode());
+        }
+        return String.join(" + ", codes);
+    }
+
+    public String getCompanyNames() {
+        List<String> names = new ArrayList<>();
+        for (Flight leg : legs) {
+            if (leg.getCompanyName() != null && !names.contains(leg.getCompanyName())) {
+                names.add(leg.getCompanyName());
+            }
+        }
+        return String.join(" / ", names);
+    }
+
+    public String getRoute() {
+        StringBuilder route = new StringBuilder(getFirstLeg().getRoute());
+        for (int i = 1; i < legs.size(); i++) {
+            String code = legs.get(i).getDestinationAirportCode();
+            route.append(" → ").append(code != null ? code : "DEST");
+        }
+        return route.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Itinerary{" +
+                "flights='" + getFlightCodes() + '\'' +
+                ", route='" + getRoute() + '\'' +
+                ", departureTime=" + getDepartureTime() +
+                ", arrivalTime=" + getArrivalTime() +
+                ", totalPrice=" + getTotalPrice() +
+                '}';
+    }
+}
@@ -0,0 +1,92 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.model.Booking;
+import com.GoAero.util.PNRAllocator;
+
+import java.util.List;
+
+/**
+ * Books flights. The availability check, PNR allocation and insert of a booking run as one
+ * database transaction that locks the flight's seat counters, so two passengers can never
+ * get the last seat. The in-memory {@link SeatInventory} turns away flights that a freshly
+ * loaded counter shows as sold out before a transaction is started, and is reloaded whenever
+ * the database decides otherwise.
+ */
+public class BookingService {
+    private static BookingService instance;
+
+    private final BookingDAO bookingDAO;
+    private final SeatInventory seatInventory;
+    // Shared so sequence blocks are reused across bookings
+    private final PNRAllocator pnrAllocator;
+
+    // Private constructor for singleton pattern
+    private BookingService() {
+        this.bookingDAO = new BookingDAO();
+        this.seatInventory = SeatInventory.getInstance();
+        this.pnrAllocator = new PNRAllocator(bookingDAO::reservePnrBlock, bookingDAO::pnrExists);
+    }
+
+    // Get singleton instance
+    public static synchronized BookingService getInstance() {
+        if (instance == null) {
+            instance = new BookingService();
+        }
+        return instance;
+    }
+
+    /**
+     * Books a seat for the booking's flight and allocates its PNR
+     * @param booking The booking to create, without PNR
+     * @param airlineCode Code of the operating airline, used as PNR prefix; may be null
+     * @return The saved booking, or null if the flight is full or the booking failed
+     */
+    public Booking book(Booking booking, String airlineCode) {
+        int flightId = booking.getFlightId();
+        boolean[] rejected = new boolean[1];
+        Booking saved = seatInventory.book(booking, pending -> {
+            Booking created = bookingDAO.createIfSeatAvailable(pending,
+                existsCheck -> pnrAllocator.allocate(airlineCode, existsCheck));
+            rejected[0] = created == null;
+            return created;
+        });
+
+        if (rejected[0]) {
+            // The counter had a seat the database did not, e.g. after a booking by another process
+            seatInventory.refresh(flightId);
+        }
+        return saved;
+    }
+
+    /**
+     * Books seats for a group of bookings, e.g. one per passenger, with one batched insert.
+     * Either every booking is created or none is.
+     * @param bookings The bookings to create, without PNRs; PNRs and IDs are set on success
+     * @param airlineCode Code of the operating airline, used as PNR prefix; may be null
+     * @return true if all bookings were created, false if a flight has too few seats or the booking failed
+     */
+    public boolean bookAll(List<Booking> bookings, String airlineCode) {
+        boolean[] rejected = new boolean[1];
+        boolean saved = seatInventory.bookAll(bookings, group -> {
+            boolean created = bookingDAO.createAll(group,
+                existsCheck -> pnrAllocator.allocate(airlineCode, existsCheck));
+            rejected[0] = !created;
+            return created;
+        });
+
+        if (rejected[0]) {
+            bookings.stream().map(Booking::getFlightId).distinct().forEach(seatInventory::refresh);
+        }
+        return saved;
+    }
+
+    /**
+     * Gets the number of seats still available on a flight
+     * @param flightId The flight ID
+     * @return Remaining seats according to the in-memory counter
+     */
+    public int getAvailableSeats(int flightId) {
+        return seatInventory.getAvailableSeats(flightId);
+    }
+}
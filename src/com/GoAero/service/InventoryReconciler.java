@@ -0,0 +1,68 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.db.DBConnection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations job that recomputes the per-flight booking counters from the bookings table and
+ * repairs any that drifted. The counters are kept in step by BookingDAO, so this only matters
+ * when bookings are changed by something else, e.g. by hand in SQL.
+ *
+ * Run it from one place only, e.g. a cron job on the database host, never from every client:
+ * <pre>
+ *   java -Dgoaero.db.url=... -Dgoaero.db.user=... -Dgoaero.db.password=... \
+ *        -cp "out/production/GoAero:src/lib/*" com.GoAero.service.InventoryReconciler [interval minutes]
+ * </pre>
+ * Without an interval it reconciles once and exits; with one it keeps reconciling until stopped.
+ */
+public class InventoryReconciler {
+    private static InventoryReconciler instance;
+
+    private final BookingDAO bookingDAO;
+
+    // Private constructor for singleton pattern
+    private InventoryReconciler() {
+        this.bookingDAO = new BookingDAO();
+    }
+
+    // Get singleton instance
+    public static synchronized InventoryReconciler getInstance() {
+        if (instance == null) {
+            instance = new InventoryReconciler();
+        }
+        return instance;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long intervalMinutes = args.length > 0 ? Long.parseLong(args[0]) : 0;
+        try {
+            int repaired = getInstance().reconcileNow();
+            while (intervalMinutes > 0) {
+                TimeUnit.MINUTES.sleep(intervalMinutes);
+                repaired = getInstance().reconcileNow();
+            }
+            if (repaired < 0) {
+                System.exit(1);
+            }
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    /**
+     * Reconciles the counters immediately on the calling thread. Each drifted flight is repaired
+     * in its own short transaction, so bookings of other flights are never blocked.
+     * @return Number of flights whose counters were repaired, or -1 if reconciliation failed
+     */
+    public int reconcileNow() {
+        int repaired = bookingDAO.reconcileFlightInventory();
+        if (repaired > 0) {
+            System.out.println("Repaired booking counters of " + repaired + " flight(s)");
+        } else if (repaired < 0) {
+            System.out.println("Failed to reconcile booking counters");
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,525 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.model.Flight;
+import com.GoAero.model.Itinerary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Finds direct and connecting itineraries between two airports.
+ *
+ * The flight schedule is kept in memory as a time-indexed graph: airports are nodes and
+ * flights are edges that can only be taken at their departure time. The graph is stored in
+ * primitive arrays sorted by departure airport, arrival airport and departure time, so all
+ * flights between two airports form one contiguous run that is searched by binary search.
+ * A search expands the departures of the requested day through at most two connecting
+ * airports, keeping only the best itineraries seen so far and cutting off any partial
+ * journey that is already longer (or dearer) than all of them.
+ *
+ * The graph is rebuilt after a time-to-live, or as soon as a flight is written through
+ * {@link FlightDAO}. Seat availability is always read live for the itineraries returned.
+ */
+public class RouteFinder {
+    public static final int MAX_STOPS = 2;
+
+    private static final long TTL_MS = Long.getLong("goaero.routeFinder.ttlMs", 60_000L);
+    private static final int MIN_CONNECTION_MINUTES = Integer.getInteger("goaero.routeFinder.minConnectionMinutes", 45);
+    private static final int MAX_CONNECTION_MINUTES = Integer.getInteger("goaero.routeFinder.maxConnectionMinutes", 12 * 60);
+    // Extra candidates kept per requested itinerary, to replace those with a sold-out flight
+    private static final int SPARE_CANDIDATES = 3;
+
+    private static RouteFinder instance;
+
+    private final FlightDAO flightDAO;
+    private final Object buildLock = new Object();
+    private volatile Graph graph;
+
+    /**
+     * Order in which itineraries are returned
+     */
+    public enum Ranking {
+        // Shortest time from first departure to last arrival, then cheapest
+        DURATION,
+        // Cheapest total fare, then shortest
+        PRICE
+    }
+
+    // Private constructor for singleton pattern
+    private RouteFinder() {
+        this.flightDAO = new FlightDAO();
+    }
+
+    // Get singleton instance
+    public static synchronized RouteFinder getInstance() {
+        if (instance == null) {
+            instance = new RouteFinder();
+        }
+        return instance;
+    }
+
+    /**
+     * Finds the best itineraries departing on a given day
+     * @param fromAirportId Departure airport ID
+     * @param toAirportId Destination airport ID
+     * @param date Day the first flight departs
+     * @param maxStops Maximum number of connections, at most {@link #MAX_STOPS}
+     * @param ranking Order of the results
+     * @param limit Maximum number of itineraries
+     * @return Itineraries with at least one free seat on every flight, best first
+     */
+    public List<Itinerary> findItineraries(int fromAirportId, int toAirportId, LocalDate date,
+                                           int maxStops, Ranking ranking, int limit) {
+        return findItineraries(fromAirportId, toAirportId, date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+            maxStops, ranking, limit);
+    }
+
+    /**
+     * Finds the best itineraries whose first flight departs within a time range
+     * @param fromAirportId Departure airport ID
+     * @param toAirportId Destination airport ID
+     * @param departingFrom Earliest departure of the first flight, inclusive
+     * @param departingBefore Latest departure of the first flight, exclusive
+     * @param maxStops Maximum number of connections, at most {@link #MAX_STOPS}
+     * @param ranking Order of the results
+     * @param limit Maximum number of itineraries
+     * @return Itineraries with at least one free seat on every flight, best first
+     */
+    public List<Itinerary> findItineraries(int fromAirportId, int toAirportId, LocalDateTime departingFrom,
+                                           LocalDateTime departingBefore, int maxStops, Ranking ranking, int limit) {
+        if (fromAirportId == toAirportId || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Graph current = currentGraph();
+        if (current == null) {
+            return new ArrayList<>();
+        }
+
+        Candidates candidates = new Candidates(current, limit * SPARE_CANDIDATES, ranking);
+        current.search(fromAirportId, toAirportId, minutesOf(departingFrom), minutesOf(departingBefore),
+            Math.max(0, Math.min(maxStops, MAX_STOPS)), candidates);
+        return resolve(current, candidates.best(), limit);
+    }
+
+    /**
+     * Drops the schedule so the next search reads it again
+     */
+    public void invalidate() {
+        graph = null;
+    }
+
+    /**
+     * Turns candidates into itineraries of fully loaded flights, skipping any with a full
+     * or since deleted flight. All flights are read in one query.
+     */
+    private List<Itinerary> resolve(Graph current, List<int[]> candidates, int limit) {
+        Set<Integer> flightIds = new LinkedHashSet<>();
+        for (int[] legs : candidates) {
+            for (int leg : legs) {
+                flightIds.add(current.flightIds[leg]);
+            }
+        }
+
+        Map<Integer, Flight> flights = new HashMap<>();
+        for (Flight flight : flightDAO.findByIdsWithAvailability(flightIds)) {
+            flights.put(flight.getFlightId(), flight);
+        }
+
+        List<Itinerary> itineraries = new ArrayList<>();
+        for (int[] legs : candidates) {
+            List<Flight> itineraryLegs = new ArrayList<>(legs.length);
+            for (int leg : legs) {
+                Flight flight = flights.get(current.flightIds[leg]);
+                if (flight == null || flight.getAvailableSeats() <= 0) {
+                    break;
+                }
+                itineraryLegs.add(flight);
+            }
+            if (itineraryLegs.size() == legs.length) {
+                itineraries.add(new Itinerary(itineraryLegs));
+                if (itineraries.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return itineraries;
+    }
+
+    /**
+     * Gets the schedule graph, rebuilding it if it has expired or flights have changed
+     * @return The graph, or null if the schedule could not be read
+     */
+    private Graph currentGraph() {
+        Graph current = graph;
+        if (isFresh(current)) {
+            return current;
+        }
+
+        synchronized (buildLock) {
+            current = graph;
+            if (isFresh(current)) {
+                return current;
+            }
+
+            // Read before loading: a write during the load leaves the graph stale and it is rebuilt next time
+            long version = FlightDAO.getScheduleVersion();
+            GraphBuilder builder = new GraphBuilder();
+            if (!flightDAO.forEachScheduledFlight(LocalDate.now().atStartOfDay(), builder::add)) {
+                // Keep answering from the old schedule, if any, until the database is back
+                return current;
+            }
+            current = builder.build(version);
+            graph = current;
+            return current;
+        }
+    }
+
+    private static boolean isFresh(Graph current) {
+        return current != null
+            && current.version == FlightDAO.getScheduleVersion()
+            && System.currentTimeMillis() - current.builtAt <= TTL_MS;
+    }
+
+    private static int minutesOf(LocalDateTime time) {
+        return (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * The schedule as primitive arrays. Flights are indexed 0..n-1 sorted by
+     * (departure airport, arrival airport, departure time); airports by a dense index.
+     */
+    private static final class Graph {
+        final long version;
+        final long builtAt = System.currentTimeMillis();
+        final Map<Integer, Integer> airportIndex;
+        final int[] flightIds;
+        final int[] arrivalAirport;
+        final int[] departureMinute;
+        final int[] arrivalMinute;
+        final long[] priceCents;
+        // (departure airport << 32 | arrival airport) of each airport pair with flights, sorted
+        final long[] pairKeys;
+        // Flights of pair p are pairStart[p] until pairStart[p + 1]
+        final int[] pairStart;
+        // Pairs departing from airport a are airportPairStart[a] until airportPairStart[a + 1]
+        final int[] airportPairStart;
+
+        Graph(long version, Map<Integer, Integer> airportIndex, int[] flightIds, int[] departureAirport,
+              int[] arrivalAirport, int[] departureMinute, int[] arrivalMinute, long[] priceCents) {
+            this.version = version;
+            this.airportIndex = airportIndex;
+            this.flightIds = flightIds;
+            this.arrivalAirport = arrivalAirport;
+            this.departureMinute = departureMinute;
+            this.arrivalMinute = arrivalMinute;
+            this.priceCents = priceCents;
+
+            int flightCount = flightIds.length;
+            long[] keys = new long[flightCount];
+            int[] starts = new int[flightCount + 1];
+            int pairs = 0;
+            for (int f = 0; f < flightCount; f++) {
+                long key = pairKey(departureAirport[f], arrivalAirport[f]);
+                if (pairs == 0 || keys[pairs - 1] != key) {
+                    keys[pairs] = key;
+                    starts[pairs] = f;
+                    pairs++;
+                }
+            }
+            starts[pairs] = flightCount;
+            pairKeys = Arrays.copyOf(keys, pairs);
+            pairStart = Arrays.copyOf(starts, pairs + 1);
+
+            airportPairStart = new int[airportIndex.size() + 1];
+            int pair = 0;
+            for (int airport = 0; airport <= airportIndex.size(); airport++) {
+                while (pair < pairs && (int) (pairKeys[pair] >>> 32) < airport) {
+                    pair++;
+                }
+                airportPairStart[airport] = pair;
+            }
+        }
+
+        /**
+         * Collects every itinerary whose first flight departs within a range of minutes
+         * @param windowStart First minute of the range
+         * @param windowEnd Minute after the range
+         */
+        void search(int fromAirportId, int toAirportId, int windowStart, int windowEnd, int maxStops,
+                    Candidates candidates) {
+            Integer from = airportIndex.get(fromAirportId);
+            Integer to = airportIndex.get(toAirportId);
+            if (from == null || to == null) {
+                return;
+            }
+            int origin = from;
+            int destination = to;
+            int directPair = findPair(origin, destination);
+
+            for (int p = airportPairStart[origin]; p < airportPairStart[origin + 1]; p++) {
+                int via = (int) pairKeys[p];
+                if (via == origin || (maxStops == 0 && p != directPair)) {
+                    continue;
+                }
+                int end = pairStart[p + 1];
+                for (int f1 = firstDeparture(p, windowStart); f1 < end && departureMinute[f1] < windowEnd; f1++) {
+                    if (via == destination) {
+                        candidates.offer(f1);
+                    } else if (!candidates.isWorse(f1, f1)) {
+                        connect(f1, via, origin, destination, maxStops, candidates);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Extends a first flight arriving at a connecting airport with one or two more flights
+         */
+        private void connect(int f1, int via, int origin, int destination, int maxStops, Candidates candidates) {
+            int ready = arrivalMinute[f1] + MIN_CONNECTION_MINUTES;
+            int latest = arrivalMinute[f1] + MAX_CONNECTION_MINUTES;
+
+            int lastPair = findPair(via, destination);
+            if (lastPair >= 0) {
+                int end = pairStart[lastPair + 1];
+                for (int f2 = firstDeparture(lastPair, ready); f2 < end && departureMinute[f2] <= latest; f2++) {
+                    candidates.offer(f1, f2);
+                }
+            }
+            if (maxStops < 2) {
+                return;
+            }
+
+            for (int p = airportPairStart[via]; p < airportPairStart[via + 1]; p++) {
+                int second = (int) pairKeys[p];
+                if (second == origin || second == destination || second == via) {
+                    continue;
+                }
+                int finalPair = findPair(second, destination);
+                if (finalPair < 0) {
+                    continue;
+                }
+                int end = pairStart[p + 1];
+                for (int f2 = firstDeparture(p, ready); f2 < end && departureMinute[f2] <= latest; f2++) {
+                    if (candidates.isWorse(f1, f2)) {
+                        continue;
+                    }
+                    int finalEnd = pairStart[finalPair + 1];
+                    int finalLatest = arrivalMinute[f2] + MAX_CONNECTION_MINUTES;
+                    for (int f3 = firstDeparture(finalPair, arrivalMinute[f2] + MIN_CONNECTION_MINUTES);
+                         f3 < finalEnd && departureMinute[f3] <= finalLatest; f3++) {
+                        candidates.offer(f1, f2, f3);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds the first flight of a pair departing at or after a minute
+         */
+        private int firstDeparture(int pair, int minute) {
+            int low = pairStart[pair];
+            int high = pairStart[pair + 1];
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (departureMinute[mid] < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Finds the pair of two airports
+         * @return The pair index, or -1 if there are no flights between them
+         */
+        private int findPair(int departure, int arrival) {
+            int index = Arrays.binarySearch(pairKeys, pairKey(departure, arrival));
+            return index >= 0 ? index : -1;
+        }
+
+        private static long pairKey(int departure, int arrival) {
+            return ((long) departure << 32) | arrival;
+        }
+    }
+
+    /**
+     * Collects the flights of the schedule as they are read and sorts them into a graph
+     */
+    private static final class GraphBuilder {
+        private final Map<Integer, Integer> airportIndex = new HashMap<>();
+        private int[] flightIds = new int[1024];
+        private int[] departureAirport = new int[1024];
+        private int[] arrivalAirport = new int[1024];
+        private int[] departureMinute = new int[1024];
+        private int[] arrivalMinute = new int[1024];
+        private long[] priceCents = new long[1024];
+        private int size;
+
+        void add(Flight flight) {
+            if (flight.getDepartureTime() == null || flight.getDestinationTime() == null
+                    || !flight.getDestinationTime().isAfter(flight.getDepartureTime())) {
+                return;
+            }
+            if (size == flightIds.length) {
+                int capacity = size * 2;
+                flightIds = Arrays.copyOf(flightIds, capacity);
+                departureAirport = Arrays.copyOf(departureAirport, capacity);
+                arrivalAirport = Arrays.copyOf(arrivalAirport, capacity);
+                departureMinute = Arrays.copyOf(departureMinute, capacity);
+                arrivalMinute = Arrays.copyOf(arrivalMinute, capacity);
+                priceCents = Arrays.copyOf(priceCents, capacity);
+            }
+            BigDecimal price = flight.getPrice() != null ? flight.getPrice() : BigDecimal.ZERO;
+            flightIds[size] = flight.getFlightId();
+            departureAirport[size] = indexOf(flight.getDepartureAirportId());
+            arrivalAirport[size] = indexOf(flight.getDestinationAirportId());
+            departureMinute[size] = minutesOf(flight.getDepartureTime());
+            arrivalMinute[size] = minutesOf(flight.getDestinationTime());
+            priceCents[size] = price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+            size++;
+        }
+
+        Graph build(long version) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                if (departureAirport[a] != departureAirport[b]) {
+                    return Integer.compare(departureAirport[a], departureAirport[b]);
+                }
+                if (arrivalAirport[a] != arrivalAirport[b]) {
+                    return Integer.compare(arrivalAirport[a], arrivalAirport[b]);
+                }
+                return Integer.compare(departureMinute[a], departureMinute[b]);
+            });
+
+            return new Graph(version, airportIndex, permute(flightIds, order), permute(departureAirport, order),
+                permute(arrivalAirport, order), permute(departureMinute, order), permute(arrivalMinute, order),
+                permute(priceCents, order));
+        }
+
+        private int indexOf(int airportId) {
+            return airportIndex.computeIfAbsent(airportId, id -> airportIndex.size());
+        }
+
+        private static int[] permute(int[] values, Integer[] order) {
+            int[] sorted = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = values[order[i]];
+            }
+            return sorted;
+        }
+
+        private static long[] permute(long[] values, Integer[] order) {
+            long[] sorted = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = values[order[i]];
+            }
+            return sorted;
+        }
+    }
+
+    /**
+     * The best itineraries found so far, worst on top of a bounded heap.
+     * Each is scored by its ranking value and then the other value as a tie-breaker.
+     */
+    private static final class Candidates {
+        private final Graph graph;
+        private final int capacity;
+        private final Ranking ranking;
+        private final PriorityQueue<Candidate> heap;
+
+        Candidates(Graph graph, int capacity, Ranking ranking) {
+            this.graph = graph;
+            this.capacity = capacity;
+            this.ranking = ranking;
+            this.heap = new PriorityQueue<>(capacity + 1, Collections.reverseOrder());
+        }
+
+        /**
+         * Whether a partial journey of one or two flights can no longer make the results,
+         * because any further flight only adds time and cost
+         */
+        boolean isWorse(int first, int last) {
+            if (heap.size() < capacity) {
+                return false;
+            }
+            long bound = ranking == Ranking.DURATION
+                ? graph.arrivalMinute[last] - graph.departureMinute[first]
+                : graph.priceCents[first] + (first != last ? graph.priceCents[last] : 0);
+            return bound > heap.peek().primary;
+        }
+
+        void offer(int... legs) {
+            long duration = graph.arrivalMinute[legs[legs.length - 1]] - graph.departureMinute[legs[0]];
+            long price = 0;
+            for (int leg : legs) {
+                price += graph.priceCents[leg];
+            }
+            long primary = ranking == Ranking.DURATION ? duration : price;
+            long secondary = ranking == Ranking.DURATION ? price : duration;
+
+            if (heap.size() == capacity) {
+                Candidate worst = heap.peek();
+                if (primary > worst.primary || (primary == worst.primary && secondary >= worst.secondary)) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.offer(new Candidate(legs.clone(), primary, secondary));
+        }
+
+        /**
+         * Gets the collected itineraries as flight indexes, best first
+         */
+        List<int[]> best() {
+            List<Candidate> sorted = new ArrayList<>(heap);
+            Collections.sort(sorted);
+            List<int[]> legs = new ArrayList<>(sorted.size());
+            for (Candidate candidate : sorted) {
+                legs.add(candidate.legs);
+            }
+            return legs;
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        final int[] legs;
+        final long primary;
+        final long secondary;
+
+        Candidate(int[] legs, long primary, long secondary) {
+            this.legs = legs;
+            this.primary = primary;
+            this.secondary = secondary;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (primary != other.primary) {
+                return Long.compare(primary, other.primary);
+            }
+            if (secondary != other.secondary) {
+                return Long.compare(secondary, other.secondary);
+            }
+            return Integer.compare(legs.length, other.legs.length);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.AirportDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.dao.FlightOwnerDAO;
+import com.GoAero.model.Airport;
+import com.GoAero.model.Flight;
+import com.GoAero.model.FlightOwner;
+import com.GoAero.util.RecordReader;
+import com.GoAero.util.ValidationUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports a flight schedule from a CSV or JSON file. The file is streamed in chunks: the rows of
+ * a chunk are validated in parallel, checked for duplicate flight codes in file order and
+ * inserted with one batched statement, so a season schedule loads without holding the file in
+ * memory or opening a connection per flight. Rows that fail are collected in an error report;
+ * the other rows are still imported, also when the database rejects a single row of a batch.
+ *
+ * Records have the fields flight_code, flight_name, company_code, departure_airport,
+ * destination_airport, departure_time, arrival_time (yyyy-MM-dd HH:mm), capacity and price.
+ */
+public class ScheduleImporter {
+    private static final int CHUNK_SIZE = Integer.getInteger("goaero.import.chunkSize", 1000);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm[:ss]");
+
+    private final FlightDAO flightDAO;
+    private final AirportDAO airportDAO;
+    private final FlightOwnerDAO flightOwnerDAO;
+    private volatile boolean cancelled;
+
+    /**
+     * Receives progress after every chunk, on the importing thread
+     */
+    public interface ProgressListener {
+        void progress(int rowsRead, int imported, int rejected);
+    }
+
+    /**
+     * A row that was not imported
+     */
+    public static final class RowError {
+        private final int lineNumber;
+        private final String flightCode;
+        private final String message;
+
+        RowError(int lineNumber, String flightCode, String message) {
+            this.lineNumber = lineNumber;
+            this.flightCode = flightCode;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getFlightCode() {
+            return flightCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Outcome of an import
+     */
+    public static final class Result {
+        private int rowsRead;
+        private int imported;
+        private boolean cancelled;
+        private final List<RowError> errors = new ArrayList<>();
+
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getRejected() {
+            return errors.size();
+        }
+
+        /**
+         * Whether the import was interrupted before the end of the file
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Writes the rejected rows as CSV with the columns line, flight_code and error
+         */
+        public void writeErrorReport(Writer writer) throws IOException {
+            writer.write("line,flight_code,error\n");
+            for (RowError error : errors) {
+                writer.write(error.getLineNumber() + "," + quote(error.getFlightCode()) + "," + quote(error.getMessage()) + "\n");
+            }
+        }
+
+        private static String quote(String value) {
+            return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+    /**
+     * A row of the file and what validation made of it
+     */
+    private static final class Row {
+        final int lineNumber;
+        final Map<String, String> fields;
+        Flight flight;
+        String error;
+
+        Row(int lineNumber, Map<String, String> fields) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+        }
+    }
+
+    public ScheduleImporter() {
+        this.flightDAO = new FlightDAO();
+        this.airportDAO = new AirportDAO();
+        this.flightOwnerDAO = new FlightOwnerDAO();
+    }
+
+    /**
+     * Imports a schedule file; files ending in .json, .jsonl or .ndjson are read as JSON, all others as CSV
+     * @param file The schedule file
+     * @param listener Receives progress, may be null
+     * @return The outcome, including the rows that were rejected
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public Result importFile(File file, ProgressListener listener) throws IOException {
+        String name = file.getName().toLowerCase();
+        boolean json = name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        try (Reader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+             RecordReader records = json ? RecordReader.json(in) : RecordReader.csv(in)) {
+            return importRecords(records, listener);
+        }
+    }
+
+    /**
+     * Imports the schedule read from a record reader. Stops early if {@link #cancel()} is called.
+     * @param records The schedule records
+     * @param listener Receives progress, may be null
+     * @return The outcome, including the rows that were rejected
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    public Result importRecords(RecordReader records, ProgressListener listener) throws IOException {
+        Map<String, Integer> airportIds = new HashMap<>();
+        for (Airport airport : airportDAO.findAll()) {
+            airportIds.put(airport.getAirportCode().toUpperCase(), airport.getAirportId());
+        }
+        Map<String, Integer> companyIds = new HashMap<>();
+        for (FlightOwner owner : flightOwnerDAO.findAll()) {
+            companyIds.put(owner.getCompanyCode().toUpperCase(), owner.getOwnerId());
+        }
+        // Codes of this file; codes of existing flights are checked with the flight code registry
+        Set<String> flightCodes = new HashSet<>();
+
+        Result result = new Result();
+        LocalDateTime now = LocalDateTime.now();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        Map<String, String> fields;
+        while ((fields = records.next()) != null) {
+            if (cancelled) {
+                result.cancelled = true;
+                break;
+            }
+            chunk.add(new Row(records.getLineNumber(), fields));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, airportIds, companyIds, flightCodes, now, result);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+                if (listener != null) {
+                    listener.progress(result.rowsRead, result.imported, result.getRejected());
+                }
+            }
+        }
+        if (!chunk.isEmpty() && !result.cancelled) {
+            importChunk(chunk, airportIds, companyIds, flightCodes, now, result);
+        }
+        if (listener != null) {
+            listener.progress(result.rowsRead, result.imported, result.getRejected());
+        }
+        return result;
+    }
+
+    /**
+     * Stops a running import after the chunk it is writing; the chunks written so far stay imported.
+     * May be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void importChunk(List<Row> chunk, Map<String, Integer> airportIds, Map<String, Integer> companyIds,
+                             Set<String> flightCodes, LocalDateTime now, Result result) {
+        // Rows are validated independently, so they are spread over all cores
+        chunk.parallelStream().forEach(row -> validate(row, airportIds, companyIds, now));
+
+        // Duplicates are resolved in file order: the first row with a code wins
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.error == null && (!flightCodes.add(row.flight.getFlightCode())
+                    || flightDAO.flightCodeExists(row.flight.getFlightCode()))) {
+                row.error = "Flight code already exists";
+            }
+            if (row.error != null) {
+                result.errors.add(new RowError(row.lineNumber, row.fields.get("flight_code"), row.error));
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        insert(accepted, flightCodes, result);
+        result.rowsRead += chunk.size();
+    }
+
+    /**
+     * Inserts rows with one batched statement. If the database rejects the batch, e.g. because
+     * another process saved one of the flight codes meanwhile, the rows are split in halves and
+     * retried, so only the rows that fail on their own are reported and the rest are imported.
+     */
+    private void insert(List<Row> rows, Set<String> flightCodes, Result result) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Flight> flights = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            flights.add(row.flight);
+        }
+
+        if (flightDAO.createAll(flights)) {
+            result.imported += flights.size();
+        } else if (rows.size() > 1) {
+            int middle = rows.size() / 2;
+            insert(rows.subList(0, middle), flightCodes, result);
+            insert(rows.subList(middle, rows.size()), flightCodes, result);
+        } else {
+            Row row = rows.get(0);
+            flightCodes.remove(row.flight.getFlightCode());
+            result.errors.add(new RowError(row.lineNumber, row.flight.getFlightCode(), "Database insert failed"));
+        }
+    }
+
+    /**
+     * Checks a row and builds its flight, or sets its error
+     */
+    private static void validate(Row row, Map<String, Integer> airportIds, Map<String, Integer> companyIds,
+                                 LocalDateTime now) {
+        Map<String, String> fields = row.fields;
+        String code = fields.get("flight_code");
+        if (!ValidationUtil.isNotEmpty(code)) {
+            row.error = "Flight code is required";
+            return;
+        }
+        String name = fields.get("flight_name");
+        if (!ValidationUtil.isNotEmpty(name)) {
+            row.error = "Flight name is required";
+            return;
+        }
+
+        Integer companyId = companyIds.get(String.valueOf(ValidationUtil.formatCompanyCode(fields.get("company_code"))));
+        if (companyId == null) {
+            row.error = "Unknown airline code: " + fields.get("company_code");
+            return;
+        }
+
+        String departureCode = fields.get("departure_airport");
+        String destinationCode = fields.get("destination_airport");
+        if (!ValidationUtil.isValidAirportCode(departureCode) || !ValidationUtil.isValidAirportCode(destinationCode)) {
+            row.error = ValidationUtil.getAirportCodeErrorMessage();
+            return;
+        }
+        Integer departureId = airportIds.get(ValidationUtil.formatAirportCode(departureCode));
+        Integer destinationId = airportIds.get(ValidationUtil.formatAirportCode(destinationCode));
+        if (departureId == null || destinationId == null) {
+            row.error = "Unknown airport: " + (departureId == null ? departureCode : destinationCode);
+            return;
+        }
+        if (departureId.equals(destinationId)) {
+            row.error = "Departure and destination airports cannot be the same";
+            return;
+        }
+
+        LocalDateTime departureTime;
+        LocalDateTime arrivalTime;
+        try {
+            departureTime = LocalDateTime.parse(String.valueOf(fields.get("departure_time")).trim(), TIME_FORMAT);
+            arrivalTime = LocalDateTime.parse(String.valueOf(fields.get("arrival_time")).trim(), TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            row.error = "Times must be in yyyy-MM-dd HH:mm format";
+            return;
+        }
+        if (!arrivalTime.isAfter(departureTime)) {
+            row.error = "Arrival time must be after departure time";
+            return;
+        }
+        if (departureTime.isBefore(now)) {
+            row.error = "Departure time cannot be in the past";
+            return;
+        }
+
+        int capacity;
+        BigDecimal price;
+        try {
+            capacity = Integer.parseInt(String.valueOf(fields.get("capacity")).trim());
+            price = new BigDecimal(String.valueOf(fields.get("price")).trim());
+        } catch (NumberFormatException e) {
+            row.error = "Capacity and price must be numbers";
+            return;
+        }
+        if (!ValidationUtil.isValidCapacity(capacity)) {
+            row.error = "Capacity must be between 1 and 1000";
+            return;
+        }
+        if (!ValidationUtil.isValidPrice(price.doubleValue())) {
+            row.error = "Price must be greater than 0 and at most 100000";
+            return;
+        }
+
+        Flight flight = new Flight();
+        flight.setFlightCode(ValidationUtil.formatFlightCode(code));
+        flight.setFlightName(name.trim());
+        flight.setCompanyId(companyId);
+        flight.setDepartureAirportId(departureId);
+        flight.setDestinationAirportId(destinationId);
+        flight.setDepartureTime(departureTime);
+        flight.setDestinationTime(arrivalTime);
+        flight.setCapacity(capacity);
+        flight.setPrice(price);
+        row.flight = flight;
+    }
+}
@@ -0,0 +1,279 @@
+package com.GoAero.service;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.model.Booking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory seat inventory holding a remaining-seat counter per flight.
+ * Counters are loaded from the flight's booking counters in the database and reloaded after
+ * a time-to-live. Seats are reserved with a lock-free compare-and-set on the counter, then the
+ * booking is written through to the database; if the write fails the seats are released again.
+ *
+ * The counter is only a hint that saves sold-out flights a transaction. The database decides:
+ * the booking transaction locks the flight's counters and checks the seats itself. A flight is
+ * never turned away on the strength of the counter alone; a counter with too few seats is
+ * reloaded first, so seats freed by other clients, e.g. by cancellations or a capacity change,
+ * are seen at once.
+ */
+public class SeatInventory {
+    private static final long TTL_MS = Long.getLong("goaero.seats.ttlMs", 30_000L);
+
+    private static SeatInventory instance;
+
+    private final ConcurrentHashMap<Integer, FlightSeats> flights = new ConcurrentHashMap<>();
+    private final FlightDAO flightDAO;
+    private final BookingDAO bookingDAO;
+
+    /**
+     * Seat counter for a single flight
+     */
+    private static final class FlightSeats {
+        final AtomicInteger remaining = new AtomicInteger();
+        // Incremented by every load, so seats taken from an older load are not given back to a newer one
+        volatile int generation;
+        // When the counter was last loaded, or 0 if it never was
+        volatile long loadedAt;
+
+        boolean isFresh() {
+            return loadedAt != 0 && System.currentTimeMillis() - loadedAt <= TTL_MS;
+        }
+    }
+
+    /**
+     * Seats taken from one flight's counter
+     */
+    private static final class Reservation {
+        final FlightSeats seats;
+        final int count;
+        final int generation;
+
+        Reservation(FlightSeats seats, int count, int generation) {
+            this.seats = seats;
+            this.count = count;
+            this.generation = generation;
+        }
+    }
+
+    // Private constructor for singleton pattern
+    private SeatInventory() {
+        this.flightDAO = new FlightDAO();
+        this.bookingDAO = new BookingDAO();
+    }
+
+    // Get singleton instance
+    public static synchronized SeatInventory getInstance() {
+        if (instance == null) {
+            instance = new SeatInventory();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the number of seats still available on a flight
+     * @param flightId The flight ID
+     * @return Remaining seats according to the in-memory counter, at most one time-to-live old
+     */
+    public int getAvailableSeats(int flightId) {
+        FlightSeats seats = seatsFor(flightId);
+        ensureFresh(flightId, seats);
+        return Math.max(0, seats.remaining.get());
+    }
+
+    /**
+     * Reserves a seat and writes the booking to the database.
+     * The seat is released again if the booking could not be saved.
+     * @param booking The booking to create
+     * @return The saved booking, or null if the flight is full or the insert failed
+     */
+    public Booking book(Booking booking) {
+        return book(booking, bookingDAO::create);
+    }
+
+    /**
+     * Reserves a seat and writes the booking with the given write.
+     * The seat is released again if the write returns null.
+     * @param booking The booking to create
+     * @param write Writes the booking and returns it, or null if it was not saved
+     * @return The saved booking, or null if the flight is full or the write failed
+     */
+    public Booking book(Booking booking, UnaryOperator<Booking> write) {
+        int flightId = booking.getFlightId();
+        FlightSeats seats = seatsFor(flightId);
+        int generation = reserve(flightId, seats, 1);
+        if (generation < 0) {
+            return null;
+        }
+
+        Booking saved = null;
+        try {
+            saved = write.apply(booking);
+            return saved;
+        } finally {
+            if (saved == null) {
+                // Compensate: the seat was taken from the counter but never booked
+                release(seats, generation, 1);
+            }
+        }
+    }
+
+    /**
+     * Reserves the seats of a group of bookings and writes them with the given write.
+     * Either all seats are reserved or none; they are released again if the write fails.
+     * @param bookings The bookings to create, possibly on several flights
+     * @param write Writes all bookings and returns true, or false if none was saved
+     * @return true if the bookings were saved, false if a flight is full or the write failed
+     */
+    public boolean bookAll(List<Booking> bookings, Predicate<List<Booking>> write) {
+        // In flight order so the reservations of concurrent groups are taken in the same order
+        Map<Integer, Integer> seatsByFlight = new TreeMap<>();
+        for (Booking booking : bookings) {
+            seatsByFlight.merge(booking.getFlightId(), seatsHeld(booking.getBookingStatus()), Integer::sum);
+        }
+
+        List<Reservation> reserved = new ArrayList<>();
+        boolean saved = false;
+        try {
+            for (Map.Entry<Integer, Integer> entry : seatsByFlight.entrySet()) {
+                FlightSeats seats = seatsFor(entry.getKey());
+                int generation = reserve(entry.getKey(), seats, entry.getValue());
+                if (generation < 0) {
+                    return false;
+                }
+                reserved.add(new Reservation(seats, entry.getValue(), generation));
+            }
+            saved = write.test(bookings);
+            return saved;
+        } finally {
+            if (!saved) {
+                for (Reservation reservation : reserved) {
+                    release(reservation.seats, reservation.generation, reservation.count);
+                }
+            }
+        }
+    }
+
+    /**
+     * Changes the status of a booking and returns or takes its seat accordingly
+     * @param booking The booking (its current status is used as the old status)
+     * @param newStatus The new booking status
+     * @return true if the update was successful
+     */
+    public boolean updateBookingStatus(Booking booking, Booking.BookingStatus newStatus) {
+        FlightSeats seats = seatsFor(booking.getFlightId());
+        int delta = seatsHeld(booking.getBookingStatus()) - seatsHeld(newStatus);
+        int generation = seats.generation;
+
+        boolean success = bookingDAO.updateBookingStatus(booking.getBookingId(), newStatus);
+        if (success) {
+            // A load that ran during the update may already have counted the change
+            release(seats, generation, delta);
+            booking.setBookingStatus(newStatus);
+        }
+        return success;
+    }
+
+    /**
+     * Reloads a flight's counter from the database, e.g. after its capacity was edited
+     * @param flightId The flight ID
+     */
+    public void refresh(int flightId) {
+        FlightSeats seats = seatsFor(flightId);
+        synchronized (seats) {
+            load(flightId, seats);
+        }
+    }
+
+    /**
+     * Drops a flight's counter, e.g. after the flight was deleted
+     * @param flightId The flight ID
+     */
+    public void evict(int flightId) {
+        flights.remove(flightId);
+    }
+
+    /**
+     * Takes seats from a flight's counter without locking. If the counter has too few seats
+     * it is reloaded once and tried again, so the flight is only turned away when the
+     * database agrees it is full.
+     * @return The generation of the counter the seats were taken from, or -1 if there are too few seats
+     */
+    private int reserve(int flightId, FlightSeats seats, int count) {
+        ensureFresh(flightId, seats);
+        int generation = seats.generation;
+        if (take(seats, count)) {
+            return generation;
+        }
+
+        synchronized (seats) {
+            // Another thread may have reloaded the counter while this one was waiting
+            if (seats.generation == generation) {
+                load(flightId, seats);
+            }
+            generation = seats.generation;
+        }
+        return take(seats, count) ? generation : -1;
+    }
+
+    private static boolean take(FlightSeats seats, int count) {
+        while (true) {
+            int current = seats.remaining.get();
+            if (current < count) {
+                return false;
+            }
+            if (seats.remaining.compareAndSet(current, current - count)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives seats back to a counter, unless it was reloaded since they were taken; the reload
+     * already read the database without them
+     */
+    private static void release(FlightSeats seats, int generation, int count) {
+        if (count != 0 && seats.generation == generation) {
+            seats.remaining.addAndGet(count);
+        }
+    }
+
+    private FlightSeats seatsFor(int flightId) {
+        return flights.computeIfAbsent(flightId, id -> new FlightSeats());
+    }
+
+    private void ensureFresh(int flightId, FlightSeats seats) {
+        if (seats.isFresh()) {
+            return;
+        }
+        synchronized (seats) {
+            if (!seats.isFresh()) {
+                load(flightId, seats);
+            }
+        }
+    }
+
+    /**
+     * Reads the counter from the database; the caller holds the counter's monitor
+     */
+    private void load(int flightId, FlightSeats seats) {
+        seats.remaining.set(flightDAO.getAvailableSeats(flightId));
+        seats.generation++;
+        seats.loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Number of seats a booking in the given status occupies
+     */
+    private static int seatsHeld(Booking.BookingStatus status) {
+        return status == Booking.BookingStatus.CANCELLED ? 0 : 1;
+    }
+}
@@ -9,6 +9,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Dialog for admin to add or edit airports with modern UI design
@@ -31,6 +33,7 @@ public class AdminAirportDialog extends JDialog {
     
     private JTextField codeField, nameField, cityField, countryField;
     private JButton saveButton, cancelButton;
+    private AsyncLoader loader;
 
     public AdminAirportDialog(Frame parent, Airport airport, AirportDAO airportDAO) {
         super(parent, airport == null ? "Add Airport" : "Edit Airport", true);
@@ -62,6 +65,7 @@ public class AdminAirportDialog extends JDialog {
         String buttonText = isEditMode ? "� Update Airport" : "🛫 Create Airport";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -105,6 +109,17 @@ public class AdminAirportDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveAirport());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         
         // Enter key on country field
         countryField.addActionListener(e -> saveAirport());
@@ -132,15 +147,25 @@ public class AdminAirportDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateAirport();
-            } else {
-                createAirport();
+        // Check if airport code already exists; read in the background, before the save
+        String code = codeField.getText().trim().toUpperCase();
+        int excludeAirportId = isEditMode ? airport.getAirportId() : -1;
+        loader.load("save", () -> airportDAO.codeExists(code, excludeAirportId), exists -> {
+            if (exists) {
+                showError("An airport with this code already exists.");
+                codeField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateAirport();
+                } else {
+                    createAirport();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createAirport() {
@@ -150,14 +175,15 @@ public class AdminAirportDialog extends JDialog {
         newAirport.setCity(cityField.getText().trim());
         newAirport.setCountry(countryField.getText().trim());
 
-        Airport savedAirport = airportDAO.create(newAirport);
-        if (savedAirport != null) {
-            showSuccess("Airport created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create airport. Please try again.");
-        }
+        loader.load("save", () -> airportDAO.create(newAirport), savedAirport -> {
+            if (savedAirport != null) {
+                showSuccess("Airport created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create airport. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateAirport() {
@@ -166,14 +192,15 @@ public class AdminAirportDialog extends JDialog {
         airport.setCity(cityField.getText().trim());
         airport.setCountry(countryField.getText().trim());
 
-        boolean success = airportDAO.update(airport);
-        if (success) {
-            showSuccess("Airport updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update airport. Please try again.");
-        }
+        loader.load("save", () -> airportDAO.update(airport), success -> {
+            if (success) {
+                showSuccess("Airport updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update airport. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private boolean validateInput() {
@@ -185,14 +212,6 @@ public class AdminAirportDialog extends JDialog {
             return false;
         }
 
-        // Check if airport code already exists
-        int excludeAirportId = isEditMode ? airport.getAirportId() : -1;
-        if (airportDAO.codeExists(code.toUpperCase(), excludeAirportId)) {
-            showError("An airport with this code already exists.");
-            codeField.requestFocus();
-            return false;
-        }
-
         // Airport Name validation
         if (!ValidationUtil.isNotEmpty(nameField.getText())) {
             showError("Airport name is required.");
@@ -77,6 +77,7 @@ public class AdminDashboard extends JFrame {
         tabbedPane.addTab("🛫 Flights", new FlightManagementPanel());
         tabbedPane.addTab("📋 Bookings", new BookingManagementPanel());
         tabbedPane.addTab("📊 Reports", new ReportsPanel());
+        tabbedPane.addTab("⏱ Performance", new DatabaseMetricsPanel());
 
         // Style individual tabs
         for (int i = 0; i < tabbedPane.getTabCount(); i++) {
@@ -6,6 +6,7 @@ import com.GoAero.dao.FlightOwnerDAO;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
+import com.GoAero.service.SeatInventory;
 import com.GoAero.util.ValidationUtil;
 
 import javax.swing.*;
@@ -13,6 +14,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -45,6 +48,7 @@ public class AdminFlightDialog extends JDialog {
     private JComboBox<FlightOwner> companyComboBox;
     private JComboBox<Airport> departureAirportComboBox, destinationAirportComboBox;
     private JButton saveButton, cancelButton;
+    private AsyncLoader loader;
 
     public AdminFlightDialog(Frame parent, Flight flight, FlightDAO flightDAO) {
         super(parent, flight == null ? "Add Flight" : "Edit Flight", true);
@@ -87,6 +91,7 @@ public class AdminFlightDialog extends JDialog {
         String buttonText = isEditMode ? "✈ Update Flight Schedule" : "✈ Create New Flight";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel Operation", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -130,6 +135,17 @@ public class AdminFlightDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveFlight());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         
         // Auto-format flight code as user types
         flightCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
@@ -143,25 +159,29 @@ public class AdminFlightDialog extends JDialog {
     }
 
     private void loadComboBoxData() {
-        try {
-            // Load flight owners
-            List<FlightOwner> flightOwners = flightOwnerDAO.findAll();
+        // Load flight owners
+        loader.load("owners", flightOwnerDAO::findAll, flightOwners -> {
             for (FlightOwner owner : flightOwners) {
                 companyComboBox.addItem(owner);
             }
+            if (isEditMode) {
+                selectFlightItems();
+            }
+        }, e -> System.out.println("Failed to load data: " + e.getMessage()));
 
-            // Load airports
-            List<Airport> airports = airportDAO.findAll();
+        // Load airports
+        loader.load("airports", airportDAO::findAll, airports -> {
             for (Airport airport : airports) {
                 departureAirportComboBox.addItem(airport);
                 destinationAirportComboBox.addItem(airport);
             }
-            
-            // Setup custom renderers for better display
-            setupComboBoxRenderers();
-        } catch (Exception e) {
-            System.out.println("Failed to load data: " + e.getMessage());
-        }
+            if (isEditMode) {
+                selectFlightItems();
+            }
+        }, e -> System.out.println("Failed to load data: " + e.getMessage()));
+
+        // Setup custom renderers for better display
+        setupComboBoxRenderers();
     }
     
     /**
@@ -231,8 +251,12 @@ public class AdminFlightDialog extends JDialog {
         
         departureTimeField.setText(flight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
         destinationTimeField.setText(flight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
 
-        // Set selected items in combo boxes
+    /**
+     * Selects the flight's airline and airports, once the combo boxes have been filled
+     */
+    private void selectFlightItems() {
         for (int i = 0; i < companyComboBox.getItemCount(); i++) {
             FlightOwner owner = companyComboBox.getItemAt(i);
             if (owner.getOwnerId() == flight.getCompanyId()) {
@@ -263,42 +287,62 @@ public class AdminFlightDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateFlight();
-            } else {
-                createFlight();
+        // Check if flight code already exists; the code registry may have to be read first, so this runs
+        // in the background, before the save
+        String code = flightCodeField.getText().trim();
+        int excludeFlightId = isEditMode ? flight.getFlightId() : 0;
+        loader.load("save", () -> flightDAO.flightCodeExists(code, excludeFlightId), exists -> {
+            if (exists) {
+                showError("A flight with this code already exists.");
+                flightCodeField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateFlight();
+                } else {
+                    createFlight();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createFlight() {
         Flight newFlight = new Flight();
         populateFlightFromForm(newFlight);
 
-        Flight savedFlight = flightDAO.create(newFlight);
-        if (savedFlight != null) {
-            showSuccess("Flight created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create flight. Please try again.");
-        }
+        loader.load("save", () -> flightDAO.create(newFlight), savedFlight -> {
+            if (savedFlight != null) {
+                showSuccess("Flight created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateFlight() {
         populateFlightFromForm(flight);
 
-        boolean success = flightDAO.update(flight);
-        if (success) {
-            showSuccess("Flight updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update flight. Please try again.");
-        }
+        loader.load("save", () -> {
+            boolean updated = flightDAO.update(flight);
+            if (updated) {
+                // Capacity may have changed
+                SeatInventory.getInstance().refresh(flight.getFlightId());
+            }
+            return updated;
+        }, success -> {
+            if (success) {
+                showSuccess("Flight updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void populateFlightFromForm(Flight flight) {
@@ -322,22 +366,6 @@ public class AdminFlightDialog extends JDialog {
             return false;
         }
 
-        // Check if flight code already exists (simplified check for now)
-        // Note: This would need a proper flightCodeExists method in FlightDAO
-        try {
-            List<Flight> existingFlights = flightDAO.findAll();
-            for (Flight existingFlight : existingFlights) {
-                if (existingFlight.getFlightCode().equalsIgnoreCase(code) &&
-                    (!isEditMode || existingFlight.getFlightId() != flight.getFlightId())) {
-                    showError("A flight with this code already exists.");
-                    flightCodeField.requestFocus();
-                    return false;
-                }
-            }
-        } catch (Exception e) {
-            // Continue with validation
-        }
-
         // Flight Name validation
         if (!ValidationUtil.isNotEmpty(flightNameField.getText())) {
             showError("Flight name is required.");
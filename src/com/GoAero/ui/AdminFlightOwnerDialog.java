@@ -10,6 +10,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Dialog for admin to add or edit flight owners (airline companies) with modern UI design
@@ -33,6 +35,7 @@ public class AdminFlightOwnerDialog extends JDialog {
     private JTextField companyNameField, companyCodeField, contactInfoField;
     private JPasswordField passwordField, confirmPasswordField;
     private JButton saveButton, cancelButton, generatePasswordButton;
+    private AsyncLoader loader;
     private JLabel passwordLabel, confirmPasswordLabel;
 
     public AdminFlightOwnerDialog(Frame parent, FlightOwner flightOwner, FlightOwnerDAO flightOwnerDAO) {
@@ -66,6 +69,7 @@ public class AdminFlightOwnerDialog extends JDialog {
         String buttonText = isEditMode ? "🏢 Update Airline" : "🏢 Create Airline";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
         generatePasswordButton = createStyledButton("🔑 Generate", SUCCESS_GREEN, Color.WHITE, 12);
         
         passwordLabel = new JLabel("Password:");
@@ -119,6 +123,17 @@ public class AdminFlightOwnerDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveFlightOwner());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         generatePasswordButton.addActionListener(e -> generatePassword());
         
         // Enter key on confirm password field
@@ -157,15 +172,25 @@ public class AdminFlightOwnerDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateFlightOwner();
-            } else {
-                createFlightOwner();
+        // Check if company code already exists; read in the background, before the save
+        String code = companyCodeField.getText().trim().toUpperCase();
+        int excludeOwnerId = isEditMode ? flightOwner.getOwnerId() : -1;
+        loader.load("save", () -> flightOwnerDAO.codeExists(code, excludeOwnerId), exists -> {
+            if (exists) {
+                showError("An airline with this company code already exists.");
+                companyCodeField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateFlightOwner();
+                } else {
+                    createFlightOwner();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createFlightOwner() {
@@ -175,14 +200,15 @@ public class AdminFlightOwnerDialog extends JDialog {
         newOwner.setContactInfo(contactInfoField.getText().trim());
         newOwner.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
 
-        FlightOwner savedOwner = flightOwnerDAO.create(newOwner);
-        if (savedOwner != null) {
-            showSuccess("Airline created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create airline. Please try again.");
-        }
+        loader.load("save", () -> flightOwnerDAO.create(newOwner), savedOwner -> {
+            if (savedOwner != null) {
+                showSuccess("Airline created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create airline. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateFlightOwner() {
@@ -196,14 +222,15 @@ public class AdminFlightOwnerDialog extends JDialog {
             flightOwner.setPasswordHash(PasswordUtil.hashPassword(newPassword));
         }
 
-        boolean success = flightOwnerDAO.update(flightOwner);
-        if (success) {
-            showSuccess("Airline updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update airline. Please try again.");
-        }
+        loader.load("save", () -> flightOwnerDAO.update(flightOwner), success -> {
+            if (success) {
+                showSuccess("Airline updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update airline. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private boolean validateInput() {
@@ -228,14 +255,6 @@ public class AdminFlightOwnerDialog extends JDialog {
             return false;
         }
 
-        // Check if company code already exists
-        int excludeOwnerId = isEditMode ? flightOwner.getOwnerId() : -1;
-        if (flightOwnerDAO.codeExists(code.toUpperCase(), excludeOwnerId)) {
-            showError("An airline with this company code already exists.");
-            companyCodeField.requestFocus();
-            return false;
-        }
-
         // Contact Info validation
         if (!ValidationUtil.isNotEmpty(contactInfoField.getText())) {
             showError("Contact information is required.");
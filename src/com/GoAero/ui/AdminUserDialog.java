@@ -10,6 +10,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -36,6 +38,7 @@ public class AdminUserDialog extends JDialog {
     private JTextField firstNameField, lastNameField, emailField, phoneField, dobField;
     private JPasswordField passwordField, confirmPasswordField;
     private JButton saveButton, cancelButton, generatePasswordButton;
+    private AsyncLoader loader;
     private JLabel passwordLabel, confirmPasswordLabel;
 
     public AdminUserDialog(Frame parent, User user, UserDAO userDAO) {
@@ -71,6 +74,7 @@ public class AdminUserDialog extends JDialog {
         String buttonText = isEditMode ? "💾 Update User" : "👤 Create User";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
         generatePasswordButton = createStyledButton("🎲 Generate", ACCENT_ORANGE, Color.WHITE, 12);
         
         passwordLabel = new JLabel("Password:");
@@ -124,6 +128,17 @@ public class AdminUserDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveUser());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         generatePasswordButton.addActionListener(e -> generatePassword());
         
         // Enter key on confirm password field
@@ -155,15 +170,25 @@ public class AdminUserDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateUser();
-            } else {
-                createUser();
+        // Check if email already exists; read in the background, before the save
+        String email = emailField.getText().trim();
+        int excludeUserId = isEditMode ? user.getUserId() : -1;
+        loader.load("save", () -> userDAO.emailExists(email, excludeUserId), exists -> {
+            if (exists) {
+                showError("An account with this email already exists.");
+                emailField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateUser();
+                } else {
+                    createUser();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createUser() {
@@ -180,14 +205,15 @@ public class AdminUserDialog extends JDialog {
         
         newUser.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
 
-        User savedUser = userDAO.create(newUser);
-        if (savedUser != null) {
-            showSuccess("User created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create user. Please try again.");
-        }
+        loader.load("save", () -> userDAO.create(newUser), savedUser -> {
+            if (savedUser != null) {
+                showSuccess("User created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create user. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateUser() {
@@ -207,14 +233,15 @@ public class AdminUserDialog extends JDialog {
             user.setPasswordHash(PasswordUtil.hashPassword(newPassword));
         }
 
-        boolean success = userDAO.update(user);
-        if (success) {
-            showSuccess("User updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update user. Please try again.");
-        }
+        loader.load("save", () -> userDAO.update(user), success -> {
+            if (success) {
+                showSuccess("User updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update user. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private boolean validateInput() {
@@ -240,14 +267,6 @@ public class AdminUserDialog extends JDialog {
             return false;
         }
 
-        // Check if email already exists
-        int excludeUserId = isEditMode ? user.getUserId() : -1;
-        if (userDAO.emailExists(email, excludeUserId)) {
-            showError("An account with this email already exists.");
-            emailField.requestFocus();
-            return false;
-        }
-
         // Phone validation (optional)
         String phone = phoneField.getText().trim();
         if (!phone.isEmpty() && !ValidationUtil.isValidPhone(phone)) {
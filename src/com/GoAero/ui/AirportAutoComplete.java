@@ -0,0 +1,156 @@
+package com.GoAero.ui;
+
+import com.GoAero.dao.AirportDAO;
+import com.GoAero.model.Airport;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.plaf.basic.BasicComboBoxEditor;
+import java.util.List;
+
+/**
+ * Type-ahead filtering for an airport combo box. The combo box becomes editable and,
+ * shortly after the user stops typing, its list is replaced with the best matching
+ * airports from the in-memory airport search index.
+ *
+ * The selected item is always an Airport or null, never the typed text.
+ */
+public class AirportAutoComplete {
+    private static final int DEBOUNCE_MS = 150;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final JComboBox<Airport> comboBox;
+    private final DefaultComboBoxModel<Airport> model = new DefaultComboBoxModel<>();
+    private final AirportDAO airportDAO;
+    private final AsyncLoader loader;
+    private final String requestKey;
+    private final AirportEditor editor = new AirportEditor();
+    private final Timer debounce;
+    // Set while the list is replaced, so the resulting editor updates are not taken as typing
+    private boolean adjusting;
+
+    /**
+     * Installs type-ahead filtering on a combo box and loads the first suggestions
+     * @param comboBox The combo box
+     * @param airportDAO Source of the suggestions
+     * @param loader Loader the lookups run on; the first lookup may have to read the database
+     * @param requestKey Loader key for this combo box's lookups, so a newer lookup replaces an older one
+     */
+    public AirportAutoComplete(JComboBox<Airport> comboBox, AirportDAO airportDAO, AsyncLoader loader, String requestKey) {
+        this.comboBox = comboBox;
+        this.airportDAO = airportDAO;
+        this.loader = loader;
+        this.requestKey = requestKey;
+
+        debounce = new Timer(DEBOUNCE_MS, e -> filter());
+        debounce.setRepeats(false);
+
+        comboBox.setModel(model);
+        comboBox.setEditor(editor);
+        comboBox.setEditable(true);
+        editor.textField().getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                textChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                textChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                textChanged();
+            }
+        });
+
+        filter();
+    }
+
+    private void textChanged() {
+        if (!adjusting) {
+            debounce.restart();
+        }
+    }
+
+    private void filter() {
+        String text = editor.textField().getText().trim();
+        // Choosing a suggestion puts its label in the editor; that is not a new search
+        Object selected = comboBox.getSelectedItem();
+        if (selected instanceof Airport && text.equals(label((Airport) selected))) {
+            return;
+        }
+
+        loader.load(requestKey, () -> airportDAO.searchAirports(text, MAX_SUGGESTIONS),
+            airports -> showSuggestions(text, airports),
+            e -> System.out.println("Failed to search airports: " + e.getMessage()));
+    }
+
+    private void showSuggestions(String text, List<Airport> airports) {
+        JTextField field = editor.textField();
+        String typed = field.getText();
+        int caret = field.getCaretPosition();
+
+        adjusting = true;
+        try {
+            model.removeAllElements();
+            model.addAll(airports);
+            // Adding elements selects the first one; typing has not chosen anything yet
+            model.setSelectedItem(null);
+            field.setText(typed);
+            field.setCaretPosition(Math.min(caret, typed.length()));
+        } finally {
+            adjusting = false;
+        }
+
+        if (!text.isEmpty() && comboBox.isShowing() && field.hasFocus()) {
+            // Hide first so the popup is resized to the new list
+            comboBox.hidePopup();
+            if (!airports.isEmpty()) {
+                comboBox.showPopup();
+            }
+        }
+    }
+
+    private static String label(Airport airport) {
+        return airport.getAirportCode() + " - " + airport.getCity();
+    }
+
+    /**
+     * Shows the selected airport as "CODE - City" and maps typed text back to an airport
+     */
+    private final class AirportEditor extends BasicComboBoxEditor {
+        private Airport current;
+
+        JTextField textField() {
+            return editor;
+        }
+
+        @Override
+        public void setItem(Object item) {
+            current = item instanceof Airport ? (Airport) item : null;
+            boolean wasAdjusting = adjusting;
+            adjusting = true;
+            try {
+                editor.setText(current != null ? label(current) : "");
+            } finally {
+                adjusting = wasAdjusting;
+            }
+        }
+
+        @Override
+        public Object getItem() {
+            String text = editor.getText().trim();
+            if (current != null && text.equals(label(current))) {
+                return current;
+            }
+            // Typed text that is not a label picks the best suggestion, if any
+            if (!text.isEmpty() && model.getSize() > 0) {
+                return model.getElementAt(0);
+            }
+            return null;
+        }
+    }
+}
@@ -29,10 +29,11 @@ public class AirportManagementPanel extends JPanel {
     private JTable airportsTable;
     private DefaultTableModel tableModel;
     private JButton addAirportButton, editAirportButton, deleteAirportButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
     private AirportDAO airportDAO;
-    private List<Airport> airports;
+    private List<Airport> airports = List.of();
 
     public AirportManagementPanel() {
         airportDAO = new AirportDAO();
@@ -87,6 +88,7 @@ public class AirportManagementPanel extends JPanel {
         addAirportButton = createStyledButton("🛫 Add Airport", PRIMARY_BLUE, Color.WHITE, 14);
         editAirportButton = createStyledButton("✏ Edit Airport", ACCENT_ORANGE, Color.WHITE, 14);
         deleteAirportButton = createStyledButton("🗑 Delete Airport", DANGER_RED, Color.WHITE, 14);
+        loader = new AsyncLoader(this, deleteAirportButton);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
         // Modern search components
@@ -141,13 +143,11 @@ public class AirportManagementPanel extends JPanel {
     }
 
     private void loadAirports() {
-        try {
-            airports = airportDAO.findAll();
+        loader.load("airports", airportDAO::findAll, loaded -> {
+            airports = loaded;
             displayAirports(airports);
             updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load airports: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load airports: " + e.getMessage()));
     }
 
     private void displayAirports(List<Airport> airportList) {
@@ -234,17 +234,14 @@ public class AirportManagementPanel extends JPanel {
         );
 
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                boolean success = airportDAO.delete(selectedAirport.getAirportId());
+            loader.load("delete", () -> airportDAO.delete(selectedAirport.getAirportId()), success -> {
                 if (success) {
                     showSuccess("Airport deleted successfully.");
                     loadAirports();
                 } else {
                     showError("Failed to delete airport. It may be referenced by existing flights.");
                 }
-            } catch (Exception e) {
-                showError("Deletion failed: " + e.getMessage());
-            }
+            }, e -> showError("Deletion failed: " + e.getMessage()));
         }
     }
 
@@ -0,0 +1,197 @@
+package com.GoAero.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the database work of a screen on background threads and hands the results back
+ * on the Event Dispatch Thread, so a slow query never freezes the UI.
+ *
+ * Requests are identified by a key chosen by the screen:
+ * - {@link #load} replaces a running request with the same key; the old result is dropped
+ * - {@link #refresh} coalesces with a running request with the same key, so any number of
+ *   refreshes while one is running cause a single rerun once it finishes
+ *
+ * While any request is running the owner shows a wait cursor and the busy components are disabled.
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public class AsyncLoader {
+    private static final int THREADS = Integer.getInteger("goaero.ui.ioThreads", 4);
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new Daemons());
+
+    private final Component owner;
+    private final Map<String, Request<?>> running = new HashMap<>();
+    private final List<JComponent> busyComponents = new ArrayList<>();
+    private final Map<JComponent, Boolean> enabledBeforeBusy = new HashMap<>();
+    private int active;
+
+    /**
+     * Background work returning a result
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Creates a loader for a screen
+     * @param owner The component showing the wait cursor, may be null
+     * @param busyComponents Components disabled while requests are running, e.g. refresh buttons
+     */
+    public AsyncLoader(Component owner, JComponent... busyComponents) {
+        this.owner = owner;
+        this.busyComponents.addAll(List.of(busyComponents));
+    }
+
+    /**
+     * Runs a request, cancelling any running request with the same key
+     * @param key Identifies the request, e.g. "search"
+     * @param task The background work; must not touch Swing components
+     * @param onSuccess Receives the result on the EDT
+     * @param onFailure Receives the failure on the EDT
+     */
+    public <T> void load(String key, Task<T> task, Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+        Request<?> previous = running.get(key);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        start(new Request<>(key, task, onSuccess, onFailure));
+    }
+
+    /**
+     * Runs a request unless one with the same key is already running, in which case it is
+     * run once more after the running one finishes
+     * @param key Identifies the request, e.g. "bookings"
+     * @param task The background work; must not touch Swing components
+     * @param onSuccess Receives the result on the EDT
+     * @param onFailure Receives the failure on the EDT
+     */
+    public <T> void refresh(String key, Task<T> task, Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+        Request<T> request = new Request<>(key, task, onSuccess, onFailure);
+        Request<?> previous = running.get(key);
+        if (previous != null) {
+            // Only the latest follow-up is kept
+            previous.followUp = request;
+            return;
+        }
+        start(request);
+    }
+
+    /**
+     * Cancels every running request; their results are dropped
+     */
+    public void cancelAll() {
+        for (Request<?> request : new ArrayList<>(running.values())) {
+            request.cancel(true);
+        }
+    }
+
+    /**
+     * Whether any request is running
+     */
+    public boolean isLoading() {
+        return active > 0;
+    }
+
+    private void start(Request<?> request) {
+        running.put(request.key, request);
+        if (active++ == 0) {
+            showBusy(true);
+        }
+        EXECUTOR.execute(request);
+    }
+
+    private void finished() {
+        if (--active == 0) {
+            showBusy(false);
+        }
+    }
+
+    private void showBusy(boolean busy) {
+        if (owner != null) {
+            owner.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        }
+        for (JComponent component : busyComponents) {
+            if (busy) {
+                enabledBeforeBusy.put(component, component.isEnabled());
+                component.setEnabled(false);
+            } else {
+                component.setEnabled(enabledBeforeBusy.getOrDefault(component, true));
+            }
+        }
+    }
+
+    /**
+     * A single request; done() runs on the EDT whether it completed, failed or was cancelled
+     */
+    private final class Request<T> extends SwingWorker<T, Void> {
+        final String key;
+        final Task<T> task;
+        final Consumer<? super T> onSuccess;
+        final Consumer<Exception> onFailure;
+        Request<?> followUp;
+
+        Request(String key, Task<T> task, Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+            this.key = key;
+            this.task = task;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return task.call();
+        }
+
+        @Override
+        protected void done() {
+            boolean current = running.get(key) == this;
+            if (current) {
+                running.remove(key);
+            }
+            finished();
+
+            // A replaced or cancelled request may still complete; only the current one is delivered
+            if (!current || isCancelled()) {
+                return;
+            }
+            try {
+                onSuccess.accept(get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                onFailure.accept(cause instanceof Exception ? (Exception) cause : e);
+            } finally {
+                if (followUp != null && !running.containsKey(key)) {
+                    start(followUp);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the daemon worker threads so they never keep the application alive
+     */
+    private static final class Daemons implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "goaero-ui-io-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.GoAero.dao.BookingDAO;
 import com.GoAero.model.Booking;
 import com.GoAero.model.SessionManager;
 import com.GoAero.model.User;
+import com.GoAero.service.SeatInventory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -33,6 +34,7 @@ public class BookingHistory extends JFrame {
     private DefaultTableModel tableModel;
     private JButton viewDetailsButton, cancelBookingButton, refreshButton, closeButton;
     private BookingDAO bookingDAO;
+    private AsyncLoader loader;
     private User currentUser;
     private List<Booking> userBookings;
 
@@ -107,6 +109,7 @@ public class BookingHistory extends JFrame {
 
         cancelBookingButton = createStyledButton("❌ Cancel Booking", DANGER_RED, Color.WHITE, 14);
         cancelBookingButton.setPreferredSize(new Dimension(160, 40));
+        loader = new AsyncLoader(this, cancelBookingButton);
 
         refreshButton = createStyledButton("🔄 Refresh", ACCENT_ORANGE, Color.WHITE, 14);
         refreshButton.setPreferredSize(new Dimension(120, 40));
@@ -253,12 +256,11 @@ public class BookingHistory extends JFrame {
     }
 
     private void loadBookings() {
-        try {
-            userBookings = bookingDAO.findByUserId(currentUser.getUserId());
+        int userId = currentUser.getUserId();
+        loader.refresh("bookings", () -> bookingDAO.findByUserId(userId), bookings -> {
+            userBookings = bookings;
             displayBookings();
-        } catch (Exception e) {
-            System.out.println("Failed to load bookings: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load bookings: " + e.getMessage()));
     }
 
     private void displayBookings() {
@@ -342,21 +344,18 @@ public class BookingHistory extends JFrame {
         );
 
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                boolean success = bookingDAO.updateBookingStatus(
-                    selectedBooking.getBookingId(), 
-                    Booking.BookingStatus.CANCELLED
-                );
-                
+            // Goes through the seat inventory so the seat is returned to sale
+            loader.load("cancel", () -> SeatInventory.getInstance().updateBookingStatus(
+                selectedBooking,
+                Booking.BookingStatus.CANCELLED
+            ), success -> {
                 if (success) {
                     showSuccess("Booking cancelled successfully.");
                     loadBookings(); // Refresh the list
                 } else {
                     showError("Failed to cancel booking. Please try again.");
                 }
-            } catch (Exception e) {
-                showError("Cancellation failed: " + e.getMessage());
-            }
+            }, e -> showError("Cancellation failed: " + e.getMessage()));
         }
     }
 
@@ -2,16 +2,15 @@ package com.GoAero.ui;
 
 import com.GoAero.dao.BookingDAO;
 import com.GoAero.model.Booking;
+import com.GoAero.service.SeatInventory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableColumn;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Panel for managing bookings in the admin dashboard with modern UI design
@@ -28,12 +27,13 @@ public class BookingManagementPanel extends JPanel {
     private static final Color CARD_WHITE = Color.WHITE;
     private static final Color DANGER_RED = new Color(244, 67, 54);
     private JTable bookingsTable;
-    private DefaultTableModel tableModel;
+    private BookingTableModel tableModel;
     private JButton viewDetailsButton, updateStatusButton, updatePaymentButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
+    private JLabel infoLabel;
     private BookingDAO bookingDAO;
-    private List<Booking> bookings;
 
     public BookingManagementPanel() {
         bookingDAO = new BookingDAO();
@@ -44,14 +44,9 @@ public class BookingManagementPanel extends JPanel {
     }
 
     private void initializeComponents() {
-        // Modern table setup (removed ID column for cleaner look)
-        String[] columnNames = {"PNR", "Passenger", "Flight", "Route", "Date", "Amount", "Payment", "Status"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Modern table setup (removed ID column for cleaner look); rows are loaded as they are scrolled into view
+        tableModel = new BookingTableModel(bookingDAO, new AsyncLoader(this));
+        tableModel.addTableModelListener(e -> updateInfoPanel());
         
         bookingsTable = new JTable(tableModel);
         bookingsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -95,6 +90,7 @@ public class BookingManagementPanel extends JPanel {
         viewDetailsButton = createStyledButton("📋 View Details", PRIMARY_BLUE, Color.WHITE, 14);
         updateStatusButton = createStyledButton("📝 Update Status", ACCENT_ORANGE, Color.WHITE, 14);
         updatePaymentButton = createStyledButton("💳 Update Payment", SUCCESS_GREEN, Color.WHITE, 14);
+        loader = new AsyncLoader(this, updateStatusButton, updatePaymentButton);
         refreshButton = createStyledButton("🔄 Refresh", DARK_BLUE, Color.WHITE, 14);
 
         // Modern search components
@@ -138,6 +134,17 @@ public class BookingManagementPanel extends JPanel {
         // Enter key on search field
         searchField.addActionListener(e -> searchBookings());
 
+        // Click a column header to sort by it in the database
+        bookingsTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent evt) {
+                int viewColumn = bookingsTable.columnAtPoint(evt.getPoint());
+                if (viewColumn != -1) {
+                    sortBookings(bookingsTable.convertColumnIndexToModel(viewColumn));
+                }
+            }
+        });
+
         // Double-click to view details
         bookingsTable.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseClicked(java.awt.event.MouseEvent evt) {
@@ -149,36 +156,18 @@ public class BookingManagementPanel extends JPanel {
     }
 
     private void loadBookings() {
-        try {
-            bookings = bookingDAO.findAll();
-            displayBookings(bookings);
-            updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load bookings: " + e.getMessage());
-        }
+        tableModel.reload();
     }
 
-    private void displayBookings(List<Booking> bookingList) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        // Add bookings to table (removed ID column)
-        for (Booking booking : bookingList) {
-            Object[] row = {
-                booking.getPnr(),
-                booking.getUserFullName() != null ? booking.getUserFullName() : "N/A",
-                booking.getFlightCode() != null ? booking.getFlightCode() : "N/A",
-                booking.getFullRoute() != null ? booking.getFullRoute() : "Route TBD",
-                booking.getDateOfDeparture() != null ? 
-                    booking.getDateOfDeparture().format(DateTimeFormatter.ofPattern("MM-dd")) : "TBD",
-                String.format("₹%.2f", booking.getAmount()),
-                booking.getPaymentStatus().getDisplayName(),
-                booking.getBookingStatus().getDisplayName()
-            };
-            tableModel.addRow(row);
-        }
+    private void sortBookings(int column) {
+        tableModel.sortByColumn(column);
 
-        updateButtonStates();
+        // Refresh the header labels in place; a structure change would reset widths and renderers
+        for (int i = 0; i < bookingsTable.getColumnCount(); i++) {
+            TableColumn tableColumn = bookingsTable.getColumnModel().getColumn(i);
+            tableColumn.setHeaderValue(tableModel.getColumnName(tableColumn.getModelIndex()));
+        }
+        bookingsTable.getTableHeader().repaint();
     }
 
     private void updateButtonStates() {
@@ -189,11 +178,10 @@ public class BookingManagementPanel extends JPanel {
     }
 
     private void updateInfoPanel() {
-        // Update the info label in the south panel
-        Component[] components = ((JPanel) getComponent(2)).getComponents();
-        if (components.length > 0 && components[0] instanceof JLabel) {
-            ((JLabel) components[0]).setText("Total Bookings: " + (bookings != null ? bookings.size() : 0));
+        if (infoLabel != null) {
+            infoLabel.setText("Total Bookings: " + (tableModel.isCountLoaded() ? tableModel.getRowCount() : "..."));
         }
+        updateButtonStates();
     }
 
     private void viewBookingDetails() {
@@ -203,7 +191,11 @@ public class BookingManagementPanel extends JPanel {
             return;
         }
 
-        Booking selectedBooking = bookings.get(selectedRow);
+        Booking selectedBooking = tableModel.getBookingAt(selectedRow);
+        if (selectedBooking == null) {
+            showError("The selected booking is still loading. Please try again.");
+            return;
+        }
         new BookingDetailsDialog((Frame) SwingUtilities.getWindowAncestor(this), selectedBooking).setVisible(true);
     }
 
@@ -214,7 +206,11 @@ public class BookingManagementPanel extends JPanel {
             return;
         }
 
-        Booking selectedBooking = bookings.get(selectedRow);
+        Booking selectedBooking = tableModel.getBookingAt(selectedRow);
+        if (selectedBooking == null) {
+            showError("The selected booking is still loading. Please try again.");
+            return;
+        }
         
         Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
         String[] statusNames = new String[statuses.length];
@@ -243,17 +239,15 @@ public class BookingManagementPanel extends JPanel {
             }
 
             if (newStatus != null) {
-                try {
-                    boolean success = bookingDAO.updateBookingStatus(selectedBooking.getBookingId(), newStatus);
+                Booking.BookingStatus status = newStatus;
+                loader.load("update", () -> SeatInventory.getInstance().updateBookingStatus(selectedBooking, status), success -> {
                     if (success) {
                         showSuccess("Booking status updated successfully.");
                         loadBookings();
                     } else {
                         showError("Failed to update booking status.");
                     }
-                } catch (Exception e) {
-                    showError("Update failed: " + e.getMessage());
-                }
+                }, e -> showError("Update failed: " + e.getMessage()));
             }
         }
     }
@@ -265,7 +259,11 @@ public class BookingManagementPanel extends JPanel {
             return;
         }
 
-        Booking selectedBooking = bookings.get(selectedRow);
+        Booking selectedBooking = tableModel.getBookingAt(selectedRow);
+        if (selectedBooking == null) {
+            showError("The selected booking is still loading. Please try again.");
+            return;
+        }
         
         Booking.PaymentStatus[] statuses = Booking.PaymentStatus.values();
         String[] statusNames = new String[statuses.length];
@@ -294,38 +292,27 @@ public class BookingManagementPanel extends JPanel {
             }
 
             if (newStatus != null) {
-                try {
-                    boolean success = bookingDAO.updatePaymentStatus(selectedBooking.getBookingId(), newStatus);
+                Booking.PaymentStatus status = newStatus;
+                loader.load("update", () -> bookingDAO.updatePaymentStatus(selectedBooking.getBookingId(), status), success -> {
                     if (success) {
                         showSuccess("Payment status updated successfully.");
                         loadBookings();
                     } else {
                         showError("Failed to update payment status.");
                     }
-                } catch (Exception e) {
-                    showError("Update failed: " + e.getMessage());
-                }
+                }, e -> showError("Update failed: " + e.getMessage()));
             }
         }
     }
 
     private void searchBookings() {
         String searchTerm = searchField.getText().trim();
-        if (searchTerm.isEmpty() || searchTerm.equals("Search by PNR, passenger name, or flight code...")) {
-            displayBookings(bookings);
-            return;
+        if (searchTerm.equals("Search by PNR, passenger name, or flight code...")) {
+            searchTerm = "";
         }
 
-        // Filter bookings based on search term
-        List<Booking> filteredBookings = bookings.stream()
-            .filter(booking ->
-                booking.getPnr().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                (booking.getUserFullName() != null && booking.getUserFullName().toLowerCase().contains(searchTerm.toLowerCase())) ||
-                (booking.getFlightCode() != null && booking.getFlightCode().toLowerCase().contains(searchTerm.toLowerCase()))
-            )
-            .collect(java.util.stream.Collectors.toList());
-
-        displayBookings(filteredBookings);
+        // Matching is done by the database
+        tableModel.setSearchTerm(searchTerm);
     }
 
     private void showError(String message) {
@@ -635,7 +622,7 @@ public class BookingManagementPanel extends JPanel {
         // Info panel
         JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         infoPanel.setBackground(BACKGROUND_GRAY);
-        JLabel infoLabel = new JLabel("Total Bookings: " + (bookings != null ? bookings.size() : 0));
+        infoLabel = new JLabel("Total Bookings: ...");
         infoLabel.setFont(new Font("Arial", Font.BOLD, 14));
         infoLabel.setForeground(DARK_BLUE);
         infoLabel.setBorder(BorderFactory.createCompoundBorder(
@@ -0,0 +1,273 @@
+package com.GoAero.ui;
+
+import com.GoAero.dao.BookingDAO;
+import com.GoAero.dao.BookingSortField;
+import com.GoAero.dao.SortDirection;
+import com.GoAero.model.Booking;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table model that loads bookings on demand in fixed-size blocks as rows become visible.
+ * Only a bounded number of blocks is kept in memory, least recently used first out, so the
+ * table needs the same memory however many bookings exist. Sorting and searching are done
+ * by the database; consecutive blocks are read with keyset paging from the last booking of
+ * the previous block.
+ *
+ * All methods must be called on the Event Dispatch Thread. Queries run through an {@link AsyncLoader}.
+ */
+public class BookingTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = {"PNR", "Passenger", "Flight", "Route", "Date", "Amount", "Payment", "Status"};
+    private static final BookingSortField[] COLUMN_SORT_FIELDS = {
+        BookingSortField.PNR, BookingSortField.PASSENGER, BookingSortField.FLIGHT, BookingSortField.ROUTE,
+        BookingSortField.DEPARTURE_DATE, BookingSortField.AMOUNT, BookingSortField.PAYMENT_STATUS,
+        BookingSortField.BOOKING_STATUS
+    };
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd");
+    private static final int BLOCK_SIZE = 100;
+    private static final int MAX_CACHED_BLOCKS = 30;
+    // Last booking before a block, kept for blocks no longer cached so scrolling back can still use keyset paging
+    private static final int MAX_CURSORS = 2000;
+
+    private final BookingDAO bookingDAO;
+    private final AsyncLoader loader;
+    private final Map<Integer, List<Booking>> blocks = new LruMap<>(MAX_CACHED_BLOCKS);
+    private final Map<Integer, Booking> cursors = new LruMap<>(MAX_CURSORS);
+    private final Set<Integer> pendingBlocks = new HashSet<>();
+
+    private String searchTerm;
+    private BookingSortField sortField = BookingSortField.BOOKING_DATE;
+    private SortDirection sortDirection = SortDirection.DESCENDING;
+    private int sortColumn = -1;
+    private int rowCount;
+    private boolean countLoaded;
+    // Incremented whenever the query changes so results of older queries are dropped
+    private int generation;
+    // Most recently requested block; queued loads far away from it are skipped
+    private volatile int latestRequestedBlock;
+
+    /**
+     * Least recently used map with a fixed capacity
+     */
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int capacity;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    public BookingTableModel(BookingDAO bookingDAO, AsyncLoader loader) {
+        this.bookingDAO = bookingDAO;
+        this.loader = loader;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column != sortColumn) {
+            return COLUMN_NAMES[column];
+        }
+        return COLUMN_NAMES[column] + (sortDirection == SortDirection.ASCENDING ? " ▲" : " ▼");
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Booking booking = getBookingAt(row);
+        if (booking == null) {
+            return column == 1 ? "Loading..." : null;
+        }
+
+        switch (column) {
+            case 0: return booking.getPnr();
+            case 1: return booking.getUserFullName() != null ? booking.getUserFullName() : "N/A";
+            case 2: return booking.getFlightCode() != null ? booking.getFlightCode() : "N/A";
+            case 3: return booking.getFullRoute() != null ? booking.getFullRoute() : "Route TBD";
+            case 4: return booking.getDateOfDeparture() != null ?
+                booking.getDateOfDeparture().format(DATE_FORMAT) : "TBD";
+            case 5: return String.format("₹%.2f", booking.getAmount());
+            case 6: return booking.getPaymentStatus().getDisplayName();
+            case 7: return booking.getBookingStatus().getDisplayName();
+            default: return null;
+        }
+    }
+
+    /**
+     * Gets the booking shown in a row, starting to load it if needed
+     * @param row The model row
+     * @return The booking, or null while its block is still loading
+     */
+    public Booking getBookingAt(int row) {
+        if (row < 0 || row >= rowCount) {
+            return null;
+        }
+        int blockIndex = row / BLOCK_SIZE;
+        List<Booking> block = blocks.get(blockIndex);
+        if (block == null) {
+            requestBlock(blockIndex);
+            return null;
+        }
+        int offset = row % BLOCK_SIZE;
+        return offset < block.size() ? block.get(offset) : null;
+    }
+
+    /**
+     * Whether the number of matching bookings has been loaded for the current query
+     */
+    public boolean isCountLoaded() {
+        return countLoaded;
+    }
+
+    /**
+     * Shows only bookings whose PNR, flight code or passenger name starts with a term
+     * @param searchTerm The search term, or null/empty to show all bookings
+     */
+    public void setSearchTerm(String searchTerm) {
+        this.searchTerm = searchTerm == null || searchTerm.trim().isEmpty() ? null : searchTerm.trim();
+        reload();
+    }
+
+    /**
+     * Sorts by a column, reversing the direction if the table is already sorted by it
+     * @param column The model column
+     */
+    public void sortByColumn(int column) {
+        if (column < 0 || column >= COLUMN_SORT_FIELDS.length) {
+            return;
+        }
+        if (column == sortColumn) {
+            sortDirection = sortDirection == SortDirection.ASCENDING ? SortDirection.DESCENDING : SortDirection.ASCENDING;
+        } else {
+            sortColumn = column;
+            sortField = COLUMN_SORT_FIELDS[column];
+            sortDirection = SortDirection.ASCENDING;
+        }
+        reload();
+    }
+
+    /**
+     * Drops all loaded rows and counts the matching bookings again
+     */
+    public void reload() {
+        // Block loads of the previous query are no longer needed
+        loader.cancelAll();
+        int requestGeneration = ++generation;
+        blocks.clear();
+        cursors.clear();
+        pendingBlocks.clear();
+        countLoaded = false;
+        fireTableDataChanged();
+
+        String term = searchTerm;
+        loader.load("count", () -> bookingDAO.countBookings(term), count -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            rowCount = (int) Math.min(Integer.MAX_VALUE, count);
+            countLoaded = true;
+            fireTableDataChanged();
+        }, e -> {
+            System.out.println("Failed to count bookings: " + e.getMessage());
+            if (requestGeneration != generation) {
+                return;
+            }
+            rowCount = 0;
+            countLoaded = true;
+            fireTableDataChanged();
+        });
+    }
+
+    private void requestBlock(int blockIndex) {
+        latestRequestedBlock = blockIndex;
+        if (!pendingBlocks.add(blockIndex)) {
+            return;
+        }
+
+        int requestGeneration = generation;
+        String term = searchTerm;
+        BookingSortField field = sortField;
+        SortDirection direction = sortDirection;
+        Booking cursor = cursorFor(blockIndex);
+
+        loader.load("block-" + blockIndex, () -> {
+            // Scrolled past before this load started; the block is requested again if it comes back into view
+            if (Math.abs(latestRequestedBlock - blockIndex) > MAX_CACHED_BLOCKS) {
+                return null;
+            }
+            if (cursor != null) {
+                return bookingDAO.findBookingsAfter(term, field, direction, cursor, BLOCK_SIZE);
+            }
+            return bookingDAO.findBookings(term, field, direction, blockIndex * BLOCK_SIZE, BLOCK_SIZE);
+        }, block -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            pendingBlocks.remove(blockIndex);
+            if (block != null) {
+                blockLoaded(blockIndex, block);
+            }
+        }, e -> {
+            System.out.println("Failed to load bookings: " + e.getMessage());
+            if (requestGeneration == generation) {
+                pendingBlocks.remove(blockIndex);
+            }
+        });
+    }
+
+    private void blockLoaded(int blockIndex, List<Booking> block) {
+        blocks.put(blockIndex, block);
+        if (block.size() == BLOCK_SIZE) {
+            cursors.put(blockIndex + 1, block.get(BLOCK_SIZE - 1));
+        }
+        int firstRow = blockIndex * BLOCK_SIZE;
+        int lastRow = Math.min(rowCount, firstRow + BLOCK_SIZE) - 1;
+        if (firstRow <= lastRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Finds the last booking before a block, from the cached previous block or a remembered cursor
+     * @return The cursor, or null if the block has to be loaded by offset
+     */
+    private Booking cursorFor(int blockIndex) {
+        if (blockIndex == 0) {
+            return null;
+        }
+        Booking cursor;
+        List<Booking> previous = blocks.get(blockIndex - 1);
+        if (previous != null && previous.size() == BLOCK_SIZE) {
+            cursor = previous.get(BLOCK_SIZE - 1);
+        } else {
+            cursor = cursors.get(blockIndex);
+        }
+        // A null sort value cannot be compared in SQL, so such a position is loaded by offset
+        return cursor != null && sortField.keyOf(cursor) != null ? cursor : null;
+    }
+}
@@ -0,0 +1,303 @@
+package com.GoAero.ui;
+
+import com.GoAero.db.DatabaseMetrics;
+import com.GoAero.db.QueryLog;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Live view of the database metrics in the admin dashboard: connection pool gauges and the
+ * latency, errors and rows of every DAO operation, the statements taking the most time or run
+ * most often, and recent slow queries, refreshed every few seconds while shown.
+ * The same figures are available over JMX as com.GoAero:type=DatabaseMetrics and com.GoAero:type=QueryLog.
+ */
+public class DatabaseMetricsPanel extends JPanel {
+    // Professional color scheme (consistent with other GoAero pages)
+    private static final Color PRIMARY_BLUE = new Color(25, 118, 210);
+    private static final Color ACCENT_ORANGE = new Color(255, 152, 0);
+    private static final Color DARK_BLUE = new Color(13, 71, 161);
+    private static final Color LIGHT_GRAY = new Color(245, 245, 245);
+    private static final Color SUCCESS_GREEN = new Color(76, 175, 80);
+    private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
+    private static final Color CARD_WHITE = Color.WHITE;
+    private static final Color DANGER_RED = new Color(244, 67, 54);
+
+    private static final int REFRESH_INTERVAL_MS = 2000;
+    private static final String[] COLUMNS = {
+        "Operation", "Calls", "Errors", "Rows", "Mean (ms)", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)", "Total (s)"
+    };
+    private static final String[] STATEMENT_COLUMNS = {
+        "Statement", "Count", "Errors", "Mean (ms)", "Max (ms)", "Total (s)"
+    };
+    private static final String[] SLOW_QUERY_COLUMNS = {
+        "Time", "Duration (ms)", "Operation", "Statement", "Bind Values"
+    };
+
+    private final DatabaseMetrics metrics;
+    private final QueryLog queryLog;
+    private final Timer refreshTimer;
+
+    private JLabel activeLabel, idleLabel, waitingLabel, borrowLabel;
+    private JTable operationsTable, statementsTable, slowQueriesTable;
+    private DefaultTableModel tableModel, statementsModel, slowQueriesModel;
+    private JTabbedPane tablesPane;
+    private JButton refreshButton, resetButton;
+
+    public DatabaseMetricsPanel() {
+        metrics = DatabaseMetrics.getInstance();
+        queryLog = QueryLog.getInstance();
+        refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+
+        initializeComponents();
+        setupLayout();
+        setupEventListeners();
+        refresh();
+    }
+
+    private void initializeComponents() {
+        activeLabel = createGaugeLabel(PRIMARY_BLUE);
+        idleLabel = createGaugeLabel(SUCCESS_GREEN);
+        waitingLabel = createGaugeLabel(DANGER_RED);
+        borrowLabel = createGaugeLabel(ACCENT_ORANGE);
+
+        tableModel = createTableModel(COLUMNS);
+        operationsTable = createTable(tableModel);
+        operationsTable.getColumnModel().getColumn(0).setPreferredWidth(260);
+
+        statementsModel = createTableModel(STATEMENT_COLUMNS);
+        statementsTable = createTable(statementsModel);
+        statementsTable.getColumnModel().getColumn(0).setPreferredWidth(700);
+
+        slowQueriesModel = createTableModel(SLOW_QUERY_COLUMNS);
+        slowQueriesTable = createTable(slowQueriesModel);
+        slowQueriesTable.getColumnModel().getColumn(0).setPreferredWidth(160);
+        slowQueriesTable.getColumnModel().getColumn(2).setPreferredWidth(180);
+        slowQueriesTable.getColumnModel().getColumn(3).setPreferredWidth(500);
+        slowQueriesTable.getColumnModel().getColumn(4).setPreferredWidth(250);
+
+        tablesPane = new JTabbedPane();
+        tablesPane.setFont(new Font("Arial", Font.BOLD, 13));
+        tablesPane.addTab("DAO Operations", createScrollPane(operationsTable));
+        tablesPane.addTab("Top Statements", createScrollPane(statementsTable));
+        tablesPane.addTab("Slow Queries (over " + queryLog.getSlowQueryThresholdMs() + " ms)",
+            createScrollPane(slowQueriesTable));
+
+        refreshButton = createButton("🔄 Refresh", PRIMARY_BLUE);
+        resetButton = createButton("♻ Reset", DANGER_RED);
+        resetButton.setToolTipText("Clear all recorded latencies and counts");
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+        setBackground(BACKGROUND_GRAY);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(0, 20));
+        mainPanel.setBackground(BACKGROUND_GRAY);
+        mainPanel.setBorder(new EmptyBorder(20, 25, 20, 25));
+
+        // Header with title and actions
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(BACKGROUND_GRAY);
+        JPanel titlePanel = new JPanel();
+        titlePanel.setLayout(new BoxLayout(titlePanel, BoxLayout.Y_AXIS));
+        titlePanel.setBackground(BACKGROUND_GRAY);
+        JLabel titleLabel = new JLabel("Database Performance");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 26));
+        titleLabel.setForeground(DARK_BLUE);
+        JLabel subtitleLabel = new JLabel("Connection pool and DAO latency since startup or the last reset");
+        subtitleLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        subtitleLabel.setForeground(new Color(100, 100, 100));
+        titlePanel.add(titleLabel);
+        titlePanel.add(Box.createVerticalStrut(5));
+        titlePanel.add(subtitleLabel);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setBackground(BACKGROUND_GRAY);
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(resetButton);
+        headerPanel.add(titlePanel, BorderLayout.WEST);
+        headerPanel.add(buttonPanel, BorderLayout.EAST);
+
+        // Pool gauges
+        JPanel gaugePanel = new JPanel(new GridLayout(1, 4, 15, 0));
+        gaugePanel.setBackground(BACKGROUND_GRAY);
+        gaugePanel.add(createGaugeCard("Active Connections", activeLabel));
+        gaugePanel.add(createGaugeCard("Idle Connections", idleLabel));
+        gaugePanel.add(createGaugeCard("Waiting Threads", waitingLabel));
+        gaugePanel.add(createGaugeCard("Borrow Time p99", borrowLabel));
+
+        JPanel topPanel = new JPanel(new BorderLayout(0, 20));
+        topPanel.setBackground(BACKGROUND_GRAY);
+        topPanel.add(headerPanel, BorderLayout.NORTH);
+        topPanel.add(gaugePanel, BorderLayout.CENTER);
+
+        mainPanel.add(topPanel, BorderLayout.NORTH);
+        mainPanel.add(tablesPane, BorderLayout.CENTER);
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventListeners() {
+        refreshButton.addActionListener(e -> refresh());
+        resetButton.addActionListener(e -> {
+            metrics.reset();
+            queryLog.reset();
+            refresh();
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Reads the current figures; they are in memory, so this is cheap enough for the EDT
+     */
+    private void refresh() {
+        activeLabel.setText(metrics.getActiveConnections() + " / " + metrics.getMaxConnections());
+        idleLabel.setText(String.valueOf(metrics.getIdleConnections()));
+        waitingLabel.setText(String.valueOf(metrics.getThreadsAwaitingConnection()));
+        borrowLabel.setText(formatMillis(metrics.getBorrowTimeP99Micros()) + " ms");
+
+        tableModel.setRowCount(0);
+        for (DatabaseMetrics.OperationStats stats : metrics.getOperations()) {
+            tableModel.addRow(new Object[] {
+                stats.getName(),
+                stats.getCalls(),
+                stats.getErrors(),
+                stats.getRows(),
+                toMillis(stats.getMeanMicros()),
+                toMillis(stats.getP50Micros()),
+                toMillis(stats.getP95Micros()),
+                toMillis(stats.getP99Micros()),
+                toMillis(stats.getMaxMicros()),
+                Math.round(stats.getTotalMillis()) / 1000.0
+            });
+        }
+
+        // Slowest in total and most frequent, each statement once
+        Map<String, QueryLog.StatementStats> statements = new LinkedHashMap<>();
+        for (QueryLog.StatementStats stats : queryLog.getTopByTotalTime()) {
+            statements.put(stats.getFingerprint(), stats);
+        }
+        for (QueryLog.StatementStats stats : queryLog.getTopByCount()) {
+            statements.putIfAbsent(stats.getFingerprint(), stats);
+        }
+        statementsModel.setRowCount(0);
+        for (QueryLog.StatementStats stats : statements.values()) {
+            statementsModel.addRow(new Object[] {
+                stats.getFingerprint(),
+                stats.getCount(),
+                stats.getErrors(),
+                Math.round(stats.getMeanMillis() * 100) / 100.0,
+                Math.round(stats.getMaxMillis() * 100) / 100.0,
+                Math.round(stats.getTotalMillis()) / 1000.0
+            });
+        }
+
+        slowQueriesModel.setRowCount(0);
+        for (QueryLog.SlowQuery slowQuery : queryLog.getRecentSlowQueries()) {
+            slowQueriesModel.addRow(new Object[] {
+                slowQuery.getTime().replace('T', ' '),
+                Math.round(slowQuery.getMillis() * 10) / 10.0,
+                slowQuery.getOperation() + (slowQuery.isFailed() ? " (failed)" : ""),
+                slowQuery.getSql(),
+                slowQuery.getBindValues() != null ? slowQuery.getBindValues() : ""
+            });
+        }
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static String formatMillis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+
+    /**
+     * Creates a read-only table model; columns holding numbers sort numerically
+     */
+    private static DefaultTableModel createTableModel(String[] columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                Object value = getRowCount() > 0 ? getValueAt(0, column) : null;
+                return value instanceof Number ? Number.class : String.class;
+            }
+        };
+    }
+
+    private JTable createTable(DefaultTableModel model) {
+        JTable table = new JTable(model);
+        table.setAutoCreateRowSorter(true);
+        table.setFont(new Font("Arial", Font.PLAIN, 13));
+        table.setRowHeight(28);
+        table.setGridColor(LIGHT_GRAY);
+        table.setSelectionBackground(new Color(230, 240, 255));
+        table.setSelectionForeground(DARK_BLUE);
+        table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 13));
+        table.getTableHeader().setBackground(DARK_BLUE);
+        table.getTableHeader().setForeground(Color.WHITE);
+        table.getTableHeader().setPreferredSize(new Dimension(0, 36));
+        return table;
+    }
+
+    private JScrollPane createScrollPane(JTable table) {
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createLineBorder(LIGHT_GRAY, 1));
+        scrollPane.getViewport().setBackground(CARD_WHITE);
+        return scrollPane;
+    }
+
+    private JLabel createGaugeLabel(Color color) {
+        JLabel label = new JLabel("0");
+        label.setFont(new Font("Arial", Font.BOLD, 22));
+        label.setForeground(color);
+        label.setHorizontalAlignment(SwingConstants.CENTER);
+        return label;
+    }
+
+    private JPanel createGaugeCard(String title, JLabel valueLabel) {
+        JPanel card = new JPanel(new BorderLayout(0, 5));
+        card.setBackground(CARD_WHITE);
+        card.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            new EmptyBorder(12, 15, 12, 15)
+        ));
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 13));
+        titleLabel.setForeground(new Color(100, 100, 100));
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        card.add(titleLabel, BorderLayout.NORTH);
+        card.add(valueLabel, BorderLayout.CENTER);
+        return card;
+    }
+
+    private JButton createButton(String text, Color background) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 13));
+        button.setBackground(background);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        return button;
+    }
+}
@@ -0,0 +1,226 @@
+package com.GoAero.ui;
+
+import com.GoAero.dao.FlightDAO;
+import com.GoAero.model.Airport;
+import com.GoAero.model.FareCalendarDay;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Month view of the lowest fare per day on a route, so passengers can pick a cheap day
+ * without searching each date. Choosing a day closes the dialog.
+ */
+public class FareCalendarDialog extends JDialog {
+    // Professional color scheme (consistent with other pages)
+    private static final Color PRIMARY_BLUE = new Color(25, 118, 210);
+    private static final Color DARK_BLUE = new Color(13, 71, 161);
+    private static final Color LIGHT_GRAY = new Color(245, 245, 245);
+    private static final Color SUCCESS_GREEN = new Color(76, 175, 80);
+    private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
+    private static final Color CARD_WHITE = Color.WHITE;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy");
+
+    private final FlightDAO flightDAO;
+    private final Airport departure;
+    private final Airport destination;
+    private final AsyncLoader loader;
+    private YearMonth month;
+    private LocalDate selectedDate;
+
+    private JLabel monthLabel;
+    private JButton previousButton, nextButton, closeButton;
+    private JPanel daysPanel;
+
+    public FareCalendarDialog(Frame parent, Airport departure, Airport destination, LocalDate initialDate) {
+        super(parent, "Fare Calendar", true);
+        this.flightDAO = new FlightDAO();
+        this.departure = departure;
+        this.destination = destination;
+        this.month = YearMonth.from(initialDate);
+        initializeComponents();
+        this.loader = new AsyncLoader(this, previousButton, nextButton);
+        setupLayout();
+        setupEventListeners();
+        loadMonth();
+    }
+
+    /**
+     * Gets the day chosen by the user
+     * @return The date, or null if the dialog was closed without choosing
+     */
+    public LocalDate getSelectedDate() {
+        return selectedDate;
+    }
+
+    private void initializeComponents() {
+        setSize(640, 520);
+        setLocationRelativeTo(getParent());
+        setResizable(false);
+
+        monthLabel = new JLabel("", SwingConstants.CENTER);
+        monthLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        monthLabel.setForeground(DARK_BLUE);
+
+        previousButton = createNavigationButton("◀");
+        nextButton = createNavigationButton("▶");
+
+        closeButton = new JButton("Close");
+        closeButton.setFont(new Font("Arial", Font.BOLD, 13));
+        closeButton.setFocusPainted(false);
+
+        daysPanel = new JPanel(new GridLayout(0, 7, 4, 4));
+        daysPanel.setBackground(CARD_WHITE);
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+        getContentPane().setBackground(BACKGROUND_GRAY);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(0, 15));
+        mainPanel.setBackground(BACKGROUND_GRAY);
+        mainPanel.setBorder(new EmptyBorder(20, 25, 20, 25));
+
+        JLabel titleLabel = new JLabel("✈ " + departure.getAirportCode() + " → " + destination.getAirportCode() +
+            "  ·  lowest fares per day");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        titleLabel.setForeground(DARK_BLUE);
+
+        JPanel navigationPanel = new JPanel(new BorderLayout());
+        navigationPanel.setBackground(BACKGROUND_GRAY);
+        navigationPanel.add(previousButton, BorderLayout.WEST);
+        navigationPanel.add(monthLabel, BorderLayout.CENTER);
+        navigationPanel.add(nextButton, BorderLayout.EAST);
+
+        JPanel headerPanel = new JPanel(new BorderLayout(0, 10));
+        headerPanel.setBackground(BACKGROUND_GRAY);
+        headerPanel.add(titleLabel, BorderLayout.NORTH);
+        headerPanel.add(navigationPanel, BorderLayout.SOUTH);
+
+        JPanel calendarCard = new JPanel(new BorderLayout());
+        calendarCard.setBackground(CARD_WHITE);
+        calendarCard.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            new EmptyBorder(10, 10, 10, 10)
+        ));
+        calendarCard.add(daysPanel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttonPanel.setBackground(BACKGROUND_GRAY);
+        buttonPanel.add(closeButton);
+
+        mainPanel.add(headerPanel, BorderLayout.NORTH);
+        mainPanel.add(calendarCard, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventListeners() {
+        previousButton.addActionListener(e -> {
+            month = month.minusMonths(1);
+            loadMonth();
+        });
+        nextButton.addActionListener(e -> {
+            month = month.plusMonths(1);
+            loadMonth();
+        });
+        closeButton.addActionListener(e -> dispose());
+    }
+
+    private void loadMonth() {
+        YearMonth requested = month;
+        monthLabel.setText(requested.format(MONTH_FORMAT));
+        previousButton.setEnabled(requested.isAfter(YearMonth.now()));
+
+        // A newer month replaces one that is still loading
+        loader.load("calendar",
+            () -> flightDAO.getFareCalendar(departure.getAirportId(), destination.getAirportId(), requested),
+            days -> showMonth(requested, days),
+            e -> System.out.println("Failed to load fare calendar: " + e.getMessage()));
+    }
+
+    private void showMonth(YearMonth shownMonth, List<FareCalendarDay> days) {
+        Map<LocalDate, FareCalendarDay> byDate = new HashMap<>();
+        BigDecimal cheapest = null;
+        for (FareCalendarDay day : days) {
+            byDate.put(day.getDate(), day);
+            if (!day.getDate().isBefore(LocalDate.now()) && day.getLowestFare() != null
+                    && (cheapest == null || day.getLowestFare().compareTo(cheapest) < 0)) {
+                cheapest = day.getLowestFare();
+            }
+        }
+
+        daysPanel.removeAll();
+        for (DayOfWeek weekday : DayOfWeek.values()) {
+            JLabel header = new JLabel(weekday.getDisplayName(TextStyle.SHORT, Locale.getDefault()), SwingConstants.CENTER);
+            header.setFont(new Font("Arial", Font.BOLD, 12));
+            header.setForeground(DARK_BLUE);
+            daysPanel.add(header);
+        }
+        // Blank cells before the first day, weeks starting on Monday
+        for (int i = 1; i < shownMonth.atDay(1).getDayOfWeek().getValue(); i++) {
+            daysPanel.add(new JLabel());
+        }
+        for (int dayOfMonth = 1; dayOfMonth <= shownMonth.lengthOfMonth(); dayOfMonth++) {
+            LocalDate date = shownMonth.atDay(dayOfMonth);
+            daysPanel.add(createDayButton(date, byDate.get(date), cheapest));
+        }
+
+        daysPanel.revalidate();
+        daysPanel.repaint();
+    }
+
+    private JButton createDayButton(LocalDate date, FareCalendarDay day, BigDecimal cheapest) {
+        String fare;
+        if (day == null) {
+            fare = "—";
+        } else if (day.getLowestFare() == null) {
+            fare = "Full";
+        } else {
+            fare = "₹" + day.getLowestFare().setScale(0, RoundingMode.HALF_UP).toPlainString();
+        }
+
+        JButton button = new JButton("<html><center>" + date.getDayOfMonth() + "<br><small>" + fare + "</small></center></html>");
+        button.setFont(new Font("Arial", Font.PLAIN, 12));
+        button.setFocusPainted(false);
+        button.setBackground(CARD_WHITE);
+
+        boolean bookable = day != null && day.getLowestFare() != null && !date.isBefore(LocalDate.now());
+        button.setEnabled(bookable);
+        if (bookable) {
+            button.setToolTipText(day.getFlightCount() + " flight(s), " + day.getAvailableSeats() + " seat(s) left");
+            if (day.getLowestFare().compareTo(cheapest) == 0) {
+                button.setBackground(SUCCESS_GREEN);
+                button.setForeground(Color.WHITE);
+            }
+            button.addActionListener(e -> {
+                selectedDate = date;
+                dispose();
+            });
+        }
+        return button;
+    }
+
+    private JButton createNavigationButton(String text) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 14));
+        button.setBackground(PRIMARY_BLUE);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setPreferredSize(new Dimension(50, 32));
+        return button;
+    }
+}
@@ -1,22 +1,27 @@
 package com.GoAero.ui;
 
-import com.GoAero.dao.BookingDAO;
-import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Booking;
 import com.GoAero.model.Flight;
+import com.GoAero.model.Itinerary;
 import com.GoAero.model.SessionManager;
 import com.GoAero.model.User;
-import com.GoAero.util.PNRGenerator;
+import com.GoAero.service.BookingService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Dialog for booking a selected flight with modern UI design
+ * Dialog for booking a selected flight with modern UI design. A connecting journey is booked
+ * as a whole: every seat on every flight is saved in one transaction, or none is.
  */
 public class FlightBookingDialog extends JDialog {
     // Professional color scheme (consistent with other pages)
@@ -25,62 +30,67 @@ public class FlightBookingDialog extends JDialog {
     private static final Color SUCCESS_GREEN = new Color(76, 175, 80);
     private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
     private static final Color CARD_WHITE = Color.WHITE;
+    // Largest group that can be booked in one go
+    private static final int MAX_SEATS = 50;
+    private Itinerary itinerary;
     private Flight selectedFlight;
     private User currentUser;
-    private BookingDAO bookingDAO;
-    private FlightDAO flightDAO;
+    private BookingService bookingService;
+    private AsyncLoader loader;
     
     private JLabel flightInfoLabel, priceLabel, passengerInfoLabel;
+    private JSpinner seatsSpinner;
     private JButton confirmBookingButton, cancelButton;
 
     public FlightBookingDialog(Frame parent, Flight flight) {
-        super(parent, "Book Flight", true);
-        this.selectedFlight = flight;
+        this(parent, new Itinerary(List.of(flight)));
+    }
+
+    public FlightBookingDialog(Frame parent, Itinerary itinerary) {
+        super(parent, itinerary.isDirect() ? "Book Flight" : "Book Connecting Flights", true);
+        this.itinerary = itinerary;
+        this.selectedFlight = itinerary.getFirstLeg();
         this.currentUser = SessionManager.getInstance().getCurrentUser();
-        this.bookingDAO = new BookingDAO();
-        this.flightDAO = new FlightDAO();
+        this.bookingService = BookingService.getInstance();
         
         initializeComponents();
         setupLayout();
         setupEventListeners();
     }
 
+    /**
+     * Result of a booking attempt, produced on a background thread
+     */
+    private static final class BookingOutcome {
+        final List<Booking> bookings;
+        final boolean tooFewSeats;
+
+        BookingOutcome(List<Booking> bookings, boolean tooFewSeats) {
+            this.bookings = bookings;
+            this.tooFewSeats = tooFewSeats;
+        }
+    }
+
     private void initializeComponents() {
-        setSize(600, 550);
+        // Each further flight adds a block of details
+        setSize(600, 550 + 110 * itinerary.getStops());
         setLocationRelativeTo(getParent());
         setResizable(false);
 
         // Flight information with modern styling
-        String flightInfo = String.format(
-            "<html><div style='font-family: Arial; padding: 10px;'>" +
-            "<h3 style='color: #0D47A1; margin-bottom: 15px;'>✈ Flight Details</h3>" +
-            "<div style='line-height: 1.6;'>" +
-            "<b>Flight:</b> %s (%s)<br>" +
-            "<b>Airline:</b> %s<br>" +
-            "<b>Route:</b> %s<br>" +
-            "<b>Departure:</b> %s<br>" +
-            "<b>Arrival:</b> %s<br>" +
-            "<b>Available Seats:</b> %d" +
-            "</div></div></html>",
-            selectedFlight.getFlightCode(),
-            selectedFlight.getFlightName(),
-            selectedFlight.getCompanyName(),
-            selectedFlight.getFullRoute(),
-            selectedFlight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-            selectedFlight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-            selectedFlight.getAvailableSeats()
-        );
+        String flightInfo = itinerary.isDirect() ? formatFlightDetails() : formatJourneyDetails();
         flightInfoLabel = new JLabel(flightInfo);
         flightInfoLabel.setVerticalAlignment(SwingConstants.TOP);
 
         // Price information with modern styling
-        priceLabel = new JLabel(String.format(
-            "<html><div style='text-align: center; font-family: Arial;'>" +
-            "<h2 style='color: #4CAF50; margin: 10px 0;'>💰 Total Price: ₹%.2f</h2>" +
-            "</div></html>",
-            selectedFlight.getPrice()
-        ));
+        // Number of seats, one booking each
+        int maxSeats = Math.max(1, Math.min(MAX_SEATS, itinerary.getAvailableSeats()));
+        seatsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, maxSeats, 1));
+        seatsSpinner.setFont(new Font("Arial", Font.PLAIN, 14));
+
+        priceLabel = new JLabel();
         priceLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        updatePrice();
 
         // Passenger information with modern styling
         String passengerInfo = String.format(
@@ -104,6 +114,61 @@ public class FlightBookingDialog extends JDialog {
 
         cancelButton = createStyledButton("❌ Cancel", new Color(108, 117, 125), Color.WHITE, 14);
         cancelButton.setPreferredSize(new Dimension(120, 45));
+
+        // Disabling the buttons while a booking runs also prevents double submits
+        loader = new AsyncLoader(this, confirmBookingButton, cancelButton, seatsSpinner);
+    }
+
+    private String formatFlightDetails() {
+        return String.format(
+            "<html><div style='font-family: Arial; padding: 10px;'>" +
+            "<h3 style='color: #0D47A1; margin-bottom: 15px;'>✈ Flight Details</h3>" +
+            "<div style='line-height: 1.6;'>" +
+            "<b>Flight:</b> %s (%s)<br>" +
+            "<b>Airline:</b> %s<br>" +
+            "<b>Route:</b> %s<br>" +
+            "<b>Departure:</b> %s<br>" +
+            "<b>Arrival:</b> %s<br>" +
+            "<b>Available Seats:</b> %d" +
+            "</div></div></html>",
+            selectedFlight.getFlightCode(),
+            selectedFlight.getFlightName(),
+            selectedFlight.getCompanyName(),
+            selectedFlight.getFullRoute(),
+            selectedFlight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+            selectedFlight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+            selectedFlight.getAvailableSeats()
+        );
+    }
+
+    private String formatJourneyDetails() {
+        StringBuilder legs = new StringBuilder();
+        int number = 1;
+        for (Flight leg : itinerary.getLegs()) {
+            legs.append(String.format(
+                "<b>Flight %d:</b> %s (%s), %s<br>" +
+                "&nbsp;&nbsp;%s<br>" +
+                "&nbsp;&nbsp;%s → %s<br>",
+                number++,
+                leg.getFlightCode(),
+                leg.getFlightName(),
+                leg.getCompanyName(),
+                leg.getFullRoute(),
+                leg.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+                leg.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+            ));
+        }
+        return String.format(
+            "<html><div style='font-family: Arial; padding: 10px;'>" +
+            "<h3 style='color: #0D47A1; margin-bottom: 15px;'>✈ Journey Details</h3>" +
+            "<div style='line-height: 1.6;'>" +
+            "%s" +
+            "<b>Available Seats:</b> %d<br>" +
+            "<i>All flights are booked together, or none is.</i>" +
+            "</div></div></html>",
+            legs,
+            itinerary.getAvailableSeats()
+        );
     }
 
     private void setupLayout() {
@@ -173,6 +238,10 @@ public class FlightBookingDialog extends JDialog {
         JPanel pricePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         pricePanel.setBackground(CARD_WHITE);
         pricePanel.add(priceLabel);
+        JLabel seatsLabel = new JLabel("Seats:");
+        seatsLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        pricePanel.add(seatsLabel);
+        pricePanel.add(seatsSpinner);
         contentPanel.add(pricePanel);
         contentPanel.add(Box.createVerticalStrut(20));
 
@@ -218,57 +287,120 @@ public class FlightBookingDialog extends JDialog {
 
     private void setupEventListeners() {
         confirmBookingButton.addActionListener(e -> confirmBooking());
+        seatsSpinner.addChangeListener(e -> updatePrice());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running booking has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
     }
 
     private void confirmBooking() {
-        // Disable button to prevent double-clicking
-        confirmBookingButton.setEnabled(false);
-        
-        try {
-            // Check if flight still has available seats
-            int currentAvailableSeats = flightDAO.getAvailableSeats(selectedFlight.getFlightId());
-            if (currentAvailableSeats <= 0) {
+        // The seats are checked and taken in the booking transaction
+        int seats = getSeatCount();
+        loader.load("booking", () -> book(seats), outcome -> {
+            if (outcome.bookings != null) {
+                if (seats == 1 && itinerary.isDirect()) {
+                    showBookingConfirmation(outcome.bookings.get(0));
+                } else {
+                    showGroupConfirmation(outcome.bookings, seats);
+                }
+                dispose();
+            } else if (!outcome.tooFewSeats) {
+                showError("Booking failed. Please try again.");
+            } else if (!itinerary.isDirect()) {
+                showError("Sorry, a flight of this journey no longer has " + seats + " seat(s) available.\n" +
+                    "Nothing was booked.");
+            } else if (seats == 1) {
                 showError("Sorry, this flight is now fully booked.");
-                return;
+            } else {
+                showError("Sorry, this flight no longer has " + seats + " seats available.");
             }
+        }, e -> showError("Booking failed: " + e.getMessage()));
+    }
 
-            // Generate unique PNR
-            String pnr;
-            do {
-                pnr = PNRGenerator.generatePNRWithAirline(selectedFlight.getCompanyCode());
-            } while (bookingDAO.pnrExists(pnr));
-
-            // Create booking
-            Booking booking = new Booking();
-            booking.setUserId(currentUser.getUserId());
-            booking.setFlightId(selectedFlight.getFlightId());
-            booking.setDepartureAirportId(selectedFlight.getDepartureAirportId());
-            booking.setDestinationAirportId(selectedFlight.getDestinationAirportId());
-            booking.setDepartureTime(selectedFlight.getDepartureTime());
-            booking.setDestinationTime(selectedFlight.getDestinationTime());
-            booking.setPnr(pnr);
-            booking.setDateOfDeparture(selectedFlight.getDepartureTime().toLocalDate());
-            booking.setDateOfDestination(selectedFlight.getDestinationTime().toLocalDate());
-            booking.setAmount(selectedFlight.getPrice());
-            booking.setPaymentStatus(Booking.PaymentStatus.PENDING);
-            booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
-
-            // Save booking to database
-            Booking savedBooking = bookingDAO.create(booking);
-            
+    /**
+     * Books the seats; runs on a background thread
+     */
+    private BookingOutcome book(int seats) {
+        if (seats == 1 && itinerary.isDirect()) {
+            // Reserve a seat, allocate the PNR and save the booking in one transaction
+            Booking savedBooking = bookingService.book(createBooking(selectedFlight), selectedFlight.getCompanyCode());
             if (savedBooking != null) {
-                showBookingConfirmation(savedBooking);
-                dispose();
-            } else {
-                showError("Booking failed. Please try again.");
+                return new BookingOutcome(List.of(savedBooking), false);
+            }
+            return new BookingOutcome(null, hasTooFewSeats(1));
+        }
+
+        // Group or connecting booking: one booking per seat and flight, all saved together or none
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            for (Flight leg : itinerary.getLegs()) {
+                bookings.add(createBooking(leg));
             }
+        }
+        if (bookingService.bookAll(bookings, getPnrPrefix())) {
+            return new BookingOutcome(bookings, false);
+        }
+        return new BookingOutcome(null, hasTooFewSeats(seats));
+    }
 
-        } catch (Exception e) {
-            showError("Booking failed: " + e.getMessage());
-        } finally {
-            confirmBookingButton.setEnabled(true);
+    private boolean hasTooFewSeats(int seats) {
+        for (Flight leg : itinerary.getLegs()) {
+            if (bookingService.getAvailableSeats(leg.getFlightId()) < seats) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    /**
+     * The airline code PNRs are prefixed with, or null if the flights are run by different airlines
+     */
+    private String getPnrPrefix() {
+        String code = selectedFlight.getCompanyCode();
+        for (Flight leg : itinerary.getLegs()) {
+            if (code == null || !code.equals(leg.getCompanyCode())) {
+                return null;
+            }
+        }
+        return code;
+    }
+
+    private int getSeatCount() {
+        return (Integer) seatsSpinner.getValue();
+    }
+
+    private void updatePrice() {
+        priceLabel.setText(String.format(
+            "<html><div style='text-align: center; font-family: Arial;'>" +
+            "<h2 style='color: #4CAF50; margin: 10px 0;'>💰 Total Price: ₹%.2f</h2>" +
+            "</div></html>",
+            itinerary.getTotalPrice().multiply(BigDecimal.valueOf(getSeatCount()))
+        ));
+    }
+
+    private Booking createBooking(Flight flight) {
+        Booking booking = new Booking();
+        booking.setUserId(currentUser.getUserId());
+        booking.setFlightId(flight.getFlightId());
+        booking.setDepartureAirportId(flight.getDepartureAirportId());
+        booking.setDestinationAirportId(flight.getDestinationAirportId());
+        booking.setDepartureTime(flight.getDepartureTime());
+        booking.setDestinationTime(flight.getDestinationTime());
+        booking.setDateOfDeparture(flight.getDepartureTime().toLocalDate());
+        booking.setDateOfDestination(flight.getDestinationTime().toLocalDate());
+        booking.setAmount(flight.getPrice());
+        booking.setPaymentStatus(Booking.PaymentStatus.PENDING);
+        booking.setBookingStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
     }
 
     private void showBookingConfirmation(Booking booking) {
@@ -296,6 +428,49 @@ public class FlightBookingDialog extends JDialog {
         );
     }
 
+    private void showGroupConfirmation(List<Booking> bookings, int seats) {
+        StringBuilder pnrs = new StringBuilder();
+        for (Booking booking : bookings) {
+            pnrs.append("  ").append(booking.getPnr());
+            if (!itinerary.isDirect()) {
+                pnrs.append("  (").append(flightCodeOf(booking)).append(")");
+            }
+            pnrs.append("\n");
+        }
+        String confirmationMessage = String.format(
+            "%d Seat(s) Booked!\n\n" +
+            "PNRs:\n%s\n" +
+            "Flight: %s\n" +
+            "Route: %s\n" +
+            "Departure: %s\n" +
+            "Total Amount: ₹%.2f\n\n" +
+            "Please save your PNRs for future reference.\n" +
+            "You can view your booking details in 'My Bookings'.",
+            seats,
+            pnrs,
+            itinerary.getFlightCodes(),
+            itinerary.isDirect() ? selectedFlight.getFullRoute() : itinerary.getRoute(),
+            selectedFlight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+            itinerary.getTotalPrice().multiply(BigDecimal.valueOf(seats))
+        );
+
+        JOptionPane.showMessageDialog(
+            this,
+            confirmationMessage,
+            "Booking Confirmed",
+            JOptionPane.INFORMATION_MESSAGE
+        );
+    }
+
+    private String flightCodeOf(Booking booking) {
+        for (Flight leg : itinerary.getLegs()) {
+            if (leg.getFlightId() == booking.getFlightId()) {
+                return leg.getFlightCode();
+            }
+        }
+        return "";
+    }
+
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Booking Error", JOptionPane.ERROR_MESSAGE);
     }
@@ -2,9 +2,11 @@ package com.GoAero.ui;
 
 import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Flight;
+import com.GoAero.service.SeatInventory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
@@ -29,11 +31,12 @@ public class FlightManagementPanel extends JPanel {
     private static final Color DANGER_RED = new Color(244, 67, 54);
     private JTable flightsTable;
     private DefaultTableModel tableModel;
-    private JButton addFlightButton, editFlightButton, deleteFlightButton, refreshButton;
+    private JButton addFlightButton, editFlightButton, deleteFlightButton, importButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
     private FlightDAO flightDAO;
-    private List<Flight> flights;
+    private List<Flight> flights = List.of();
 
     public FlightManagementPanel() {
         flightDAO = new FlightDAO();
@@ -94,6 +97,8 @@ public class FlightManagementPanel extends JPanel {
         addFlightButton = createStyledButton("✈ Add Flight", PRIMARY_BLUE, Color.WHITE, 14);
         editFlightButton = createStyledButton("✏ Edit Flight", ACCENT_ORANGE, Color.WHITE, 14);
         deleteFlightButton = createStyledButton("🗑 Delete Flight", DANGER_RED, Color.WHITE, 14);
+        loader = new AsyncLoader(this, deleteFlightButton);
+        importButton = createStyledButton("📥 Import", DARK_BLUE, Color.WHITE, 14);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
         // Modern search components
@@ -131,6 +136,7 @@ public class FlightManagementPanel extends JPanel {
         addFlightButton.addActionListener(e -> addFlight());
         editFlightButton.addActionListener(e -> editFlight());
         deleteFlightButton.addActionListener(e -> deleteFlight());
+        importButton.addActionListener(e -> importSchedule());
         refreshButton.addActionListener(e -> loadFlights());
         searchButton.addActionListener(e -> searchFlights());
         
@@ -148,13 +154,11 @@ public class FlightManagementPanel extends JPanel {
     }
 
     private void loadFlights() {
-        try {
-            flights = flightDAO.findAll();
+        loader.load("flights", flightDAO::findAll, loaded -> {
+            flights = loaded;
             displayFlights(flights);
             updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load flights: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load flights: " + e.getMessage()));
     }
 
     private void displayFlights(List<Flight> flightList) {
@@ -241,17 +245,34 @@ public class FlightManagementPanel extends JPanel {
         boolean confirmed = showDeleteConfirmationDialog(selectedFlight);
         
         if (confirmed) {
-            try {
-                boolean success = flightDAO.delete(selectedFlight.getFlightId());
+            loader.load("delete", () -> flightDAO.delete(selectedFlight.getFlightId()), success -> {
                 if (success) {
+                    SeatInventory.getInstance().evict(selectedFlight.getFlightId());
                     showSuccess("Flight deleted successfully.");
                     loadFlights();
                 } else {
                     showError("Failed to delete flight. It may have associated bookings.");
                 }
-            } catch (Exception e) {
-                showError("Deletion failed: " + e.getMessage());
-            }
+            }, e -> showError("Deletion failed: " + e.getMessage()));
+        }
+    }
+
+    private void importSchedule() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Schedule (CSV or JSON)");
+        chooser.setFileFilter(new FileNameExtensionFilter("Schedule files (*.csv, *.json, *.jsonl)", "csv", "json", "jsonl", "ndjson"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        ScheduleImportDialog dialog = new ScheduleImportDialog(
+            (Frame) SwingUtilities.getWindowAncestor(this),
+            chooser.getSelectedFile()
+        );
+        dialog.start();
+
+        if (dialog.isDataChanged()) {
+            loadFlights();
         }
     }
 
@@ -572,11 +593,13 @@ public class FlightManagementPanel extends JPanel {
         addFlightButton.setPreferredSize(new Dimension(130, 40));
         editFlightButton.setPreferredSize(new Dimension(130, 40));
         deleteFlightButton.setPreferredSize(new Dimension(150, 40));
+        importButton.setPreferredSize(new Dimension(110, 40));
         refreshButton.setPreferredSize(new Dimension(110, 40));
         
         buttonsPanel.add(addFlightButton);
         buttonsPanel.add(editFlightButton);
         buttonsPanel.add(deleteFlightButton);
+        buttonsPanel.add(importButton);
         buttonsPanel.add(refreshButton);
 
         // Info panel
@@ -29,10 +29,11 @@ public class FlightOwnerManagementPanel extends JPanel {
     private JTable flightOwnersTable;
     private DefaultTableModel tableModel;
     private JButton addOwnerButton, editOwnerButton, deleteOwnerButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
     private FlightOwnerDAO flightOwnerDAO;
-    private List<FlightOwner> flightOwners;
+    private List<FlightOwner> flightOwners = List.of();
 
     public FlightOwnerManagementPanel() {
         flightOwnerDAO = new FlightOwnerDAO();
@@ -87,6 +88,7 @@ public class FlightOwnerManagementPanel extends JPanel {
         addOwnerButton = createStyledButton("✈ Add Airline", PRIMARY_BLUE, Color.WHITE, 14);
         editOwnerButton = createStyledButton("✏ Edit Airline", ACCENT_ORANGE, Color.WHITE, 14);
         deleteOwnerButton = createStyledButton("🗑 Delete Airline", DANGER_RED, Color.WHITE, 14);
+        loader = new AsyncLoader(this, deleteOwnerButton);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
         // Modern search components
@@ -141,13 +143,11 @@ public class FlightOwnerManagementPanel extends JPanel {
     }
 
     private void loadFlightOwners() {
-        try {
-            flightOwners = flightOwnerDAO.findAllWithFlightCounts();
+        loader.load("flightOwners", flightOwnerDAO::findAllWithFlightCounts, loaded -> {
+            flightOwners = loaded;
             displayFlightOwners(flightOwners);
             updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load flight owners: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load flight owners: " + e.getMessage()));
     }
 
     private void displayFlightOwners(List<FlightOwner> ownerList) {
@@ -228,17 +228,14 @@ public class FlightOwnerManagementPanel extends JPanel {
         boolean confirmed = showDeleteConfirmationDialog(selectedOwner);
         
         if (confirmed) {
-            try {
-                boolean success = flightOwnerDAO.delete(selectedOwner.getOwnerId());
+            loader.load("delete", () -> flightOwnerDAO.delete(selectedOwner.getOwnerId()), success -> {
                 if (success) {
                     showSuccess("Airline deleted successfully.");
                     loadFlightOwners();
                 } else {
                     showError("Failed to delete airline. It may have associated flights or bookings.");
                 }
-            } catch (Exception e) {
-                showError("Deletion failed: " + e.getMessage());
-            }
+            }, e -> showError("Deletion failed: " + e.getMessage()));
         }
     }
 
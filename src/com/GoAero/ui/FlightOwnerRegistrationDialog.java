@@ -10,6 +10,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Flight Owner registration dialog for new airline companies with modern UI design
@@ -27,6 +29,7 @@ public class FlightOwnerRegistrationDialog extends JDialog {
     private JTextField companyNameField, companyCodeField, contactInfoField;
     private JPasswordField passwordField, confirmPasswordField;
     private JButton registerButton, cancelButton;
+    private AsyncLoader loader;
     private FlightOwnerDAO flightOwnerDAO;
 
     public FlightOwnerRegistrationDialog(Frame parent) {
@@ -52,6 +55,7 @@ public class FlightOwnerRegistrationDialog extends JDialog {
         // Create styled buttons
         registerButton = createStyledButton("🏢 Register Company", SUCCESS_GREEN, Color.WHITE);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE);
+        loader = new AsyncLoader(this, registerButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -85,6 +89,17 @@ public class FlightOwnerRegistrationDialog extends JDialog {
         // Enter key on confirm password field
         confirmPasswordField.addActionListener(e -> handleRegistration());
 
+        // The dialog stays open until a running registration has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
+
         // Auto-format company code as user types
         companyCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
             public void keyReleased(java.awt.event.KeyEvent evt) {
@@ -101,6 +116,19 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             return;
         }
 
+        // Check if company code already exists; read in the background, before the company is saved
+        String companyCode = companyCodeField.getText().trim().toUpperCase();
+        loader.load("register", () -> flightOwnerDAO.codeExists(companyCode), exists -> {
+            if (exists) {
+                showError("A company with this code already exists. Please choose a different code.");
+                companyCodeField.requestFocus();
+                return;
+            }
+            registerFlightOwner();
+        }, e -> showError("Registration failed: " + e.getMessage()));
+    }
+
+    private void registerFlightOwner() {
         try {
             // Create new flight owner
             FlightOwner flightOwner = new FlightOwner();
@@ -111,14 +139,15 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             flightOwner.setFlightCount(0);
 
             // Save to database
-            FlightOwner savedOwner = flightOwnerDAO.create(flightOwner);
-            if (savedOwner != null) {
-                showSuccess("Company registration successful! You can now login with your company code and password.");
-                clearFields();
-                dispose();
-            } else {
-                showError("Registration failed. Please try again.");
-            }
+            loader.load("register", () -> flightOwnerDAO.create(flightOwner), savedOwner -> {
+                if (savedOwner != null) {
+                    showSuccess("Company registration successful! You can now login with your company code and password.");
+                    clearFields();
+                    dispose();
+                } else {
+                    showError("Registration failed. Please try again.");
+                }
+            }, e -> showError("Registration failed: " + e.getMessage()));
         } catch (Exception e) {
             showError("Registration failed: " + e.getMessage());
         }
@@ -147,13 +176,6 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             return false;
         }
 
-        // Check if company code already exists
-        if (flightOwnerDAO.codeExists(companyCode.toUpperCase())) {
-            showError("A company with this code already exists. Please choose a different code.");
-            companyCodeField.requestFocus();
-            return false;
-        }
-
         // Contact Info validation
         if (!ValidationUtil.isNotEmpty(contactInfoField.getText())) {
             showError("Contact information is required.");
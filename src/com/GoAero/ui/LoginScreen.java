@@ -43,6 +43,7 @@ public class LoginScreen extends JFrame {
     private UserDAO userDAO;
     private AdminDAO adminDAO;
     private FlightOwnerDAO flightOwnerDAO;
+    private AsyncLoader loader;
 
     public LoginScreen() {
         this(0); // Default to passenger tab
@@ -51,6 +52,8 @@ public class LoginScreen extends JFrame {
     public LoginScreen(int initialTabIndex) {
         initializeDAOs();
         initializeComponents();
+        // Login buttons stay disabled while a login is being checked
+        loader = new AsyncLoader(this, userLoginButton, adminLoginButton, ownerLoginButton);
         setupLayout();
         setupEventListeners();
 
@@ -532,9 +535,11 @@ public class LoginScreen extends JFrame {
             return;
         }
 
-        try {
+        loader.load("login", () -> {
             User user = userDAO.findByEmail(email);
-            if (user != null && PasswordUtil.verifyPassword(password, user.getPasswordHash())) {
+            return user != null && PasswordUtil.verifyPassword(password, user.getPasswordHash()) ? user : null;
+        }, user -> {
+            if (user != null) {
                 SessionManager.getInstance().loginUser(user);
                 showSuccess("Login successful! Welcome, " + user.getFullName());
                 openUserDashboard();
@@ -542,9 +547,7 @@ public class LoginScreen extends JFrame {
             } else {
                 showError("Invalid email or password.");
             }
-        } catch (Exception e) {
-            showError("Login failed: " + e.getMessage());
-        }
+        }, e -> showError("Login failed: " + e.getMessage()));
     }
 
     private void handleAdminLogin() {
@@ -556,9 +559,11 @@ public class LoginScreen extends JFrame {
             return;
         }
 
-        try {
+        loader.load("login", () -> {
             Admin admin = adminDAO.findByUsername(username);
-            if (admin != null && PasswordUtil.verifyPassword(password, admin.getPasswordHash())) {
+            return admin != null && PasswordUtil.verifyPassword(password, admin.getPasswordHash()) ? admin : null;
+        }, admin -> {
+            if (admin != null) {
                 SessionManager.getInstance().loginAdmin(admin);
                 showSuccess("Admin login successful! Welcome, " + admin.getUsername());
                 openAdminDashboard();
@@ -566,9 +571,7 @@ public class LoginScreen extends JFrame {
             } else {
                 showError("Invalid username or password.");
             }
-        } catch (Exception e) {
-            showError("Login failed: " + e.getMessage());
-        }
+        }, e -> showError("Login failed: " + e.getMessage()));
     }
 
     private void handleFlightOwnerLogin() {
@@ -580,9 +583,11 @@ public class LoginScreen extends JFrame {
             return;
         }
 
-        try {
+        loader.load("login", () -> {
             FlightOwner owner = flightOwnerDAO.findByCode(companyCode);
-            if (owner != null && PasswordUtil.verifyPassword(password, owner.getPasswordHash())) {
+            return owner != null && PasswordUtil.verifyPassword(password, owner.getPasswordHash()) ? owner : null;
+        }, owner -> {
+            if (owner != null) {
                 SessionManager.getInstance().loginFlightOwner(owner);
                 showSuccess("Login successful! Welcome, " + owner.getCompanyName());
                 openFlightOwnerDashboard();
@@ -590,9 +595,7 @@ public class LoginScreen extends JFrame {
             } else {
                 showError("Invalid company code or password.");
             }
-        } catch (Exception e) {
-            showError("Login failed: " + e.getMessage());
-        }
+        }, e -> showError("Login failed: " + e.getMessage()));
     }
 
     private void openUserRegistration() {
@@ -11,6 +11,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Flight Owner registration dialog for new airline companies with modern UI design
@@ -28,6 +30,7 @@ public class FlightOwnerRegistrationDialog extends JDialog {
     private JTextField companyNameField, companyCodeField, contactInfoField;
     private JPasswordField passwordField, confirmPasswordField;
     private JButton registerButton, cancelButton;
+    private AsyncLoader loader;
     private FlightOwnerDAO flightOwnerDAO;
 
     public FlightOwnerRegistrationDialog(Frame parent) {
@@ -53,6 +56,7 @@ public class FlightOwnerRegistrationDialog extends JDialog {
         // Create styled buttons
         registerButton = createStyledButton("🏢 Register Company", SUCCESS_GREEN, Color.WHITE);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE);
+        loader = new AsyncLoader(this, registerButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -86,6 +90,17 @@ public class FlightOwnerRegistrationDialog extends JDialog {
         // Enter key on confirm password field
         confirmPasswordField.addActionListener(e -> handleRegistration());
 
+        // The dialog stays open until a running registration has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
+
         // Auto-format company code as user types
         companyCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
             public void keyReleased(java.awt.event.KeyEvent evt) {
@@ -102,6 +117,19 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             return;
         }
 
+        // Check if company code already exists; read in the background, before the company is saved
+        String companyCode = companyCodeField.getText().trim().toUpperCase();
+        loader.load("register", () -> flightOwnerDAO.codeExists(companyCode), exists -> {
+            if (exists) {
+                showError("A company with this code already exists. Please choose a different code.");
+                companyCodeField.requestFocus();
+                return;
+            }
+            registerFlightOwner();
+        }, e -> showError("Registration failed: " + e.getMessage()));
+    }
+
+    private void registerFlightOwner() {
         try {
             // Create new flight owner
             FlightOwner flightOwner = new FlightOwner();
@@ -112,14 +140,15 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             flightOwner.setFlightCount(0);
 
             // Save to database
-            FlightOwner savedOwner = flightOwnerDAO.create(flightOwner);
-            if (savedOwner != null) {
-                showSuccess("Company registration successful! You can now login with your company code and password.");
-                clearFields();
-                dispose();
-            } else {
-                showError("Registration failed. Please try again.");
-            }
+            loader.load("register", () -> flightOwnerDAO.create(flightOwner), savedOwner -> {
+                if (savedOwner != null) {
+                    showSuccess("Company registration successful! You can now login with your company code and password.");
+                    clearFields();
+                    dispose();
+                } else {
+                    showError("Registration failed. Please try again.");
+                }
+            }, e -> showError("Registration failed: " + e.getMessage()));
         } catch (Exception e) {
             showError("Registration failed: " + e.getMessage());
         }
@@ -148,13 +177,6 @@ public class FlightOwnerRegistrationDialog extends JDialog {
             return false;
         }
 
-        // Check if company code already exists
-        if (flightOwnerDAO.codeExists(companyCode.toUpperCase())) {
-            showError("A company with this code already exists. Please choose a different code.");
-            companyCodeField.requestFocus();
-            return false;
-        }
-
         // Contact Info validation
         if (!ValidationUtil.isNotEmpty(contactInfoField.getText())) {
             showError("Contact information is required.");
@@ -660,10 +682,8 @@ public class FlightOwnerRegistrationDialog extends JDialog {
 =======
 package com.GoAero.ui;
 
-import com.GoAero.dao.BookingDAO;
 import com.GoAero.dao.FlightDAO;
-import com.GoAero.model.Booking;
-import com.GoAero.model.Flight;
+import com.GoAero.model.FlightBookingStats;
 import com.GoAero.model.FlightOwner;
 import com.GoAero.model.SessionManager;
 
@@ -678,8 +698,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Panel for flight owners to view booking statistics for their flights with modern analytics UI
@@ -698,13 +716,13 @@ public class OwnerBookingStatsPanel extends JPanel {
     private static final Color WARNING_ORANGE = new Color(255, 193, 7);
     private FlightOwner currentOwner;
     private FlightDAO flightDAO;
-    private BookingDAO bookingDAO;
     
     private JTable flightStatsTable;
     private DefaultTableModel tableModel;
     private JLabel totalFlightsLabel, totalBookingsLabel, totalRevenueLabel;
     private JLabel confirmedBookingsLabel, pendingBookingsLabel, cancelledBookingsLabel;
     private JButton refreshButton;
+    private AsyncLoader loader;
 
     public OwnerBookingStatsPanel() {
         currentOwner = SessionManager.getInstance().getCurrentFlightOwner();
@@ -715,7 +733,6 @@ public class OwnerBookingStatsPanel extends JPanel {
         }
         
         flightDAO = new FlightDAO();
-        bookingDAO = new BookingDAO();
         
         initializeComponents();
         setupLayout();
@@ -734,6 +751,7 @@ public class OwnerBookingStatsPanel extends JPanel {
         
         // Modern styled refresh button
         refreshButton = createStyledButton("🔄 Refresh Analytics", PRIMARY_BLUE, Color.WHITE, 14);
+        loader = new AsyncLoader(this, refreshButton);
         refreshButton.setPreferredSize(new Dimension(180, 40));
         refreshButton.setToolTipText("Refresh booking statistics and analytics");
 
@@ -806,111 +824,63 @@ public class OwnerBookingStatsPanel extends JPanel {
     }
 
     private void loadStatistics() {
-        try {
-            // Load flights for this owner
-            List<Flight> flights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
-            
-            // Load all bookings
-            List<Booking> allBookings = bookingDAO.findAll();
-            
-            // Filter bookings for this owner's flights
-            List<Integer> flightIds = flights.stream()
-                .map(Flight::getFlightId)
-                .collect(Collectors.toList());
-            
-            List<Booking> ownerBookings = allBookings.stream()
-                .filter(booking -> flightIds.contains(booking.getFlightId()))
-                .collect(Collectors.toList());
-
+        // Per-flight counts and revenue for this owner only, aggregated by the database
+        int ownerId = currentOwner.getOwnerId();
+        loader.load("statistics", () -> flightDAO.findBookingStatsByCompanyId(ownerId), flightStats -> {
             // Update summary statistics
-            updateSummaryStatistics(flights, ownerBookings);
-            
-            // Update flight-wise table
-            updateFlightStatsTable(flights, ownerBookings);
-            
-        } catch (Exception e) {
-            System.out.println("Failed to load statistics: " + e.getMessage());
-        }
-    }
+            if (flightStats != null) {
+                updateSummaryStatistics(flightStats);
+            }
 
-    private void updateSummaryStatistics(List<Flight> flights, List<Booking> bookings) {
-        totalFlightsLabel.setText(String.valueOf(flights.size()));
-        totalBookingsLabel.setText(String.valueOf(bookings.size()));
+            // Update flight-wise table; reports a failed load
+            updateFlightStatsTable(flightStats);
+        }, e -> System.out.println("Failed to load statistics: " + e.getMessage()));
+    }
 
-        int confirmed = 0, pending = 0, cancelled = 0;
+    private void updateSummaryStatistics(List<FlightBookingStats> flightStats) {
+        int totalBookings = 0, confirmed = 0, pending = 0, cancelled = 0;
         BigDecimal totalRevenue = BigDecimal.ZERO;
 
-        for (Booking booking : bookings) {
-            switch (booking.getBookingStatus()) {
-                case CONFIRMED:
-                    confirmed++;
-                    if (booking.getPaymentStatus() == Booking.PaymentStatus.COMPLETED) {
-                        totalRevenue = totalRevenue.add(booking.getAmount());
-                    }
-                    break;
-                case PENDING:
-                    pending++;
-                    break;
-                case CANCELLED:
-                    cancelled++;
-                    break;
-            }
+        for (FlightBookingStats stats : flightStats) {
+            totalBookings += stats.getTotalBookings();
+            confirmed += stats.getConfirmedBookings();
+            pending += stats.getPendingBookings();
+            cancelled += stats.getCancelledBookings();
+            totalRevenue = totalRevenue.add(stats.getRevenue());
         }
 
+        totalFlightsLabel.setText(String.valueOf(flightStats.size()));
+        totalBookingsLabel.setText(String.valueOf(totalBookings));
         confirmedBookingsLabel.setText(String.valueOf(confirmed));
         pendingBookingsLabel.setText(String.valueOf(pending));
         cancelledBookingsLabel.setText(String.valueOf(cancelled));
         totalRevenueLabel.setText(String.format("₹%.2f", totalRevenue));
     }
 
-    private void updateFlightStatsTable(List<Flight> flights, List<Booking> allBookings) {
+    private void updateFlightStatsTable(List<FlightBookingStats> flightStats) {
         // Clear existing data
         tableModel.setRowCount(0);
         
-        if (flights == null || allBookings == null) {
+        if (flightStats == null) {
             showError("Failed to retrieve flight or booking data.");
             return;
         }
 
-        // Group bookings by flight ID
-        Map<Integer, List<Booking>> bookingsByFlight = allBookings.stream()
-            .collect(Collectors.groupingBy(Booking::getFlightId));
-
         // Add flight statistics to table
-        for (Flight flight : flights) {
-            List<Booking> flightBookings = bookingsByFlight.getOrDefault(flight.getFlightId(), List.of());
-
-            int confirmedBookings = (int) flightBookings.stream()
-                .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CONFIRMED)
-                .count();
-
-            int totalCapacity = flight.getCapacity();
-            int availableSeats = totalCapacity - confirmedBookings;
-            double occupancyPercent = totalCapacity > 0 ? (confirmedBookings * 100.0 / totalCapacity) : 0.0;
-
-            // Calculate revenue from confirmed bookings with completed payments
-            BigDecimal flightRevenue = flightBookings.stream()
-                .filter(b -> b.getBookingStatus() == Booking.BookingStatus.CONFIRMED && 
-                           b.getPaymentStatus() == Booking.PaymentStatus.COMPLETED)
-                .map(Booking::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Format route display (using available Flight model methods)
-            String route = flight.getRoute() != null ? flight.getRoute() : "Route TBD";
-            
+        for (FlightBookingStats stats : flightStats) {
             // Format departure time
-            String departureTime = flight.getDepartureTime() != null ? 
-                flight.getDepartureTime().format(DateTimeFormatter.ofPattern("MMM dd, HH:mm")) : "TBD";
+            String departureTime = stats.getDepartureTime() != null ? 
+                stats.getDepartureTime().format(DateTimeFormatter.ofPattern("MMM dd, HH:mm")) : "TBD";
 
             Object[] row = {
-                flight.getFlightCode(),
-                route,
+                stats.getFlightCode(),
+                stats.getRoute(),
                 departureTime,
-                totalCapacity,
-                confirmedBookings,
-                availableSeats,
-                String.format("%.1f%%", occupancyPercent),
-                String.format("₹%.2f", flightRevenue)
+                stats.getCapacity(),
+                stats.getConfirmedBookings(),
+                stats.getAvailableSeats(),
+                String.format("%.1f%%", stats.getOccupancyRate()),
+                String.format("₹%.2f", stats.getRevenue())
             };
             tableModel.addRow(row);
         }
@@ -7,6 +7,7 @@ import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
+import com.GoAero.service.SeatInventory;
 import com.GoAero.util.ValidationUtil;
 
 import javax.swing.*;
@@ -14,6 +15,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -45,6 +48,7 @@ public class OwnerFlightDialog extends JDialog {
     private JTextField departureTimeField, destinationTimeField;
     private JComboBox<Airport> departureAirportComboBox, destinationAirportComboBox;
     private JButton saveButton, cancelButton;
+    private AsyncLoader loader;
 
     public OwnerFlightDialog(Frame parent, Flight flight, FlightDAO flightDAO, FlightOwner currentOwner) {
         super(parent, flight == null ? "Add Flight" : "Edit Flight", true);
@@ -85,6 +89,7 @@ public class OwnerFlightDialog extends JDialog {
         String buttonText = isEditMode ? "✈ Update Flight" : "✈ Create Flight";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -112,6 +117,17 @@ public class OwnerFlightDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveFlight());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         
         // Auto-format flight code as user types
         flightCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
@@ -125,16 +141,16 @@ public class OwnerFlightDialog extends JDialog {
     }
 
     private void loadComboBoxData() {
-        try {
-            // Load airports
-            List<Airport> airports = airportDAO.findAll();
+        // Load airports
+        loader.load("airports", airportDAO::findAll, airports -> {
             for (Airport airport : airports) {
                 departureAirportComboBox.addItem(airport);
                 destinationAirportComboBox.addItem(airport);
             }
-        } catch (Exception e) {
-            System.out.println("Failed to load airports: " + e.getMessage());
-        }
+            if (isEditMode) {
+                selectFlightItems();
+            }
+        }, e -> System.out.println("Failed to load airports: " + e.getMessage()));
     }
 
     private void loadFlightData() {
@@ -145,8 +161,12 @@ public class OwnerFlightDialog extends JDialog {
         
         departureTimeField.setText(flight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
         destinationTimeField.setText(flight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
 
-        // Set selected items in combo boxes
+    /**
+     * Selects the flight's airports, once the combo boxes have been filled
+     */
+    private void selectFlightItems() {
         for (int i = 0; i < departureAirportComboBox.getItemCount(); i++) {
             Airport airport = departureAirportComboBox.getItemAt(i);
             if (airport.getAirportId() == flight.getDepartureAirportId()) {
@@ -169,42 +189,62 @@ public class OwnerFlightDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateFlight();
-            } else {
-                createFlight();
+        // Flight codes are unique across all airlines; the code registry may have to be read first, so this
+        // runs in the background, before the save
+        String code = flightCodeField.getText().trim();
+        int excludeFlightId = isEditMode ? flight.getFlightId() : 0;
+        loader.load("save", () -> flightDAO.flightCodeExists(code, excludeFlightId), exists -> {
+            if (exists) {
+                showError("A flight with this code already exists.");
+                flightCodeField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateFlight();
+                } else {
+                    createFlight();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createFlight() {
         Flight newFlight = new Flight();
         populateFlightFromForm(newFlight);
 
-        Flight savedFlight = flightDAO.create(newFlight);
-        if (savedFlight != null) {
-            showSuccess("Flight created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create flight. Please try again.");
-        }
+        loader.load("save", () -> flightDAO.create(newFlight), savedFlight -> {
+            if (savedFlight != null) {
+                showSuccess("Flight created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateFlight() {
         populateFlightFromForm(flight);
 
-        boolean success = flightDAO.update(flight);
-        if (success) {
-            showSuccess("Flight updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update flight. Please try again.");
-        }
+        loader.load("save", () -> {
+            boolean updated = flightDAO.update(flight);
+            if (updated) {
+                // Capacity may have changed
+                SeatInventory.getInstance().refresh(flight.getFlightId());
+            }
+            return updated;
+        }, success -> {
+            if (success) {
+                showSuccess("Flight updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void populateFlightFromForm(Flight flight) {
@@ -228,21 +268,6 @@ public class OwnerFlightDialog extends JDialog {
             return false;
         }
 
-        // Check if flight code already exists for this owner
-        try {
-            List<Flight> ownerFlights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
-            for (Flight existingFlight : ownerFlights) {
-                if (existingFlight.getFlightCode().equalsIgnoreCase(code) && 
-                    (!isEditMode || existingFlight.getFlightId() != flight.getFlightId())) {
-                    showError("You already have a flight with this code.");
-                    flightCodeField.requestFocus();
-                    return false;
-                }
-            }
-        } catch (Exception e) {
-            // Continue with validation
-        }
-
         // Flight Name validation
         if (!ValidationUtil.isNotEmpty(flightNameField.getText())) {
             showError("Flight name is required.");
@@ -810,6 +835,7 @@ import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
+import com.GoAero.service.SeatInventory;
 import com.GoAero.util.ValidationUtil;
 
 import javax.swing.*;
@@ -817,6 +843,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -848,6 +876,7 @@ public class OwnerFlightDialog extends JDialog {
     private JTextField departureTimeField, destinationTimeField;
     private JComboBox<Airport> departureAirportComboBox, destinationAirportComboBox;
     private JButton saveButton, cancelButton;
+    private AsyncLoader loader;
 
     public OwnerFlightDialog(Frame parent, Flight flight, FlightDAO flightDAO, FlightOwner currentOwner) {
         super(parent, flight == null ? "Add Flight" : "Edit Flight", true);
@@ -888,6 +917,7 @@ public class OwnerFlightDialog extends JDialog {
         String buttonText = isEditMode ? "✈ Update Flight" : "✈ Create Flight";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -915,6 +945,17 @@ public class OwnerFlightDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveFlight());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         
         // Auto-format flight code as user types
         flightCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
@@ -928,16 +969,16 @@ public class OwnerFlightDialog extends JDialog {
     }
 
     private void loadComboBoxData() {
-        try {
-            // Load airports
-            List<Airport> airports = airportDAO.findAll();
+        // Load airports
+        loader.load("airports", airportDAO::findAll, airports -> {
             for (Airport airport : airports) {
                 departureAirportComboBox.addItem(airport);
                 destinationAirportComboBox.addItem(airport);
             }
-        } catch (Exception e) {
-            System.out.println("Failed to load airports: " + e.getMessage());
-        }
+            if (isEditMode) {
+                selectFlightItems();
+            }
+        }, e -> System.out.println("Failed to load airports: " + e.getMessage()));
     }
 
     private void loadFlightData() {
@@ -948,8 +989,12 @@ public class OwnerFlightDialog extends JDialog {
         
         departureTimeField.setText(flight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
         destinationTimeField.setText(flight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
 
-        // Set selected items in combo boxes
+    /**
+     * Selects the flight's airports, once the combo boxes have been filled
+     */
+    private void selectFlightItems() {
         for (int i = 0; i < departureAirportComboBox.getItemCount(); i++) {
             Airport airport = departureAirportComboBox.getItemAt(i);
             if (airport.getAirportId() == flight.getDepartureAirportId()) {
@@ -972,42 +1017,62 @@ public class OwnerFlightDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateFlight();
-            } else {
-                createFlight();
+        // Flight codes are unique across all airlines; the code registry may have to be read first, so this
+        // runs in the background, before the save
+        String code = flightCodeField.getText().trim();
+        int excludeFlightId = isEditMode ? flight.getFlightId() : 0;
+        loader.load("save", () -> flightDAO.flightCodeExists(code, excludeFlightId), exists -> {
+            if (exists) {
+                showError("A flight with this code already exists.");
+                flightCodeField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateFlight();
+                } else {
+                    createFlight();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createFlight() {
         Flight newFlight = new Flight();
         populateFlightFromForm(newFlight);
 
-        Flight savedFlight = flightDAO.create(newFlight);
-        if (savedFlight != null) {
-            showSuccess("Flight created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create flight. Please try again.");
-        }
+        loader.load("save", () -> flightDAO.create(newFlight), savedFlight -> {
+            if (savedFlight != null) {
+                showSuccess("Flight created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateFlight() {
         populateFlightFromForm(flight);
 
-        boolean success = flightDAO.update(flight);
-        if (success) {
-            showSuccess("Flight updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update flight. Please try again.");
-        }
+        loader.load("save", () -> {
+            boolean updated = flightDAO.update(flight);
+            if (updated) {
+                // Capacity may have changed
+                SeatInventory.getInstance().refresh(flight.getFlightId());
+            }
+            return updated;
+        }, success -> {
+            if (success) {
+                showSuccess("Flight updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void populateFlightFromForm(Flight flight) {
@@ -1031,21 +1096,6 @@ public class OwnerFlightDialog extends JDialog {
             return false;
         }
 
-        // Check if flight code already exists for this owner
-        try {
-            List<Flight> ownerFlights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
-            for (Flight existingFlight : ownerFlights) {
-                if (existingFlight.getFlightCode().equalsIgnoreCase(code) && 
-                    (!isEditMode || existingFlight.getFlightId() != flight.getFlightId())) {
-                    showError("You already have a flight with this code.");
-                    flightCodeField.requestFocus();
-                    return false;
-                }
-            }
-        } catch (Exception e) {
-            // Continue with validation
-        }
-
         // Flight Name validation
         if (!ValidationUtil.isNotEmpty(flightNameField.getText())) {
             showError("Flight name is required.");
@@ -1614,6 +1664,7 @@ import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
+import com.GoAero.service.SeatInventory;
 import com.GoAero.util.ValidationUtil;
 
 import javax.swing.*;
@@ -1621,6 +1672,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -1652,6 +1705,7 @@ public class OwnerFlightDialog extends JDialog {
     private JTextField departureTimeField, destinationTimeField;
     private JComboBox<Airport> departureAirportComboBox, destinationAirportComboBox;
     private JButton saveButton, cancelButton;
+    private AsyncLoader loader;
 
     public OwnerFlightDialog(Frame parent, Flight flight, FlightDAO flightDAO, FlightOwner currentOwner) {
         super(parent, flight == null ? "Add Flight" : "Edit Flight", true);
@@ -1692,6 +1746,7 @@ public class OwnerFlightDialog extends JDialog {
         String buttonText = isEditMode ? "✈ Update Flight" : "✈ Create Flight";
         saveButton = createStyledButton(buttonText, PRIMARY_BLUE, Color.WHITE, 14);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE, 14);
+        loader = new AsyncLoader(this, saveButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -1735,6 +1790,17 @@ public class OwnerFlightDialog extends JDialog {
     private void setupEventListeners() {
         saveButton.addActionListener(e -> saveFlight());
         cancelButton.addActionListener(e -> dispose());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
         
         // Auto-format flight code as user types
         flightCodeField.addKeyListener(new java.awt.event.KeyAdapter() {
@@ -1748,16 +1814,16 @@ public class OwnerFlightDialog extends JDialog {
     }
 
     private void loadComboBoxData() {
-        try {
-            // Load airports
-            List<Airport> airports = airportDAO.findAll();
+        // Load airports
+        loader.load("airports", airportDAO::findAll, airports -> {
             for (Airport airport : airports) {
                 departureAirportComboBox.addItem(airport);
                 destinationAirportComboBox.addItem(airport);
             }
-        } catch (Exception e) {
-            System.out.println("Failed to load airports: " + e.getMessage());
-        }
+            if (isEditMode) {
+                selectFlightItems();
+            }
+        }, e -> System.out.println("Failed to load airports: " + e.getMessage()));
     }
 
     private void loadFlightData() {
@@ -1768,8 +1834,12 @@ public class OwnerFlightDialog extends JDialog {
         
         departureTimeField.setText(flight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
         destinationTimeField.setText(flight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
 
-        // Set selected items in combo boxes
+    /**
+     * Selects the flight's airports, once the combo boxes have been filled
+     */
+    private void selectFlightItems() {
         for (int i = 0; i < departureAirportComboBox.getItemCount(); i++) {
             Airport airport = departureAirportComboBox.getItemAt(i);
             if (airport.getAirportId() == flight.getDepartureAirportId()) {
@@ -1792,42 +1862,62 @@ public class OwnerFlightDialog extends JDialog {
             return;
         }
 
-        try {
-            if (isEditMode) {
-                updateFlight();
-            } else {
-                createFlight();
+        // Flight codes are unique across all airlines; the code registry may have to be read first, so this
+        // runs in the background, before the save
+        String code = flightCodeField.getText().trim();
+        int excludeFlightId = isEditMode ? flight.getFlightId() : 0;
+        loader.load("save", () -> flightDAO.flightCodeExists(code, excludeFlightId), exists -> {
+            if (exists) {
+                showError("A flight with this code already exists.");
+                flightCodeField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showError("Save failed: " + e.getMessage());
-        }
+            try {
+                if (isEditMode) {
+                    updateFlight();
+                } else {
+                    createFlight();
+                }
+            } catch (Exception e) {
+                showError("Save failed: " + e.getMessage());
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void createFlight() {
         Flight newFlight = new Flight();
         populateFlightFromForm(newFlight);
 
-        Flight savedFlight = flightDAO.create(newFlight);
-        if (savedFlight != null) {
-            showSuccess("Flight created successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to create flight. Please try again.");
-        }
+        loader.load("save", () -> flightDAO.create(newFlight), savedFlight -> {
+            if (savedFlight != null) {
+                showSuccess("Flight created successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to create flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void updateFlight() {
         populateFlightFromForm(flight);
 
-        boolean success = flightDAO.update(flight);
-        if (success) {
-            showSuccess("Flight updated successfully!");
-            dataChanged = true;
-            dispose();
-        } else {
-            showError("Failed to update flight. Please try again.");
-        }
+        loader.load("save", () -> {
+            boolean updated = flightDAO.update(flight);
+            if (updated) {
+                // Capacity may have changed
+                SeatInventory.getInstance().refresh(flight.getFlightId());
+            }
+            return updated;
+        }, success -> {
+            if (success) {
+                showSuccess("Flight updated successfully!");
+                dataChanged = true;
+                dispose();
+            } else {
+                showError("Failed to update flight. Please try again.");
+            }
+        }, e -> showError("Save failed: " + e.getMessage()));
     }
 
     private void populateFlightFromForm(Flight flight) {
@@ -1851,21 +1941,6 @@ public class OwnerFlightDialog extends JDialog {
             return false;
         }
 
-        // Check if flight code already exists for this owner
-        try {
-            List<Flight> ownerFlights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
-            for (Flight existingFlight : ownerFlights) {
-                if (existingFlight.getFlightCode().equalsIgnoreCase(code) && 
-                    (!isEditMode || existingFlight.getFlightId() != flight.getFlightId())) {
-                    showError("You already have a flight with this code.");
-                    flightCodeField.requestFocus();
-                    return false;
-                }
-            }
-        } catch (Exception e) {
-            // Continue with validation
-        }
-
         // Flight Name validation
         if (!ValidationUtil.isNotEmpty(flightNameField.getText())) {
             showError("Flight name is required.");
@@ -5,6 +5,7 @@ import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
 import com.GoAero.model.SessionManager;
+import com.GoAero.service.SeatInventory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -33,11 +34,12 @@ public class OwnerFlightManagementPanel extends JPanel {
     private JTable flightsTable;
     private DefaultTableModel tableModel;
     private JButton addFlightButton, editFlightButton, deleteFlightButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
     private FlightDAO flightDAO;
     private FlightOwner currentOwner;
-    private List<Flight> flights;
+    private List<Flight> flights = List.of();
 
     public OwnerFlightManagementPanel() {
         currentOwner = SessionManager.getInstance().getCurrentFlightOwner();
@@ -103,6 +105,7 @@ public class OwnerFlightManagementPanel extends JPanel {
         addFlightButton = createStyledButton("✈ Add Flight", PRIMARY_BLUE, Color.WHITE, 14);
         editFlightButton = createStyledButton("✏ Edit Flight", ACCENT_ORANGE, Color.WHITE, 14);
         deleteFlightButton = createStyledButton("🗑 Delete Flight", DANGER_RED, Color.WHITE, 14);
+        loader = new AsyncLoader(this, deleteFlightButton);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
         // Modern search components
@@ -157,13 +160,12 @@ public class OwnerFlightManagementPanel extends JPanel {
     }
 
     private void loadFlights() {
-        try {
-            flights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
+        int ownerId = currentOwner.getOwnerId();
+        loader.load("flights", () -> flightDAO.findByCompanyId(ownerId), loaded -> {
+            flights = loaded;
             displayFlights(flights);
             updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load flights: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load flights: " + e.getMessage()));
     }
 
     private void displayFlights(List<Flight> flightList) {
@@ -250,17 +252,15 @@ public class OwnerFlightManagementPanel extends JPanel {
         boolean confirmed = showDeleteConfirmationDialog(selectedFlight);
         
         if (confirmed) {
-            try {
-                boolean success = flightDAO.delete(selectedFlight.getFlightId());
+            loader.load("delete", () -> flightDAO.delete(selectedFlight.getFlightId()), success -> {
                 if (success) {
+                    SeatInventory.getInstance().evict(selectedFlight.getFlightId());
                     showSuccess("Flight deleted successfully.");
                     loadFlights();
                 } else {
                     showError("Failed to delete flight. It may have associated bookings.");
                 }
-            } catch (Exception e) {
-                showError("Deletion failed: " + e.getMessage());
-            }
+            }, e -> showError("Deletion failed: " + e.getMessage()));
         }
     }
 
@@ -796,6 +796,7 @@ import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Flight;
 import com.GoAero.model.FlightOwner;
 import com.GoAero.model.SessionManager;
+import com.GoAero.service.SeatInventory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -824,11 +825,12 @@ public class OwnerFlightManagementPanel extends JPanel {
     private JTable flightsTable;
     private DefaultTableModel tableModel;
     private JButton addFlightButton, editFlightButton, deleteFlightButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
     private FlightDAO flightDAO;
     private FlightOwner currentOwner;
-    private List<Flight> flights;
+    private List<Flight> flights = List.of();
 
     public OwnerFlightManagementPanel() {
         currentOwner = SessionManager.getInstance().getCurrentFlightOwner();
@@ -894,6 +896,7 @@ public class OwnerFlightManagementPanel extends JPanel {
         addFlightButton = createStyledButton("✈ Add Flight", PRIMARY_BLUE, Color.WHITE, 14);
         editFlightButton = createStyledButton("✏ Edit Flight", ACCENT_ORANGE, Color.WHITE, 14);
         deleteFlightButton = createStyledButton("🗑 Delete Flight", DANGER_RED, Color.WHITE, 14);
+        loader = new AsyncLoader(this, deleteFlightButton);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
         // Modern search components
@@ -948,13 +951,12 @@ public class OwnerFlightManagementPanel extends JPanel {
     }
 
     private void loadFlights() {
-        try {
-            flights = flightDAO.findByCompanyId(currentOwner.getOwnerId());
+        int ownerId = currentOwner.getOwnerId();
+        loader.load("flights", () -> flightDAO.findByCompanyId(ownerId), loaded -> {
+            flights = loaded;
             displayFlights(flights);
             updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load flights: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load flights: " + e.getMessage()));
     }
 
     private void displayFlights(List<Flight> flightList) {
@@ -1041,17 +1043,15 @@ public class OwnerFlightManagementPanel extends JPanel {
         boolean confirmed = showDeleteConfirmationDialog(selectedFlight);
         
         if (confirmed) {
-            try {
-                boolean success = flightDAO.delete(selectedFlight.getFlightId());
+            loader.load("delete", () -> flightDAO.delete(selectedFlight.getFlightId()), success -> {
                 if (success) {
+                    SeatInventory.getInstance().evict(selectedFlight.getFlightId());
                     showSuccess("Flight deleted successfully.");
                     loadFlights();
                 } else {
                     showError("Failed to delete flight. It may have associated bookings.");
                 }
-            } catch (Exception e) {
-                showError("Deletion failed: " + e.getMessage());
-            }
+            }, e -> showError("Deletion failed: " + e.getMessage()));
         }
     }
 
@@ -33,6 +33,7 @@ public class OwnerProfilePanel extends JPanel {
     private JTextField companyNameField, companyCodeField, contactInfoField;
     private JPasswordField currentPasswordField, newPasswordField, confirmPasswordField;
     private JButton saveButton, changePasswordButton;
+    private AsyncLoader loader;
     private JPanel passwordPanel;
     private boolean isPasswordChangeMode = false;
 
@@ -64,6 +65,7 @@ public class OwnerProfilePanel extends JPanel {
         // Create modern styled buttons
         saveButton = createStyledButton("💾 Save Changes", PRIMARY_BLUE, Color.WHITE, 14);
         changePasswordButton = createStyledButton("🔐 Change Password", ACCENT_ORANGE, Color.WHITE, 14);
+        loader = new AsyncLoader(this, saveButton, changePasswordButton);
         
         // Company code field should be read-only for existing owners
         companyCodeField.setEditable(false);
@@ -189,20 +191,19 @@ public class OwnerProfilePanel extends JPanel {
             }
 
             // Save to database
-            boolean success = flightOwnerDAO.update(currentOwner);
-            
-            if (success) {
-                // Update session
-                SessionManager.getInstance().loginFlightOwner(currentOwner);
-                showSuccess("Profile updated successfully!");
-                
-                if (isPasswordChangeMode) {
-                    togglePasswordChangeMode();
+            loader.load("save", () -> flightOwnerDAO.update(currentOwner), success -> {
+                if (success) {
+                    // Update session
+                    SessionManager.getInstance().loginFlightOwner(currentOwner);
+                    showSuccess("Profile updated successfully!");
+
+                    if (isPasswordChangeMode) {
+                        togglePasswordChangeMode();
+                    }
+                } else {
+                    showError("Failed to update profile. Please try again.");
                 }
-            } else {
-                showError("Failed to update profile. Please try again.");
-            }
-            
+            }, e -> showError("Update failed: " + e.getMessage()));
         } catch (Exception e) {
             showError("Update failed: " + e.getMessage());
         }
@@ -817,6 +818,7 @@ public class OwnerProfilePanel extends JPanel {
     private JTextField companyNameField, companyCodeField, contactInfoField;
     private JPasswordField currentPasswordField, newPasswordField, confirmPasswordField;
     private JButton saveButton, changePasswordButton;
+    private AsyncLoader loader;
     private JPanel passwordPanel;
     private boolean isPasswordChangeMode = false;
 
@@ -848,6 +850,7 @@ public class OwnerProfilePanel extends JPanel {
         // Create modern styled buttons
         saveButton = createStyledButton("💾 Save Changes", PRIMARY_BLUE, Color.WHITE, 14);
         changePasswordButton = createStyledButton("🔐 Change Password", ACCENT_ORANGE, Color.WHITE, 14);
+        loader = new AsyncLoader(this, saveButton, changePasswordButton);
         
         // Company code field should be read-only for existing owners
         companyCodeField.setEditable(false);
@@ -973,20 +976,19 @@ public class OwnerProfilePanel extends JPanel {
             }
 
             // Save to database
-            boolean success = flightOwnerDAO.update(currentOwner);
-            
-            if (success) {
-                // Update session
-                SessionManager.getInstance().loginFlightOwner(currentOwner);
-                showSuccess("Profile updated successfully!");
-                
-                if (isPasswordChangeMode) {
-                    togglePasswordChangeMode();
+            loader.load("save", () -> flightOwnerDAO.update(currentOwner), success -> {
+                if (success) {
+                    // Update session
+                    SessionManager.getInstance().loginFlightOwner(currentOwner);
+                    showSuccess("Profile updated successfully!");
+
+                    if (isPasswordChangeMode) {
+                        togglePasswordChangeMode();
+                    }
+                } else {
+                    showError("Failed to update profile. Please try again.");
                 }
-            } else {
-                showError("Failed to update profile. Please try again.");
-            }
-            
+            }, e -> showError("Update failed: " + e.getMessage()));
         } catch (Exception e) {
             showError("Update failed: " + e.getMessage());
         }
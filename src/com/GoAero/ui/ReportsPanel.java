@@ -4,13 +4,13 @@ import com.GoAero.dao.BookingDAO;
 import com.GoAero.dao.FlightDAO;
 import com.GoAero.dao.UserDAO;
 import com.GoAero.dao.FlightOwnerDAO;
+import com.GoAero.model.Booking;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -33,6 +33,7 @@ public class ReportsPanel extends JPanel {
     private FlightDAO flightDAO;
     private FlightOwnerDAO flightOwnerDAO;
     private BookingDAO bookingDAO;
+    private AsyncLoader loader;
     
     private JLabel totalUsersLabel, totalFlightsLabel, totalAirlinesLabel, totalBookingsLabel;
     private JLabel totalRevenueLabel, pendingBookingsLabel, confirmedBookingsLabel, cancelledBookingsLabel;
@@ -43,6 +44,7 @@ public class ReportsPanel extends JPanel {
         flightDAO = new FlightDAO();
         flightOwnerDAO = new FlightOwnerDAO();
         bookingDAO = new BookingDAO();
+        loader = new AsyncLoader(this);
         
         initializeComponents();
         setupLayout();
@@ -194,61 +196,28 @@ public class ReportsPanel extends JPanel {
     }
 
     private void loadReports() {
-        try {
-            // Load basic counts
-            long totalUsers = userDAO.count();
-            long totalFlights = flightDAO.count();
-            long totalAirlines = flightOwnerDAO.count();
-            long totalBookings = bookingDAO.count();
-
-            // Update labels
-            totalUsersLabel.setText(String.valueOf(totalUsers));
-            totalFlightsLabel.setText(String.valueOf(totalFlights));
-            totalAirlinesLabel.setText(String.valueOf(totalAirlines));
-            totalBookingsLabel.setText(String.valueOf(totalBookings));
-
-            // Load booking statistics (this would require additional DAO methods)
-            loadBookingStatistics();
-            
-        } catch (Exception e) {
-            System.out.println("Failed to load reports: " + e.getMessage());
-        }
+        // Repeated refreshes while a load is running are coalesced into one more load
+        loader.refresh("counts",
+            () -> new long[] {userDAO.count(), flightDAO.count(), flightOwnerDAO.count(), bookingDAO.count()},
+            counts -> {
+                totalUsersLabel.setText(String.valueOf(counts[0]));
+                totalFlightsLabel.setText(String.valueOf(counts[1]));
+                totalAirlinesLabel.setText(String.valueOf(counts[2]));
+                totalBookingsLabel.setText(String.valueOf(counts[3]));
+            },
+            e -> System.out.println("Failed to load reports: " + e.getMessage()));
+
+        loadBookingStatistics();
     }
 
     private void loadBookingStatistics() {
-        try {
-            // For now, we'll use simple counts
-            // In a real implementation, you'd add methods to BookingDAO for these statistics
-            int confirmed = 0, pending = 0, cancelled = 0;
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-
-            // This is a simplified approach - in practice you'd add specific DAO methods
-            var allBookings = bookingDAO.findAll();
-            for (var booking : allBookings) {
-                switch (booking.getBookingStatus()) {
-                    case CONFIRMED:
-                        confirmed++;
-                        if (booking.getPaymentStatus() == com.GoAero.model.Booking.PaymentStatus.COMPLETED) {
-                            totalRevenue = totalRevenue.add(booking.getAmount());
-                        }
-                        break;
-                    case PENDING:
-                        pending++;
-                        break;
-                    case CANCELLED:
-                        cancelled++;
-                        break;
-                }
-            }
-
-            confirmedBookingsLabel.setText(String.valueOf(confirmed));
-            pendingBookingsLabel.setText(String.valueOf(pending));
-            cancelledBookingsLabel.setText(String.valueOf(cancelled));
-            totalRevenueLabel.setText(String.format("₹%.2f", totalRevenue));
-
-        } catch (Exception e) {
-            System.out.println("Failed to load booking statistics: " + e.getMessage());
-        }
+        // Counts and revenue are aggregated by the database in a single grouped query
+        loader.refresh("statistics", bookingDAO::getBookingStatistics, statistics -> {
+            confirmedBookingsLabel.setText(String.valueOf(statistics.getCount(Booking.BookingStatus.CONFIRMED)));
+            pendingBookingsLabel.setText(String.valueOf(statistics.getCount(Booking.BookingStatus.PENDING)));
+            cancelledBookingsLabel.setText(String.valueOf(statistics.getCount(Booking.BookingStatus.CANCELLED)));
+            totalRevenueLabel.setText(String.format("₹%.2f", statistics.getRevenue()));
+        }, e -> System.out.println("Failed to load booking statistics: " + e.getMessage()));
     }
 
     private void exportReports() {
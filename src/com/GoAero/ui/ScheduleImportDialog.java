@@ -0,0 +1,185 @@
+package com.GoAero.ui;
+
+import com.GoAero.service.ScheduleImporter;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Imports a schedule file in the background, showing its progress and a summary.
+ * Rows that were rejected can be saved as a CSV error report.
+ */
+public class ScheduleImportDialog extends JDialog {
+    // Professional color scheme (consistent with other pages)
+    private static final Color PRIMARY_BLUE = new Color(25, 118, 210);
+    private static final Color DARK_BLUE = new Color(13, 71, 161);
+    private static final Color ACCENT_ORANGE = new Color(255, 152, 0);
+    private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
+
+    private final File file;
+    private ScheduleImporter.Result result;
+    private ImportWorker worker;
+
+    private JLabel statusLabel;
+    private JProgressBar progressBar;
+    private JButton saveReportButton, closeButton;
+
+    public ScheduleImportDialog(Frame parent, File file) {
+        super(parent, "Import Schedule", true);
+        this.file = file;
+        initializeComponents();
+        setupLayout();
+        setupEventListeners();
+    }
+
+    /**
+     * Starts the import and shows the dialog until it is closed
+     */
+    public void start() {
+        worker = new ImportWorker();
+        worker.execute();
+        setVisible(true);
+    }
+
+    /**
+     * Whether any flights were imported
+     */
+    public boolean isDataChanged() {
+        return result != null && result.getImported() > 0;
+    }
+
+    private void initializeComponents() {
+        setSize(480, 220);
+        setLocationRelativeTo(getParent());
+        setResizable(false);
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+
+        statusLabel = new JLabel("Reading " + file.getName() + "...");
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        statusLabel.setForeground(DARK_BLUE);
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+
+        saveReportButton = createButton("💾 Save Error Report", ACCENT_ORANGE);
+        saveReportButton.setVisible(false);
+        closeButton = createButton("Cancel", PRIMARY_BLUE);
+    }
+
+    private void setupLayout() {
+        JPanel mainPanel = new JPanel(new BorderLayout(0, 15));
+        mainPanel.setBackground(BACKGROUND_GRAY);
+        mainPanel.setBorder(new EmptyBorder(20, 25, 20, 25));
+
+        JLabel titleLabel = new JLabel("📥 " + file.getName());
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        titleLabel.setForeground(DARK_BLUE);
+
+        JPanel progressPanel = new JPanel(new BorderLayout(0, 8));
+        progressPanel.setBackground(BACKGROUND_GRAY);
+        progressPanel.add(statusLabel, BorderLayout.NORTH);
+        progressPanel.add(progressBar, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.setBackground(BACKGROUND_GRAY);
+        buttonPanel.add(saveReportButton);
+        buttonPanel.add(closeButton);
+
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+        mainPanel.add(progressPanel, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        add(mainPanel);
+    }
+
+    private void setupEventListeners() {
+        closeButton.addActionListener(e -> {
+            if (worker != null && !worker.isDone()) {
+                // The importer stops after the chunk it is writing and reports what it imported
+                worker.importer.cancel();
+                closeButton.setEnabled(false);
+                statusLabel.setText("Cancelling...");
+            } else {
+                dispose();
+            }
+        });
+        saveReportButton.addActionListener(e -> saveErrorReport());
+    }
+
+    private void showResult() {
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(progressBar.getMaximum());
+        statusLabel.setText(String.format("<html>%s %,d of %,d flights, %,d rejected.</html>",
+            result.isCancelled() ? "Cancelled after importing" : "Imported",
+            result.getImported(), result.getRowsRead(), result.getRejected()));
+        saveReportButton.setVisible(result.getRejected() > 0);
+        closeButton.setText("Close");
+        closeButton.setEnabled(true);
+    }
+
+    private void saveErrorReport() {
+        JFileChooser chooser = new JFileChooser(file.getParentFile());
+        chooser.setSelectedFile(new File(file.getParentFile(), "import-errors.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(chooser.getSelectedFile().toPath(), StandardCharsets.UTF_8)) {
+            result.writeErrorReport(writer);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Failed to save error report: " + e.getMessage(),
+                "Import Schedule", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private JButton createButton(String text, Color background) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 13));
+        button.setBackground(background);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        return button;
+    }
+
+    /**
+     * Runs the import off the EDT and publishes its progress
+     */
+    private final class ImportWorker extends SwingWorker<ScheduleImporter.Result, int[]> {
+        final ScheduleImporter importer = new ScheduleImporter();
+
+        @Override
+        protected ScheduleImporter.Result doInBackground() throws Exception {
+            return importer.importFile(file,
+                (rowsRead, imported, rejected) -> publish(new int[] {rowsRead, imported, rejected}));
+        }
+
+        @Override
+        protected void process(List<int[]> chunks) {
+            int[] latest = chunks.get(chunks.size() - 1);
+            statusLabel.setText(String.format("%,d rows read, %,d imported, %,d rejected",
+                latest[0], latest[1], latest[2]));
+        }
+
+        @Override
+        protected void done() {
+            try {
+                result = get();
+                showResult();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.out.println("Failed to import schedule: " + e.getCause().getMessage());
+                JOptionPane.showMessageDialog(ScheduleImportDialog.this,
+                    "Import failed: " + e.getCause().getMessage(), "Import Schedule", JOptionPane.ERROR_MESSAGE);
+                dispose();
+            }
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.GoAero.dao.AirportDAO;
 import com.GoAero.dao.FlightDAO;
 import com.GoAero.model.Airport;
 import com.GoAero.model.Flight;
+import com.GoAero.model.Itinerary;
 import com.GoAero.model.SessionManager;
+import com.GoAero.service.RouteFinder;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -13,8 +15,10 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -30,19 +34,24 @@ public class SearchFlights extends JFrame {
     private static final Color SUCCESS_GREEN = new Color(76, 175, 80);
     private static final Color BACKGROUND_GRAY = new Color(250, 250, 250);
     private static final Color CARD_WHITE = Color.WHITE;
+    private static final int MAX_ITINERARIES = 50;
+    private static final int FLEXIBLE_DAYS = 3;
     private JComboBox<Airport> departureComboBox, destinationComboBox;
     private JTextField departureDateField;
-    private JButton searchButton, backButton, bookButton;
+    private JCheckBox connectionsCheckBox, flexibleDatesCheckBox;
+    private JButton searchButton, backButton, bookButton, fareCalendarButton;
     private JTable flightsTable;
     private DefaultTableModel tableModel;
     
     private AirportDAO airportDAO;
     private FlightDAO flightDAO;
-    private List<Flight> searchResults;
+    private AsyncLoader loader;
+    private List<Itinerary> searchResults;
 
     public SearchFlights() {
         airportDAO = new AirportDAO();
         flightDAO = new FlightDAO();
+        loader = new AsyncLoader(this);
         initializeComponents();
         setupLayout();
         setupEventListeners();
@@ -85,10 +94,23 @@ public class SearchFlights extends JFrame {
             BorderFactory.createEmptyBorder(5, 10, 5, 10)
         ));
 
+        connectionsCheckBox = new JCheckBox("Include connecting flights (up to " + RouteFinder.MAX_STOPS + " stops)");
+        connectionsCheckBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        connectionsCheckBox.setForeground(DARK_BLUE);
+        connectionsCheckBox.setBackground(CARD_WHITE);
+
+        flexibleDatesCheckBox = new JCheckBox("Flexible dates (±" + FLEXIBLE_DAYS + " days)");
+        flexibleDatesCheckBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        flexibleDatesCheckBox.setForeground(DARK_BLUE);
+        flexibleDatesCheckBox.setBackground(CARD_WHITE);
+
         // Modern styled buttons
         searchButton = createStyledButton("🔍 Search Flights", PRIMARY_BLUE, Color.WHITE, 16);
         searchButton.setPreferredSize(new Dimension(160, 45));
 
+        fareCalendarButton = createStyledButton("📅 Fare Calendar", ACCENT_ORANGE, Color.WHITE, 14);
+        fareCalendarButton.setPreferredSize(new Dimension(160, 40));
+
         backButton = createStyledButton("← Back", new Color(108, 117, 125), Color.WHITE, 14);
         backButton.setPreferredSize(new Dimension(100, 40));
 
@@ -241,11 +263,25 @@ public class SearchFlights extends JFrame {
         datePanel.add(dateHint);
         fieldsPanel.add(datePanel, gbc);
 
+        // Search options
+        gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 3;
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        optionsPanel.setBackground(CARD_WHITE);
+        optionsPanel.add(connectionsCheckBox);
+        optionsPanel.add(Box.createHorizontalStrut(20));
+        optionsPanel.add(flexibleDatesCheckBox);
+        fieldsPanel.add(optionsPanel, gbc);
+        gbc.gridwidth = 1;
+
         // Search button
         gbc.gridx = 3; gbc.gridy = 0; gbc.gridheight = 2;
         gbc.anchor = GridBagConstraints.CENTER;
         fieldsPanel.add(searchButton, gbc);
 
+        // Fare calendar button
+        gbc.gridy = 2; gbc.gridheight = 1;
+        fieldsPanel.add(fareCalendarButton, gbc);
+
         formPanel.add(formTitle, BorderLayout.NORTH);
         formPanel.add(fieldsPanel, BorderLayout.CENTER);
 
@@ -292,6 +328,7 @@ public class SearchFlights extends JFrame {
 
     private void setupEventListeners() {
         searchButton.addActionListener(e -> performSearch());
+        fareCalendarButton.addActionListener(e -> showFareCalendar());
         bookButton.addActionListener(e -> bookSelectedFlight());
         backButton.addActionListener(e -> goBackToDashboard());
         
@@ -300,25 +337,13 @@ public class SearchFlights extends JFrame {
     }
 
     private void loadAirports() {
-        try {
-            List<Airport> airports = airportDAO.findAll();
-            
-            // Add default option
-            departureComboBox.addItem(null);
-            destinationComboBox.addItem(null);
-            
-            for (Airport airport : airports) {
-                departureComboBox.addItem(airport);
-                destinationComboBox.addItem(airport);
-            }
-            
-            // Custom renderer to show airport display name
-            departureComboBox.setRenderer(new AirportComboBoxRenderer());
-            destinationComboBox.setRenderer(new AirportComboBoxRenderer());
-            
-        } catch (Exception e) {
-            System.out.println("Failed to load airports: " + e.getMessage());
-        }
+        // Custom renderer to show airport display name
+        departureComboBox.setRenderer(new AirportComboBoxRenderer());
+        destinationComboBox.setRenderer(new AirportComboBoxRenderer());
+
+        // Type to filter; suggestions come from the in-memory airport index
+        new AirportAutoComplete(departureComboBox, airportDAO, loader, "departure-airports");
+        new AirportAutoComplete(destinationComboBox, airportDAO, loader, "destination-airports");
     }
 
     private void performSearch() {
@@ -326,23 +351,57 @@ public class SearchFlights extends JFrame {
             return;
         }
 
-        try {
-            Airport departure = (Airport) departureComboBox.getSelectedItem();
-            Airport destination = (Airport) destinationComboBox.getSelectedItem();
-            LocalDate departureDate = LocalDate.parse(departureDateField.getText().trim());
-
-            searchResults = flightDAO.searchFlights(departure.getAirportId(), destination.getAirportId(), departureDate);
-            
-            // Update available seats for each flight
-            for (Flight flight : searchResults) {
-                int availableSeats = flightDAO.getAvailableSeats(flight.getFlightId());
-                flight.setAvailableSeats(availableSeats);
+        Airport departure = (Airport) departureComboBox.getSelectedItem();
+        Airport destination = (Airport) destinationComboBox.getSelectedItem();
+        LocalDate departureDate = LocalDate.parse(departureDateField.getText().trim());
+
+        boolean includeConnections = connectionsCheckBox.isSelected();
+        // Departures from the start of the first day until the start of the day after the last
+        int flexibleDays = flexibleDatesCheckBox.isSelected() ? FLEXIBLE_DAYS : 0;
+        LocalDate firstDay = departureDate.minusDays(flexibleDays);
+        LocalDateTime departingFrom = (firstDay.isBefore(LocalDate.now()) ? LocalDate.now() : firstDay).atStartOfDay();
+        LocalDateTime departingBefore = departureDate.plusDays(flexibleDays + 1).atStartOfDay();
+
+        // Flights come back with their available seats already filled in.
+        // A new search replaces one that is still running.
+        loader.load("search", () -> {
+            if (includeConnections) {
+                return RouteFinder.getInstance().findItineraries(departure.getAirportId(),
+                    destination.getAirportId(), departingFrom, departingBefore, RouteFinder.MAX_STOPS,
+                    RouteFinder.Ranking.DURATION, MAX_ITINERARIES);
             }
-            
+            List<Itinerary> itineraries = new ArrayList<>();
+            for (Flight flight : flightDAO.searchFlightsWithAvailability(
+                    departure.getAirportId(), destination.getAirportId(), departingFrom, departingBefore)) {
+                itineraries.add(new Itinerary(List.of(flight)));
+            }
+            return itineraries;
+        }, itineraries -> {
+            searchResults = itineraries;
             displaySearchResults();
-            
-        } catch (Exception e) {
-            showError("Search failed: " + e.getMessage());
+        }, e -> showError("Search failed: " + e.getMessage()));
+    }
+
+    private void showFareCalendar() {
+        Object departure = departureComboBox.getSelectedItem();
+        Object destination = destinationComboBox.getSelectedItem();
+        if (departure == null || destination == null || departure.equals(destination)) {
+            showError("Please select two different airports to see their fare calendar.");
+            return;
+        }
+
+        LocalDate initialDate;
+        try {
+            initialDate = LocalDate.parse(departureDateField.getText().trim());
+        } catch (DateTimeParseException e) {
+            initialDate = LocalDate.now();
+        }
+
+        FareCalendarDialog dialog = new FareCalendarDialog(this, (Airport) departure, (Airport) destination, initialDate);
+        dialog.setVisible(true);
+        if (dialog.getSelectedDate() != null) {
+            departureDateField.setText(dialog.getSelectedDate().format(DateTimeFormatter.ISO_LOCAL_DATE));
+            performSearch();
         }
     }
 
@@ -385,16 +444,16 @@ public class SearchFlights extends JFrame {
             return;
         }
 
-        // Add flights to table
-        for (Flight flight : searchResults) {
+        // Add flights to table; a connecting journey is one row with all of its flights
+        for (Itinerary itinerary : searchResults) {
             Object[] row = {
-                flight.getFlightCode(),
-                flight.getCompanyName(),
-                flight.getRoute(),
-                flight.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                flight.getDestinationTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                "₹" + flight.getPrice(),
-                flight.getAvailableSeats()
+                itinerary.getFlightCodes(),
+                itinerary.getCompanyNames(),
+                itinerary.getRoute(),
+                itinerary.getDepartureTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+                itinerary.getArrivalTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+                "₹" + itinerary.getTotalPrice(),
+                itinerary.getAvailableSeats()
             };
             tableModel.addRow(row);
         }
@@ -412,16 +471,16 @@ public class SearchFlights extends JFrame {
             return;
         }
 
-        Flight selectedFlight = searchResults.get(selectedRow);
+        Itinerary selectedItinerary = searchResults.get(selectedRow);
         
-        if (selectedFlight.getAvailableSeats() <= 0) {
+        if (selectedItinerary.getAvailableSeats() <= 0) {
             showError("This flight is fully booked.");
             return;
         }
 
-        // Open booking dialog
+        // Open booking dialog; a connecting journey is booked as a whole, all flights or none
         SwingUtilities.invokeLater(() -> {
-            new FlightBookingDialog(this, selectedFlight).setVisible(true);
+            new FlightBookingDialog(this, selectedItinerary).setVisible(true);
         });
     }
 
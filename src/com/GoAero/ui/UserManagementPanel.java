@@ -30,10 +30,11 @@ public class UserManagementPanel extends JPanel {
     private JTable usersTable;
     private DefaultTableModel tableModel;
     private JButton addUserButton, editUserButton, deleteUserButton, refreshButton;
+    private AsyncLoader loader;
     private JTextField searchField;
     private JButton searchButton;
     private UserDAO userDAO;
-    private List<User> users;
+    private List<User> users = List.of();
 
     public UserManagementPanel() {
         userDAO = new UserDAO();
@@ -86,6 +87,7 @@ public class UserManagementPanel extends JPanel {
         addUserButton = createStyledButton("👤 Add User", PRIMARY_BLUE, Color.WHITE, 14);
         editUserButton = createStyledButton("✏ Edit User", ACCENT_ORANGE, Color.WHITE, 14);
         deleteUserButton = createStyledButton("🗑 Delete User", DANGER_RED, Color.WHITE, 14);
+        loader = new AsyncLoader(this, deleteUserButton);
         refreshButton = createStyledButton("🔄 Refresh", SUCCESS_GREEN, Color.WHITE, 14);
 
         // Modern search components
@@ -140,13 +142,11 @@ public class UserManagementPanel extends JPanel {
     }
 
     private void loadUsers() {
-        try {
-            users = userDAO.findAll();
+        loader.load("users", userDAO::findAll, loaded -> {
+            users = loaded;
             displayUsers(users);
             updateInfoPanel();
-        } catch (Exception e) {
-            System.out.println("Failed to load users: " + e.getMessage());
-        }
+        }, e -> System.out.println("Failed to load users: " + e.getMessage()));
     }
 
     private void displayUsers(List<User> userList) {
@@ -230,17 +230,14 @@ public class UserManagementPanel extends JPanel {
         boolean confirmed = showDeleteConfirmationDialog(selectedUser);
         
         if (confirmed) {
-            try {
-                boolean success = userDAO.delete(selectedUser.getUserId());
+            loader.load("delete", () -> userDAO.delete(selectedUser.getUserId()), success -> {
                 if (success) {
                     showSuccess("User deleted successfully.");
                     loadUsers();
                 } else {
                     showError("Failed to delete user. Please try again.");
                 }
-            } catch (Exception e) {
-                showError("Deletion failed: " + e.getMessage());
-            }
+            }, e -> showError("Deletion failed: " + e.getMessage()));
         }
     }
 
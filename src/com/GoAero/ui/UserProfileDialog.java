@@ -11,6 +11,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -33,6 +35,7 @@ public class UserProfileDialog extends JDialog {
     private JTextField firstNameField, lastNameField, emailField, phoneField, dobField;
     private JPasswordField currentPasswordField, newPasswordField, confirmPasswordField;
     private JButton saveButton, cancelButton, changePasswordButton;
+    private AsyncLoader loader;
     private JPanel passwordPanel;
     private boolean isPasswordChangeMode = false;
 
@@ -73,6 +76,8 @@ public class UserProfileDialog extends JDialog {
 
         changePasswordButton = createStyledButton("🔒 Change Password", PRIMARY_BLUE, Color.WHITE, 14);
         changePasswordButton.setPreferredSize(new Dimension(180, 40));
+
+        loader = new AsyncLoader(this, saveButton, cancelButton, changePasswordButton);
     }
 
     private JTextField createStyledTextField(int columns) {
@@ -271,6 +276,17 @@ public class UserProfileDialog extends JDialog {
         saveButton.addActionListener(e -> saveProfile());
         cancelButton.addActionListener(e -> dispose());
         changePasswordButton.addActionListener(e -> togglePasswordChangeMode());
+
+        // The dialog stays open until a running save has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
     }
 
     private void loadUserData() {
@@ -308,6 +324,20 @@ public class UserProfileDialog extends JDialog {
             return;
         }
 
+        // Check if email already exists for another user; read in the background, before the profile is changed
+        String email = emailField.getText().trim();
+        int userId = currentUser.getUserId();
+        loader.load("save", () -> userDAO.emailExists(email, userId), exists -> {
+            if (exists) {
+                showError("An account with this email already exists.");
+                emailField.requestFocus();
+                return;
+            }
+            updateProfile();
+        }, e -> showError("Update failed: " + e.getMessage()));
+    }
+
+    private void updateProfile() {
         try {
             // Update user object
             currentUser.setFirstName(firstNameField.getText().trim());
@@ -329,20 +359,19 @@ public class UserProfileDialog extends JDialog {
             }
 
             // Save to database
-            boolean success = userDAO.update(currentUser);
-            
-            if (success) {
-                // Update session
-                SessionManager.getInstance().loginUser(currentUser);
-                showSuccess("Profile updated successfully!");
-                
-                if (isPasswordChangeMode) {
-                    togglePasswordChangeMode();
+            loader.load("save", () -> userDAO.update(currentUser), success -> {
+                if (success) {
+                    // Update session
+                    SessionManager.getInstance().loginUser(currentUser);
+                    showSuccess("Profile updated successfully!");
+
+                    if (isPasswordChangeMode) {
+                        togglePasswordChangeMode();
+                    }
+                } else {
+                    showError("Failed to update profile. Please try again.");
                 }
-            } else {
-                showError("Failed to update profile. Please try again.");
-            }
-            
+            }, e -> showError("Update failed: " + e.getMessage()));
         } catch (Exception e) {
             showError("Update failed: " + e.getMessage());
         }
@@ -371,13 +400,6 @@ public class UserProfileDialog extends JDialog {
             return false;
         }
 
-        // Check if email already exists for another user
-        if (userDAO.emailExists(email, currentUser.getUserId())) {
-            showError("An account with this email already exists.");
-            emailField.requestFocus();
-            return false;
-        }
-
         // Phone validation (optional)
         String phone = phoneField.getText().trim();
         if (!phone.isEmpty() && !ValidationUtil.isValidPhone(phone)) {
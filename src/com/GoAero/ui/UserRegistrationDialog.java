@@ -10,6 +10,8 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
@@ -32,6 +34,7 @@ public class UserRegistrationDialog extends JDialog {
     private JTextField firstNameField, lastNameField, emailField, phoneField, dobField;
     private JPasswordField passwordField, confirmPasswordField;
     private JButton registerButton, cancelButton;
+    private AsyncLoader loader;
     private UserDAO userDAO;
 
     public UserRegistrationDialog(Frame parent) {
@@ -59,6 +62,7 @@ public class UserRegistrationDialog extends JDialog {
         // Create styled buttons
         registerButton = createStyledButton("📝 Register", SUCCESS_GREEN, Color.WHITE);
         cancelButton = createStyledButton("❌ Cancel", LIGHT_GRAY, DARK_BLUE);
+        loader = new AsyncLoader(this, registerButton, cancelButton);
     }
 
     private void setupLayout() {
@@ -91,6 +95,17 @@ public class UserRegistrationDialog extends JDialog {
 
         // Enter key on confirm password field
         confirmPasswordField.addActionListener(e -> handleRegistration());
+
+        // The dialog stays open until a running registration has finished, so its result is shown
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (!loader.isLoading()) {
+                    dispose();
+                }
+            }
+        });
     }
 
     private void handleRegistration() {
@@ -98,6 +113,19 @@ public class UserRegistrationDialog extends JDialog {
             return;
         }
 
+        // Check if email already exists; read in the background, before the user is saved
+        String email = emailField.getText().trim();
+        loader.load("register", () -> userDAO.emailExists(email), exists -> {
+            if (exists) {
+                showError("An account with this email already exists.");
+                emailField.requestFocus();
+                return;
+            }
+            registerUser();
+        }, e -> showError("Registration failed: " + e.getMessage()));
+    }
+
+    private void registerUser() {
         try {
             // Create new user
             User user = new User();
@@ -109,14 +137,15 @@ public class UserRegistrationDialog extends JDialog {
             user.setPasswordHash(PasswordUtil.hashPassword(new String(passwordField.getPassword())));
 
             // Save to database
-            User savedUser = userDAO.create(user);
-            if (savedUser != null) {
-                showSuccess("Registration successful! You can now login with your email and password.");
-                clearFields();
-                dispose();
-            } else {
-                showError("Registration failed. Please try again.");
-            }
+            loader.load("register", () -> userDAO.create(user), savedUser -> {
+                if (savedUser != null) {
+                    showSuccess("Registration successful! You can now login with your email and password.");
+                    clearFields();
+                    dispose();
+                } else {
+                    showError("Registration failed. Please try again.");
+                }
+            }, e -> showError("Registration failed: " + e.getMessage()));
         } catch (Exception e) {
             showError("Registration failed: " + e.getMessage());
         }
@@ -147,13 +176,6 @@ public class UserRegistrationDialog extends JDialog {
             return false;
         }
 
-        // Check if email already exists
-        if (userDAO.emailExists(email)) {
-            showError("An account with this email already exists.");
-            emailField.requestFocus();
-            return false;
-        }
-
         // Phone validation
         String phone = phoneField.getText().trim();
         if (phone.equals("Enter your phone number") || !ValidationUtil.isNotEmpty(phone)) {
@@ -0,0 +1,175 @@
+package com.GoAero.util;
+
+import java.security.SecureRandom;
+import java.util.function.Predicate;
+
+/**
+ * Allocates PNR codes that are unique without checking the database for each booking.
+ * Sequence numbers are reserved from the database in blocks, so only one query is
+ * needed per block. Each number is scrambled with a bijection over the 6-character
+ * base-36 space so consecutive bookings do not get consecutive-looking codes.
+ * If blocks cannot be reserved the allocator falls back to random codes checked
+ * with an indexed existence lookup.
+ *
+ * Each kind of code has its own lengths, so no kind can produce a code of another:
+ * PNRGenerator codes are 6 to 9 or 12 characters long, fallback codes 10 and sequence
+ * codes 11. Sequence codes need no existence check even next to older bookings.
+ */
+public class PNRAllocator {
+
+    /**
+     * Source of sequence blocks, normally backed by a database counter
+     */
+    public interface BlockSource {
+        /**
+         * Reserves a block of consecutive sequence numbers
+         * @param size Number of values to reserve
+         * @return The first value of the block, or -1 if no block could be reserved
+         */
+        long reserveBlock(int size);
+    }
+
+    private static final String CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final int PNR_LENGTH = 6;
+    private static final int FALLBACK_LENGTH = 10;
+    private static final int SEQUENCE_CODE_LENGTH = 11;
+    // The airline prefix and its padding; the padding digit tells how long the prefix is
+    private static final int PADDED_PREFIX_LENGTH = SEQUENCE_CODE_LENGTH - PNR_LENGTH;
+    // 36^6 distinct 6-character codes
+    private static final long CODE_SPACE = 2_176_782_336L;
+    // Odd and not divisible by 3, hence coprime with 36^6 and invertible modulo CODE_SPACE
+    private static final long MULTIPLIER = 1_580_030_173L;
+    private static final long OFFSET = 604_661_760L;
+    private static final int DEFAULT_BLOCK_SIZE = 1000;
+    private static final long RETRY_BLOCK_AFTER_MS = 60_000;
+    private static final SecureRandom random = new SecureRandom();
+
+    private final BlockSource blockSource;
+    private final Predicate<String> existsCheck;
+    private final int blockSize;
+
+    private long next;
+    private long blockEnd;
+    private long blockUnavailableUntil;
+
+    /**
+     * Creates an allocator
+     * @param blockSource Source of sequence blocks
+     * @param existsCheck Existence check used only when no block is available
+     */
+    public PNRAllocator(BlockSource blockSource, Predicate<String> existsCheck) {
+        this(blockSource, existsCheck, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates an allocator
+     * @param blockSource Source of sequence blocks
+     * @param existsCheck Existence check used only when no block is available
+     * @param blockSize Number of sequence values reserved per database call
+     */
+    public PNRAllocator(BlockSource blockSource, Predicate<String> existsCheck, int blockSize) {
+        this.blockSource = blockSource;
+        this.existsCheck = existsCheck;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Allocates a unique PNR with airline prefix
+     * Format: Airline code (up to 3 characters), padded to 5 characters with a digit,
+     * + 6 base-36 characters, or a 10 character random code when no sequence block is available
+     * @param airlineCode The airline code, may be null
+     * @return A unique PNR string
+     */
+    public String allocate(String airlineCode) {
+        return allocate(airlineCode, existsCheck);
+    }
+
+    /**
+     * Allocates a unique PNR with airline prefix, using the given existence check if no
+     * sequence block is available, e.g. one that runs in the caller's transaction
+     * @param airlineCode The airline code, may be null
+     * @param existsCheck Existence check for fallback codes
+     * @return A unique PNR string
+     */
+    public String allocate(String airlineCode, Predicate<String> existsCheck) {
+        String prefix = cleanPrefix(airlineCode);
+        long sequence = nextSequence();
+        if (sequence >= 0) {
+            return sequenceCode(prefix, sequence);
+        }
+
+        // No sequence available: random code with an existence check.
+        // Fallback codes are always FALLBACK_LENGTH long, unlike sequence codes, so the two
+        // kinds can never collide; legacy codes of the same length are found by the check.
+        String pnr;
+        do {
+            StringBuilder code = new StringBuilder(prefix);
+            while (code.length() < FALLBACK_LENGTH) {
+                code.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+            }
+            pnr = code.toString();
+        } while (existsCheck.test(pnr));
+        return pnr;
+    }
+
+    /**
+     * Takes the next value from the current block, reserving a new block when needed
+     * @return The next sequence value, or -1 if no block is available
+     */
+    private synchronized long nextSequence() {
+        if (next >= blockEnd) {
+            long now = System.currentTimeMillis();
+            if (now < blockUnavailableUntil) {
+                return -1;
+            }
+            long start = blockSource.reserveBlock(blockSize);
+            if (start < 0) {
+                blockUnavailableUntil = now + RETRY_BLOCK_AFTER_MS;
+                return -1;
+            }
+            next = start;
+            blockEnd = start + blockSize;
+        }
+        return next++;
+    }
+
+    /**
+     * Builds the 11-character code of a sequence value. The prefix is padded with the digit
+     * 5 - prefix length, e.g. "AI" + "333", so the fifth character always tells where the prefix
+     * ends and codes with different prefixes cannot collide.
+     * @param prefix The cleaned airline prefix, at most 3 characters
+     * @param sequence The sequence value
+     * @return The code
+     */
+    static String sequenceCode(String prefix, long sequence) {
+        StringBuilder code = new StringBuilder(SEQUENCE_CODE_LENGTH).append(prefix);
+        char padding = (char) ('0' + PADDED_PREFIX_LENGTH - prefix.length());
+        while (code.length() < PADDED_PREFIX_LENGTH) {
+            code.append(padding);
+        }
+        return code.append(encode(sequence)).toString();
+    }
+
+    /**
+     * Encodes a sequence value as a scrambled 6-character base-36 string
+     * @param sequence The sequence value
+     * @return The encoded characters
+     */
+    static String encode(long sequence) {
+        long value = (sequence % CODE_SPACE * MULTIPLIER + OFFSET) % CODE_SPACE;
+        char[] chars = new char[PNR_LENGTH];
+        for (int i = PNR_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CHARACTERS.charAt((int) (value % 36));
+            value /= 36;
+        }
+        return new String(chars);
+    }
+
+    private static String cleanPrefix(String airlineCode) {
+        if (airlineCode == null || airlineCode.trim().isEmpty()) {
+            return "";
+        }
+        String clean = airlineCode.trim().toUpperCase();
+        return clean.length() > 3 ? clean.substring(0, 3) : clean;
+    }
+}
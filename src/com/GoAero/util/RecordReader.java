@@ -0,0 +1,296 @@
+package com.GoAero.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads flat records one at a time from a CSV or JSON source, so files of any size can be
+ * processed without loading them into memory. Every record is a map from field name to the
+ * value as text; missing values are absent or null.
+ *
+ * CSV input must start with a header line naming the fields. Values may be quoted with
+ * double quotes, with "" for a quote inside a quoted value.
+ * JSON input is either an array of objects or one object per line (JSON Lines). Objects must
+ * be flat: values are strings, numbers, booleans or null.
+ */
+public abstract class RecordReader implements Closeable {
+    protected final BufferedReader reader;
+    protected int lineNumber;
+
+    protected RecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Creates a reader for CSV input with a header line
+     */
+    public static RecordReader csv(Reader reader) {
+        return new CsvReader(reader);
+    }
+
+    /**
+     * Creates a reader for a JSON array of objects or JSON Lines
+     */
+    public static RecordReader json(Reader reader) {
+        return new JsonReader(reader);
+    }
+
+    /**
+     * Reads the next record
+     * @return The record's fields by name, or null at the end of the input
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    public abstract Map<String, String> next() throws IOException;
+
+    /**
+     * Gets the line of the input the last record started on, for error reports
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class CsvReader extends RecordReader {
+        private List<String> header;
+        private int currentLine;
+
+        CsvReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                String line = readLine();
+                if (line == null) {
+                    return null;
+                }
+                header = new ArrayList<>();
+                for (String name : split(line)) {
+                    header.add(name.trim().toLowerCase());
+                }
+            }
+
+            String line;
+            do {
+                line = readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+            lineNumber = currentLine;
+
+            List<String> values = split(line);
+            Map<String, String> record = new LinkedHashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                record.put(header.get(i), values.get(i));
+            }
+            return record;
+        }
+
+        private String readLine() throws IOException {
+            String line = reader.readLine();
+            if (line != null) {
+                currentLine++;
+            }
+            return line;
+        }
+
+        private static List<String> split(String line) throws IOException {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IOException("Unterminated quoted value");
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static final class JsonReader extends RecordReader {
+        private int peeked = -2;
+        private int currentLine = 1;
+        private boolean inArray;
+        private boolean started;
+
+        JsonReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            int c = skipWhitespace();
+            if (!started) {
+                started = true;
+                if (c == '[') {
+                    inArray = true;
+                    read();
+                    c = skipWhitespace();
+                    if (c == ']') {
+                        read();
+                        return null;
+                    }
+                }
+            } else if (inArray) {
+                if (c == ']') {
+                    read();
+                    return null;
+                }
+                expect(',');
+                c = skipWhitespace();
+            }
+            if (c == -1) {
+                if (inArray) {
+                    throw error("Unexpected end of input");
+                }
+                return null;
+            }
+
+            lineNumber = currentLine;
+            expect('{');
+            Map<String, String> record = new LinkedHashMap<>();
+            if (skipWhitespace() == '}') {
+                read();
+                return record;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                record.put(name.toLowerCase(), readValue());
+                c = skipWhitespace();
+                read();
+                if (c == '}') {
+                    return record;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private String readValue() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested values are not supported");
+            }
+            StringBuilder literal = new StringBuilder();
+            while ((c = peek()) != -1 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+                literal.append((char) read());
+            }
+            String text = literal.toString();
+            if (text.isEmpty()) {
+                throw error("Expected a value");
+            }
+            return text.equals("null") ? null : text;
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c == -1 || c == '\n') {
+                    throw error("Unterminated string");
+                }
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append((char) c);
+                    continue;
+                }
+                c = read();
+                switch (c) {
+                    case 'n': value.append('\n'); break;
+                    case 't': value.append('\t'); break;
+                    case 'r': value.append('\r'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            hex[i] = (char) read();
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        break;
+                    case -1: throw error("Unterminated string");
+                    default: value.append((char) c);
+                }
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            if (read() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private int skipWhitespace() throws IOException {
+            while (peek() != -1 && Character.isWhitespace(peek())) {
+                read();
+            }
+            return peek();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = reader.read();
+            }
+            return peeked;
+        }
+
+        private int read() throws IOException {
+            int c = peek();
+            peeked = -2;
+            if (c == '\n') {
+                currentLine++;
+            }
+            return c;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " on line " + currentLine);
+        }
+    }
+}